@@ -0,0 +1,16 @@
+-- ============================================
+-- ÍNDICES PARA LA BÚSQUEDA DE INGREDIENTES
+-- ============================================
+-- La lista de ingredientes se resuelve con una sola consulta paginada (IngredientSearchService):
+-- búsqueda de texto, filtros, orden y totales. La búsqueda de texto usa un índice FULLTEXT
+-- (coincidencia por prefijo de palabra en nombre, descripción y ubicación); la aplicación lo crea
+-- al iniciar si no existe. Términos de menos de 3 caracteres o numéricos usan LIKE.
+-- idx_ingredients_active_name también está declarado con @Index en la entidad Ingredient
+-- y sirve el orden por defecto (activos primero, luego por nombre).
+
+ALTER TABLE ingredients ADD FULLTEXT INDEX ft_ingredients_search (name, description, storage_location);
+CREATE INDEX idx_ingredients_active_name ON ingredients (active, name);
+
+-- Verificar que la búsqueda usa el índice FULLTEXT (type = fulltext)
+EXPLAIN SELECT id_ingredient FROM ingredients
+WHERE MATCH (name, description, storage_location) AGAINST ('+tomat*' IN BOOLEAN MODE);
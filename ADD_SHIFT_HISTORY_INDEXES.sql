@@ -0,0 +1,15 @@
+-- ============================================
+-- ÍNDICE PARA LOS REPORTES DEL HISTORIAL DE TURNOS
+-- ============================================
+-- Las estadísticas por empleado cuentan por acción en la base de datos usando
+-- idx_employee_action_date (employee_id, action_date), que ya existe.
+-- El reporte de cambios por rango de fechas filtra solo por action_date; ningún índice
+-- existente empieza por esa columna, así que sin este índice cada reporte recorre la tabla.
+-- El mismo índice está declarado con @Index en la entidad EmployeeShiftHistory.
+
+CREATE INDEX idx_action_date ON employee_shift_history (action_date);
+
+-- Verificar que las consultas usan los índices (type = ref / range)
+EXPLAIN SELECT action, COUNT(*) FROM employee_shift_history WHERE employee_id = 1 GROUP BY action;
+EXPLAIN SELECT action, COUNT(*) FROM employee_shift_history
+WHERE action_date BETWEEN '2025-01-01 00:00:00' AND '2025-01-31 23:59:59' GROUP BY action;
@@ -0,0 +1,18 @@
+-- ============================================
+-- AGRUPACIÓN DE ERRORES DEL SISTEMA POR HUELLA
+-- ============================================
+-- SystemErrorRecorder agrupa los errores repetidos por huella (tipo de excepción + primeros
+-- frames de la pila) y guarda una sola fila pendiente por huella con el número de ocurrencias
+-- y la última vez que se vio. occurred_at queda como la primera vez que se vio.
+
+ALTER TABLE system_errors
+    ADD COLUMN fingerprint VARCHAR(64) NULL,
+    ADD COLUMN occurrence_count BIGINT NULL DEFAULT 1,
+    ADD COLUMN last_seen_at DATETIME(6) NULL;
+
+-- Filas existentes: una ocurrencia, vista por última vez al ocurrir
+UPDATE system_errors SET occurrence_count = 1 WHERE occurrence_count IS NULL;
+UPDATE system_errors SET last_seen_at = occurred_at WHERE last_seen_at IS NULL;
+
+CREATE INDEX idx_system_errors_fingerprint ON system_errors (fingerprint, resolved);
+CREATE INDEX idx_system_errors_last_seen ON system_errors (last_seen_at);
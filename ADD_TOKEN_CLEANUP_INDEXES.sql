@@ -0,0 +1,17 @@
+-- ============================================
+-- ÍNDICES PARA LA LIMPIEZA DE TOKENS
+-- ============================================
+-- ExpiredTokenCleanupJob borra por lotes (DELETE ... LIMIT) los tokens de verificación
+-- vencidos y los tokens de recuperación vencidos o usados. Sin estos índices cada lote
+-- recorre la tabla completa. Los mismos índices están declarados con @Index en las
+-- entidades EmailVerificationToken y PasswordResetToken.
+-- La búsqueda por token ya usa su índice UNIQUE y la búsqueda por cliente el índice de la FK.
+
+CREATE INDEX idx_evt_expiration ON email_verification_tokens (expiration);
+CREATE INDEX idx_prt_expiration ON password_reset_tokens (expiration);
+CREATE INDEX idx_prt_used ON password_reset_tokens (used);
+
+-- Verificar que los borrados usan los índices (type = range)
+EXPLAIN DELETE FROM email_verification_tokens WHERE expiration < NOW() LIMIT 1000;
+EXPLAIN DELETE FROM password_reset_tokens WHERE expiration < NOW() LIMIT 1000;
+EXPLAIN DELETE FROM password_reset_tokens WHERE used = TRUE LIMIT 1000;
@@ -0,0 +1,15 @@
+-- ============================================
+-- MARCAS DE RECONSTRUCCIONES INICIALES
+-- ============================================
+-- backfill_markers: una fila por reconstrucción de datos derivados ya ejecutada
+-- (corte de caja, ganancias de repartidores, costos del menú).
+-- StartupBackfillInitializer ejecuta cada reconstrucción una sola vez, antes de que el servidor
+-- acepte peticiones, e inserta su marca en la misma transacción. Ya no se decide por
+-- "tabla vacía": si la reconstrucción falla no queda marca y se repite en el siguiente arranque.
+-- Para forzar una reconstrucción, borrar su fila y reiniciar la aplicación.
+-- La aplicación también crea esta tabla al arrancar.
+
+CREATE TABLE IF NOT EXISTS backfill_markers (
+    name VARCHAR(100) NOT NULL PRIMARY KEY,
+    completed_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,20 @@
+-- ============================================
+-- CORTE DE CAJA POR EMPLEADO
+-- ============================================
+-- cashier_shift_tally: acumulado por empleado que cobra (cajero o mesero), día y método de pago
+-- (pedidos, ventas y propinas), escrito en la misma transacción que el cambio a PAID.
+-- Lo usan la lista de pedidos y los reportes del cajero, incluido el cierre de turno.
+-- El ID de empleado no tiene llave foránea para que las filas sobrevivan al archivado de pedidos.
+-- La primera vez que arranca la aplicación, StartupBackfillInitializer la reconstruye con los pedidos
+-- PAGADOS existentes, antes de aceptar peticiones (ver CREATE_BACKFILL_MARKERS_TABLE.sql).
+
+CREATE TABLE IF NOT EXISTS cashier_shift_tally (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id_employee BIGINT NOT NULL COMMENT 'Empleado que cobró el pedido',
+    tally_date DATE NOT NULL,
+    payment_method VARCHAR(20) NOT NULL,
+    orders INT NOT NULL,
+    orders_total DECIMAL(12, 2) NOT NULL,
+    tips DECIMAL(12, 2) NOT NULL,
+    UNIQUE KEY uk_cashier_shift_tally (id_employee, tally_date, payment_method)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,31 @@
+-- ============================================
+-- LIBRO DE GANANCIAS DE REPARTIDORES
+-- ============================================
+-- delivery_earnings: una fila por pedido a domicilio PAGADO (total, propina y fecha de pago),
+-- escrita en la misma transacción que el cambio a PAID.
+-- delivery_earnings_daily: acumulado por repartidor y día, usado por las pantallas de propinas y reportes.
+-- Los IDs de pedido y empleado no tienen llave foránea para que las filas sobrevivan al archivado de pedidos.
+-- La primera vez que arranca la aplicación, StartupBackfillInitializer completa el libro con los pedidos
+-- PAGADOS existentes y reconstruye los acumulados diarios, antes de aceptar peticiones
+-- (ver CREATE_BACKFILL_MARKERS_TABLE.sql).
+
+CREATE TABLE IF NOT EXISTS delivery_earnings (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id_order BIGINT NOT NULL,
+    id_employee BIGINT NOT NULL COMMENT 'Repartidor que entregó el pedido',
+    order_total DECIMAL(10, 2) NOT NULL,
+    tip DECIMAL(10, 2) NOT NULL,
+    paid_at DATETIME(6) NOT NULL,
+    UNIQUE KEY uk_delivery_earnings_order (id_order),
+    INDEX idx_delivery_earnings_employee_paid (id_employee, paid_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS delivery_earnings_daily (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id_employee BIGINT NOT NULL,
+    earning_date DATE NOT NULL,
+    deliveries INT NOT NULL,
+    orders_total DECIMAL(12, 2) NOT NULL,
+    tips DECIMAL(12, 2) NOT NULL,
+    UNIQUE KEY uk_delivery_earnings_daily (id_employee, earning_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,25 @@
+-- ============================================
+-- ZONAS DE ENTREGA
+-- ============================================
+-- Zonas donde se aceptan pedidos a domicilio, con su costo de envío y tiempo estimado.
+-- El polígono se guarda como "lat,lon;lat,lon;..." (mínimo 3 vértices, sin repetir el primero).
+-- Si las zonas se traslapan (una zona interior dentro de otra más amplia) gana la de menor prioridad.
+-- Mientras no exista ninguna zona activa se aceptan todas las ubicaciones.
+-- Los cambios se toman en cuenta en máximo 5 minutos (delivery.zones.refresh-ms).
+
+CREATE TABLE IF NOT EXISTS delivery_zones (
+    id_zone BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL COMMENT 'Nombre de la zona',
+    polygon TEXT NOT NULL COMMENT 'Vértices lat,lon;lat,lon;...',
+    delivery_fee DECIMAL(10, 2) NOT NULL COMMENT 'Costo de envío',
+    estimated_minutes INT NULL COMMENT 'Tiempo estimado de entrega en minutos',
+    priority INT NOT NULL DEFAULT 0 COMMENT 'Menor valor gana cuando las zonas se traslapan',
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME NULL ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Ejemplo: zona centro (envío $25, 25 min) dentro de una zona extendida (envío $45, 45 min)
+-- INSERT INTO delivery_zones (name, polygon, delivery_fee, estimated_minutes, priority) VALUES
+-- ('Centro', '19.440,-99.145;19.440,-99.120;19.425,-99.120;19.425,-99.145', 25.00, 25, 0),
+-- ('Extendida', '19.470,-99.180;19.470,-99.090;19.395,-99.090;19.395,-99.180', 45.00, 45, 1);
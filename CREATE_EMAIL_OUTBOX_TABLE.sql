@@ -0,0 +1,23 @@
+-- Bandeja de salida de emails
+-- Los emails se insertan en la misma transacción que el cambio que los genera
+-- y un despachador en segundo plano los envía con reintentos
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id_email BIGINT AUTO_INCREMENT PRIMARY KEY,
+    to_email VARCHAR(200) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    html_body MEDIUMTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    claimed_at DATETIME,
+    last_error VARCHAR(500),
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at DATETIME,
+
+    INDEX idx_outbox_status_next_attempt (status, next_attempt_at),
+    -- Limpieza de emails enviados o fallidos (contienen enlaces con tokens)
+    INDEX idx_outbox_status_created (status, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+ALTER TABLE email_outbox COMMENT = 'Bandeja de salida de emails (envío asíncrono con reintentos)';
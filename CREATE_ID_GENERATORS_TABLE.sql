@@ -0,0 +1,32 @@
+-- Generadores de IDs por tabla (permiten inserciones por lotes en JDBC)
+-- order_details, ingredient_stock_history, employee_shift_history, license_events
+-- e ingredient_movements dejan de usar AUTO_INCREMENT para asignar IDs.
+-- Hibernate reserva bloques de 50 IDs; gen_value es el último ID del bloque siguiente.
+-- La aplicación también ejecuta estas inicializaciones al arrancar (IdGeneratorInitializer).
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    gen_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    gen_value BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'order_details', COALESCE(MAX(id_order_detail), 0) + 51 FROM order_details
+ON DUPLICATE KEY UPDATE gen_value = GREATEST(gen_value, VALUES(gen_value));
+
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'ingredient_stock_history', COALESCE(MAX(id), 0) + 51 FROM ingredient_stock_history
+ON DUPLICATE KEY UPDATE gen_value = GREATEST(gen_value, VALUES(gen_value));
+
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'employee_shift_history', COALESCE(MAX(id), 0) + 51 FROM employee_shift_history
+ON DUPLICATE KEY UPDATE gen_value = GREATEST(gen_value, VALUES(gen_value));
+
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'license_events', COALESCE(MAX(id), 0) + 51 FROM license_events
+ON DUPLICATE KEY UPDATE gen_value = GREATEST(gen_value, VALUES(gen_value));
+
+INSERT INTO id_generators (gen_name, gen_value)
+SELECT 'ingredient_movements', COALESCE(MAX(id_movement), 0) + 51 FROM ingredient_movements
+ON DUPLICATE KEY UPDATE gen_value = GREATEST(gen_value, VALUES(gen_value));
+
+ALTER TABLE id_generators COMMENT = 'Valores de los generadores de IDs por tabla (Hibernate pooled)';
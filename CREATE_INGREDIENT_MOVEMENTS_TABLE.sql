@@ -0,0 +1,30 @@
+-- Libro de movimientos de ingredientes (solo inserciones)
+-- Registra cada venta, devolución, reabastecimiento y ajuste manual de stock
+-- La cantidad tiene signo: negativa cuando el stock sale, positiva cuando entra
+
+CREATE TABLE IF NOT EXISTS ingredient_movements (
+    id_movement BIGINT AUTO_INCREMENT PRIMARY KEY,
+    ingredient_id BIGINT NOT NULL,
+    movement_type VARCHAR(20) NOT NULL,
+    quantity DECIMAL(10,3) NOT NULL,
+    order_id BIGINT,
+    order_detail_id BIGINT,
+    created_by VARCHAR(50),
+    created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    INDEX idx_movement_ingredient_id (ingredient_id, id_movement),
+    INDEX idx_movement_type_created (movement_type, created_at),
+    INDEX idx_movement_order (order_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Snapshot compactado por ingrediente (stock = snapshot + movimientos posteriores a last_movement_id)
+CREATE TABLE IF NOT EXISTS ingredient_stock_snapshots (
+    ingredient_id BIGINT PRIMARY KEY,
+    stock DECIMAL(12,3) NOT NULL,
+    last_movement_id BIGINT NOT NULL DEFAULT 0,
+    compacted_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Comentarios de las tablas
+ALTER TABLE ingredient_movements COMMENT = 'Libro de movimientos de stock de ingredientes (solo inserciones)';
+ALTER TABLE ingredient_stock_snapshots COMMENT = 'Stock compactado por ingrediente a partir del libro de movimientos';
@@ -0,0 +1,27 @@
+-- ============================================
+-- COSTO Y MARGEN DE LOS ITEMS DEL MENÚ
+-- ============================================
+-- item_menu_costs: costo actual de la receta, precio y margen de cada item del menú.
+-- Se recalcula al confirmar el cambio de la receta o el precio del item, o del costo por unidad
+-- de un ingrediente (solo los items que usan ese ingrediente), bloqueando antes esos items.
+-- item_menu_cost_history: una fila cada vez que cambia el costo o el precio (gráficas de tendencia).
+-- La primera vez que arranca la aplicación, StartupBackfillInitializer calcula el costo de todos los items,
+-- antes de aceptar peticiones (ver CREATE_BACKFILL_MARKERS_TABLE.sql).
+
+CREATE TABLE IF NOT EXISTS item_menu_costs (
+    id_item_menu BIGINT PRIMARY KEY,
+    ingredients_cost DECIMAL(14, 5) NOT NULL COMMENT 'Suma de cantidad * costo por unidad de la receta',
+    price DECIMAL(10, 2) NOT NULL,
+    profit_margin DECIMAL(10, 2) NOT NULL COMMENT '((precio - costo) / precio) * 100',
+    updated_at DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS item_menu_cost_history (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id_item_menu BIGINT NOT NULL,
+    ingredients_cost DECIMAL(14, 5) NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    profit_margin DECIMAL(10, 2) NOT NULL,
+    recorded_at DATETIME NOT NULL,
+    INDEX idx_item_menu_cost_history_item (id_item_menu, recorded_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,14 @@
+-- Tablas de archivo de pedidos
+-- Los pedidos PAID/CANCELLED con más de orders.archive.retention-days días (180 por defecto)
+-- se mueven desde orders/order_details a estas tablas (OrderArchiveJob, 3:30 AM).
+-- La aplicación las crea automáticamente; este script es para bases de datos administradas a mano.
+-- Los reportes y el historial del cliente las leen a través de OrderHistoryReader.
+-- CREATE TABLE ... LIKE no copia las llaves foráneas: la aplicación agrega a las tablas de archivo
+-- las mismas llaves foráneas de orders/order_details (OrderArchiveService.prepareArchiveTables),
+-- para que no se puedan eliminar empleados, clientes, mesas o platillos usados por pedidos archivados.
+
+CREATE TABLE IF NOT EXISTS orders_archive LIKE orders;
+CREATE TABLE IF NOT EXISTS order_details_archive LIKE order_details;
+
+ALTER TABLE orders_archive COMMENT = 'Pedidos finalizados archivados (misma estructura que orders)';
+ALTER TABLE order_details_archive COMMENT = 'Detalles de pedidos archivados (misma estructura que order_details)';
@@ -0,0 +1,80 @@
+-- ============================================
+-- ÍNDICES DE CONSULTAS DE PEDIDOS (versión 2)
+-- ============================================
+-- Índices compuestos de orders y order_details según las consultas de OrderRepository
+-- y OrderDetailRepository. Los mismos índices están declarados con @Index en las
+-- entidades Order y OrderDetail; este script es para bases de datos administradas a mano.
+-- Es idempotente: solo crea los índices que no existen y solo elimina los que existen.
+--
+-- Versión 2: se elimina idx_order_details_item_status (creado por
+-- database/migrations/add_item_status_fields.sql). item_status tiene pocos valores y ninguna
+-- consulta filtra solo por él; las consultas por pedido y estado usan idx_order_details_order_status.
+--
+-- Al agregar o cambiar una consulta de pedidos, actualizar @Index en la entidad,
+-- agregar el índice aquí incrementando la versión y verificar con EXPLAIN (al final).
+
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+DROP PROCEDURE IF EXISTS drop_index_if_exists;
+
+DELIMITER //
+CREATE PROCEDURE create_index_if_missing(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.statistics
+                   WHERE table_schema = DATABASE() AND table_name = p_table AND index_name = p_index) THEN
+        SET @ddl = CONCAT('CREATE INDEX ', p_index, ' ON ', p_table, ' (', p_columns, ')');
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+
+CREATE PROCEDURE drop_index_if_exists(IN p_table VARCHAR(64), IN p_index VARCHAR(64))
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = p_table AND index_name = p_index) THEN
+        SET @ddl = CONCAT('DROP INDEX ', p_index, ' ON ', p_table);
+        PREPARE stmt FROM @ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END //
+DELIMITER ;
+
+-- orders: rangos de fecha (pedidos de hoy, reportes)
+CALL create_index_if_missing('orders', 'idx_orders_created_at', 'created_at');
+-- orders: por estado y fecha (pedidos activos, conteos por estado, ingresos PAID del día)
+CALL create_index_if_missing('orders', 'idx_orders_status_created', 'status, created_at');
+-- orders: historial por mesa, mesero, cliente y creador, ordenado por fecha
+CALL create_index_if_missing('orders', 'idx_orders_table_created', 'id_table, created_at');
+CALL create_index_if_missing('orders', 'idx_orders_employee_created', 'id_employee, created_at');
+CALL create_index_if_missing('orders', 'idx_orders_customer_created', 'id_customer, created_at');
+CALL create_index_if_missing('orders', 'idx_orders_created_by_created', 'created_by, created_at');
+
+-- order_details: items de un pedido por estado (cocina, barra)
+CALL create_index_if_missing('order_details', 'idx_order_details_order_status', 'id_order, item_status');
+-- order_details: join con item_menu (ventas por item, recetas)
+CALL create_index_if_missing('order_details', 'idx_order_details_item', 'id_item_menu');
+-- order_details: índice de baja cardinalidad sin consultas que lo usen (versión 2)
+CALL drop_index_if_exists('order_details', 'idx_order_details_item_status');
+
+DROP PROCEDURE IF EXISTS create_index_if_missing;
+DROP PROCEDURE IF EXISTS drop_index_if_exists;
+
+-- ============================================
+-- VERIFICACIÓN
+-- ============================================
+-- Ninguna de estas consultas debe mostrar type = ALL (recorrido completo) en orders
+-- u order_details. Las fechas de hoy se escriben como rango [inicio, fin).
+
+EXPLAIN SELECT * FROM orders WHERE created_at >= CURDATE() AND created_at < CURDATE() + INTERVAL 1 DAY ORDER BY created_at DESC;
+EXPLAIN SELECT COUNT(*) FROM orders WHERE status = 'PENDING' AND created_at >= CURDATE() AND created_at < CURDATE() + INTERVAL 1 DAY;
+EXPLAIN SELECT COALESCE(SUM(total), 0) FROM orders WHERE status = 'PAID' AND created_at >= CURDATE() AND created_at < CURDATE() + INTERVAL 1 DAY;
+EXPLAIN SELECT order_number FROM orders WHERE created_at >= CURDATE() AND created_at < CURDATE() + INTERVAL 1 DAY ORDER BY order_number DESC LIMIT 1;
+EXPLAIN SELECT * FROM orders WHERE id_table = 1 ORDER BY created_at DESC;
+EXPLAIN SELECT * FROM orders WHERE id_table = 1 AND status NOT IN ('CANCELLED', 'DELIVERED', 'PAID') ORDER BY created_at DESC;
+EXPLAIN SELECT * FROM orders WHERE id_employee = 1 ORDER BY created_at DESC;
+EXPLAIN SELECT * FROM orders WHERE id_customer = 1 ORDER BY created_at DESC;
+EXPLAIN SELECT * FROM orders WHERE status = 'PAID';
+EXPLAIN SELECT * FROM order_details WHERE id_order = 1;
+EXPLAIN SELECT * FROM order_details WHERE id_item_menu = 1;
+EXPLAIN SELECT od.* FROM order_details od JOIN orders o ON o.id_order = od.id_order WHERE o.status = 'PAID';
@@ -39,6 +39,7 @@ public class BaristaOrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository; // Direct access for optimized queries
     private final EmployeeService employeeService; // To get current employee entity
     private final WebSocketNotificationService wsNotificationService; // WebSocket notifications
+    private final OrderHistoryReader orderHistoryReader; // Hot + archived order history
 
     /**
      * Get current authenticated username
@@ -351,7 +352,7 @@ public class BaristaOrderServiceImpl implements OrderService {
 
     @Transactional(readOnly = true)
     public List<Order> findByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId).stream()
+        return orderHistoryReader.findByCustomerId(customerId).stream()
             .filter(this::hasItemsRequiringBaristaPreparation)
             .collect(Collectors.toList());
     }
@@ -0,0 +1,145 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.Order;
+import com.aatechsolutions.elgransazon.domain.entity.OrderStatus;
+import com.aatechsolutions.elgransazon.domain.entity.PaymentMethodType;
+import com.aatechsolutions.elgransazon.domain.repository.CashierShiftTallyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service for the cashier shift tally.
+ *
+ * When an order becomes PAID, {@link #recordPayment(Order)} adds it to the tally of the employee
+ * who collected it (cashier or waiter), per day and payment method, in the same transaction.
+ * The cashier orders list, reports and the end-of-shift close-out read their totals from the
+ * tally instead of scanning every order. The tally is rebuilt from the orders once, before the
+ * first start that uses it ({@link StartupBackfill}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CashierShiftService implements StartupBackfill {
+
+    /**
+     * Totals of a period, overall and per payment method (every method present, in enum order)
+     */
+    public record ShiftSummary(OrderTotals totals, Map<PaymentMethodType, OrderTotals> byPaymentMethod) {
+    }
+
+    private final CashierShiftTallyRepository cashierShiftTallyRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // ========== Write path ==========
+
+    /**
+     * Add a PAID order to the tally of the employee who collected it
+     * (called on the PAID transition, inside its transaction)
+     */
+    @Transactional
+    public void recordPayment(Order order) {
+        if (order.getStatus() != OrderStatus.PAID || order.getPaidBy() == null || order.getPaymentMethod() == null) {
+            return;
+        }
+
+        Long employeeId = order.getPaidBy().getIdEmpleado();
+        BigDecimal total = order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO;
+        BigDecimal tip = order.getTip() != null ? order.getTip() : BigDecimal.ZERO;
+
+        cashierShiftTallyRepository.addPayment(employeeId, LocalDate.now(), order.getPaymentMethod().name(), total, tip);
+        log.debug("Payment tallied: order {}, employee {}, method {}",
+                order.getOrderNumber(), employeeId, order.getPaymentMethod());
+    }
+
+    // ========== Read path ==========
+
+    @Transactional(readOnly = true)
+    public ShiftSummary getToday(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        return getBetween(employeeId, today, today);
+    }
+
+    @Transactional(readOnly = true)
+    public ShiftSummary getBetween(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return toSummary(cashierShiftTallyRepository.sumByPaymentMethodBetween(employeeId, startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public ShiftSummary getAllTime(Long employeeId) {
+        return toSummary(cashierShiftTallyRepository.sumByPaymentMethod(employeeId));
+    }
+
+    /**
+     * Daily totals for each day between two dates (inclusive), days without payments included
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, OrderTotals> getDaily(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, OrderTotals> daily = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            daily.put(date, OrderTotals.EMPTY);
+        }
+        for (Object[] row : cashierShiftTallyRepository.sumByDayBetween(employeeId, startDate, endDate)) {
+            daily.put((LocalDate) row[0], OrderTotals.fromRow(row, 1));
+        }
+        return daily;
+    }
+
+    private static ShiftSummary toSummary(List<Object[]> rows) {
+        Map<PaymentMethodType, OrderTotals> byPaymentMethod = new EnumMap<>(PaymentMethodType.class);
+        for (PaymentMethodType method : PaymentMethodType.values()) {
+            byPaymentMethod.put(method, OrderTotals.EMPTY);
+        }
+        OrderTotals totals = OrderTotals.EMPTY;
+        for (Object[] row : rows) {
+            OrderTotals methodTotals = OrderTotals.fromRow(row, 1);
+            byPaymentMethod.put((PaymentMethodType) row[0], methodTotals);
+            totals = totals.plus(methodTotals);
+        }
+        return new ShiftSummary(totals, Collections.unmodifiableMap(byPaymentMethod));
+    }
+
+    // ========== Backfill ==========
+
+    @Override
+    public String getBackfillName() {
+        return "cashier_shift_tally";
+    }
+
+    /**
+     * Rebuild the whole tally from the PAID orders stored (live and archived).
+     * The order's last update is used as payment time.
+     *
+     * @return number of tally rows written
+     */
+    @Override
+    @Transactional
+    public int backfill() {
+        String paidOrders = orderArchiveService.getOrderTables().stream()
+                .map(CashierShiftService::paidOrdersFrom)
+                .collect(Collectors.joining(" UNION ALL "));
+
+        jdbcTemplate.update("DELETE FROM cashier_shift_tally");
+        return jdbcTemplate.update("INSERT INTO cashier_shift_tally (id_employee, tally_date, payment_method, orders, orders_total, tips) " +
+                "SELECT id_paid_by, DATE(COALESCE(updated_at, created_at)), payment_method, COUNT(*), SUM(total), SUM(COALESCE(tip, 0)) " +
+                "FROM (" + paidOrders + ") paid " +
+                "GROUP BY id_paid_by, DATE(COALESCE(updated_at, created_at)), payment_method");
+    }
+
+    private static String paidOrdersFrom(String ordersTable) {
+        return "SELECT id_paid_by, updated_at, created_at, payment_method, total, tip FROM " + ordersTable +
+                " WHERE status = 'PAID' AND id_paid_by IS NOT NULL AND payment_method IS NOT NULL";
+    }
+}
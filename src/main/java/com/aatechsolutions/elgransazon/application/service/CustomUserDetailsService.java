@@ -1,140 +1,185 @@
 package com.aatechsolutions.elgransazon.application.service;
 
-import com.aatechsolutions.elgransazon.domain.entity.Customer;
-import com.aatechsolutions.elgransazon.domain.entity.Employee;
 import com.aatechsolutions.elgransazon.domain.entity.Role;
-import com.aatechsolutions.elgransazon.domain.repository.CustomerRepository;
-import com.aatechsolutions.elgransazon.domain.repository.EmployeeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Custom UserDetailsService implementation for Spring Security
  * Loads user details from Employee or Customer entities
  * 
  * Authentication logic:
- * 1. First tries to find an Employee by username
- * 2. If not found, tries to find a Customer by email
+ * 1. Returns the principal from the short-lived login cache if present
+ * 2. Otherwise runs one query over both tables (employee by username, customer by username or email);
+ *    an employee match takes precedence over a customer match, and a customer username match over an email match
  * 3. If neither found, throws UsernameNotFoundException
+ *
+ * Also implements UserDetailsPasswordService: after a successful login Spring Security calls
+ * {@link #updatePassword} when the stored hash uses an old format or a lower BCrypt cost
+ * than configured, so hashes are upgraded transparently.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
-    private final EmployeeRepository employeeRepository;
-    private final CustomerRepository customerRepository;
+    /**
+     * One row per employee role (or one row with a null role), then the matching customers.
+     * Both branches use the unique indexes on username/email. The customer branch can return two
+     * rows when the login is one customer's username and another customer's email.
+     */
+    private static final String FIND_PRINCIPAL_SQL = """
+            SELECT 'E' AS principal_type, e.id_empleado AS id, e.username AS username,
+                   e.contrasenia AS password, e.enabled AS enabled, r.nombre_rol AS role,
+                   e.username AS login_username
+            FROM employee e
+            LEFT JOIN employee_roles er ON er.id_empleado = e.id_empleado
+            LEFT JOIN roles r ON r.id_rol = er.id_rol
+            WHERE e.username = ?
+            UNION ALL
+            SELECT 'C', c.id_customer, c.email, c.password, c.active, NULL, c.username
+            FROM customers c
+            WHERE c.username = ? OR c.email = ?
+            """;
+
+    private static final String UPDATE_EMPLOYEE_PASSWORD_SQL =
+            "UPDATE employee SET contrasenia = ? WHERE username = ?";
+
+    private static final String UPDATE_CUSTOMER_PASSWORD_SQL =
+            "UPDATE customers SET password = ? WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("=== Starting authentication for user: {} ===", username);
-        
+        Optional<UserDetails> cached = userDetailsCache.get(username);
+        if (cached.isPresent()) {
+            log.debug("Principal {} loaded from cache", username);
+            return cached.get();
+        }
+
+        List<Map<String, Object>> rows;
         try {
-            // First, try to find an Employee
-            Employee employee = employeeRepository.findByUsername(username).orElse(null);
-            
-            if (employee != null) {
-                log.info("Employee found: {} (ID: {})", employee.getFullName(), employee.getIdEmpleado());
-                log.info("Employee enabled: {}", employee.getEnabled());
-                
-                // Try to access roles
-                try {
-                    log.info("Attempting to load employee roles...");
-                    int rolesCount = employee.getRoles() != null ? employee.getRoles().size() : 0;
-                    log.info("Roles loaded successfully. Count: {}", rolesCount);
-                    
-                    if (rolesCount > 0) {
-                        employee.getRoles().forEach(role -> 
-                            log.info("  - Role: {} (ID: {})", role.getNombreRol(), role.getIdRol())
-                        );
-                    } else {
-                        log.warn("WARNING: Employee {} has NO ROLES assigned!", username);
-                    }
-                } catch (Exception e) {
-                    log.error("ERROR loading employee roles: {}", e.getMessage(), e);
-                    throw e;
-                }
-
-                log.info("Building UserDetails for employee...");
-                UserDetails userDetails = User.builder()
-                        .username(employee.getUsername())
-                        .password(employee.getContrasenia())
-                        .disabled(!employee.getEnabled())
-                        .authorities(getEmployeeAuthorities(employee))
-                        .build();
-                
-                log.info("=== Authentication successful for employee: {} ===", username);
-                return userDetails;
-            }
-            
-            // If not an employee, try to find a Customer by email or username
-            log.info("Employee not found, trying customer...");
-            Customer customer = customerRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase(username, username).orElse(null);
-            
-            if (customer != null) {
-                log.info("Customer found: {} (ID: {})", customer.getFullName(), customer.getIdCustomer());
-                log.info("Customer active: {}", customer.getActive());
-                
-                log.info("Building UserDetails for customer...");
-                UserDetails userDetails = User.builder()
-                        .username(customer.getEmail())
-                        .password(customer.getPassword())
-                        .disabled(!customer.getActive())
-                        .authorities(getCustomerAuthorities())
-                        .build();
-                
-                log.info("=== Authentication successful for customer: {} ===", username);
-                return userDetails;
-            }
-            
-            // Neither employee nor customer found
-            log.error("User not found (neither employee nor customer): {}", username);
-            throw new UsernameNotFoundException("Usuario o cliente no encontrado: " + username);
-            
-        } catch (UsernameNotFoundException e) {
-            log.error("User not found: {}", username);
-            throw e;
+            rows = jdbcTemplate.queryForList(FIND_PRINCIPAL_SQL, username, username, username);
         } catch (Exception e) {
-            log.error("CRITICAL ERROR during authentication for user {}: {}", username, e.getMessage(), e);
-            log.error("Exception type: {}", e.getClass().getName());
-            if (e.getCause() != null) {
-                log.error("Caused by: {}", e.getCause().getMessage(), e.getCause());
-            }
+            log.error("Error loading user {}: {}", username, e.getMessage(), e);
             throw new UsernameNotFoundException("Error loading user: " + username, e);
         }
+
+        List<Map<String, Object>> employeeRows = rows.stream()
+                .filter(row -> "E".equals(row.get("principal_type")))
+                .toList();
+
+        if (!employeeRows.isEmpty()) {
+            Map<String, Object> employee = employeeRows.get(0);
+            log.debug("Employee found: {}", employee.get("username"));
+            return userDetailsCache.put(username, UserDetailsCache.PrincipalType.EMPLOYEE,
+                    ((Number) employee.get("id")).longValue(),
+                    (String) employee.get("username"),
+                    (String) employee.get("password"),
+                    isTrue(employee.get("enabled")),
+                    getEmployeeAuthorities((String) employee.get("username"), employeeRows));
+        }
+
+        if (!rows.isEmpty()) {
+            Map<String, Object> customer = selectCustomer(username, rows);
+            log.debug("Customer found: {}", customer.get("username"));
+            return userDetailsCache.put(username, UserDetailsCache.PrincipalType.CUSTOMER,
+                    ((Number) customer.get("id")).longValue(),
+                    (String) customer.get("username"),
+                    (String) customer.get("password"),
+                    isTrue(customer.get("enabled")),
+                    getCustomerAuthorities());
+        }
+
+        // Neither employee nor customer found
+        log.warn("User not found (neither employee nor customer): {}", username);
+        throw new UsernameNotFoundException("Usuario o cliente no encontrado: " + username);
+    }
+
+    /**
+     * The customer a login refers to: the only match, or the one whose username is the login
+     * when it is also another customer's email (same rule as the case-insensitive collation)
+     */
+    private Map<String, Object> selectCustomer(String login, List<Map<String, Object>> customerRows) {
+        if (customerRows.size() == 1) {
+            return customerRows.get(0);
+        }
+        return customerRows.stream()
+                .filter(row -> login.equalsIgnoreCase((String) row.get("login_username")))
+                .findFirst()
+                .orElseThrow(() -> {
+                    log.warn("Login {} matches {} customers, none by username", login, customerRows.size());
+                    return new UsernameNotFoundException("Usuario o cliente no encontrado: " + login);
+                });
+    }
+
+    /**
+     * Store the rehashed password of a principal that just logged in
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        boolean customer = user.getAuthorities().stream()
+                .anyMatch(authority -> Role.CLIENT.equals(authority.getAuthority()));
+
+        int updated = customer
+                ? jdbcTemplate.update(UPDATE_CUSTOMER_PASSWORD_SQL, newPassword, user.getUsername())
+                : jdbcTemplate.update(UPDATE_EMPLOYEE_PASSWORD_SQL, newPassword, user.getUsername());
+
+        if (updated > 0) {
+            userDetailsCache.evictUsername(customer
+                    ? UserDetailsCache.PrincipalType.CUSTOMER
+                    : UserDetailsCache.PrincipalType.EMPLOYEE, user.getUsername());
+            log.info("Password hash upgraded for {}", user.getUsername());
+        }
+
+        return User.withUserDetails(user).password(newPassword).build();
     }
 
     /**
      * Returns the authorities/roles for an employee from their assigned roles
      */
-    private Collection<? extends GrantedAuthority> getEmployeeAuthorities(Employee employee) {
-        if (employee.getRoles().isEmpty()) {
-            log.warn("Employee {} has no roles assigned, granting default EMPLOYEE role", employee.getUsername());
-            return Collections.singletonList(new SimpleGrantedAuthority("ROLE_EMPLOYEE"));
+    private List<GrantedAuthority> getEmployeeAuthorities(String username, List<Map<String, Object>> employeeRows) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        for (Map<String, Object> row : employeeRows) {
+            if (row.get("role") != null) {
+                authorities.add(new SimpleGrantedAuthority((String) row.get("role")));
+            }
         }
 
-        return employee.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getNombreRol()))
-                .toList();
+        if (authorities.isEmpty()) {
+            log.warn("Employee {} has no roles assigned, granting default EMPLOYEE role", username);
+            authorities.add(new SimpleGrantedAuthority("ROLE_EMPLOYEE"));
+        }
+        return authorities;
     }
     
     /**
      * Returns the authorities/roles for a customer (always ROLE_CLIENT)
      */
-    private Collection<? extends GrantedAuthority> getCustomerAuthorities() {
+    private List<GrantedAuthority> getCustomerAuthorities() {
         return List.of(new SimpleGrantedAuthority(Role.CLIENT));
     }
+
+    private static boolean isTrue(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return value instanceof Number number && number.intValue() != 0;
+    }
 }
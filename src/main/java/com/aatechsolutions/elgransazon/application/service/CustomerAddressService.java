@@ -18,6 +18,7 @@ public class CustomerAddressService {
 
     private final CustomerAddressRepository addressRepository;
     private final CustomerRepository customerRepository;
+    private final DeliveryZoneService deliveryZoneService;
 
     /**
      * Get all active addresses for a customer
@@ -52,6 +53,8 @@ public class CustomerAddressService {
         Customer customer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
 
+        deliveryZoneService.validateDeliveryLocation(latitude, longitude);
+
         // If this is the first address or setAsDefault is true, make it default
         boolean isFirstAddress = addressRepository.countByCustomerIdCustomerAndActiveTrue(customerId) == 0;
         boolean shouldBeDefault = isFirstAddress || setAsDefault;
@@ -86,6 +89,8 @@ public class CustomerAddressService {
                 .findByIdAddressAndCustomerIdCustomerAndActiveTrue(addressId, customerId)
                 .orElseThrow(() -> new RuntimeException("Dirección no encontrada"));
 
+        deliveryZoneService.validateDeliveryLocation(latitude, longitude);
+
         existingAddress.setLabel(label);
         existingAddress.setAddress(address);
         existingAddress.setReference(reference);
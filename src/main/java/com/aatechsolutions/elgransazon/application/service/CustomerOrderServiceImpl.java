@@ -33,6 +33,7 @@ public class CustomerOrderServiceImpl implements OrderService {
     private final OrderServiceImpl adminOrderService; // Delegate to admin service for actual operations
     private final com.aatechsolutions.elgransazon.domain.repository.OrderRepository orderRepository;
     private final com.aatechsolutions.elgransazon.domain.repository.CustomerRepository customerRepository;
+    private final OrderHistoryReader orderHistoryReader;
 
     /**
      * Get current authenticated customer email
@@ -289,8 +290,8 @@ public class CustomerOrderServiceImpl implements OrderService {
         String currentEmail = getCurrentCustomerEmail();
         log.debug("Customer {} fetching their orders", currentEmail);
         
-        // Return orders by customer email
-        return orderRepository.findByCustomerEmail(currentEmail);
+        // Return orders by customer email (including archived orders)
+        return orderHistoryReader.findByCustomerEmail(currentEmail);
     }
 
     @Override
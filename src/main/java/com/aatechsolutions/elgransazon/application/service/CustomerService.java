@@ -75,11 +75,6 @@ public interface CustomerService {
      */
     boolean usernameExistsInEmployees(String username);
     
-    /**
-     * Update last access timestamp
-     */
-    void updateLastAccess(String email);
-    
     /**
      * Activate customer
      */
@@ -24,6 +24,7 @@ public class CustomerServiceImpl implements CustomerService {
     private final CustomerRepository customerRepository;
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
     public List<Customer> findAll() {
@@ -115,6 +116,7 @@ public class CustomerServiceImpl implements CustomerService {
         // Otherwise, password remains unchanged
         
         Customer updated = customerRepository.save(existing);
+        userDetailsCache.evictCustomer(id);
         log.info("Customer updated successfully: {}", id);
         
         return updated;
@@ -130,6 +132,7 @@ public class CustomerServiceImpl implements CustomerService {
         }
         
         customerRepository.deleteById(id);
+        userDetailsCache.evictCustomer(id);
         log.info("Customer deleted successfully: {}", id);
     }
 
@@ -154,17 +157,6 @@ public class CustomerServiceImpl implements CustomerService {
         return employeeRepository.existsByUsername(username);
     }
 
-    @Override
-    @Transactional
-    public void updateLastAccess(String usernameOrEmail) {
-        log.debug("Updating last access for customer: {}", usernameOrEmail);
-        
-        customerRepository.findByUsernameIgnoreCaseOrEmailIgnoreCase(usernameOrEmail, usernameOrEmail).ifPresent(customer -> {
-            customer.updateLastAccess();
-            customerRepository.save(customer);
-        });
-    }
-
     @Override
     @Transactional
     public Customer activate(Long id) {
@@ -175,6 +167,7 @@ public class CustomerServiceImpl implements CustomerService {
         
         customer.setActive(true);
         Customer activated = customerRepository.save(customer);
+        userDetailsCache.evictCustomer(id);
         
         log.info("Customer activated successfully: {}", id);
         return activated;
@@ -190,6 +183,7 @@ public class CustomerServiceImpl implements CustomerService {
         
         customer.setActive(false);
         Customer deactivated = customerRepository.save(customer);
+        userDetailsCache.evictCustomer(id);
         
         log.info("Customer deactivated successfully: {}", id);
         return deactivated;
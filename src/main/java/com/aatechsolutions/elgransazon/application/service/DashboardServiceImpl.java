@@ -31,9 +31,10 @@ public class DashboardServiceImpl implements DashboardService {
 
     private final OrderRepository orderRepository;
     private final EmployeeRepository employeeRepository;
-    private final IngredientRepository ingredientRepository;
+    private final InventoryAlertService inventoryAlertService;
     private final RestaurantTableRepository tableRepository;
     private final ReservationRepository reservationRepository;
+    private final OrderHistoryReader orderHistoryReader;
 
     @Override
     public DashboardStatsDTO getDashboardStats() {
@@ -48,8 +49,8 @@ public class DashboardServiceImpl implements DashboardService {
         LocalDateTime yesterdayEnd = LocalDate.now().minusDays(1).atTime(LocalTime.MAX);
 
         // Get orders for today and yesterday
-        List<Order> todayOrders = orderRepository.findByDateRange(todayStart, todayEnd);
-        List<Order> yesterdayOrders = orderRepository.findByDateRange(yesterdayStart, yesterdayEnd);
+        List<Order> todayOrders = orderHistoryReader.findByDateRange(todayStart, todayEnd);
+        List<Order> yesterdayOrders = orderHistoryReader.findByDateRange(yesterdayStart, yesterdayEnd);
 
         // Calculate sales statistics
         BigDecimal todaySales = calculateSales(todayOrders);
@@ -180,13 +181,8 @@ public class DashboardServiceImpl implements DashboardService {
      * Calculate total historical revenue from all PAID orders (all time)
      */
     private BigDecimal calculateTotalHistoricalRevenue() {
-        // Get ALL orders (no date filter)
-        List<Order> allOrders = orderRepository.findAll();
-        
-        return allOrders.stream()
-            .filter(order -> order.getStatus() == OrderStatus.PAID)
-            .map(Order::getTotal) // Subtotal + tax, no tips
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Sum of all PAID orders, hot and archived (subtotal + tax, no tips)
+        return orderHistoryReader.getTotalIncome();
     }
 
     /**
@@ -278,70 +274,39 @@ public class DashboardServiceImpl implements DashboardService {
      * Returns top 3 items with most critical status
      */
     private List<InventoryAlertDTO> getInventoryAlerts() {
-        // Get all active ingredients
-        List<Ingredient> ingredients = ingredientRepository.findByActiveTrue();
-        
-        // If no ingredients, return empty list
-        if (ingredients.isEmpty()) {
-            return List.of();
-        }
-        
-        // Separate by status
-        List<Ingredient> outOfStock = new ArrayList<>();
-        List<Ingredient> lowStock = new ArrayList<>();
-        List<Ingredient> healthyStock = new ArrayList<>();
-        
-        for (Ingredient ingredient : ingredients) {
-            if (ingredient.isOutOfStock()) {
-                outOfStock.add(ingredient);
-            } else if (ingredient.isLowStock()) {
-                lowStock.add(ingredient);
-            } else if (ingredient.isHealthyStock()) {
-                healthyStock.add(ingredient);
-            }
-        }
+        // Read the in-memory stock state (kept up to date on every stock change)
+        List<InventoryAlertService.StockState> states = inventoryAlertService.getStatesByLevel(
+            InventoryAlertService.StockLevel.OUT_OF_STOCK,
+            InventoryAlertService.StockLevel.LOW_STOCK,
+            InventoryAlertService.StockLevel.HEALTHY);
         
         // Build alert list (prioritize: out of stock > low stock > healthy)
-        List<InventoryAlertDTO> alerts = new ArrayList<>();
-        
-        // Add out of stock (red)
-        outOfStock.stream()
+        return states.stream()
             .limit(5)
-            .forEach(ingredient -> alerts.add(InventoryAlertDTO.builder()
-                .ingredientName(ingredient.getName())
-                .status("out-of-stock")
-                .statusText("Agotado")
-                .icon("error")
-                .colorClass("red")
-                .build()));
-        
-        // Add low stock (yellow) if we have less than 5 items
-        if (alerts.size() < 5) {
-            lowStock.stream()
-                .limit(5 - alerts.size())
-                .forEach(ingredient -> alerts.add(InventoryAlertDTO.builder()
-                    .ingredientName(ingredient.getName())
+            .map(state -> switch (state.getLevel()) {
+                case OUT_OF_STOCK -> InventoryAlertDTO.builder()
+                    .ingredientName(state.getIngredientName())
+                    .status("out-of-stock")
+                    .statusText("Agotado")
+                    .icon("error")
+                    .colorClass("red")
+                    .build();
+                case LOW_STOCK -> InventoryAlertDTO.builder()
+                    .ingredientName(state.getIngredientName())
                     .status("low-stock")
                     .statusText("Bajo stock")
                     .icon("warning")
                     .colorClass("yellow")
-                    .build()));
-        }
-        
-        // Add healthy stock (green) if we still have less than 5 items
-        if (alerts.size() < 5) {
-            healthyStock.stream()
-                .limit(5 - alerts.size())
-                .forEach(ingredient -> alerts.add(InventoryAlertDTO.builder()
-                    .ingredientName(ingredient.getName())
+                    .build();
+                default -> InventoryAlertDTO.builder()
+                    .ingredientName(state.getIngredientName())
                     .status("healthy")
                     .statusText("En stock")
                     .icon("check_circle")
                     .colorClass("green")
-                    .build()));
-        }
-        
-        return alerts;
+                    .build();
+            })
+            .collect(Collectors.toList());
     }
 
     private List<HourlySalesDTO> getHourlySales(List<Order> todayOrders) {
@@ -401,7 +366,7 @@ public class DashboardServiceImpl implements DashboardService {
         LocalDateTime now = LocalDateTime.now();
         
         // Get all active orders for today
-        List<Order> activeOrders = orderRepository.findByDateRange(today, now);
+        List<Order> activeOrders = orderHistoryReader.findByDateRange(today, now);
         
         long pending = activeOrders.stream()
             .filter(order -> order.getStatus() == OrderStatus.PENDING)
@@ -532,7 +497,7 @@ public class DashboardServiceImpl implements DashboardService {
         }
         
         // Get orders for the period
-        List<Order> orders = orderRepository.findByDateRange(startDate, endDate);
+        List<Order> orders = orderHistoryReader.findByDateRange(startDate, endDate);
         
         return getPopularItems(orders);
     }
@@ -0,0 +1,310 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dispatches READY delivery orders to delivery persons in runs, one delivery person at a time.
+ *
+ * READY delivery orders are kept in an in-memory grid index of their drop points (cells of
+ * {@code delivery.dispatch.radius-meters}), loaded with one projection query and reloaded when an
+ * order changes status or the snapshot is older than {@code delivery.dispatch.refresh-ms}.
+ * Runs are built oldest order first: each run takes its seed order plus the nearest READY orders
+ * within the radius (neighbouring cells only), up to {@code delivery.dispatch.max-orders-per-run}.
+ * Orders without coordinates form a run of their own.
+ *
+ * A delivery person asking for work is offered the oldest run nobody holds; the offer lasts
+ * {@code delivery.dispatch.offer-seconds} and is renewed while they keep the page open, so two
+ * delivery persons no longer race for the same order lock. Delivery persons with an order
+ * ON_THE_WAY keep the orders they hold but are not offered a new run until they finish.
+ *
+ * The index is an immutable snapshot published through a volatile field. It is reloaded by one
+ * request thread outside the offers monitor, so other delivery persons keep being served from
+ * the previous snapshot instead of waiting for the query.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryDispatchService {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double METERS_PER_DEGREE_LAT = 111_320;
+
+    /**
+     * Drop point of a READY delivery order
+     */
+    private record DropPoint(Long orderId, Double latitude, Double longitude, LocalDateTime createdAt) {
+
+        boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+    }
+
+    /**
+     * Grid cell of the spatial index
+     */
+    private record Cell(long row, long column) {
+    }
+
+    /**
+     * Orders offered to a delivery person until {@code expiresAt}
+     */
+    private record Offer(Long employeeId, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Immutable index: runs oldest first (each run is a list of order IDs), the READY order IDs
+     * and the delivery persons with a run in progress
+     */
+    private record Snapshot(List<List<Long>> runs, Set<Long> readyOrderIds, Set<Long> busyEmployeeIds,
+                            long loadedAt) {
+
+        static final Snapshot EMPTY = new Snapshot(List.of(), Set.of(), Set.of(), 0);
+    }
+
+    private final OrderRepository orderRepository;
+    private final PrimaryReader primaryReader;
+
+    @Value("${delivery.dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${delivery.dispatch.radius-meters:1500}")
+    private double radiusMeters;
+
+    @Value("${delivery.dispatch.max-orders-per-run:3}")
+    private int maxOrdersPerRun;
+
+    @Value("${delivery.dispatch.offer-seconds:90}")
+    private int offerSeconds;
+
+    @Value("${delivery.dispatch.refresh-ms:10000}")
+    private long refreshMs;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    /**
+     * orderId -> offer, guarded by this service's monitor
+     */
+    private final Map<Long, Offer> offers = new HashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ========== Dispatch ==========
+
+    /**
+     * Get the run offered to a delivery person, offering them the oldest free run if they hold none
+     *
+     * @return IDs of the offered READY orders, in delivery order (empty if there is nothing to deliver)
+     */
+    public List<Long> getOfferedRun(Long employeeId) {
+        refreshIfNeeded();
+        synchronized (this) {
+            // The latest published snapshot, so a slower reader never prunes offers with an older one
+            return offerRun(snapshot, employeeId);
+        }
+    }
+
+    private List<Long> offerRun(Snapshot current, Long employeeId) {
+        LocalDateTime now = LocalDateTime.now();
+        // Drop expired offers and offers of orders that are no longer READY
+        offers.entrySet().removeIf(entry -> entry.getValue().expiresAt().isBefore(now)
+                || !current.readyOrderIds().contains(entry.getKey()));
+
+        // Keep the orders they already hold (renewing the offer)
+        LocalDateTime expiresAt = now.plusSeconds(offerSeconds);
+        List<Long> held = new ArrayList<>();
+        for (List<Long> run : current.runs()) {
+            for (Long orderId : run) {
+                Offer offer = offers.get(orderId);
+                if (offer != null && offer.employeeId().equals(employeeId)) {
+                    held.add(orderId);
+                    offers.put(orderId, new Offer(employeeId, expiresAt));
+                }
+            }
+        }
+        if (!held.isEmpty()) {
+            return held;
+        }
+
+        // A run in progress must be finished before taking a new one
+        if (current.busyEmployeeIds().contains(employeeId)) {
+            return List.of();
+        }
+
+        // Oldest run with no order held by anybody else
+        for (List<Long> run : current.runs()) {
+            if (run.stream().noneMatch(offers::containsKey)) {
+                run.forEach(orderId -> offers.put(orderId, new Offer(employeeId, expiresAt)));
+                log.info("Delivery run {} offered to employee {}", run, employeeId);
+                return run;
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Check if the order is currently offered to another delivery person
+     */
+    public synchronized boolean isOfferedToAnother(Long orderId, Long employeeId) {
+        if (!enabled) {
+            return false;
+        }
+        Offer offer = offers.get(orderId);
+        return offer != null
+                && !offer.employeeId().equals(employeeId)
+                && offer.expiresAt().isAfter(LocalDateTime.now());
+    }
+
+    /**
+     * Reload the index after the current transaction commits (an order changed status)
+     */
+    public void ordersChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markStale();
+                }
+            });
+        } else {
+            markStale();
+        }
+    }
+
+    private void markStale() {
+        stale.set(true);
+    }
+
+    // ========== Index ==========
+
+    /**
+     * Reload the snapshot if it is stale or too old. Only one thread reloads;
+     * the others keep using the previous snapshot meanwhile.
+     */
+    private void refreshIfNeeded() {
+        if (!stale.get() && System.currentTimeMillis() - snapshot.loadedAt() < refreshMs) {
+            return;
+        }
+        if (!reloading.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            // Cleared before querying, so a change committed during the reload triggers another one
+            stale.set(false);
+            // Loaded from the primary: a lagging replica could miss the status change that made it stale
+            List<DropPoint> points = new ArrayList<>();
+            for (Object[] row : primaryReader.read(orderRepository::findReadyDeliveryDropPoints)) {
+                points.add(new DropPoint((Long) row[0], (Double) row[1], (Double) row[2], (LocalDateTime) row[3]));
+            }
+            List<List<Long>> runs = buildRuns(points);
+            Set<Long> ready = new HashSet<>();
+            runs.forEach(ready::addAll);
+
+            Set<Long> busy = Set.copyOf(primaryReader.read(orderRepository::findDeliveryPersonIdsOnTheWay));
+            snapshot = new Snapshot(runs, Set.copyOf(ready), busy, System.currentTimeMillis());
+
+            log.debug("Delivery dispatch index loaded: {} READY orders in {} runs, {} delivery persons on the way",
+                    ready.size(), runs.size(), busy.size());
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    /**
+     * Group drop points (oldest first) into runs of nearby orders
+     */
+    private List<List<Long>> buildRuns(List<DropPoint> points) {
+        // Cells are one radius high and one radius wide; the delivery area is small enough to use
+        // the longitude degree length at its mean latitude for every cell
+        double latCellDegrees = radiusMeters / METERS_PER_DEGREE_LAT;
+        double meanLatitude = points.stream().filter(DropPoint::hasLocation)
+                .mapToDouble(DropPoint::latitude).average().orElse(0);
+        double lonCellDegrees = latCellDegrees / Math.max(Math.cos(Math.toRadians(meanLatitude)), 0.01);
+
+        Map<Cell, List<DropPoint>> grid = new HashMap<>();
+        for (DropPoint point : points) {
+            if (point.hasLocation()) {
+                grid.computeIfAbsent(cellOf(point, latCellDegrees, lonCellDegrees), cell -> new ArrayList<>())
+                        .add(point);
+            }
+        }
+
+        Set<Long> assigned = new HashSet<>();
+        List<List<Long>> result = new ArrayList<>();
+        for (DropPoint seed : points) {
+            if (!assigned.add(seed.orderId())) {
+                continue;
+            }
+            List<Long> run = new ArrayList<>();
+            run.add(seed.orderId());
+
+            if (seed.hasLocation() && maxOrdersPerRun > 1) {
+                Map<DropPoint, Double> nearby = new LinkedHashMap<>();
+                Cell center = cellOf(seed, latCellDegrees, lonCellDegrees);
+                for (long row = center.row() - 1; row <= center.row() + 1; row++) {
+                    for (long column = center.column() - 1; column <= center.column() + 1; column++) {
+                        for (DropPoint candidate : grid.getOrDefault(new Cell(row, column), List.of())) {
+                            if (assigned.contains(candidate.orderId())) {
+                                continue;
+                            }
+                            double distance = distanceMeters(seed, candidate);
+                            if (distance <= radiusMeters) {
+                                nearby.put(candidate, distance);
+                            }
+                        }
+                    }
+                }
+                nearby.entrySet().stream()
+                        .sorted(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                        .limit(maxOrdersPerRun - 1L)
+                        .forEach(entry -> {
+                            assigned.add(entry.getKey().orderId());
+                            run.add(entry.getKey().orderId());
+                        });
+            }
+            result.add(List.copyOf(run));
+        }
+        return List.copyOf(result);
+    }
+
+    private static Cell cellOf(DropPoint point, double latCellDegrees, double lonCellDegrees) {
+        return new Cell((long) Math.floor(point.latitude() / latCellDegrees),
+                (long) Math.floor(point.longitude() / lonCellDegrees));
+    }
+
+    /**
+     * Haversine distance between two drop points
+     */
+    private static double distanceMeters(DropPoint a, DropPoint b) {
+        double dLat = Math.toRadians(b.latitude() - a.latitude());
+        double dLon = Math.toRadians(b.longitude() - a.longitude());
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(a.latitude())) * Math.cos(Math.toRadians(b.latitude()))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.sqrt(h));
+    }
+}
@@ -0,0 +1,152 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryEarningDaily;
+import com.aatechsolutions.elgransazon.domain.entity.Order;
+import com.aatechsolutions.elgransazon.domain.entity.OrderStatus;
+import com.aatechsolutions.elgransazon.domain.entity.OrderType;
+import com.aatechsolutions.elgransazon.domain.repository.DeliveryEarningDailyRepository;
+import com.aatechsolutions.elgransazon.domain.repository.DeliveryEarningRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for the delivery earnings ledger.
+ *
+ * When a DELIVERY order becomes PAID, {@link #recordPaidDelivery(Order)} adds it to the ledger
+ * (delivery_earnings, one row per order) and to the delivery person's daily rollup
+ * (delivery_earnings_daily) in the same transaction. Delivery screens read today, this week and
+ * all-time totals from the rollup instead of scanning every order. The ledger and the rollup are
+ * rebuilt from the orders once, before the first start that uses them ({@link StartupBackfill}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryEarningService implements StartupBackfill {
+
+    private final DeliveryEarningRepository deliveryEarningRepository;
+    private final DeliveryEarningDailyRepository deliveryEarningDailyRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final JdbcTemplate jdbcTemplate;
+
+    // ========== Write path ==========
+
+    /**
+     * Add a PAID delivery order to the ledger (called on the PAID transition, inside its transaction).
+     * Orders without delivery person are skipped; an order already recorded is not counted twice.
+     */
+    @Transactional
+    public void recordPaidDelivery(Order order) {
+        if (order.getOrderType() != OrderType.DELIVERY || order.getStatus() != OrderStatus.PAID
+                || order.getDeliveredBy() == null) {
+            return;
+        }
+
+        Long employeeId = order.getDeliveredBy().getIdEmpleado();
+        BigDecimal total = order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO;
+        BigDecimal tip = order.getTip() != null ? order.getTip() : BigDecimal.ZERO;
+        LocalDateTime paidAt = LocalDateTime.now();
+
+        int added = deliveryEarningRepository.insertIgnore(order.getIdOrder(), employeeId, total, tip, paidAt);
+        if (added > 0) {
+            deliveryEarningDailyRepository.addDelivery(employeeId, paidAt.toLocalDate(), total, tip);
+            log.debug("Delivery earning recorded: order {}, employee {}, tip {}", order.getOrderNumber(), employeeId, tip);
+        }
+    }
+
+    // ========== Read path ==========
+
+    @Transactional(readOnly = true)
+    public OrderTotals getToday(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        return getBetween(employeeId, today, today);
+    }
+
+    /**
+     * Totals from Monday of the current week to today
+     */
+    @Transactional(readOnly = true)
+    public OrderTotals getThisWeek(Long employeeId) {
+        LocalDate today = LocalDate.now();
+        return getBetween(employeeId, today.with(DayOfWeek.MONDAY), today);
+    }
+
+    @Transactional(readOnly = true)
+    public OrderTotals getAllTime(Long employeeId) {
+        return toSummary(deliveryEarningDailyRepository.sumAllTime(employeeId));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderTotals getBetween(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        return toSummary(deliveryEarningDailyRepository.sumBetween(employeeId, startDate, endDate));
+    }
+
+    /**
+     * Daily totals for each day between two dates (inclusive), days without deliveries included
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, OrderTotals> getDaily(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, OrderTotals> daily = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            daily.put(date, OrderTotals.EMPTY);
+        }
+        for (DeliveryEarningDaily row : deliveryEarningDailyRepository
+                .findByEmployeeIdAndEarningDateBetweenOrderByEarningDateAsc(employeeId, startDate, endDate)) {
+            daily.put(row.getEarningDate(),
+                    new OrderTotals(row.getDeliveries(), row.getOrdersTotal(), row.getTips()));
+        }
+        return daily;
+    }
+
+    private static OrderTotals toSummary(List<Object[]> result) {
+        if (result.isEmpty() || result.get(0) == null) {
+            return OrderTotals.EMPTY;
+        }
+        return OrderTotals.fromRow(result.get(0), 0);
+    }
+
+    // ========== Backfill ==========
+
+    @Override
+    public String getBackfillName() {
+        return "delivery_earnings";
+    }
+
+    /**
+     * Add to the ledger the PAID delivery orders stored (live and archived) that it is missing,
+     * then rebuild the daily rollups from the ledger. The order's last update is used as payment time.
+     *
+     * @return number of ledger rows added
+     */
+    @Override
+    @Transactional
+    public int backfill() {
+        int added = 0;
+        for (String ordersTable : orderArchiveService.getOrderTables()) {
+            added += backfillFrom(ordersTable);
+        }
+
+        jdbcTemplate.update("DELETE FROM delivery_earnings_daily");
+        jdbcTemplate.update("INSERT INTO delivery_earnings_daily (id_employee, earning_date, deliveries, orders_total, tips) " +
+                "SELECT id_employee, DATE(paid_at), COUNT(*), SUM(order_total), SUM(tip) " +
+                "FROM delivery_earnings GROUP BY id_employee, DATE(paid_at)");
+        return added;
+    }
+
+    private int backfillFrom(String ordersTable) {
+        return jdbcTemplate.update("INSERT IGNORE INTO delivery_earnings (id_order, id_employee, order_total, tip, paid_at) " +
+                "SELECT id_order, id_delivered_by, total, COALESCE(tip, 0), COALESCE(updated_at, created_at) " +
+                "FROM " + ordersTable + " WHERE status = 'PAID' AND order_type = 'DELIVERY' " +
+                "AND id_delivered_by IS NOT NULL");
+    }
+}
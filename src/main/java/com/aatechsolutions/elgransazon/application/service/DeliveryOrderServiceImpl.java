@@ -42,6 +42,7 @@ public class DeliveryOrderServiceImpl implements OrderService {
     private final OrderServiceImpl adminOrderService; // Delegate to admin service for actual operations
     private final EmployeeRepository employeeRepository;
     private final OrderRepository orderRepository;
+    private final DeliveryDispatchService deliveryDispatchService;
 
     /**
      * Get current authenticated username
@@ -116,6 +117,11 @@ public class DeliveryOrderServiceImpl implements OrderService {
         
         // CRITICAL: Use pessimistic locking when accepting an order to prevent race conditions
         if (newStatus == OrderStatus.ON_THE_WAY) {
+            // Orders offered to another delivery person are rejected before taking the row lock
+            if (deliveryDispatchService.isOfferedToAnother(id, currentEmployee.getIdEmpleado())) {
+                throw new IllegalStateException("El pedido está asignado a otro repartidor");
+            }
+
             // Lock the order row in the database to prevent concurrent access
             Order order = orderRepository.findByIdWithLock(id)
                 .orElseThrow(() -> new IllegalArgumentException("Pedido no encontrado"));
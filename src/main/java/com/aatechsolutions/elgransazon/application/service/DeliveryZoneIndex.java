@@ -0,0 +1,129 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryZone;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable point-in-polygon index of delivery zones.
+ *
+ * Each zone polygon is compiled once into flat coordinate arrays plus its bounding box. A lookup
+ * walks the zones by priority, skips those whose bounding box does not contain the point and runs
+ * a ray-casting test on the rest, so most zones cost four comparisons.
+ */
+public final class DeliveryZoneIndex {
+
+    /**
+     * Zone a point belongs to
+     */
+    public record ZoneMatch(Long zoneId, String name, BigDecimal deliveryFee, Integer estimatedMinutes) {
+    }
+
+    private record CompiledZone(ZoneMatch match, int priority, double[] lats, double[] lons,
+                                double minLat, double maxLat, double minLon, double maxLon) {
+
+        boolean contains(double lat, double lon) {
+            if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                return false;
+            }
+            // Ray casting: count edges crossed by a ray going east from the point
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > lat) != (lats[j] > lat)
+                        && lon < (lons[j] - lons[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+
+    public static final DeliveryZoneIndex EMPTY = new DeliveryZoneIndex(List.of());
+
+    private final List<CompiledZone> zones;
+
+    private DeliveryZoneIndex(List<CompiledZone> zones) {
+        this.zones = zones;
+    }
+
+    /**
+     * Compile the given zones (invalid polygons must be rejected before, see {@link #parsePolygon(String)})
+     */
+    public static DeliveryZoneIndex compile(List<DeliveryZone> deliveryZones) {
+        List<CompiledZone> compiled = new ArrayList<>(deliveryZones.size());
+        for (DeliveryZone zone : deliveryZones) {
+            double[][] vertices = parsePolygon(zone.getPolygon());
+            double[] lats = vertices[0];
+            double[] lons = vertices[1];
+            double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+            double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+            for (int i = 0; i < lats.length; i++) {
+                minLat = Math.min(minLat, lats[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                minLon = Math.min(minLon, lons[i]);
+                maxLon = Math.max(maxLon, lons[i]);
+            }
+            ZoneMatch match = new ZoneMatch(zone.getIdZone(), zone.getName(),
+                    zone.getDeliveryFee(), zone.getEstimatedMinutes());
+            compiled.add(new CompiledZone(match, zone.getPriority() != null ? zone.getPriority() : 0,
+                    lats, lons, minLat, maxLat, minLon, maxLon));
+        }
+        compiled.sort(Comparator.comparingInt(CompiledZone::priority)
+                .thenComparing(zone -> zone.match().deliveryFee(), Comparator.nullsLast(Comparator.naturalOrder())));
+        return new DeliveryZoneIndex(List.copyOf(compiled));
+    }
+
+    /**
+     * Find the zone (lowest priority first) that contains the point
+     */
+    public Optional<ZoneMatch> find(double latitude, double longitude) {
+        for (CompiledZone zone : zones) {
+            if (zone.contains(latitude, longitude)) {
+                return Optional.of(zone.match());
+            }
+        }
+        return Optional.empty();
+    }
+
+    public boolean isEmpty() {
+        return zones.isEmpty();
+    }
+
+    public int size() {
+        return zones.size();
+    }
+
+    /**
+     * Parse "lat,lon;lat,lon;..." into {lats, lons}
+     *
+     * @throws IllegalArgumentException if the polygon has less than 3 vertices or invalid coordinates
+     */
+    public static double[][] parsePolygon(String polygon) {
+        if (polygon == null || polygon.isBlank()) {
+            throw new IllegalArgumentException("El polígono de la zona es requerido");
+        }
+        String[] points = polygon.trim().split("\\s*;\\s*");
+        if (points.length < 3) {
+            throw new IllegalArgumentException("El polígono debe tener al menos 3 vértices");
+        }
+        double[] lats = new double[points.length];
+        double[] lons = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            String[] coordinates = points[i].split("\\s*,\\s*");
+            try {
+                lats[i] = Double.parseDouble(coordinates[0]);
+                lons[i] = Double.parseDouble(coordinates[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Vértice inválido en el polígono: " + points[i]);
+            }
+            if (coordinates.length != 2 || Math.abs(lats[i]) > 90 || Math.abs(lons[i]) > 180) {
+                throw new IllegalArgumentException("Vértice inválido en el polígono: " + points[i]);
+            }
+        }
+        return new double[][]{lats, lons};
+    }
+}
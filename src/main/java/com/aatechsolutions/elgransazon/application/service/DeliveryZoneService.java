@@ -0,0 +1,138 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.application.service.DeliveryZoneIndex.ZoneMatch;
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryZone;
+import com.aatechsolutions.elgransazon.domain.repository.DeliveryZoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service that evaluates delivery locations against the delivery zones.
+ *
+ * Active zones are compiled into a {@link DeliveryZoneIndex} on startup and recompiled every
+ * {@code delivery.zones.refresh-ms} (zones are maintained in the delivery_zones table).
+ * Zones with an invalid polygon are skipped and logged. While no zone is defined every location
+ * is accepted, as before zones existed.
+ *
+ * The zone's delivery fee and estimated time are shown to the customer when they pick a location;
+ * they are not added to the order (orders have no delivery fee amount yet).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryZoneService {
+
+    private final DeliveryZoneRepository deliveryZoneRepository;
+    private final PrimaryReader primaryReader;
+
+    @Value("${delivery.zones.refresh-ms:300000}")
+    private long refreshMs;
+
+    private volatile DeliveryZoneIndex index;
+    private volatile long loadedAt;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    /**
+     * Find the zone of a location
+     */
+    public Optional<ZoneMatch> evaluate(double latitude, double longitude) {
+        return currentIndex().find(latitude, longitude);
+    }
+
+    /**
+     * Validate that a delivery location is inside a zone
+     *
+     * @return the zone, or empty if no zones are defined
+     * @throws IllegalArgumentException if zones are defined and the location is missing or outside all of them
+     */
+    public Optional<ZoneMatch> validateDeliveryLocation(Double latitude, Double longitude) {
+        DeliveryZoneIndex current = currentIndex();
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("La ubicación de entrega es requerida");
+        }
+        Optional<ZoneMatch> match = current.find(latitude, longitude);
+        if (match.isEmpty()) {
+            throw new IllegalArgumentException("La dirección está fuera de nuestra zona de entrega");
+        }
+        return match;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Could not load delivery zones on startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompile the index from the active zones
+     */
+    public synchronized void reload() {
+        List<DeliveryZone> valid = new ArrayList<>();
+        for (DeliveryZone zone : primaryReader.read(deliveryZoneRepository::findByActiveTrue)) {
+            try {
+                DeliveryZoneIndex.parsePolygon(zone.getPolygon());
+                valid.add(zone);
+            } catch (IllegalArgumentException e) {
+                log.error("Delivery zone '{}' skipped: {}", zone.getName(), e.getMessage());
+            }
+        }
+        index = DeliveryZoneIndex.compile(valid);
+        loadedAt = System.currentTimeMillis();
+        log.info("Delivery zone index loaded: {} zones", index.size());
+    }
+
+    /**
+     * Get the index, loading it on first use and reloading it once expired. Only one thread
+     * reloads an expired index; the others keep using the previous one meanwhile.
+     */
+    private DeliveryZoneIndex currentIndex() {
+        DeliveryZoneIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    tryReload();
+                }
+                return index != null ? index : DeliveryZoneIndex.EMPTY;
+            }
+        }
+        if (System.currentTimeMillis() - loadedAt < refreshMs || !reloading.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            // Rechecked: another thread may have reloaded between the expiry check and the flag
+            if (System.currentTimeMillis() - loadedAt >= refreshMs) {
+                tryReload();
+            }
+        } finally {
+            reloading.set(false);
+        }
+        return index;
+    }
+
+    private void tryReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Keep answering with the previous zones until the database is back
+            log.error("Could not reload delivery zones: {}", e.getMessage());
+            if (index != null) {
+                loadedAt = System.currentTimeMillis();
+            }
+        }
+    }
+}
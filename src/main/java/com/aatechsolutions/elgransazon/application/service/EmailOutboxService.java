@@ -0,0 +1,163 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.EmailOutbox;
+import com.aatechsolutions.elgransazon.domain.entity.EmailOutboxStatus;
+import com.aatechsolutions.elgransazon.domain.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for the email outbox.
+ *
+ * Emails are stored in the caller's transaction, so an email is only delivered if the
+ * change that produced it (e.g. a reset token) commits. Delivery happens in the background
+ * ({@code EmailOutboxDispatcher}); this service handles claiming, retries with exponential
+ * backoff and final failure.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    /**
+     * Published when an email is enqueued, so the dispatcher can deliver it right after commit
+     */
+    public record EmailEnqueuedEvent(Long idEmail) {
+    }
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.base-backoff-seconds:30}")
+    private long baseBackoffSeconds;
+
+    @Value("${mail.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    /**
+     * Store an email for background delivery
+     */
+    @Transactional
+    public EmailOutbox enqueue(String toEmail, String subject, String htmlBody) {
+        EmailOutbox email = emailOutboxRepository.save(EmailOutbox.builder()
+                .toEmail(toEmail)
+                .subject(subject)
+                .htmlBody(htmlBody)
+                .build());
+
+        log.info("Email queued for {} (ID: {})", toEmail, email.getIdEmail());
+        eventPublisher.publishEvent(new EmailEnqueuedEvent(email.getIdEmail()));
+        return email;
+    }
+
+    /**
+     * Claim up to {@code limit} due emails for delivery (status SENDING, attempts + 1).
+     * Claiming is a conditional update, so two dispatchers never send the same email.
+     */
+    @Transactional
+    public List<EmailOutbox> claimDue(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = new ArrayList<>();
+        for (Long id : emailOutboxRepository.findDueIds(now, PageRequest.of(0, limit))) {
+            if (emailOutboxRepository.claim(id, now) == 1) {
+                claimed.add(id);
+            }
+        }
+        return claimed.isEmpty() ? List.of() : emailOutboxRepository.findAllById(claimed);
+    }
+
+    @Transactional
+    public void markSent(Long idEmail) {
+        emailOutboxRepository.findById(idEmail).ifPresent(email -> {
+            email.setStatus(EmailOutboxStatus.SENT);
+            email.setSentAt(LocalDateTime.now());
+            email.setLastError(null);
+            log.info("Email sent to {} (ID: {}, attempt {})", email.getToEmail(), idEmail, email.getAttempts());
+        });
+    }
+
+    /**
+     * Record a failed attempt: retry later with exponential backoff, or give up when the
+     * failure is permanent or the maximum number of attempts was reached
+     */
+    @Transactional
+    public void markFailed(Long idEmail, String error, boolean retryable) {
+        emailOutboxRepository.findById(idEmail).ifPresent(email -> {
+            email.setLastError(truncate(error));
+
+            if (!retryable || email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.FAILED);
+                log.error("Email to {} failed permanently after {} attempts (ID: {}): {}",
+                        email.getToEmail(), email.getAttempts(), idEmail, error);
+                return;
+            }
+
+            long delay = Math.min(maxBackoffSeconds,
+                    baseBackoffSeconds * (1L << Math.min(20, email.getAttempts() - 1)));
+            email.setStatus(EmailOutboxStatus.PENDING);
+            email.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+            log.warn("Email to {} failed (attempt {}/{}, ID: {}), retrying in {}s: {}",
+                    email.getToEmail(), email.getAttempts(), maxAttempts, idEmail, delay, error);
+        });
+    }
+
+    /**
+     * Put back a claimed email that was never handed to the transport (circuit breaker open),
+     * without counting it against its retry attempts
+     */
+    @Transactional
+    public void releaseUnattempted(Long idEmail) {
+        emailOutboxRepository.releaseUnattempted(idEmail, LocalDateTime.now());
+    }
+
+    /**
+     * Put back emails left in SENDING by an interrupted attempt
+     */
+    @Transactional
+    public int releaseStale(LocalDateTime claimedBefore) {
+        int released = emailOutboxRepository.releaseStale(claimedBefore, LocalDateTime.now());
+        if (released > 0) {
+            log.warn("Released {} emails left in SENDING by an interrupted attempt", released);
+        }
+        return released;
+    }
+
+    /**
+     * Delete one batch of sent or permanently failed emails created before {@code createdBefore}.
+     * Their bodies contain verification and reset links, so they are not kept indefinitely.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public int purgeFinished(LocalDateTime createdBefore, int limit) {
+        return emailOutboxRepository.deleteFinishedBatch(createdBefore, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public long countByStatus(EmailOutboxStatus status) {
+        return emailOutboxRepository.countByStatus(status);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
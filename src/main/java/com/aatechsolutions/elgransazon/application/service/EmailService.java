@@ -1,28 +1,21 @@
 package com.aatechsolutions.elgransazon.application.service;
 
-import java.io.IOException;
-
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import com.sendgrid.*;
-import com.sendgrid.helpers.mail.Mail;
-import com.sendgrid.helpers.mail.objects.Content;
-import com.sendgrid.helpers.mail.objects.Email;
-
 /**
- * Email service using SendGrid
+ * Email service: builds the emails and queues them in the email outbox.
+ * Delivery (SendGrid by default) is done in the background by the outbox dispatcher,
+ * so callers never wait for the mail provider.
  */
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    @Value("${spring.email.password}")
-    private String sendGridApiKey;
-
-    @Value("${mail.from.email}")
-    private String fromEmail;
+    private final EmailOutboxService emailOutboxService;
 
     @Value("${mail.from.name}")
     private String fromName;
@@ -58,71 +51,33 @@ public class EmailService {
     }
 
     /**
-     * Send password reset email
+     * Queue password reset email
      */
     public void sendPasswordResetEmail(String toEmail, String token) {
-        log.info("Sending password reset email to: {}", toEmail);
+        log.debug("Queueing password reset email to: {}", toEmail);
         
         // Build reset URL dynamically from environment variables
         String resetUrl = getBaseUrl() + "/client/reset-password?token=" + token;
 
-        Email from = new Email(fromEmail, fromName);
-        Email to = new Email(toEmail);
         String subject = "Restablecimiento de Contraseña - " + fromName;
-        
         String htmlContent = buildPasswordResetEmailHtml(resetUrl);
-        Content content = new Content("text/html", htmlContent);
 
-        sendEmail(from, to, subject, content);
+        emailOutboxService.enqueue(toEmail, subject, htmlContent);
     }
 
     /**
-     * Send email verification email
+     * Queue email verification email
      */
     public void sendEmailVerification(String toEmail, String token) {
-        log.info("Sending email verification to: {}", toEmail);
+        log.debug("Queueing email verification to: {}", toEmail);
         
         // Build verification URL dynamically from environment variables
         String verificationUrl = getBaseUrl() + "/client/verify-email?token=" + token;
 
-        Email from = new Email(fromEmail, fromName);
-        Email to = new Email(toEmail);
         String subject = "Verifica tu Correo Electrónico - " + fromName;
-        
         String htmlContent = buildEmailVerificationHtml(verificationUrl);
-        Content content = new Content("text/html", htmlContent);
 
-        sendEmail(from, to, subject, content);
-    }
-
-    /**
-     * Send email using SendGrid
-     */
-    private void sendEmail(Email from, Email to, String subject, Content content) {
-        Mail mail = new Mail(from, subject, to, content);
-        SendGrid sg = new SendGrid(sendGridApiKey);
-        Request request = new Request();
-
-        try {
-            request.setMethod(Method.POST);
-            request.setEndpoint("mail/send");
-            request.setBody(mail.build());
-            Response response = sg.api(request);
-
-            log.info("SendGrid Response Status: {}", response.getStatusCode());
-
-            if (response.getStatusCode() >= 400) {
-                log.error("Error sending email. Status: {}, Body: {}", 
-                    response.getStatusCode(), response.getBody());
-                throw new RuntimeException("Error al enviar email. Status: " + response.getStatusCode());
-            }
-            
-            log.info("Email sent successfully to: {}", to.getEmail());
-            
-        } catch (IOException e) {
-            log.error("Error sending email via SendGrid", e);
-            throw new RuntimeException("Error al enviar email a través de SendGrid", e);
-        }
+        emailOutboxService.enqueue(toEmail, subject, htmlContent);
     }
 
     /**
@@ -0,0 +1,20 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+/**
+ * Transport that delivers one email (SendGrid in production, a log/file stand-in offline).
+ * Implementations must be thread-safe: the outbox dispatcher calls them from a worker pool.
+ */
+public interface EmailTransport {
+
+    /**
+     * Deliver an HTML email
+     *
+     * @throws EmailTransportException if delivery failed
+     */
+    void send(String toEmail, String subject, String htmlBody) throws EmailTransportException;
+
+    /**
+     * Name shown in logs
+     */
+    String getName();
+}
@@ -0,0 +1,25 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+/**
+ * Email delivery failure.
+ * Retryable failures (network errors, 429, 5xx) are attempted again with backoff;
+ * permanent ones (e.g. invalid recipient) mark the email as failed right away.
+ */
+public class EmailTransportException extends Exception {
+
+    private final boolean retryable;
+
+    public EmailTransportException(String message, boolean retryable) {
+        super(message);
+        this.retryable = retryable;
+    }
+
+    public EmailTransportException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryable = true;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+}
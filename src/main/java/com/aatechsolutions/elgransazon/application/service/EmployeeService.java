@@ -30,6 +30,7 @@ public class EmployeeService {
     private final PasswordEncoder passwordEncoder;
     private final SessionRegistry sessionRegistry;
     private final LicenseService licenseService;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Find all employees
@@ -204,6 +205,7 @@ public class EmployeeService {
         }
 
         Employee updatedEmployee = employeeRepository.save(employee);
+        userDetailsCache.evictEmployee(updatedEmployee.getIdEmpleado());
         log.info("Employee updated successfully: {}", updatedEmployee.getIdEmpleado());
         
         // Invalidate sessions if username was changed
@@ -237,6 +239,7 @@ public class EmployeeService {
         }
 
         employeeRepository.deleteById(id);
+        userDetailsCache.evictEmployee(id);
         log.info("Employee deleted successfully: {}", id);
     }
 
@@ -261,6 +264,7 @@ public class EmployeeService {
         employee.setContrasenia(encodedPassword);
         
         employeeRepository.save(employee);
+        userDetailsCache.evictEmployee(id);
         log.info("Password changed successfully for employee: {}", id);
         
         // Invalidate sessions after password change
@@ -295,6 +299,7 @@ public class EmployeeService {
         employee.setEnabled(enabled);
         employee.setUpdatedBy(updatedBy);
         employeeRepository.save(employee);
+        userDetailsCache.evictEmployee(id);
         
         log.info("Employee enabled status updated: {}", id);
         
@@ -305,24 +310,6 @@ public class EmployeeService {
         }
     }
 
-    /**
-     * Update employee's last access time
-     * 
-     * @param username Employee's username
-     */
-    @Transactional
-    public void updateLastAccess(String username) {
-        log.debug("Updating last access for user: {}", username);
-        
-        Optional<Employee> employeeOpt = employeeRepository.findByUsername(username);
-        if (employeeOpt.isPresent()) {
-            Employee employee = employeeOpt.get();
-            employee.setLastAccess(java.time.LocalDateTime.now());
-            employeeRepository.save(employee);
-            log.debug("Last access updated for user: {}", username);
-        }
-    }
-
     /**
      * Find all enabled employees
      * 
@@ -5,6 +5,8 @@ import com.aatechsolutions.elgransazon.domain.entity.EmployeeShiftHistory;
 import com.aatechsolutions.elgransazon.domain.entity.Shift;
 import com.aatechsolutions.elgransazon.domain.entity.ShiftAction;
 
+import org.springframework.data.domain.Page;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -81,13 +83,25 @@ public interface EmployeeShiftHistoryService {
      */
     long countHistoryByShift(Long shiftId);
 
+    /**
+     * Get one page of the history of an employee, newest first (page is zero-based)
+     */
+    Page<EmployeeShiftHistory> getHistoryPageByEmployee(Long employeeId, int page, int size);
+
+    /**
+     * Get one page of the history between two dates, newest first (page is zero-based)
+     */
+    Page<EmployeeShiftHistory> getHistoryPageByDateRange(LocalDateTime start, LocalDateTime end, int page, int size);
+
     /**
      * Get shift changes report for date range
+     * Counts are computed in the database; "details" holds the first page of the history
      */
     Map<String, Object> getShiftChangesReport(LocalDateTime start, LocalDateTime end);
 
     /**
      * Get employee shift statistics
+     * Counts are computed in the database; "history" holds the first page of the history
      */
     Map<String, Object> getEmployeeShiftStatistics(Long employeeId);
 
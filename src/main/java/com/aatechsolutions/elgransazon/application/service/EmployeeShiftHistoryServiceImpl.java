@@ -4,12 +4,13 @@ import com.aatechsolutions.elgransazon.domain.entity.*;
 import com.aatechsolutions.elgransazon.domain.repository.EmployeeShiftHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of EmployeeShiftHistoryService
@@ -20,6 +21,11 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class EmployeeShiftHistoryServiceImpl implements EmployeeShiftHistoryService {
 
+    /**
+     * History rows included in the report and statistics maps (further pages through the paged methods)
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final EmployeeShiftHistoryRepository historyRepository;
 
     @Override
@@ -119,9 +125,12 @@ public class EmployeeShiftHistoryServiceImpl implements EmployeeShiftHistoryServ
                     .reason(reason)
                     .build();
             
-            histories.add(historyRepository.save(history));
+            histories.add(history);
         }
 
+        // One batched insert (IDs come from the table generator, so Hibernate can batch them)
+        histories = historyRepository.saveAll(histories);
+
         log.info("Successfully created {} history records", histories.size());
         return histories;
     }
@@ -142,23 +151,33 @@ public class EmployeeShiftHistoryServiceImpl implements EmployeeShiftHistoryServ
         return historyRepository.findMostRecentActionForEmployeeAndShift(employeeId, shiftId);
     }
 
+    @Override
+    public Page<EmployeeShiftHistory> getHistoryPageByEmployee(Long employeeId, int page, int size) {
+        log.debug("Fetching history page {} for employee ID: {}", page, employeeId);
+        return historyRepository.findPageByEmployeeId(employeeId, toPageRequest(page, size));
+    }
+
+    @Override
+    public Page<EmployeeShiftHistory> getHistoryPageByDateRange(LocalDateTime start, LocalDateTime end, int page, int size) {
+        log.debug("Fetching history page {} between {} and {}", page, start, end);
+        return historyRepository.findPageByActionDateBetween(start, end, toPageRequest(page, size));
+    }
+
     @Override
     public Map<String, Object> getShiftChangesReport(LocalDateTime start, LocalDateTime end) {
         log.info("Generating shift changes report from {} to {}", start, end);
         
-        List<EmployeeShiftHistory> history = historyRepository.findByActionDateBetween(start, end);
-        
-        long totalChanges = history.size();
-        long assignments = history.stream().filter(h -> h.getAction() == ShiftAction.ASSIGNED).count();
-        long removals = history.stream().filter(h -> h.getAction() == ShiftAction.REMOVED).count();
+        Map<ShiftAction, Long> counts = toActionCounts(historyRepository.countByActionDateBetweenGroupByAction(start, end));
+        long assignments = counts.get(ShiftAction.ASSIGNED);
+        long removals = counts.get(ShiftAction.REMOVED);
         
         Map<String, Object> report = new HashMap<>();
         report.put("startDate", start);
         report.put("endDate", end);
-        report.put("totalChanges", totalChanges);
+        report.put("totalChanges", assignments + removals);
         report.put("assignments", assignments);
         report.put("removals", removals);
-        report.put("details", history);
+        report.put("details", getHistoryPageByDateRange(start, end, 0, DEFAULT_PAGE_SIZE));
         
         return report;
     }
@@ -167,29 +186,37 @@ public class EmployeeShiftHistoryServiceImpl implements EmployeeShiftHistoryServ
     public Map<String, Object> getEmployeeShiftStatistics(Long employeeId) {
         log.info("Generating shift statistics for employee ID: {}", employeeId);
         
-        List<EmployeeShiftHistory> history = historyRepository.findByEmployeeIdOrderByActionDateDesc(employeeId);
-        
-        long totalChanges = history.size();
-        long assignments = history.stream().filter(h -> h.getAction() == ShiftAction.ASSIGNED).count();
-        long removals = history.stream().filter(h -> h.getAction() == ShiftAction.REMOVED).count();
-        
-        // Get unique shifts
-        Set<Long> uniqueShifts = history.stream()
-                .map(h -> h.getShift().getId())
-                .collect(Collectors.toSet());
-        
-        // Get most recent action
-        EmployeeShiftHistory mostRecent = history.isEmpty() ? null : history.get(0);
+        Map<ShiftAction, Long> counts = toActionCounts(historyRepository.countByEmployeeIdGroupByAction(employeeId));
+        long assignments = counts.get(ShiftAction.ASSIGNED);
+        long removals = counts.get(ShiftAction.REMOVED);
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("employeeId", employeeId);
-        stats.put("totalChanges", totalChanges);
+        stats.put("totalChanges", assignments + removals);
         stats.put("assignments", assignments);
         stats.put("removals", removals);
-        stats.put("uniqueShifts", uniqueShifts.size());
-        stats.put("mostRecentAction", mostRecent);
-        stats.put("history", history);
+        stats.put("uniqueShifts", historyRepository.countDistinctShiftsByEmployeeId(employeeId));
+        stats.put("mostRecentAction", historyRepository.findMostRecentByEmployeeId(employeeId));
+        stats.put("history", getHistoryPageByEmployee(employeeId, 0, DEFAULT_PAGE_SIZE));
         
         return stats;
     }
+
+    /**
+     * Counts per action from [action, count] rows (every action present)
+     */
+    private static Map<ShiftAction, Long> toActionCounts(List<Object[]> rows) {
+        Map<ShiftAction, Long> counts = new EnumMap<>(ShiftAction.class);
+        for (ShiftAction action : ShiftAction.values()) {
+            counts.put(action, 0L);
+        }
+        for (Object[] row : rows) {
+            counts.put((ShiftAction) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    private static PageRequest toPageRequest(int page, int size) {
+        return PageRequest.of(Math.max(page, 0), Math.max(size, 1));
+    }
 }
@@ -0,0 +1,252 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.Ingredient;
+import com.aatechsolutions.elgransazon.domain.entity.IngredientMovement;
+import com.aatechsolutions.elgransazon.domain.entity.IngredientMovementType;
+import com.aatechsolutions.elgransazon.domain.entity.IngredientStockSnapshot;
+import com.aatechsolutions.elgransazon.domain.entity.ItemIngredient;
+import com.aatechsolutions.elgransazon.domain.entity.Order;
+import com.aatechsolutions.elgransazon.domain.entity.OrderDetail;
+import com.aatechsolutions.elgransazon.domain.repository.IngredientMovementRepository;
+import com.aatechsolutions.elgransazon.domain.repository.IngredientRepository;
+import com.aatechsolutions.elgransazon.domain.repository.IngredientStockSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service for the append-only ingredient movement ledger.
+ *
+ * Every stock change (sale, return, restock, manual adjustment) is recorded as an
+ * inserted movement row, tagged with the order and detail when it comes from an order.
+ * A periodic compaction folds movements into one snapshot row per ingredient, so the
+ * ledger stock is read as snapshot + tail without scanning the whole history.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngredientLedgerService {
+
+    private static final Set<IngredientMovementType> CONSUMPTION_TYPES =
+            EnumSet.of(IngredientMovementType.SALE, IngredientMovementType.RETURN);
+
+    private final IngredientMovementRepository movementRepository;
+    private final IngredientStockSnapshotRepository snapshotRepository;
+    private final IngredientRepository ingredientRepository;
+
+    // ========== Writers (insert only) ==========
+
+    /**
+     * Record the ingredients sold or returned for some details of an order.
+     * One movement is inserted per detail and recipe ingredient.
+     *
+     * @param type SALE (stock leaves inventory) or RETURN (stock comes back)
+     */
+    @Transactional
+    public void recordOrderMovements(IngredientMovementType type, Order order,
+                                     Collection<OrderDetail> details, String username) {
+        if (type != IngredientMovementType.SALE && type != IngredientMovementType.RETURN) {
+            throw new IllegalArgumentException("Tipo de movimiento inválido para un pedido: " + type);
+        }
+
+        BigDecimal sign = type == IngredientMovementType.SALE ? BigDecimal.ONE.negate() : BigDecimal.ONE;
+        List<IngredientMovement> movements = new ArrayList<>();
+
+        for (OrderDetail detail : details) {
+            for (ItemIngredient itemIngredient : detail.getItemMenu().getIngredients()) {
+                movements.add(IngredientMovement.builder()
+                        .ingredientId(itemIngredient.getIngredient().getIdIngredient())
+                        .movementType(type)
+                        .quantity(itemIngredient.getQuantity()
+                                .multiply(BigDecimal.valueOf(detail.getQuantity()))
+                                .multiply(sign))
+                        .orderId(order.getIdOrder())
+                        .orderDetailId(detail.getIdOrderDetail())
+                        .createdBy(username)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+        }
+
+        movementRepository.saveAll(movements);
+        log.debug("Recorded {} {} movements for order {}", movements.size(), type, order.getOrderNumber());
+    }
+
+    /**
+     * Record ingredients sold outside an order (quantity per ingredient ID, positive)
+     */
+    @Transactional
+    public void recordSale(Map<Long, BigDecimal> quantities, String username) {
+        quantities.forEach((ingredientId, quantity) ->
+                record(ingredientId, IngredientMovementType.SALE, quantity.negate(), username));
+    }
+
+    /**
+     * Record stock added by a purchase/restock
+     */
+    @Transactional
+    public void recordRestock(Long ingredientId, BigDecimal quantity, String username) {
+        record(ingredientId, IngredientMovementType.RESTOCK, quantity, username);
+    }
+
+    /**
+     * Record a manual stock correction (signed difference). Zero differences are ignored.
+     */
+    @Transactional
+    public void recordAdjustment(Long ingredientId, BigDecimal difference, String username) {
+        if (difference == null || difference.signum() == 0) {
+            return;
+        }
+        record(ingredientId, IngredientMovementType.ADJUSTMENT, difference, username);
+    }
+
+    /**
+     * Username of the authenticated user, recorded on movements made outside an order (null if none)
+     */
+    static String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() &&
+            !"anonymousUser".equals(authentication.getPrincipal())) {
+            return authentication.getName();
+        }
+        return null;
+    }
+
+    private void record(Long ingredientId, IngredientMovementType type, BigDecimal quantity, String username) {
+        movementRepository.save(IngredientMovement.builder()
+                .ingredientId(ingredientId)
+                .movementType(type)
+                .quantity(quantity)
+                .createdBy(username)
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.debug("Recorded {} movement for ingredient {}: {}", type, ingredientId, quantity);
+    }
+
+    // ========== Readers ==========
+
+    /**
+     * Get the ledger stock of an ingredient (snapshot + movements after it).
+     * Empty if the ingredient has not been compacted yet.
+     */
+    @Transactional(readOnly = true)
+    public Optional<BigDecimal> getLedgerStock(Long ingredientId) {
+        return snapshotRepository.findById(ingredientId)
+                .map(snapshot -> snapshot.getStock().add(
+                        movementRepository.sumQuantityAfter(ingredientId, snapshot.getLastMovementId())));
+    }
+
+    /**
+     * Get the movements of an ingredient, most recent first
+     */
+    @Transactional(readOnly = true)
+    public List<IngredientMovement> getMovements(Long ingredientId) {
+        return movementRepository.findByIngredientIdOrderByIdMovementDesc(ingredientId);
+    }
+
+    /**
+     * Net consumption (sales minus returns) of an ingredient per day, both dates inclusive
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, BigDecimal> getDailyConsumption(Long ingredientId, LocalDate from, LocalDate to) {
+        Map<LocalDate, BigDecimal> consumption = new LinkedHashMap<>();
+        for (Object[] row : movementRepository.getDailyConsumption(
+                ingredientId, CONSUMPTION_TYPES, from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            consumption.put((LocalDate) row[0], (BigDecimal) row[1]);
+        }
+        return consumption;
+    }
+
+    /**
+     * Net consumption per ingredient in a date range, both dates inclusive
+     * Returns: [ingredientId, ingredientName, unitOfMeasure, consumedQuantity]
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getConsumptionByIngredient(LocalDate from, LocalDate to) {
+        return movementRepository.getConsumptionByIngredient(
+                CONSUMPTION_TYPES, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    // ========== Compaction ==========
+
+    /**
+     * Highest movement ID that is safe to fold: movements created before the given instant.
+     * Movement IDs are allocated at insert time, not at commit time, so very recent
+     * movements are left in the tail until every transaction that could still commit
+     * a lower ID has finished.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> findCompactionWatermark(LocalDateTime createdBefore) {
+        return Optional.ofNullable(movementRepository.findMaxIdCreatedBefore(createdBefore));
+    }
+
+    /**
+     * Ingredients with work for the compaction up to {@code watermark}: never compacted,
+     * or with movements after their snapshot
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findIngredientsToCompact(long watermark) {
+        return movementRepository.findIngredientIdsToCompact(watermark);
+    }
+
+    /**
+     * Fold the movements of one ingredient up to {@code watermark} into its snapshot.
+     * The first compaction of an ingredient seeds the snapshot with its opening balance
+     * (current stock minus every recorded movement).
+     *
+     * The ingredient row lock is taken by the first statement of the transaction, so the
+     * read view used for the snapshot and the movement sums is created after the lock is held
+     * and includes every stock writer that committed before it (REPEATABLE READ).
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void compactIngredient(Long ingredientId, long watermark) {
+        Ingredient ingredient = ingredientRepository.findByIdWithLock(ingredientId).orElse(null);
+        if (ingredient == null) {
+            return;
+        }
+
+        IngredientStockSnapshot snapshot = snapshotRepository.findById(ingredientId).orElse(null);
+        if (snapshot != null && snapshot.getLastMovementId() >= watermark) {
+            // Nothing to fold
+            return;
+        }
+
+        if (snapshot == null) {
+            BigDecimal currentStock = ingredient.getCurrentStock() != null
+                    ? ingredient.getCurrentStock()
+                    : BigDecimal.ZERO;
+            snapshot = IngredientStockSnapshot.builder()
+                    .ingredientId(ingredientId)
+                    .stock(currentStock.subtract(movementRepository.sumQuantityAfter(ingredientId, 0L)))
+                    .lastMovementId(0L)
+                    .build();
+            log.info("Ledger opening balance for ingredient {}: {}", ingredientId, snapshot.getStock());
+        }
+
+        if (snapshot.getLastMovementId() < watermark) {
+            BigDecimal folded = movementRepository.sumQuantityBetween(
+                    ingredientId, snapshot.getLastMovementId(), watermark);
+            snapshot.setStock(snapshot.getStock().add(folded));
+            snapshot.setLastMovementId(watermark);
+        }
+
+        snapshot.setCompactedAt(LocalDateTime.now());
+        snapshotRepository.save(snapshot);
+    }
+}
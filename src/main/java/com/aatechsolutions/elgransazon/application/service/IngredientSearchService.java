@@ -0,0 +1,230 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.Ingredient;
+import com.aatechsolutions.elgransazon.domain.repository.IngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Database-side ingredient search for the ingredients list and exports.
+ *
+ * Text search, category, supplier and active filters, sorting and paging are resolved by a single
+ * SQL statement that also returns the number of matches and the active/inactive totals (window
+ * function and scalar subqueries), so a list page costs that statement plus one primary-key fetch
+ * of the ingredients shown. Text search uses the FULLTEXT index {@value #FULLTEXT_INDEX} on name,
+ * description and storage location (word prefix match, created on startup when missing);
+ * short or numeric terms, or a database without the index, fall back to LIKE.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IngredientSearchService {
+
+    static final String FULLTEXT_INDEX = "ft_ingredients_search";
+
+    /**
+     * InnoDB default innodb_ft_min_token_size: shorter words are not in the FULLTEXT index
+     */
+    private static final int MIN_FULLTEXT_TERM_LENGTH = 3;
+
+    /**
+     * Page of ingredients plus the totals shown next to the list
+     */
+    public record SearchResult(Page<Ingredient> page, long activeCount, long inactiveCount) {
+
+        public long getTotalCount() {
+            return activeCount + inactiveCount;
+        }
+    }
+
+    /**
+     * WHERE and ORDER BY of a search with its parameters
+     */
+    private record SearchSql(String where, String orderBy, List<Object> params) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IngredientRepository ingredientRepository;
+
+    private volatile boolean fullTextAvailable;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureFullTextIndex() {
+        try {
+            Integer existing = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.statistics " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'ingredients' AND index_name = ?",
+                    Integer.class, FULLTEXT_INDEX);
+            if (existing == null || existing == 0) {
+                jdbcTemplate.execute("ALTER TABLE ingredients ADD FULLTEXT INDEX " + FULLTEXT_INDEX +
+                        " (name, description, storage_location)");
+                log.info("Created FULLTEXT index {} on ingredients", FULLTEXT_INDEX);
+            }
+            fullTextAvailable = true;
+        } catch (Exception e) {
+            log.warn("Ingredient FULLTEXT index not available, text search uses LIKE: {}", e.getMessage());
+            fullTextAvailable = false;
+        }
+    }
+
+    /**
+     * One page of the ingredients matching the filters, with the number of matches and the
+     * active/inactive totals (page is zero-based)
+     */
+    @Transactional(readOnly = true)
+    public SearchResult search(String search, Long categoryId, Long supplierId, String sortBy,
+                               Boolean active, int page, int size) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.max(size, 1);
+        SearchSql sql = buildSql(search, categoryId, supplierId, sortBy, active);
+
+        List<Object> params = new ArrayList<>(sql.params());
+        params.add(pageSize);
+        params.add((long) pageNumber * pageSize);
+        List<long[]> rows = jdbcTemplate.query(
+                "SELECT i.id_ingredient, COUNT(*) OVER () AS matches, " +
+                "(SELECT COUNT(*) FROM ingredients WHERE active = TRUE) AS active_count, " +
+                "(SELECT COUNT(*) FROM ingredients WHERE active = FALSE) AS inactive_count " +
+                "FROM ingredients i WHERE " + sql.where() + " ORDER BY " + sql.orderBy() + " LIMIT ? OFFSET ?",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)},
+                params.toArray());
+
+        long matches;
+        long activeCount;
+        long inactiveCount;
+        if (!rows.isEmpty()) {
+            matches = rows.get(0)[1];
+            activeCount = rows.get(0)[2];
+            inactiveCount = rows.get(0)[3];
+        } else {
+            // Nothing on this page (no matches, or page past the end): the totals still have to be shown
+            long[] totals = jdbcTemplate.queryForObject(
+                    "SELECT (SELECT COUNT(*) FROM ingredients i WHERE " + sql.where() + "), " +
+                    "(SELECT COUNT(*) FROM ingredients WHERE active = TRUE), " +
+                    "(SELECT COUNT(*) FROM ingredients WHERE active = FALSE)",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)},
+                    sql.params().toArray());
+            matches = totals[0];
+            activeCount = totals[1];
+            inactiveCount = totals[2];
+        }
+
+        List<Long> ids = rows.stream().map(row -> row[0]).toList();
+        Page<Ingredient> result = new PageImpl<>(loadInOrder(ids), PageRequest.of(pageNumber, pageSize), matches);
+        return new SearchResult(result, activeCount, inactiveCount);
+    }
+
+    /**
+     * All ingredients matching the filters, sorted (for exports)
+     */
+    @Transactional(readOnly = true)
+    public List<Ingredient> searchAll(String search, Long categoryId, Long supplierId, String sortBy, Boolean active) {
+        SearchSql sql = buildSql(search, categoryId, supplierId, sortBy, active);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT i.id_ingredient FROM ingredients i WHERE " + sql.where() + " ORDER BY " + sql.orderBy(),
+                Long.class, sql.params().toArray());
+        return loadInOrder(ids);
+    }
+
+    private List<Ingredient> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Ingredient> byId = ingredientRepository.findAllWithCategoryByIdIn(ids).stream()
+                .collect(Collectors.toMap(Ingredient::getIdIngredient, Function.identity()));
+        List<Ingredient> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Ingredient ingredient = byId.get(id);
+            if (ingredient != null) {
+                ordered.add(ingredient);
+            }
+        }
+        return ordered;
+    }
+
+    // ========== SQL ==========
+
+    private SearchSql buildSql(String search, Long categoryId, Long supplierId, String sortBy, Boolean active) {
+        StringBuilder where = new StringBuilder("1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        String normalizedSearch = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
+        if (normalizedSearch != null) {
+            String fullTextQuery = fullTextAvailable ? toFullTextQuery(normalizedSearch) : null;
+            if (fullTextQuery != null) {
+                where.append(" AND MATCH (i.name, i.description, i.storage_location) AGAINST (? IN BOOLEAN MODE)");
+                params.add(fullTextQuery);
+            } else {
+                String pattern = "%" + escapeLike(normalizedSearch.toLowerCase()) + "%";
+                where.append(" AND (LOWER(i.name) LIKE ? OR LOWER(i.description) LIKE ? " +
+                        "OR LOWER(i.storage_location) LIKE ? OR CAST(i.cost_per_unit AS CHAR) LIKE ?)");
+                params.addAll(List.of(pattern, pattern, pattern, pattern));
+            }
+        }
+        if (categoryId != null) {
+            where.append(" AND i.id_category = ?");
+            params.add(categoryId);
+        }
+        if (supplierId != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM supplier_ingredient_categories sc " +
+                    "WHERE sc.id_category = i.id_category AND sc.id_supplier = ?)");
+            params.add(supplierId);
+        }
+        if (active != null) {
+            where.append(" AND i.active = ?");
+            params.add(active);
+        }
+
+        // Active ingredients always first, then the requested order
+        String orderBy;
+        if ("stock-asc".equals(sortBy)) {
+            orderBy = "i.active DESC, i.current_stock ASC, i.name ASC";
+        } else if ("stock-desc".equals(sortBy)) {
+            orderBy = "i.active DESC, i.current_stock DESC, i.name ASC";
+        } else {
+            orderBy = "i.active DESC, i.name ASC";
+        }
+        return new SearchSql(where.toString(), orderBy + ", i.id_ingredient ASC", params);
+    }
+
+    /**
+     * "+word1* +word2*" (every word, as a prefix), or null if a word cannot be searched in the
+     * FULLTEXT index (too short or numeric)
+     */
+    private static String toFullTextQuery(String search) {
+        String[] words = Arrays.stream(search.split("\\s+"))
+                .map(word -> word.replaceAll("[+\\-<>()~*\"@]", ""))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+        if (words.length == 0) {
+            return null;
+        }
+        StringBuilder query = new StringBuilder();
+        for (String word : words) {
+            if (word.length() < MIN_FULLTEXT_TERM_LENGTH || word.chars().anyMatch(Character::isDigit)) {
+                return null;
+            }
+            query.append('+').append(word).append("* ");
+        }
+        return query.toString().trim();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
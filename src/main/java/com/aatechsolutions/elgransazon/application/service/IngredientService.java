@@ -49,6 +49,12 @@ public interface IngredientService {
      */
     List<Ingredient> searchWithAllFilters(String search, Long categoryId, Long supplierId, String sortBy, Boolean active);
 
+    /**
+     * Search one page of ingredients with all filters and sorting, plus the active/inactive totals
+     */
+    IngredientSearchService.SearchResult searchPage(String search, Long categoryId, Long supplierId,
+                                                    String sortBy, Boolean active, int page, int size);
+
     /**
      * Find ingredients by category
      */
@@ -21,7 +21,6 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for Ingredient management
@@ -34,6 +33,10 @@ public class IngredientServiceImpl implements IngredientService {
     private final IngredientRepository ingredientRepository;
     private final IngredientCategoryRepository categoryRepository;
     private final IngredientStockHistoryRepository stockHistoryRepository;
+    private final IngredientLedgerService ingredientLedgerService;
+    private final InventoryAlertService inventoryAlertService;
+    private final IngredientSearchService ingredientSearchService;
+    private final MenuCostService menuCostService;
 
     @Override
     @Transactional(readOnly = true)
@@ -76,6 +79,14 @@ public class IngredientServiceImpl implements IngredientService {
         ingredient.setCategory(category);
 
         Ingredient savedIngredient = ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(savedIngredient);
+
+        // Record the initial stock in the movement ledger
+        if (savedIngredient.getCurrentStock() != null) {
+            ingredientLedgerService.recordAdjustment(savedIngredient.getIdIngredient(),
+                    savedIngredient.getCurrentStock(), IngredientLedgerService.getCurrentUsername());
+        }
+
         log.info("Ingredient created successfully with id: {}", savedIngredient.getIdIngredient());
         return savedIngredient;
     }
@@ -110,6 +121,9 @@ public class IngredientServiceImpl implements IngredientService {
                     return new IllegalArgumentException("La categoría seleccionada no existe");
                 });
 
+        BigDecimal previousStock = ingredient.getCurrentStock();
+        BigDecimal previousCost = ingredient.getCostPerUnit();
+
         // Update fields
         ingredient.setName(ingredientDetails.getName());
         ingredient.setDescription(ingredientDetails.getDescription());
@@ -125,6 +139,21 @@ public class IngredientServiceImpl implements IngredientService {
         ingredient.setCategory(category);
 
         Ingredient updatedIngredient = ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(updatedIngredient);
+
+        // Record manual stock corrections in the movement ledger
+        if (previousStock != null && updatedIngredient.getCurrentStock() != null) {
+            ingredientLedgerService.recordAdjustment(id,
+                    updatedIngredient.getCurrentStock().subtract(previousStock),
+                    IngredientLedgerService.getCurrentUsername());
+        }
+
+        // Recalculate the menu items using this ingredient when its cost changed
+        BigDecimal newCost = updatedIngredient.getCostPerUnit();
+        if (previousCost == null ? newCost != null : (newCost == null || previousCost.compareTo(newCost) != 0)) {
+            menuCostService.ingredientCostChanged(id);
+        }
+
         log.info("Ingredient updated successfully: {}", id);
         return updatedIngredient;
     }
@@ -142,6 +171,7 @@ public class IngredientServiceImpl implements IngredientService {
 
         ingredient.setActive(false);
         ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(ingredient);
         log.info("Ingredient deactivated successfully: {}", id);
     }
 
@@ -158,6 +188,7 @@ public class IngredientServiceImpl implements IngredientService {
 
         ingredient.setActive(true);
         ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(ingredient);
         log.info("Ingredient activated successfully: {}", id);
     }
 
@@ -168,67 +199,21 @@ public class IngredientServiceImpl implements IngredientService {
         log.info("Searching ingredients with filters - search: {}, categoryId: {}, supplierId: {}, sortBy: {}, active: {}",
                 search, categoryId, supplierId, sortBy, active);
 
-        // Normalize search string
-        String normalizedSearch = (search != null && !search.trim().isEmpty()) ? search.trim() : null;
-
-        List<Ingredient> ingredients;
-
-        // If supplier filter is provided, get ingredients for that supplier through category
-        if (supplierId != null) {
-            ingredients = ingredientRepository.findBySupplier(supplierId);
-            
-            // Apply additional filters
-            if (normalizedSearch != null) {
-                final String searchLower = normalizedSearch.toLowerCase();
-                ingredients = ingredients.stream()
-                    .filter(i -> i.getName().toLowerCase().contains(searchLower) ||
-                               (i.getDescription() != null && i.getDescription().toLowerCase().contains(searchLower)) ||
-                               (i.getStorageLocation() != null && i.getStorageLocation().toLowerCase().contains(searchLower)))
-                    .collect(Collectors.toList());
-            }
-            
-            if (categoryId != null) {
-                ingredients = ingredients.stream()
-                    .filter(i -> i.getCategory() != null && i.getCategory().getIdCategory().equals(categoryId))
-                    .collect(Collectors.toList());
-            }
-            
-            if (active != null) {
-                ingredients = ingredients.stream()
-                    .filter(i -> i.getActive().equals(active))
-                    .collect(Collectors.toList());
-            }
-        } else {
-            // Normal search without supplier filter
-            ingredients = ingredientRepository.searchWithFilters(normalizedSearch, categoryId, active);
-        }
-
-        // Apply sorting based on sortBy parameter
-        // ALWAYS sort by active status first (active ingredients first, then inactive)
-        if (sortBy != null && !sortBy.isEmpty()) {
-            if ("stock-asc".equals(sortBy)) {
-                // Sort by active status first, then by stock ascending (menor a mayor)
-                ingredients.sort(Comparator.comparing(Ingredient::getActive).reversed()
-                    .thenComparing(Ingredient::getCurrentStock));
-            } else if ("stock-desc".equals(sortBy)) {
-                // Sort by active status first, then by stock descending (mayor a menor)
-                ingredients.sort(Comparator.comparing(Ingredient::getActive).reversed()
-                    .thenComparing(Ingredient::getCurrentStock, Comparator.reverseOrder()));
-            } else {
-                // Sort by active status first, then alphabetically by name
-                ingredients.sort(Comparator.comparing(Ingredient::getActive).reversed()
-                    .thenComparing(Ingredient::getName, String.CASE_INSENSITIVE_ORDER));
-            }
-        } else {
-            // Default: Sort by active status first, then alphabetically by name
-            ingredients.sort(Comparator.comparing(Ingredient::getActive).reversed()
-                .thenComparing(Ingredient::getName, String.CASE_INSENSITIVE_ORDER));
-        }
+        List<Ingredient> ingredients = ingredientSearchService.searchAll(search, categoryId, supplierId, sortBy, active);
 
         log.info("Found {} ingredients with filters", ingredients.size());
         return ingredients;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public IngredientSearchService.SearchResult searchPage(String search, Long categoryId, Long supplierId,
+                                                           String sortBy, Boolean active, int page, int size) {
+        log.info("Searching ingredients page {} - search: {}, categoryId: {}, supplierId: {}, sortBy: {}, active: {}",
+                page, search, categoryId, supplierId, sortBy, active);
+        return ingredientSearchService.search(search, categoryId, supplierId, sortBy, active, page, size);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Ingredient> findByCategoryId(Long categoryId) {
@@ -274,15 +259,13 @@ public class IngredientServiceImpl implements IngredientService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public long countLowStock() {
-        return ingredientRepository.countLowStockIngredients();
+        return inventoryAlertService.countByLevel(InventoryAlertService.StockLevel.LOW_STOCK);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public long countOutOfStock() {
-        return ingredientRepository.countOutOfStockIngredients();
+        return inventoryAlertService.countByLevel(InventoryAlertService.StockLevel.OUT_OF_STOCK);
     }
 
     @Override
@@ -320,6 +303,7 @@ public class IngredientServiceImpl implements IngredientService {
         ingredient.setUpdatedAt(LocalDateTime.now());
 
         Ingredient savedIngredient = ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(savedIngredient);
 
         // Crear registro en el historial
         IngredientStockHistory history = IngredientStockHistory.builder()
@@ -333,6 +317,8 @@ public class IngredientServiceImpl implements IngredientService {
                 .build();
 
         stockHistoryRepository.save(history);
+        ingredientLedgerService.recordRestock(ingredientId, quantityToAdd,
+                addedBy != null ? addedBy.getUsername() : null);
 
         log.info("Stock agregado exitosamente al ingrediente '{}': +{} {} (Stock anterior: {}, Nuevo stock: {}, Costo total: ${})",
                 ingredient.getName(), quantityToAdd, ingredient.getUnitOfMeasure(),
@@ -2,6 +2,9 @@ package com.aatechsolutions.elgransazon.application.service;
 
 import com.aatechsolutions.elgransazon.domain.entity.Ingredient;
 import com.aatechsolutions.elgransazon.domain.repository.IngredientRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.PessimisticLockingFailureException;
@@ -11,6 +14,11 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service for managing ingredient stock operations with proper transaction handling.
@@ -23,6 +31,10 @@ import java.math.BigDecimal;
 public class IngredientStockService {
 
     private final IngredientRepository ingredientRepository;
+    private final InventoryAlertService inventoryAlertService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     
     private static final int MAX_RETRY_ATTEMPTS = 5;
     private static final long BASE_RETRY_DELAY_MS = 100;
@@ -105,6 +117,7 @@ public class IngredientStockService {
         
         // Save - the lock is held until transaction commits
         ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(ingredient);
 
         log.debug("Stock returned for ingredient: {} ({} {}). New stock: {}", 
                  ingredient.getName(),
@@ -184,6 +197,7 @@ public class IngredientStockService {
         
         // Save - the lock is held until transaction commits
         ingredientRepository.save(ingredient);
+        inventoryAlertService.stockChanged(ingredient);
 
         log.debug("Stock deducted for ingredient: {} ({} {}). New stock: {}", 
                  ingredient.getName(),
@@ -191,4 +205,117 @@ public class IngredientStockService {
                  unit,
                  newStock.stripTrailingZeros().toPlainString());
     }
+
+    // ========== Batch Operations (whole order in one transaction) ==========
+
+    /**
+     * Deduct the total requirement of a whole order in the caller's transaction.
+     * All ingredients are locked with a single SELECT ... FOR UPDATE in ID order,
+     * every requirement is validated before any stock is touched, and all updates
+     * are flushed together when the transaction commits. If any ingredient is short,
+     * nothing is deducted.
+     *
+     * @param requirements Total quantity to deduct per ingredient ID
+     */
+    @Transactional
+    public void deductStockBatch(Map<Long, BigDecimal> requirements) {
+        if (requirements.isEmpty()) {
+            return;
+        }
+
+        List<Ingredient> ingredients = lockIngredients(requirements);
+
+        List<String> shortages = new ArrayList<>();
+        for (Ingredient ingredient : ingredients) {
+            BigDecimal required = requirements.get(ingredient.getIdIngredient());
+            BigDecimal currentStock = ingredient.getCurrentStock() != null
+                ? ingredient.getCurrentStock()
+                : BigDecimal.ZERO;
+
+            if (currentStock.compareTo(required) < 0) {
+                shortages.add(String.format("'%s' (Requerido: %s %s, Disponible: %s %s)",
+                              ingredient.getName(),
+                              required.stripTrailingZeros().toPlainString(), ingredient.getUnitOfMeasure(),
+                              currentStock.stripTrailingZeros().toPlainString(), ingredient.getUnitOfMeasure()));
+            }
+        }
+
+        if (!shortages.isEmpty()) {
+            throw new IllegalStateException("Stock insuficiente de " + String.join(", ", shortages));
+        }
+
+        for (Ingredient ingredient : ingredients) {
+            BigDecimal currentStock = ingredient.getCurrentStock() != null
+                ? ingredient.getCurrentStock()
+                : BigDecimal.ZERO;
+            ingredient.setCurrentStock(currentStock.subtract(requirements.get(ingredient.getIdIngredient())));
+        }
+
+        ingredientRepository.saveAll(ingredients);
+        inventoryAlertService.stockChanged(ingredients);
+        log.debug("Stock deducted in batch for {} ingredients", ingredients.size());
+    }
+
+    /**
+     * Return the total quantity of a whole order (or of some of its items) in the caller's
+     * transaction, using the same ordered batch lock as {@link #deductStockBatch(Map)}.
+     * If returned stock would exceed maxStock, maxStock is raised to match.
+     *
+     * @param returns Total quantity to add back per ingredient ID
+     */
+    @Transactional
+    public void returnStockBatch(Map<Long, BigDecimal> returns) {
+        if (returns.isEmpty()) {
+            return;
+        }
+
+        List<Ingredient> ingredients = lockIngredients(returns);
+
+        for (Ingredient ingredient : ingredients) {
+            BigDecimal currentStock = ingredient.getCurrentStock() != null
+                ? ingredient.getCurrentStock()
+                : BigDecimal.ZERO;
+            BigDecimal newStock = currentStock.add(returns.get(ingredient.getIdIngredient()));
+
+            BigDecimal maxStock = ingredient.getMaxStock();
+            if (maxStock != null && newStock.compareTo(maxStock) > 0) {
+                log.info("Stock return for ingredient '{}': updating maxStock from {} to {} (returned stock exceeds previous max)",
+                         ingredient.getName(), maxStock, newStock);
+                ingredient.setMaxStock(newStock);
+            }
+            ingredient.setCurrentStock(newStock);
+        }
+
+        ingredientRepository.saveAll(ingredients);
+        inventoryAlertService.stockChanged(ingredients);
+        log.debug("Stock returned in batch for {} ingredients", ingredients.size());
+    }
+
+    /**
+     * Lock all ingredients of a batch in ascending ID order.
+     * Ingredients already loaded earlier in this persistence context keep their old state
+     * after the locking query, so any whose version moved on in the database are refreshed
+     * (with a locking read, since a plain read would return the transaction's snapshot).
+     */
+    private List<Ingredient> lockIngredients(Map<Long, BigDecimal> quantities) {
+        List<Ingredient> ingredients = ingredientRepository.findAllByIdWithLock(quantities.keySet());
+
+        if (ingredients.size() != quantities.size()) {
+            List<Long> missing = new ArrayList<>(quantities.keySet());
+            ingredients.forEach(ingredient -> missing.remove(ingredient.getIdIngredient()));
+            throw new IllegalArgumentException("Ingrediente no encontrado con ID: " + missing);
+        }
+
+        Map<Long, Long> lockedVersions = new HashMap<>();
+        for (Object[] row : ingredientRepository.findLockedVersionsByIds(quantities.keySet())) {
+            lockedVersions.put(((Number) row[0]).longValue(), row[1] != null ? ((Number) row[1]).longValue() : null);
+        }
+        for (Ingredient ingredient : ingredients) {
+            if (!Objects.equals(ingredient.getVersion(), lockedVersions.get(ingredient.getIdIngredient()))) {
+                entityManager.refresh(ingredient, LockModeType.PESSIMISTIC_WRITE);
+            }
+        }
+
+        return ingredients;
+    }
 }
@@ -0,0 +1,254 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.Ingredient;
+import com.aatechsolutions.elgransazon.domain.repository.IngredientRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service that keeps the stock level of every active ingredient in memory and raises
+ * low-stock alerts on the stock write path.
+ *
+ * Writers report the ingredients they changed; once their transaction commits each
+ * ingredient is re-classified (same rules as {@code Ingredient.isOutOfStock/isLowStock/isHealthyStock}).
+ * An alert is pushed to {@code /topic/admin/notifications} only when an ingredient crosses
+ * into a worse level, and is not repeated until the ingredient recovers.
+ * Dashboards and list pages read the in-memory state instead of rescanning ingredients.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryAlertService {
+
+    /**
+     * Stock level of an ingredient, ordered from most to least critical
+     */
+    public enum StockLevel {
+        OUT_OF_STOCK("Agotado"),
+        LOW_STOCK("Bajo stock"),
+        HEALTHY("En stock"),
+        UNKNOWN("Sin mínimo definido");
+
+        private final String displayName;
+
+        StockLevel(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public boolean isAlert() {
+            return this == OUT_OF_STOCK || this == LOW_STOCK;
+        }
+    }
+
+    /**
+     * Last known stock state of an active ingredient
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StockState {
+        private final Long ingredientId;
+        private final String ingredientName;
+        private final String unitOfMeasure;
+        private final BigDecimal currentStock;
+        private final BigDecimal minStock;
+        private final StockLevel level;
+        private final long version;
+        private final LocalDateTime since;
+    }
+
+    private final IngredientRepository ingredientRepository;
+    private final PrimaryReader primaryReader;
+    private final WebSocketNotificationService wsNotificationService;
+
+    private final Map<Long, StockState> states = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // ========== Write path ==========
+
+    /**
+     * Report ingredients whose stock, minimum or active flag changed.
+     * Inside a transaction the new state is applied after commit (and discarded on rollback);
+     * the ingredients are read at that point, so the state includes the flushed version.
+     */
+    public void stockChanged(Collection<Ingredient> ingredients) {
+        if (ingredients.isEmpty()) {
+            return;
+        }
+
+        List<Ingredient> changed = new ArrayList<>(ingredients);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changed);
+                }
+            });
+        } else {
+            apply(changed);
+        }
+    }
+
+    public void stockChanged(Ingredient ingredient) {
+        stockChanged(List.of(ingredient));
+    }
+
+    private void apply(List<Ingredient> ingredients) {
+        ensureLoaded();
+
+        for (Ingredient ingredient : ingredients) {
+            try {
+                applyOne(ingredient);
+            } catch (Exception e) {
+                log.error("Error updating stock alert for ingredient {}: {}",
+                         ingredient.getIdIngredient(), e.getMessage());
+            }
+        }
+    }
+
+    private void applyOne(Ingredient ingredient) {
+        Long id = ingredient.getIdIngredient();
+        long version = ingredient.getVersion() != null ? ingredient.getVersion() : 0L;
+
+        if (!Boolean.TRUE.equals(ingredient.getActive())) {
+            StockState removed = states.remove(id);
+            if (removed != null) {
+                log.debug("Ingredient {} is no longer active, stock alert state removed", id);
+            }
+            return;
+        }
+
+        StockLevel level = classify(ingredient);
+        StockState[] previous = new StockState[1];
+
+        StockState current = states.compute(id, (key, old) -> {
+            previous[0] = old;
+            // Commits can complete out of order; never go back to an older version
+            if (old != null && old.getVersion() > version) {
+                return old;
+            }
+            LocalDateTime since = old != null && old.getLevel() == level ? old.getSince() : LocalDateTime.now();
+            return new StockState(id, ingredient.getName(), ingredient.getUnitOfMeasure(),
+                    ingredient.getCurrentStock(), ingredient.getMinStock(), level, version, since);
+        });
+
+        StockState old = previous[0];
+        if (current == old) {
+            return;
+        }
+
+        // Alert only when crossing into a worse level, until the ingredient recovers
+        boolean worse = old == null
+                ? level.isAlert()
+                : level.isAlert() && level.ordinal() < old.getLevel().ordinal();
+
+        if (worse) {
+            log.warn("Stock alert: ingredient '{}' is now {} (stock: {} {}, min: {})",
+                    current.getIngredientName(), level, current.getCurrentStock(),
+                    current.getUnitOfMeasure(), current.getMinStock());
+            try {
+                wsNotificationService.notifyStockAlert(current);
+            } catch (Exception e) {
+                log.error("Failed to send WebSocket stock alert for ingredient {}", id, e);
+            }
+        } else if (old != null && old.getLevel().isAlert() && !level.isAlert()) {
+            log.info("Stock alert cleared: ingredient '{}' recovered (stock: {} {})",
+                    current.getIngredientName(), current.getCurrentStock(), current.getUnitOfMeasure());
+        }
+    }
+
+    // ========== Read path ==========
+
+    /**
+     * Active alerts, most critical first (out of stock, then low stock), by name
+     */
+    public List<StockState> getActiveAlerts() {
+        return getStatesByLevel(StockLevel.OUT_OF_STOCK, StockLevel.LOW_STOCK);
+    }
+
+    /**
+     * Known states with the given levels, in the order of the levels and then by name
+     */
+    public List<StockState> getStatesByLevel(StockLevel... levels) {
+        ensureLoaded();
+
+        List<StockLevel> wanted = List.of(levels);
+        return states.values().stream()
+                .filter(state -> wanted.contains(state.getLevel()))
+                .sorted(Comparator.comparingInt((StockState state) -> wanted.indexOf(state.getLevel()))
+                        .thenComparing(StockState::getIngredientName, String.CASE_INSENSITIVE_ORDER))
+                .toList();
+    }
+
+    public long countByLevel(StockLevel level) {
+        ensureLoaded();
+        return states.values().stream().filter(state -> state.getLevel() == level).count();
+    }
+
+    // ========== Initial load ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            ensureLoaded();
+        } catch (Exception e) {
+            log.error("Could not load inventory alert state on startup: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Load the state of every active ingredient once, without raising alerts
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (Ingredient ingredient : primaryReader.read(ingredientRepository::findByActiveTrue)) {
+                long version = ingredient.getVersion() != null ? ingredient.getVersion() : 0L;
+                states.putIfAbsent(ingredient.getIdIngredient(), new StockState(
+                        ingredient.getIdIngredient(), ingredient.getName(), ingredient.getUnitOfMeasure(),
+                        ingredient.getCurrentStock(), ingredient.getMinStock(), classify(ingredient), version, now));
+            }
+            loaded = true;
+            log.info("Inventory alert state loaded: {} ingredients, {} alerts",
+                    states.size(), states.values().stream().filter(state -> state.getLevel().isAlert()).count());
+        }
+    }
+
+    private static StockLevel classify(Ingredient ingredient) {
+        if (ingredient.isOutOfStock()) {
+            return StockLevel.OUT_OF_STOCK;
+        }
+        if (ingredient.isLowStock()) {
+            return StockLevel.LOW_STOCK;
+        }
+        if (ingredient.isHealthyStock()) {
+            return StockLevel.HEALTHY;
+        }
+        return StockLevel.UNKNOWN;
+    }
+}
@@ -0,0 +1,531 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.ColorConstants;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Div;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import com.itextpdf.layout.properties.VerticalAlignment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Service that exports the stock of the active ingredients as PDF or CSV.
+ *
+ * Both formats are written straight to the given output stream while the rows are read from a
+ * streaming (cursor) query, so memory use does not grow with the number of ingredients: the PDF
+ * table is added as a large table and flushed every {@value #PDF_FLUSH_ROWS} rows, the CSV is
+ * written line by line. The summary counts at the top of the PDF come from one aggregate query.
+ * Colors and font programs are shared by every export; only the per-document fonts are created
+ * for each PDF (iText fonts belong to one document).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryExportService {
+
+    private static final int PDF_FLUSH_ROWS = 50;
+
+    // Color palette - matching the theme
+    private static final DeviceRgb PRIMARY_COLOR = new DeviceRgb(56, 224, 123); // #38e07b
+    private static final DeviceRgb PRIMARY_DARK = new DeviceRgb(43, 200, 102); // #2bc866
+    private static final DeviceRgb DARK_COLOR = new DeviceRgb(45, 45, 45);
+    private static final DeviceRgb GRAY_COLOR = new DeviceRgb(107, 114, 128);
+    private static final DeviceRgb LIGHT_GRAY = new DeviceRgb(249, 250, 251);
+    private static final DeviceRgb WHITE = new DeviceRgb(255, 255, 255);
+    private static final DeviceRgb GREEN_500 = new DeviceRgb(34, 197, 94);
+    private static final DeviceRgb YELLOW_400 = new DeviceRgb(251, 191, 36);
+    private static final DeviceRgb RED_500 = new DeviceRgb(239, 68, 68);
+    private static final DeviceRgb RED_100 = new DeviceRgb(254, 226, 226);
+    private static final DeviceRgb RED_600 = new DeviceRgb(220, 38, 38);
+    private static final DeviceRgb YELLOW_100 = new DeviceRgb(254, 249, 195);
+    private static final DeviceRgb YELLOW_600 = new DeviceRgb(202, 138, 4);
+    private static final DeviceRgb GREEN_100 = new DeviceRgb(220, 252, 231);
+    private static final DeviceRgb GREEN_600 = new DeviceRgb(22, 163, 74);
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
+
+    // A number as written by toText, or its "-" for a missing value
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("-|-?\\d+(\\.\\d+)?(E[+-]?\\d+)?");
+
+    private static final String[] COLUMNS = {"Ingrediente", "Categoría", "Stock Actual", "Stock Mín.", "Unidad", "Estado"};
+
+    // Same rules as Ingredient.isOutOfStock / isLowStock / isHealthyStock
+    private static final String OUT_CONDITION = "(i.current_stock IS NULL OR i.current_stock = 0)";
+    private static final String LOW_CONDITION =
+            "(i.current_stock > 0 AND i.min_stock IS NOT NULL AND i.current_stock <= i.min_stock)";
+    private static final String HEALTHY_CONDITION = "(i.min_stock IS NOT NULL AND i.current_stock > i.min_stock)";
+
+    private static final FontProgram BOLD_FONT_PROGRAM;
+    private static final FontProgram REGULAR_FONT_PROGRAM;
+
+    static {
+        try {
+            BOLD_FONT_PROGRAM = FontProgramFactory.createFont(StandardFonts.HELVETICA_BOLD);
+            REGULAR_FONT_PROGRAM = FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Stock levels to include (all = every active ingredient)
+     */
+    public record StockFilter(boolean all, boolean healthy, boolean low, boolean out) {
+
+        public boolean isEmpty() {
+            return !all && !healthy && !low && !out;
+        }
+
+        /**
+         * Names of the selected levels, as shown in the report
+         */
+        List<String> names() {
+            List<String> names = new ArrayList<>();
+            if (all) {
+                names.add("Inventario Completo");
+            } else {
+                if (healthy) names.add("Stock OK");
+                if (low) names.add("Stock Bajo");
+                if (out) names.add("Stock Agotado");
+            }
+            return names;
+        }
+
+        /**
+         * Letters of the PDF logo: "S" plus one letter per selected level
+         */
+        String initials() {
+            StringBuilder initials = new StringBuilder("S");
+            if (!all) {
+                if (healthy) initials.append("O");
+                if (low) initials.append("B");
+                if (out) initials.append("A");
+            }
+            return initials.toString();
+        }
+
+        String sqlCondition() {
+            if (all) {
+                return "i.active = TRUE";
+            }
+            List<String> levels = new ArrayList<>();
+            if (healthy) levels.add(HEALTHY_CONDITION);
+            if (low) levels.add(LOW_CONDITION);
+            if (out) levels.add(OUT_CONDITION);
+            return "i.active = TRUE AND (" + (levels.isEmpty() ? "FALSE" : String.join(" OR ", levels)) + ")";
+        }
+    }
+
+    /**
+     * One exported ingredient
+     */
+    private record StockRow(String name, String category, BigDecimal currentStock, BigDecimal minStock, String unit) {
+
+        boolean isOutOfStock() {
+            return currentStock == null || currentStock.compareTo(BigDecimal.ZERO) == 0;
+        }
+
+        boolean isLowStock() {
+            return currentStock != null && minStock != null
+                    && currentStock.compareTo(minStock) <= 0 && currentStock.compareTo(BigDecimal.ZERO) > 0;
+        }
+
+        String status() {
+            if (isOutOfStock()) {
+                return "AGOTADO";
+            }
+            return isLowStock() ? "STOCK BAJO" : "OK";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ========== PDF ==========
+
+    /**
+     * Write the stock report as PDF to the output stream (the stream is not closed)
+     */
+    public void writePdf(StockFilter filter, OutputStream out) throws IOException {
+        long[] counts = countByLevel(filter);
+
+        PdfWriter writer = new PdfWriter(out);
+        writer.setCloseStream(false);
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        Document document = new Document(pdfDoc, PageSize.LETTER);
+        document.setMargins(40, 40, 40, 40);
+
+        PdfFont boldFont = PdfFontFactory.createFont(BOLD_FONT_PROGRAM, PdfEncodings.WINANSI);
+        PdfFont regularFont = PdfFontFactory.createFont(REGULAR_FONT_PROGRAM, PdfEncodings.WINANSI);
+
+        addHeader(document, boldFont, regularFont, filter.initials());
+        addGenerationInfo(document, boldFont, regularFont, filter);
+
+        // ========== RESUMEN ESTADÍSTICO ==========
+        Table summaryTable = new Table(new float[]{1, 1, 1, 1});
+        summaryTable.setWidth(UnitValue.createPercentValue(100));
+        summaryTable.setMarginBottom(20);
+        long total = counts[0] + counts[1] + counts[2];
+        addSummaryCard(summaryTable, boldFont, regularFont, "Total Ingredientes", String.valueOf(total), PRIMARY_COLOR);
+        addSummaryCard(summaryTable, boldFont, regularFont, "Stock OK", String.valueOf(counts[0]), GREEN_500);
+        addSummaryCard(summaryTable, boldFont, regularFont, "Stock Bajo", String.valueOf(counts[1]), YELLOW_400);
+        addSummaryCard(summaryTable, boldFont, regularFont, "Agotados", String.valueOf(counts[2]), RED_500);
+        document.add(summaryTable);
+
+        // ========== DETALLE DE INGREDIENTES ==========
+        addSectionTitle(document, boldFont, "Detalle de Ingredientes");
+
+        // Large table: rows already added are written out on each flush
+        Table table = new Table(UnitValue.createPercentArray(new float[]{3.5f, 2f, 1.5f, 1.5f, 1.5f, 2f}), true);
+        table.setWidth(UnitValue.createPercentValue(100));
+        for (String header : COLUMNS) {
+            table.addHeaderCell(new Cell()
+                    .add(new Paragraph(header)
+                            .setFont(boldFont)
+                            .setFontSize(9)
+                            .setFontColor(ColorConstants.WHITE))
+                    .setBackgroundColor(PRIMARY_DARK)
+                    .setTextAlignment(TextAlignment.CENTER)
+                    .setPadding(8)
+                    .setBorder(Border.NO_BORDER));
+        }
+        document.add(table);
+
+        long[] written = {0};
+        streamRows(filter, row -> {
+            DeviceRgb rowColor = written[0] % 2 == 1 ? LIGHT_GRAY : WHITE;
+            table.addCell(createStyledCell(row.name(), regularFont, TextAlignment.LEFT, rowColor, DARK_COLOR));
+            table.addCell(createStyledCell(row.category() != null ? row.category() : "Sin categoría",
+                    regularFont, TextAlignment.LEFT, rowColor, GRAY_COLOR));
+            table.addCell(createStyledCell(toText(row.currentStock()), regularFont, TextAlignment.CENTER, rowColor, DARK_COLOR));
+            table.addCell(createStyledCell(toText(row.minStock()), regularFont, TextAlignment.CENTER, rowColor, GRAY_COLOR));
+            table.addCell(createStyledCell(row.unit(), regularFont, TextAlignment.CENTER, rowColor, GRAY_COLOR));
+            table.addCell(createStatusBadge(row, boldFont, rowColor));
+            if (++written[0] % PDF_FLUSH_ROWS == 0) {
+                table.flush();
+            }
+        });
+        table.complete();
+
+        addFooter(document, boldFont, regularFont, written[0]);
+        document.close();
+
+        log.info("Stock PDF written: {} ingredients", written[0]);
+    }
+
+    // ========== CSV ==========
+
+    /**
+     * Write the stock report as CSV (UTF-8 with BOM, comma separated) to the output stream
+     * (the stream is not closed)
+     */
+    public void writeCsv(StockFilter filter, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write('\uFEFF'); // BOM so spreadsheets detect UTF-8
+        writeCsvLine(writer, COLUMNS);
+
+        long[] written = {0};
+        try {
+            streamRows(filter, row -> {
+                try {
+                    writeCsvLine(writer, row.name(), row.category() != null ? row.category() : "",
+                            toText(row.currentStock()), toText(row.minStock()),
+                            row.unit() != null ? row.unit() : "", row.status());
+                    written[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        log.info("Stock CSV written: {} ingredients", written[0]);
+    }
+
+    private static void writeCsvLine(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = neutralizeFormula(values[i] != null ? values[i] : "");
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Prefix with ' a cell that a spreadsheet would run as a formula (=, +, -, @, tab or CR first),
+     * e.g. an ingredient named "=HYPERLINK(...)". Numbers such as a negative stock are left as they are.
+     */
+    private static String neutralizeFormula(String value) {
+        if (value.isEmpty() || "=+-@\t\r".indexOf(value.charAt(0)) < 0 || PLAIN_NUMBER.matcher(value).matches()) {
+            return value;
+        }
+        return "'" + value;
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Number of exported ingredients per level: {healthy, low, out}
+     * (ingredients without minimum and with stock count as healthy, as they show "OK")
+     */
+    private long[] countByLevel(StockFilter filter) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(CASE WHEN NOT " + OUT_CONDITION + " AND NOT " + LOW_CONDITION + " THEN 1 ELSE 0 END), 0), " +
+                "COALESCE(SUM(CASE WHEN " + LOW_CONDITION + " THEN 1 ELSE 0 END), 0), " +
+                "COALESCE(SUM(CASE WHEN " + OUT_CONDITION + " THEN 1 ELSE 0 END), 0) " +
+                "FROM ingredients i WHERE " + filter.sqlCondition(),
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+    }
+
+    /**
+     * Read the exported ingredients (by name) one row at a time: the MySQL driver streams the
+     * result set instead of loading it when the fetch size is Integer.MIN_VALUE
+     */
+    private void streamRows(StockFilter filter, Consumer<StockRow> consumer) {
+        String sql = "SELECT i.name, c.name, i.current_stock, i.min_stock, i.unit_of_measure " +
+                "FROM ingredients i LEFT JOIN ingredient_categories c ON c.id_category = i.id_category " +
+                "WHERE " + filter.sqlCondition() + " ORDER BY i.name ASC";
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, (ResultSet rs) -> consumer.accept(toRow(rs)));
+    }
+
+    private static StockRow toRow(ResultSet rs) throws SQLException {
+        return new StockRow(rs.getString(1), rs.getString(2), rs.getBigDecimal(3), rs.getBigDecimal(4), rs.getString(5));
+    }
+
+    private static String toText(BigDecimal value) {
+        return value != null ? value.toString() : "-";
+    }
+
+    // ========== PDF layout ==========
+
+    private void addHeader(Document document, PdfFont boldFont, PdfFont regularFont, String initials) {
+        Table headerTable = new Table(UnitValue.createPercentArray(new float[]{1, 3}));
+        headerTable.setWidth(UnitValue.createPercentValue(100));
+        headerTable.setBorder(Border.NO_BORDER);
+
+        // Smaller letters when the logo has more of them
+        int fontSize = initials.length() <= 2 ? 36 : (initials.length() == 3 ? 28 : 24);
+        headerTable.addCell(new Cell()
+                .add(new Paragraph(initials)
+                        .setFont(boldFont)
+                        .setFontSize(fontSize)
+                        .setFontColor(ColorConstants.WHITE)
+                        .setTextAlignment(TextAlignment.CENTER))
+                .setBackgroundColor(PRIMARY_COLOR)
+                .setWidth(60)
+                .setHeight(60)
+                .setVerticalAlignment(VerticalAlignment.MIDDLE)
+                .setBorder(Border.NO_BORDER));
+
+        Div titleDiv = new Div();
+        titleDiv.add(new Paragraph("REPORTE DE INVENTARIO")
+                .setFont(boldFont)
+                .setFontSize(20)
+                .setFontColor(DARK_COLOR)
+                .setMarginBottom(2));
+        titleDiv.add(new Paragraph("Control de Stock de Ingredientes")
+                .setFont(regularFont)
+                .setFontSize(11)
+                .setFontColor(GRAY_COLOR));
+        headerTable.addCell(new Cell()
+                .add(titleDiv)
+                .setVerticalAlignment(VerticalAlignment.MIDDLE)
+                .setBorder(Border.NO_BORDER)
+                .setPaddingLeft(15));
+
+        document.add(headerTable);
+        document.add(new Paragraph()
+                .setBorderTop(new SolidBorder(PRIMARY_COLOR, 2))
+                .setMarginTop(10)
+                .setMarginBottom(20));
+    }
+
+    private void addGenerationInfo(Document document, PdfFont boldFont, PdfFont regularFont, StockFilter filter) {
+        document.add(new Paragraph()
+                .add(new Paragraph("Fecha de generación: ")
+                        .setFont(boldFont)
+                        .setFontSize(10)
+                        .setFontColor(DARK_COLOR))
+                .add(new Paragraph(LocalDateTime.now().format(DATE_TIME_FORMATTER))
+                        .setFont(regularFont)
+                        .setFontSize(10)
+                        .setFontColor(GRAY_COLOR))
+                .setMarginBottom(8));
+
+        document.add(new Paragraph()
+                .add(new Paragraph("Filtros aplicados: ")
+                        .setFont(boldFont)
+                        .setFontSize(10)
+                        .setFontColor(DARK_COLOR))
+                .add(new Paragraph(String.join(", ", filter.names()))
+                        .setFont(regularFont)
+                        .setFontSize(10)
+                        .setFontColor(PRIMARY_DARK))
+                .setMarginBottom(20));
+    }
+
+    private void addFooter(Document document, PdfFont boldFont, PdfFont regularFont, long ingredientCount) {
+        document.add(new Paragraph("\n"));
+        Table footerSummary = new Table(1);
+        footerSummary.setWidth(UnitValue.createPercentValue(100));
+        footerSummary.setBorder(Border.NO_BORDER);
+        footerSummary.addCell(new Cell()
+                .add(new Paragraph("RESUMEN: ")
+                        .setFont(boldFont)
+                        .setFontSize(10)
+                        .setFontColor(DARK_COLOR)
+                        .add(new Paragraph("Total de " + ingredientCount + " ingrediente(s) en este reporte")
+                                .setFont(regularFont)
+                                .setFontColor(GRAY_COLOR)))
+                .setBackgroundColor(LIGHT_GRAY)
+                .setPadding(10)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setBorder(Border.NO_BORDER));
+        document.add(footerSummary);
+
+        document.add(new Paragraph()
+                .setBorderTop(new SolidBorder(LIGHT_GRAY, 1))
+                .setMarginTop(20)
+                .setMarginBottom(10));
+        document.add(new Paragraph()
+                .add(new Paragraph("El Gran Sazón - Sistema de Gestión de Inventario\n")
+                        .setFont(boldFont)
+                        .setFontSize(8)
+                        .setFontColor(DARK_COLOR))
+                .add(new Paragraph("Generado automáticamente el " + LocalDateTime.now().format(DATE_TIME_FORMATTER))
+                        .setFont(regularFont)
+                        .setFontSize(7)
+                        .setFontColor(GRAY_COLOR))
+                .setTextAlignment(TextAlignment.CENTER));
+    }
+
+    private void addSummaryCard(Table table, PdfFont boldFont, PdfFont regularFont,
+                                String label, String value, DeviceRgb color) {
+        table.addCell(new Cell()
+                .add(new Paragraph(value)
+                        .setFont(boldFont)
+                        .setFontSize(20)
+                        .setFontColor(color)
+                        .setTextAlignment(TextAlignment.CENTER)
+                        .setMarginBottom(5))
+                .add(new Paragraph(label)
+                        .setFont(regularFont)
+                        .setFontSize(9)
+                        .setFontColor(GRAY_COLOR)
+                        .setTextAlignment(TextAlignment.CENTER))
+                .setBackgroundColor(LIGHT_GRAY)
+                .setPadding(15)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setBorder(Border.NO_BORDER));
+    }
+
+    private void addSectionTitle(Document document, PdfFont boldFont, String title) {
+        Div titleDiv = new Div();
+        titleDiv.add(new Paragraph(title)
+                .setFont(boldFont)
+                .setFontSize(14)
+                .setFontColor(DARK_COLOR)
+                .setMarginBottom(5));
+        titleDiv.add(new Paragraph()
+                .setBorderBottom(new SolidBorder(PRIMARY_COLOR, 2))
+                .setWidth(UnitValue.createPercentValue(100))
+                .setMarginBottom(15));
+        document.add(titleDiv);
+    }
+
+    private Cell createStyledCell(String content, PdfFont font, TextAlignment alignment,
+                                  DeviceRgb bgColor, DeviceRgb textColor) {
+        return new Cell()
+                .add(new Paragraph(content != null ? content : "")
+                        .setFont(font)
+                        .setFontSize(9)
+                        .setFontColor(textColor))
+                .setBackgroundColor(bgColor)
+                .setTextAlignment(alignment)
+                .setPadding(8)
+                .setBorder(Border.NO_BORDER);
+    }
+
+    private Cell createStatusBadge(StockRow row, PdfFont boldFont, DeviceRgb bgColor) {
+        DeviceRgb badgeColor;
+        DeviceRgb textColor;
+        if (row.isOutOfStock()) {
+            badgeColor = RED_100;
+            textColor = RED_600;
+        } else if (row.isLowStock()) {
+            badgeColor = YELLOW_100;
+            textColor = YELLOW_600;
+        } else {
+            badgeColor = GREEN_100;
+            textColor = GREEN_600;
+        }
+
+        Paragraph badge = new Paragraph(row.status())
+                .setFont(boldFont)
+                .setFontSize(8)
+                .setFontColor(textColor)
+                .setBackgroundColor(badgeColor)
+                .setPadding(4)
+                .setPaddingLeft(8)
+                .setPaddingRight(8)
+                .setTextAlignment(TextAlignment.CENTER);
+
+        return new Cell()
+                .add(badge)
+                .setBackgroundColor(bgColor)
+                .setTextAlignment(TextAlignment.CENTER)
+                .setVerticalAlignment(VerticalAlignment.MIDDLE)
+                .setPadding(8)
+                .setBorder(Border.NO_BORDER);
+    }
+}
@@ -106,6 +106,11 @@ public interface ItemMenuService {
      */
     List<ItemMenu> findByIngredientId(Long ingredientId);
 
+    /**
+     * Find the active menu items that use a specific ingredient
+     */
+    List<ItemMenu> findActiveByIngredientId(Long ingredientId);
+
     // ========== Recipe Management ==========
 
     /**
@@ -137,12 +142,14 @@ public interface ItemMenuService {
 
     /**
      * Check if there's enough stock to prepare a quantity of items
+     * (answered from the compiled recipes; an unknown ID is treated as an item without recipe)
      */
     boolean hasEnoughStock(Long itemMenuId, int quantity);
 
     /**
      * Get the maximum quantity of an item that can be prepared
      * based on current ingredient stock levels
+     * (answered from the compiled recipes; an unknown ID is treated as an item without recipe)
      */
     int getMaxAvailableQuantity(Long itemMenuId);
 
@@ -9,8 +9,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of ItemMenuService
@@ -25,6 +29,10 @@ public class ItemMenuServiceImpl implements ItemMenuService {
     private final ItemIngredientRepository itemIngredientRepository;
     private final IngredientRepository ingredientRepository;
     private final CategoryRepository categoryRepository;
+    private final RecipeStockMatrixService recipeStockMatrixService;
+    private final MenuCostService menuCostService;
+    private final IngredientStockService ingredientStockService;
+    private final IngredientLedgerService ingredientLedgerService;
 
     @Override
     public List<ItemMenu> findAll() {
@@ -45,8 +53,9 @@ public class ItemMenuServiceImpl implements ItemMenuService {
         List<ItemMenu> items = itemMenuRepository.findAllOrderByCategoryAndName();
         
         // Update availability for all items based on current ingredient stock
+        RecipeStockMatrix.StockView stock = recipeStockMatrixService.getStockView();
         for (ItemMenu item : items) {
-            item.updateAvailability();
+            item.setAvailable(stock.isAvailable(item.getIdItemMenu()));
         }
         
         // Save updated availability status
@@ -102,11 +111,15 @@ public class ItemMenuServiceImpl implements ItemMenuService {
     @Override
     public List<ItemMenu> findByIngredientId(Long ingredientId) {
         log.debug("Finding menu items that use ingredient ID: {}", ingredientId);
-        List<ItemIngredient> itemIngredients = itemIngredientRepository.findByIngredientId(ingredientId);
-        return itemIngredients.stream()
-                .map(ItemIngredient::getItemMenu)
-                .distinct()
-                .collect(java.util.stream.Collectors.toList());
+        Set<Long> itemIds = recipeStockMatrixService.getGraph().getItemIdsUsing(ingredientId);
+        return itemIds.isEmpty() ? new ArrayList<>() : itemMenuRepository.findByIdsOrderByName(itemIds);
+    }
+
+    @Override
+    public List<ItemMenu> findActiveByIngredientId(Long ingredientId) {
+        log.debug("Finding active menu items that use ingredient ID: {}", ingredientId);
+        Set<Long> itemIds = recipeStockMatrixService.getGraph().getItemIdsUsing(ingredientId);
+        return itemIds.isEmpty() ? new ArrayList<>() : itemMenuRepository.findActiveByIdsOrderByName(itemIds);
     }
 
     @Override
@@ -178,10 +191,12 @@ public class ItemMenuServiceImpl implements ItemMenuService {
                 
                 itemIngredientRepository.save(ingredient);
             }
+            recipeStockMatrixService.invalidate();
         }
 
         // Update availability based on stock
         updateItemAvailability(saved.getIdItemMenu());
+        menuCostService.recalculate(List.of(saved.getIdItemMenu()));
 
         return saved;
     }
@@ -221,9 +236,11 @@ public class ItemMenuServiceImpl implements ItemMenuService {
         log.info("🔍 requiresPreparation value after save: {}", updated.getRequiresPreparation());
         log.info("🔍 requiresBaristaPreparation value after save: {}", updated.getRequiresBaristaPreparation());
 
-        // Update recipe if provided
+        // Update recipe if provided (recalculates the cost as well)
         if (recipe != null) {
             updateRecipe(id, recipe);
+        } else {
+            menuCostService.recalculate(List.of(id));
         }
 
         log.info("Menu item updated successfully: {}", id);
@@ -286,6 +303,8 @@ public class ItemMenuServiceImpl implements ItemMenuService {
         
         // Recipe will be deleted automatically due to CASCADE
         itemMenuRepository.delete(item);
+        recipeStockMatrixService.invalidate();
+        menuCostService.itemDeleted(id);
         
         log.info("Menu item deleted successfully: {}", id);
     }
@@ -323,9 +342,11 @@ public class ItemMenuServiceImpl implements ItemMenuService {
         ingredient.setCreatedAt(LocalDateTime.now());
 
         ItemIngredient saved = itemIngredientRepository.save(ingredient);
+        recipeStockMatrixService.invalidate();
         
-        // Update item availability
+        // Update item availability and cost
         updateItemAvailability(itemMenuId);
+        menuCostService.recalculate(List.of(itemMenuId));
         
         log.info("Ingredient added to recipe successfully");
         return saved;
@@ -341,9 +362,11 @@ public class ItemMenuServiceImpl implements ItemMenuService {
                 .orElseThrow(() -> new IllegalArgumentException("Ingrediente no encontrado en la receta"));
 
         itemIngredientRepository.delete(itemIngredient);
+        recipeStockMatrixService.invalidate();
         
-        // Update item availability
+        // Update item availability and cost
         updateItemAvailability(itemMenuId);
+        menuCostService.recalculate(List.of(itemMenuId));
         
         log.info("Ingredient removed from recipe successfully");
     }
@@ -379,9 +402,11 @@ public class ItemMenuServiceImpl implements ItemMenuService {
             }
             log.debug("Saved {} new recipe items", newRecipe.size());
         }
+        recipeStockMatrixService.invalidate();
 
-        // Update availability
+        // Update availability and cost
         updateItemAvailability(itemMenuId);
+        menuCostService.recalculate(List.of(itemMenuId));
         
         log.info("Recipe updated successfully");
     }
@@ -393,6 +418,8 @@ public class ItemMenuServiceImpl implements ItemMenuService {
 
         List<ItemIngredient> recipe = itemIngredientRepository.findByItemMenuId(itemMenuId);
         itemIngredientRepository.deleteAll(recipe);
+        recipeStockMatrixService.invalidate();
+        menuCostService.recalculate(List.of(itemMenuId));
         
         log.info("Recipe cleared successfully");
     }
@@ -402,17 +429,13 @@ public class ItemMenuServiceImpl implements ItemMenuService {
     @Override
     public boolean hasEnoughStock(Long itemMenuId, int quantity) {
         log.debug("Checking stock for menu item {} quantity {}", itemMenuId, quantity);
-
-        ItemMenu item = findByIdOrThrow(itemMenuId);
-        return item.hasEnoughStock(quantity);
+        return recipeStockMatrixService.getStockView().hasEnoughStock(itemMenuId, quantity);
     }
 
     @Override
     public int getMaxAvailableQuantity(Long itemMenuId) {
         log.debug("Getting max available quantity for menu item {}", itemMenuId);
-
-        ItemMenu item = findByIdOrThrow(itemMenuId);
-        return item.getMaxAvailableQuantity();
+        return recipeStockMatrixService.getStockView().getMaxAvailableQuantity(itemMenuId);
     }
 
     @Override
@@ -431,8 +454,9 @@ public class ItemMenuServiceImpl implements ItemMenuService {
         log.info("Updating availability for all active menu items");
 
         List<ItemMenu> allItems = itemMenuRepository.findByActiveTrue();
+        RecipeStockMatrix.StockView stock = recipeStockMatrixService.getStockView();
         for (ItemMenu item : allItems) {
-            item.updateAvailability();
+            item.setAvailable(stock.isAvailable(item.getIdItemMenu()));
         }
         itemMenuRepository.saveAll(allItems);
         
@@ -467,27 +491,15 @@ public class ItemMenuServiceImpl implements ItemMenuService {
                 "No hay ingredientes suficientes para preparar " + quantity + " " + item.getName());
         }
         
-        // 4. Deduct ingredients from stock
-        List<ItemIngredient> recipe = getRecipe(itemMenuId);
-        for (ItemIngredient itemIngredient : recipe) {
-            try {
-                // Deduct from stock (method in ItemIngredient entity)
-                BigDecimal newStock = itemIngredient.deductFromStock(quantity);
-                
-                // Save the ingredient with the new stock
-                ingredientRepository.save(itemIngredient.getIngredient());
-                
-                log.info("Deducted {} {} of '{}'. New stock: {}", 
-                         itemIngredient.getQuantity().multiply(BigDecimal.valueOf(quantity)),
-                         itemIngredient.getUnit(),
-                         itemIngredient.getIngredientName(),
-                         newStock);
-                         
-            } catch (Exception e) {
-                log.error("Error deducting ingredient: {}", e.getMessage());
-                throw new RuntimeException("Error al descontar del inventario: " + e.getMessage());
-            }
+        // 4. Deduct ingredients from stock (locked batch, movement ledger and stock alerts)
+        Map<Long, BigDecimal> requirements = new HashMap<>();
+        for (RecipeGraph.Edge line : recipeStockMatrixService.getGraph().getRecipe(itemMenuId)) {
+            requirements.merge(line.ingredientId(),
+                               line.quantity().multiply(BigDecimal.valueOf(quantity)),
+                               BigDecimal::add);
         }
+        ingredientStockService.deductStockBatch(requirements);
+        ingredientLedgerService.recordSale(requirements, IngredientLedgerService.getCurrentUsername());
         
         // 5. Update item availability
         updateItemAvailability(itemMenuId);
@@ -499,8 +511,10 @@ public class ItemMenuServiceImpl implements ItemMenuService {
     public BigDecimal calculateIngredientsCost(Long itemMenuId) {
         log.debug("Calculating ingredients cost for menu item ID: {}", itemMenuId);
 
-        ItemMenu item = findByIdOrThrow(itemMenuId);
-        return item.calculateIngredientsCost();
+        findByIdOrThrow(itemMenuId);
+        return menuCostService.getCost(itemMenuId)
+                .map(MenuItemCost::getIngredientsCost)
+                .orElse(BigDecimal.ZERO);
     }
 
     // ========== Statistics ==========
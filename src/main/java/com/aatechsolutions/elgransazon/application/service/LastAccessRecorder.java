@@ -0,0 +1,132 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the last access timestamp of employees and customers without blocking the login.
+ *
+ * A login only stores the newest timestamp of its principal in a concurrent map
+ * (repeated logins of the same user coalesce into one entry). A scheduled job calls
+ * {@link #flush()}, which writes all pending timestamps with one JDBC batch UPDATE per table.
+ * This is the only writer of employee.ultimo_acceso and customers.last_access.
+ *
+ * Metrics: {@code last_access.pending} (gauge, principals waiting to be written) and
+ * {@code last_access.flush} (timer, duration of each flush).
+ */
+@Service
+@Slf4j
+public class LastAccessRecorder {
+
+    private static final String UPDATE_EMPLOYEE_SQL =
+            "UPDATE employee SET ultimo_acceso = ? WHERE username = ?";
+
+    // The principal name of a customer is always the email, whichever login was typed
+    private static final String UPDATE_CUSTOMER_SQL =
+            "UPDATE customers SET last_access = ? WHERE email = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer flushTimer;
+
+    private final Map<String, LocalDateTime> pendingEmployees = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> pendingCustomers = new ConcurrentHashMap<>();
+
+    public LastAccessRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushTimer = Timer.builder("last_access.flush")
+                .description("Time spent writing pending last access timestamps")
+                .register(meterRegistry);
+        Gauge.builder("last_access.pending", this, LastAccessRecorder::getPendingCount)
+                .description("Principals whose last access is waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record a login (non-blocking)
+     */
+    public void recordEmployeeAccess(String username) {
+        pendingEmployees.merge(username, LocalDateTime.now(), LastAccessRecorder::newest);
+    }
+
+    /**
+     * Record a login (non-blocking)
+     *
+     * @param email principal name of the customer (its email)
+     */
+    public void recordCustomerAccess(String email) {
+        pendingCustomers.merge(email, LocalDateTime.now(), LastAccessRecorder::newest);
+    }
+
+    public int getPendingCount() {
+        return pendingEmployees.size() + pendingCustomers.size();
+    }
+
+    /**
+     * Write all pending timestamps, one batched UPDATE per table
+     */
+    @Transactional
+    public void flush() {
+        if (pendingEmployees.isEmpty() && pendingCustomers.isEmpty()) {
+            return;
+        }
+
+        flushTimer.record(() -> {
+            List<Object[]> employees = drain(pendingEmployees);
+            List<Object[]> customers = drain(pendingCustomers);
+
+            try {
+                if (!employees.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_EMPLOYEE_SQL, employees);
+                }
+                if (!customers.isEmpty()) {
+                    jdbcTemplate.batchUpdate(UPDATE_CUSTOMER_SQL, customers);
+                }
+            } catch (RuntimeException e) {
+                // Put the timestamps back so the next flush retries them
+                requeue(pendingEmployees, employees);
+                requeue(pendingCustomers, customers);
+                throw e;
+            }
+
+            log.debug("Last access flushed: {} employees, {} customers", employees.size(), customers.size());
+        });
+    }
+
+    /**
+     * Take the current entries out of the map. An entry is only removed if it was not
+     * replaced by a newer login meanwhile, so no access is lost.
+     */
+    private static List<Object[]> drain(Map<String, LocalDateTime> pending) {
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, LocalDateTime> entry : pending.entrySet()) {
+            String principal = entry.getKey();
+            LocalDateTime timestamp = entry.getValue();
+            if (pending.remove(principal, timestamp)) {
+                batch.add(new Object[]{Timestamp.valueOf(timestamp), principal});
+            }
+        }
+        return batch;
+    }
+
+    private static void requeue(Map<String, LocalDateTime> pending, List<Object[]> batch) {
+        for (Object[] row : batch) {
+            pending.merge((String) row[1], ((Timestamp) row[0]).toLocalDateTime(), LastAccessRecorder::newest);
+        }
+    }
+
+    private static LocalDateTime newest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
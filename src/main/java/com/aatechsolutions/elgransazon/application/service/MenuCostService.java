@@ -0,0 +1,249 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.MenuItemCost;
+import com.aatechsolutions.elgransazon.domain.entity.MenuItemCostHistory;
+import com.aatechsolutions.elgransazon.domain.repository.ItemMenuRepository;
+import com.aatechsolutions.elgransazon.domain.repository.MenuItemCostHistoryRepository;
+import com.aatechsolutions.elgransazon.domain.repository.MenuItemCostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Menu cost engine.
+ *
+ * Keeps the current recipe cost and profit margin of every menu item in item_menu_costs and
+ * appends a row to item_menu_cost_history whenever one of them changes. Only the affected items
+ * are recalculated: the item itself after a recipe or price change, and the items using an
+ * ingredient (from the {@link RecipeGraph}) after its cost changes. Each recalculation is one
+ * aggregate query over the affected recipes, so menu pages read stored costs instead of walking
+ * every recipe.
+ *
+ * A recalculation runs once the change has committed, in a transaction of its own that first locks
+ * the affected items (SELECT FOR UPDATE). Concurrent recalculations of the same item are serialized,
+ * and each one reads recipes, prices and stored costs after the lock, so the last one to run
+ * always stores the cost of the latest committed data.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MenuCostService implements StartupBackfill {
+
+    private final MenuItemCostRepository menuItemCostRepository;
+    private final MenuItemCostHistoryRepository menuItemCostHistoryRepository;
+    private final ItemMenuRepository itemMenuRepository;
+    private final RecipeStockMatrixService recipeStockMatrixService;
+    private final PlatformTransactionManager transactionManager;
+
+    // ========== Write path ==========
+
+    /**
+     * Recalculate the cost of menu items once the current transaction commits
+     * (right away when there is none), recording history for the ones that changed
+     */
+    public void recalculate(Collection<Long> itemMenuIds) {
+        if (itemMenuIds == null || itemMenuIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = new HashSet<>(itemMenuIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recalculateInNewTransaction(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recalculateInNewTransaction(ids);
+            }
+        });
+    }
+
+    /**
+     * Recalculate the items whose recipe uses an ingredient (after its cost per unit changed)
+     */
+    public void ingredientCostChanged(Long ingredientId) {
+        recalculate(recipeStockMatrixService.getGraph().getItemIdsUsing(ingredientId));
+    }
+
+    private void recalculateInNewTransaction(Set<Long> ids) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.executeWithoutResult(status -> recalculateLocked(ids));
+        } catch (Exception e) {
+            log.error("Could not recalculate the menu cost of items {}: {}", ids, e.getMessage());
+        }
+    }
+
+    /**
+     * Lock the items, then recalculate them (must run in a transaction that has not read yet,
+     * so its read view is taken after the lock)
+     *
+     * @return number of items whose cost or price changed
+     */
+    private int recalculateLocked(Collection<Long> itemMenuIds) {
+        List<Long> ids = itemMenuRepository.lockByIds(itemMenuIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, MenuItemCost> current = menuItemCostRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MenuItemCost::getItemMenuId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MenuItemCost> changed = new ArrayList<>();
+        List<MenuItemCostHistory> history = new ArrayList<>();
+        for (MenuItemCost calculated : calculate(ids, now)) {
+            MenuItemCost itemCost = current.get(calculated.getItemMenuId());
+            if (itemCost != null && itemCost.getIngredientsCost().compareTo(calculated.getIngredientsCost()) == 0
+                    && itemCost.getPrice().compareTo(calculated.getPrice()) == 0) {
+                continue;
+            }
+            if (itemCost == null) {
+                itemCost = calculated;
+            } else {
+                itemCost.setIngredientsCost(calculated.getIngredientsCost());
+                itemCost.setPrice(calculated.getPrice());
+                itemCost.setProfitMargin(calculated.getProfitMargin());
+                itemCost.setUpdatedAt(now);
+            }
+            changed.add(itemCost);
+
+            history.add(MenuItemCostHistory.builder()
+                    .itemMenuId(itemCost.getItemMenuId())
+                    .ingredientsCost(itemCost.getIngredientsCost())
+                    .price(itemCost.getPrice())
+                    .profitMargin(itemCost.getProfitMargin())
+                    .recordedAt(now)
+                    .build());
+        }
+
+        if (!changed.isEmpty()) {
+            menuItemCostRepository.saveAll(changed);
+            menuItemCostHistoryRepository.saveAll(history);
+            log.debug("Menu cost recalculated: {} of {} items changed", changed.size(), ids.size());
+        }
+        return changed.size();
+    }
+
+    /**
+     * Remove the cost and history of a deleted menu item
+     */
+    @Transactional
+    public void itemDeleted(Long itemMenuId) {
+        menuItemCostRepository.deleteById(itemMenuId);
+        menuItemCostHistoryRepository.deleteByItemMenuId(itemMenuId);
+    }
+
+    // ========== Read path ==========
+
+    /**
+     * Current cost of every menu item, by item ID
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, MenuItemCost> getCurrentCosts() {
+        Map<Long, MenuItemCost> costs = new HashMap<>();
+        for (MenuItemCost itemCost : menuItemCostRepository.findAll()) {
+            costs.put(itemCost.getItemMenuId(), itemCost);
+        }
+        return costs;
+    }
+
+    /**
+     * Current cost of a menu item (calculated without storing it if it was never stored)
+     */
+    @Transactional(readOnly = true)
+    public Optional<MenuItemCost> getCost(Long itemMenuId) {
+        Optional<MenuItemCost> itemCost = menuItemCostRepository.findById(itemMenuId);
+        if (itemCost.isPresent()) {
+            return itemCost;
+        }
+        return calculate(List.of(itemMenuId), LocalDateTime.now()).stream().findFirst();
+    }
+
+    /**
+     * Cost history of a menu item since a date, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<MenuItemCostHistory> getHistory(Long itemMenuId, LocalDateTime since) {
+        return menuItemCostHistoryRepository
+                .findByItemMenuIdAndRecordedAtGreaterThanEqualOrderByRecordedAtAsc(itemMenuId, since);
+    }
+
+    /**
+     * Cost of menu items from their recipes and the current ingredient costs (not stored)
+     */
+    private List<MenuItemCost> calculate(Collection<Long> itemMenuIds, LocalDateTime calculatedAt) {
+        List<MenuItemCost> costs = new ArrayList<>();
+        for (Object[] row : itemMenuRepository.findRecipeCostsByIds(itemMenuIds)) {
+            BigDecimal price = row[1] != null ? (BigDecimal) row[1] : BigDecimal.ZERO;
+            BigDecimal cost = toBigDecimal(row[2]);
+            costs.add(MenuItemCost.builder()
+                    .itemMenuId((Long) row[0])
+                    .ingredientsCost(cost)
+                    .price(price)
+                    .profitMargin(calculateProfitMargin(price, cost))
+                    .updatedAt(calculatedAt)
+                    .build());
+        }
+        return costs;
+    }
+
+    /**
+     * Same formula as {@code ItemMenu.calculateProfitMarginPercentage()}: ((price - cost) / price) * 100
+     */
+    static BigDecimal calculateProfitMargin(BigDecimal price, BigDecimal cost) {
+        if (price == null || price.compareTo(BigDecimal.ZERO) == 0) {
+            return BigDecimal.ZERO;
+        }
+        return price.subtract(cost).multiply(BigDecimal.valueOf(100))
+                .divide(price, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+
+    // ========== Backfill ==========
+
+    @Override
+    public String getBackfillName() {
+        return "item_menu_costs";
+    }
+
+    /**
+     * Recalculate the cost of every menu item (only the ones that changed are written).
+     * Runs before the application takes requests, so reading the IDs before the lock is safe.
+     *
+     * @return number of items written
+     */
+    @Override
+    @Transactional
+    public int backfill() {
+        return recalculateLocked(itemMenuRepository.findAllIds());
+    }
+}
@@ -0,0 +1,222 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service that moves old finished orders (PAID, CANCELLED) out of the hot tables.
+ *
+ * Orders and their details are copied to {@code orders_archive} / {@code order_details_archive}
+ * (same structure, created with CREATE TABLE ... LIKE) and deleted from {@code orders} /
+ * {@code order_details}, one batch per transaction. Columns added later to the hot tables are
+ * added to the archive tables before each run.
+ *
+ * CREATE TABLE ... LIKE copies no foreign keys, so the foreign keys of the hot tables are added
+ * to the archive tables too (details referencing {@code orders_archive}). Employees, customers,
+ * tables and menu items used by archived orders then stay protected from hard deletes, exactly
+ * as while the orders were hot, and archived orders can still be rendered and joined.
+ *
+ * {@link #getArchivedUntil()} tells {@link OrderHistoryReader} whether a read needs the archive.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveService {
+
+    static final String ORDERS_ARCHIVE = "orders_archive";
+    static final String ORDER_DETAILS_ARCHIVE = "order_details_archive";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PrimaryReader primaryReader;
+
+    /**
+     * Creation time of the newest archived order; null while unknown, empty if nothing is archived
+     */
+    private volatile Optional<LocalDateTime> archivedUntil;
+
+    // ========== Archive tables ==========
+
+    /**
+     * Create the archive tables if missing and add the columns the hot tables gained since
+     */
+    public void prepareArchiveTables() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ORDERS_ARCHIVE + " LIKE orders");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + ORDER_DETAILS_ARCHIVE + " LIKE order_details");
+        addMissingColumns("orders", ORDERS_ARCHIVE);
+        addMissingColumns("order_details", ORDER_DETAILS_ARCHIVE);
+        addMissingForeignKeys("orders", ORDERS_ARCHIVE);
+        addMissingForeignKeys("order_details", ORDER_DETAILS_ARCHIVE);
+    }
+
+    /**
+     * Tables holding orders: orders, plus orders_archive once it exists
+     */
+    public List<String> getOrderTables() {
+        Integer archiveTables = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?",
+                Integer.class, ORDERS_ARCHIVE);
+        return archiveTables != null && archiveTables > 0 ? List.of("orders", ORDERS_ARCHIVE) : List.of("orders");
+    }
+
+    /**
+     * Add to the archive table the foreign keys of the hot table it does not have yet
+     * (matched by column; references to orders point to orders_archive)
+     */
+    private void addMissingForeignKeys(String hotTable, String archiveTable) {
+        List<String> archiveKeyColumns = jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.key_column_usage " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND referenced_table_name IS NOT NULL",
+                String.class, archiveTable);
+        List<Map<String, Object>> hotKeys = jdbcTemplate.queryForList(
+                "SELECT column_name AS name, referenced_table_name AS ref_table, referenced_column_name AS ref_column " +
+                "FROM information_schema.key_column_usage " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND referenced_table_name IS NOT NULL", hotTable);
+
+        for (Map<String, Object> key : hotKeys) {
+            String column = (String) key.get("name");
+            if (archiveKeyColumns.contains(column)) {
+                continue;
+            }
+            String referencedTable = "orders".equals(key.get("ref_table")) ? ORDERS_ARCHIVE : (String) key.get("ref_table");
+            String constraint = truncate("fk_" + archiveTable + "_" + column, 64);
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + archiveTable + " ADD CONSTRAINT `" + constraint + "` " +
+                        "FOREIGN KEY (`" + column + "`) REFERENCES `" + referencedTable + "` (`" + key.get("ref_column") + "`)");
+                log.info("Foreign key {} added to {}", constraint, archiveTable);
+            } catch (Exception e) {
+                // Rows archived before the key existed may already reference deleted rows
+                log.error("Could not add foreign key {} to {}: {}", constraint, archiveTable, e.getMessage());
+            }
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private void addMissingColumns(String hotTable, String archiveTable) {
+        List<String> archiveColumns = getColumns(archiveTable);
+        List<Map<String, Object>> hotColumns = jdbcTemplate.queryForList(
+                "SELECT column_name AS name, column_type AS type FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? ORDER BY ordinal_position", hotTable);
+
+        for (Map<String, Object> column : hotColumns) {
+            String name = (String) column.get("name");
+            if (!archiveColumns.contains(name)) {
+                // Nullable: archived rows older than the column have no value for it
+                jdbcTemplate.execute("ALTER TABLE " + archiveTable + " ADD COLUMN `" + name + "` " + column.get("type") + " NULL");
+                log.info("Column {} added to {}", name, archiveTable);
+            }
+        }
+    }
+
+    /**
+     * Columns of a table in definition order
+     */
+    List<String> getColumns(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT column_name FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? ORDER BY ordinal_position",
+                String.class, table);
+    }
+
+    // ========== Archiving ==========
+
+    /**
+     * Move one batch of finished orders created before {@code cutoff} to the archive
+     *
+     * @return number of orders moved (less than {@code batchSize} when nothing is left)
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> orderIds = jdbcTemplate.queryForList(
+                "SELECT id_order FROM orders WHERE status IN ('PAID', 'CANCELLED') AND created_at < ? " +
+                "ORDER BY id_order LIMIT ? FOR UPDATE",
+                Long.class, Timestamp.valueOf(cutoff), batchSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        String ids = orderIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String orderColumns = columnList("orders", ORDERS_ARCHIVE);
+        String detailColumns = columnList("order_details", ORDER_DETAILS_ARCHIVE);
+
+        // Orders first: archived details reference orders_archive
+        jdbcTemplate.update("INSERT INTO " + ORDERS_ARCHIVE + " (" + orderColumns + ") " +
+                "SELECT " + orderColumns + " FROM orders WHERE id_order IN (" + ids + ")");
+        jdbcTemplate.update("INSERT INTO " + ORDER_DETAILS_ARCHIVE + " (" + detailColumns + ") " +
+                "SELECT " + detailColumns + " FROM order_details WHERE id_order IN (" + ids + ")");
+        jdbcTemplate.update("DELETE FROM order_details WHERE id_order IN (" + ids + ")");
+        int moved = jdbcTemplate.update("DELETE FROM orders WHERE id_order IN (" + ids + ")");
+
+        // Reloaded by the next read once the moved orders are visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                archivedUntil = null;
+            }
+        });
+        return moved;
+    }
+
+    /**
+     * Columns present in both tables, quoted, in the hot table's order
+     */
+    private String columnList(String hotTable, String archiveTable) {
+        List<String> archiveColumns = getColumns(archiveTable);
+        List<String> shared = new ArrayList<>();
+        for (String column : getColumns(hotTable)) {
+            if (archiveColumns.contains(column)) {
+                shared.add("`" + column + "`");
+            }
+        }
+        return String.join(",", shared);
+    }
+
+    // ========== Horizon ==========
+
+    /**
+     * Creation time of the newest archived order, or empty if nothing has been archived
+     * (or the archive tables don't exist yet)
+     */
+    public Optional<LocalDateTime> getArchivedUntil() {
+        Optional<LocalDateTime> current = archivedUntil;
+        if (current != null) {
+            return current;
+        }
+        try {
+            // Read from the primary: a lagging replica would hide the batch that just reset it
+            List<Timestamp> newest = primaryReader.read(() -> jdbcTemplate.queryForList(
+                    "SELECT MAX(created_at) FROM " + ORDERS_ARCHIVE, Timestamp.class));
+            current = newest.isEmpty() || newest.get(0) == null
+                    ? Optional.empty()
+                    : Optional.of(newest.get(0).toLocalDateTime());
+        } catch (Exception e) {
+            log.debug("Order archive not available: {}", e.getMessage());
+            current = Optional.empty();
+        }
+        archivedUntil = current;
+        return current;
+    }
+
+    /**
+     * Check if a read of orders created at or after {@code from} needs the archive
+     */
+    public boolean isArchiveNeeded(LocalDateTime from) {
+        Optional<LocalDateTime> until = getArchivedUntil();
+        return until.isPresent() && (from == null || !from.isAfter(until.get()));
+    }
+}
@@ -0,0 +1,384 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.*;
+import com.aatechsolutions.elgransazon.domain.repository.OrderDetailRepository;
+import com.aatechsolutions.elgransazon.domain.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.aatechsolutions.elgransazon.application.service.OrderArchiveService.ORDERS_ARCHIVE;
+import static com.aatechsolutions.elgransazon.application.service.OrderArchiveService.ORDER_DETAILS_ARCHIVE;
+
+/**
+ * Reads order history across the hot tables and the archive (see {@link OrderArchiveService}).
+ *
+ * The archive is only queried when the requested range reaches archived data (or the query
+ * has no date range, like a customer's history or all-time totals).
+ * Archived orders are returned as detached {@link Order} objects that are never persisted;
+ * their employee, customer, table and menu item associations are lazy references,
+ * so they can be rendered like any other order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderHistoryReader {
+
+    private static final int DETAILS_CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final OrderDetailRepository orderDetailRepository;
+    private final OrderArchiveService orderArchiveService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // ========== Order lists ==========
+
+    @Transactional(readOnly = true)
+    public List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        List<Order> orders = orderRepository.findByDateRange(startDate, endDate);
+        if (!orderArchiveService.isArchiveNeeded(startDate)) {
+            return orders;
+        }
+        return merge(orders, findArchived("created_at BETWEEN ? AND ?",
+                Timestamp.valueOf(startDate), Timestamp.valueOf(endDate)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Order> findByStatus(OrderStatus status) {
+        List<Order> orders = orderRepository.findByStatus(status);
+        // Only finished orders are archived
+        if ((status != OrderStatus.PAID && status != OrderStatus.CANCELLED)
+                || !orderArchiveService.isArchiveNeeded(null)) {
+            return orders;
+        }
+        return merge(orders, findArchived("status = ?", status.name()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Order> findByEmployeeId(Long employeeId) {
+        List<Order> orders = orderRepository.findByEmployeeId(employeeId);
+        if (!orderArchiveService.isArchiveNeeded(null)) {
+            return orders;
+        }
+        return merge(orders, findArchived("id_employee = ?", employeeId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Order> findByCustomerId(Long customerId) {
+        List<Order> orders = orderRepository.findByCustomerId(customerId);
+        if (!orderArchiveService.isArchiveNeeded(null)) {
+            return orders;
+        }
+        return merge(orders, findArchived("id_customer = ?", customerId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Order> findByCustomerEmail(String customerEmail) {
+        List<Order> orders = orderRepository.findByCustomerEmail(customerEmail);
+        if (!orderArchiveService.isArchiveNeeded(null)) {
+            return orders;
+        }
+        return merge(orders, findArchived(
+                "id_customer = (SELECT c.id_customer FROM customers c WHERE c.email = ?)", customerEmail));
+    }
+
+    // ========== Aggregates ==========
+
+    /**
+     * Total of all PAID orders, hot and archived
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getTotalIncome() {
+        BigDecimal total = orderRepository.getTotalIncome();
+        total = total != null ? total : BigDecimal.ZERO;
+        if (orderArchiveService.isArchiveNeeded(null)) {
+            BigDecimal archived = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(total), 0) FROM " + ORDERS_ARCHIVE + " WHERE status = 'PAID'",
+                    BigDecimal.class);
+            total = total.add(archived != null ? archived : BigDecimal.ZERO);
+        }
+        return total;
+    }
+
+    /**
+     * Income grouped by menu category (only PAID orders), highest first
+     * Returns: [categoryId, categoryName, totalSales]
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getIncomeByMenuCategory() {
+        List<Object[]> hot = orderDetailRepository.getIncomeByMenuCategory();
+        if (!orderArchiveService.isArchiveNeeded(null)) {
+            return hot;
+        }
+
+        Map<Long, Object[]> byCategory = new LinkedHashMap<>();
+        for (Object[] row : hot) {
+            byCategory.put((Long) row[0], new Object[]{row[0], row[1], row[2]});
+        }
+        jdbcTemplate.query(
+                "SELECT c.id_category, c.name, COALESCE(SUM(d.subtotal), 0) AS total " +
+                "FROM " + ORDER_DETAILS_ARCHIVE + " d " +
+                "JOIN " + ORDERS_ARCHIVE + " o ON o.id_order = d.id_order " +
+                "JOIN item_menu im ON im.id_item_menu = d.id_item_menu " +
+                "JOIN categories c ON c.id_category = im.id_category " +
+                "WHERE o.status = 'PAID' GROUP BY c.id_category, c.name",
+                rs -> {
+                    Long categoryId = rs.getLong(1);
+                    Object[] row = byCategory.computeIfAbsent(categoryId,
+                            id -> new Object[]{id, null, BigDecimal.ZERO});
+                    row[1] = rs.getString(2);
+                    row[2] = ((BigDecimal) row[2]).add(rs.getBigDecimal(3));
+                });
+
+        return byCategory.values().stream()
+                .sorted(Comparator.comparing((Object[] row) -> (BigDecimal) row[2]).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Items sold in a category (only PAID orders), most sold first
+     * Returns: [itemName, totalQuantity, totalSales]
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getItemSalesByCategory(Long categoryId) {
+        List<Object[]> hot = orderDetailRepository.getItemSalesByCategory(categoryId);
+        if (!orderArchiveService.isArchiveNeeded(null)) {
+            return hot;
+        }
+
+        // Item names are unique
+        Map<String, Object[]> byItem = new LinkedHashMap<>();
+        for (Object[] row : hot) {
+            byItem.put((String) row[0], new Object[]{row[0], ((Number) row[1]).longValue(), row[2]});
+        }
+        jdbcTemplate.query(
+                "SELECT im.name, SUM(d.quantity), COALESCE(SUM(d.subtotal), 0) " +
+                "FROM " + ORDER_DETAILS_ARCHIVE + " d " +
+                "JOIN " + ORDERS_ARCHIVE + " o ON o.id_order = d.id_order " +
+                "JOIN item_menu im ON im.id_item_menu = d.id_item_menu " +
+                "WHERE o.status = 'PAID' AND im.id_category = ? " +
+                "GROUP BY im.id_item_menu, im.name",
+                rs -> {
+                    Object[] row = byItem.computeIfAbsent(rs.getString(1),
+                            name -> new Object[]{name, 0L, BigDecimal.ZERO});
+                    row[1] = (Long) row[1] + rs.getLong(2);
+                    row[2] = ((BigDecimal) row[2]).add(rs.getBigDecimal(3));
+                },
+                categoryId);
+
+        return byItem.values().stream()
+                .sorted(Comparator.comparing((Object[] row) -> (Long) row[1]).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Number of orders, hot and archived
+     */
+    @Transactional(readOnly = true)
+    public long countAll() {
+        long count = orderRepository.count();
+        if (orderArchiveService.isArchiveNeeded(null)) {
+            Long archived = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + ORDERS_ARCHIVE, Long.class);
+            count += archived != null ? archived : 0L;
+        }
+        return count;
+    }
+
+    // ========== Delivery person reports ==========
+
+    /**
+     * Orders of a delivery person per status, hot and archived, created in [start, end)
+     * (all time when start is null): status -> orders, sum of totals, sum of tips
+     */
+    @Transactional(readOnly = true)
+    public Map<OrderStatus, OrderTotals> sumDeliveredByStatus(Long employeeId, LocalDateTime start, LocalDateTime end) {
+        String range = start != null ? " AND created_at >= ? AND created_at < ?" : "";
+        Object[] args = start != null
+                ? new Object[]{employeeId, Timestamp.valueOf(start), Timestamp.valueOf(end)}
+                : new Object[]{employeeId};
+
+        Map<OrderStatus, OrderTotals> byStatus = new EnumMap<>(OrderStatus.class);
+        for (String ordersTable : ordersTables(start)) {
+            jdbcTemplate.query(
+                    "SELECT status, COUNT(*), COALESCE(SUM(total), 0), COALESCE(SUM(tip), 0) " +
+                    "FROM " + ordersTable + " WHERE id_delivered_by = ?" + range + " GROUP BY status",
+                    rs -> {
+                        OrderTotals totals = new OrderTotals(rs.getLong(2), rs.getBigDecimal(3), rs.getBigDecimal(4));
+                        byStatus.merge(toEnum(OrderStatus.class, rs.getString(1)), totals, OrderTotals::plus);
+                    },
+                    args);
+        }
+        return byStatus;
+    }
+
+    /**
+     * Orders of a delivery person per creation day, hot and archived, for each day between two
+     * dates (inclusive), days without orders included: orders created that day (any status),
+     * sum of totals and sum of tips of the PAID ones
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, OrderTotals> sumDeliveredByDay(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, OrderTotals> daily = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            daily.put(date, OrderTotals.EMPTY);
+        }
+
+        LocalDateTime start = startDate.atStartOfDay();
+        for (String ordersTable : ordersTables(start)) {
+            jdbcTemplate.query(
+                    "SELECT DATE(created_at), COUNT(*), " +
+                    "COALESCE(SUM(CASE WHEN status = 'PAID' THEN total END), 0), " +
+                    "COALESCE(SUM(CASE WHEN status = 'PAID' THEN tip END), 0) " +
+                    "FROM " + ordersTable + " WHERE id_delivered_by = ? AND created_at >= ? AND created_at < ? " +
+                    "GROUP BY DATE(created_at)",
+                    rs -> {
+                        OrderTotals totals = new OrderTotals(rs.getLong(2), rs.getBigDecimal(3), rs.getBigDecimal(4));
+                        daily.merge(rs.getDate(1).toLocalDate(), totals, OrderTotals::plus);
+                    },
+                    employeeId, Timestamp.valueOf(start), Timestamp.valueOf(endDate.plusDays(1).atStartOfDay()));
+        }
+        return daily;
+    }
+
+    /**
+     * Order tables a read of orders created at or after {@code from} needs (all of them when null)
+     */
+    private List<String> ordersTables(LocalDateTime from) {
+        return orderArchiveService.isArchiveNeeded(from) ? List.of("orders", ORDERS_ARCHIVE) : List.of("orders");
+    }
+
+    // ========== Archive mapping ==========
+
+    private List<Order> findArchived(String condition, Object... args) {
+        List<Order> orders = jdbcTemplate.query(
+                "SELECT * FROM " + ORDERS_ARCHIVE + " WHERE " + condition + " ORDER BY created_at DESC",
+                (rs, rowNum) -> mapOrder(rs), args);
+        if (orders.isEmpty()) {
+            return orders;
+        }
+
+        Map<Long, Order> byId = new HashMap<>();
+        orders.forEach(order -> byId.put(order.getIdOrder(), order));
+
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += DETAILS_CHUNK_SIZE) {
+            String chunk = ids.subList(from, Math.min(from + DETAILS_CHUNK_SIZE, ids.size())).stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(","));
+            jdbcTemplate.query(
+                    "SELECT * FROM " + ORDER_DETAILS_ARCHIVE + " WHERE id_order IN (" + chunk + ") " +
+                    "ORDER BY id_order_detail",
+                    rs -> {
+                        Order order = byId.get(rs.getLong("id_order"));
+                        OrderDetail detail = mapDetail(rs);
+                        detail.setOrder(order);
+                        order.getOrderDetails().add(detail);
+                    });
+        }
+
+        log.debug("Loaded {} archived orders", orders.size());
+        return orders;
+    }
+
+    private Order mapOrder(ResultSet rs) throws SQLException {
+        return Order.builder()
+                .idOrder(rs.getLong("id_order"))
+                .orderNumber(rs.getString("order_number"))
+                .orderType(toEnum(OrderType.class, rs.getString("order_type")))
+                .status(toEnum(OrderStatus.class, rs.getString("status")))
+                .customerName(rs.getString("customer_name"))
+                .customerPhone(rs.getString("customer_phone"))
+                .deliveryAddress(rs.getString("delivery_address"))
+                .deliveryReferences(rs.getString("delivery_references"))
+                .deliveryLatitude(getDouble(rs, "delivery_latitude"))
+                .deliveryLongitude(getDouble(rs, "delivery_longitude"))
+                .table(reference(RestaurantTable.class, rs, "id_table"))
+                .employee(reference(Employee.class, rs, "id_employee"))
+                .customer(reference(Customer.class, rs, "id_customer"))
+                .preparedBy(reference(Employee.class, rs, "id_prepared_by"))
+                .preparedByBarista(reference(Employee.class, rs, "id_prepared_by_barista"))
+                .paidBy(reference(Employee.class, rs, "id_paid_by"))
+                .deliveredBy(reference(Employee.class, rs, "id_delivered_by"))
+                .orderDetails(new ArrayList<>())
+                .paymentMethod(toEnum(PaymentMethodType.class, rs.getString("payment_method")))
+                .subtotal(rs.getBigDecimal("subtotal"))
+                .taxRate(rs.getBigDecimal("tax_rate"))
+                .taxAmount(rs.getBigDecimal("tax_amount"))
+                .total(rs.getBigDecimal("total"))
+                .tip(rs.getBigDecimal("tip"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .updatedAt(toLocalDateTime(rs.getTimestamp("updated_at")))
+                .createdBy(rs.getString("created_by"))
+                .updatedBy(rs.getString("updated_by"))
+                .cancelledAt(toLocalDateTime(rs.getTimestamp("cancelled_at")))
+                .build();
+    }
+
+    private OrderDetail mapDetail(ResultSet rs) throws SQLException {
+        long promotionId = rs.getLong("applied_promotion_id");
+        boolean hasPromotion = !rs.wasNull();
+        return OrderDetail.builder()
+                .idOrderDetail(rs.getLong("id_order_detail"))
+                .itemMenu(reference(ItemMenu.class, rs, "id_item_menu"))
+                .quantity(rs.getInt("quantity"))
+                .unitPrice(rs.getBigDecimal("unit_price"))
+                .subtotal(rs.getBigDecimal("subtotal"))
+                .promotionAppliedPrice(rs.getBigDecimal("promotion_applied_price"))
+                .appliedPromotionId(hasPromotion ? promotionId : null)
+                .comments(rs.getString("comments"))
+                .itemStatus(toEnum(OrderStatus.class, rs.getString("item_status")))
+                .isNewItem(rs.getBoolean("is_new_item"))
+                .addedAt(toLocalDateTime(rs.getTimestamp("added_at")))
+                .preparedBy(rs.getString("prepared_by"))
+                .createdAt(toLocalDateTime(rs.getTimestamp("created_at")))
+                .build();
+    }
+
+    private <T> T reference(Class<T> type, ResultSet rs, String column) throws SQLException {
+        long id = rs.getLong(column);
+        return rs.wasNull() ? null : entityManager.getReference(type, id);
+    }
+
+    private static Double getDouble(ResultSet rs, String column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static <E extends Enum<E>> E toEnum(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Hot and archived orders, newest first
+     */
+    private static List<Order> merge(List<Order> hot, List<Order> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<Order> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(Comparator.comparing(Order::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
+    }
+}
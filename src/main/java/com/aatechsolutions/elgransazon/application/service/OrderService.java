@@ -113,15 +113,23 @@ public interface OrderService {
     Optional<Order> findActiveOrderByTableId(Long tableId);
 
     /**
-     * Find all orders by employee ID
+     * Find all orders by employee ID (hot tables only)
      */
     List<Order> findByEmployeeId(Long employeeId);
 
     /**
-     * Find all orders by status
+     * Find all orders by status (hot tables only, for operational views)
      */
     List<Order> findByStatus(OrderStatus status);
 
+    /**
+     * Find all orders by status, including archived orders (reports over the full history).
+     * Role-scoped services only see hot orders.
+     */
+    default List<Order> findByStatusIncludingArchive(OrderStatus status) {
+        return findByStatus(status);
+    }
+
     /**
      * Find all orders by order type
      */
@@ -138,7 +146,7 @@ public interface OrderService {
     List<Order> findActiveOrders();
 
     /**
-     * Find orders by date range
+     * Find orders by date range (hot tables only)
      */
     List<Order> findByDateRange(LocalDateTime startDate, LocalDateTime endDate);
 
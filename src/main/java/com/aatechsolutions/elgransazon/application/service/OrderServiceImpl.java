@@ -37,11 +37,18 @@ public class OrderServiceImpl implements OrderService {
     private final RestaurantTableRepository restaurantTableRepository;
     private final ItemMenuRepository itemMenuRepository;
     private final IngredientStockService ingredientStockService;
+    private final RecipeStockMatrixService recipeStockMatrixService;
+    private final IngredientLedgerService ingredientLedgerService;
     private final SystemConfigurationRepository systemConfigurationRepository;
     private final RestaurantTableService restaurantTableService;
     private final WebSocketNotificationService wsNotificationService;
     private final EmployeeMonthlyStatsService monthlyStatsService;
     private final DailyOrderCounterRepository dailyOrderCounterRepository;
+    private final OrderHistoryReader orderHistoryReader;
+    private final DeliveryDispatchService deliveryDispatchService;
+    private final DeliveryZoneService deliveryZoneService;
+    private final DeliveryEarningService deliveryEarningService;
+    private final CashierShiftService cashierShiftService;
 
     @Override
     public Order create(Order order, List<OrderDetail> orderDetails) {
@@ -90,7 +97,9 @@ public class OrderServiceImpl implements OrderService {
         BigDecimal taxRate = getTaxRate();
         order.setTaxRate(taxRate);
 
-        // 8. Process order details and deduct stock
+        // 8. Process order details and accumulate stock requirements
+        Map<Long, BigDecimal> stockRequirements = new HashMap<>();
+        List<ItemMenu> orderedItems = new ArrayList<>();
         for (OrderDetail detail : orderDetails) {
             ItemMenu item = itemMenuRepository.findById(detail.getItemMenu().getIdItemMenu())
                 .orElseThrow(() -> new IllegalArgumentException(
@@ -126,17 +135,20 @@ public class OrderServiceImpl implements OrderService {
                     requiresBaristaPreparation ? "barista" : "chef");
             }
 
-            // Deduct stock from ingredients
-            deductStockForItem(item, detail.getQuantity());
-
-            // Update item availability
-            item.updateAvailability();
-            itemMenuRepository.save(item);
+            // Accumulate ingredient requirements for the whole order
+            addRecipeRequirements(stockRequirements, item, detail.getQuantity());
+            orderedItems.add(item);
 
             // Add to order
             order.addOrderDetail(detail);
         }
 
+        // Deduct stock for the whole order at once (ordered batch lock, all or nothing)
+        ingredientStockService.deductStockBatch(stockRequirements);
+
+        // Update item availability
+        updateItemsAvailability(orderedItems);
+
         // 9. Calculate order totals
         order.recalculateAmounts();
 
@@ -178,6 +190,10 @@ public class OrderServiceImpl implements OrderService {
                  savedOrder.getOrderType().getDisplayName(),
                  savedOrder.getTotal());
 
+        // Record the sold ingredients in the movement ledger
+        ingredientLedgerService.recordOrderMovements(IngredientMovementType.SALE, savedOrder,
+                savedOrder.getOrderDetails(), savedOrder.getCreatedBy());
+
         // 12. Send WebSocket notification for new order
         try {
             wsNotificationService.notifyNewOrder(savedOrder);
@@ -239,7 +255,7 @@ public class OrderServiceImpl implements OrderService {
         }
 
         // Return stock for old items
-        returnStockForOrder(existingOrder);
+        returnStockForOrder(existingOrder, updatedOrder.getUpdatedBy());
 
         // Validate items are active
         validateItemsActive(newOrderDetails);
@@ -258,7 +274,9 @@ public class OrderServiceImpl implements OrderService {
         orderDetailRepository.deleteByOrder(existingOrder);
         existingOrder.getOrderDetails().clear();
 
-        // Add new details and deduct stock
+        // Add new details and accumulate stock requirements
+        Map<Long, BigDecimal> stockRequirements = new HashMap<>();
+        List<ItemMenu> orderedItems = new ArrayList<>();
         for (OrderDetail newDetail : newOrderDetails) {
             ItemMenu item = itemMenuRepository.findById(newDetail.getItemMenu().getIdItemMenu())
                 .orElseThrow(() -> new IllegalArgumentException(
@@ -295,17 +313,20 @@ public class OrderServiceImpl implements OrderService {
                 }
             }
 
-            // Deduct stock
-            deductStockForItem(item, newDetail.getQuantity());
-
-            // Update item availability
-            item.updateAvailability();
-            itemMenuRepository.save(item);
+            // Accumulate ingredient requirements
+            addRecipeRequirements(stockRequirements, item, newDetail.getQuantity());
+            orderedItems.add(item);
 
             // Add to order
             existingOrder.addOrderDetail(newDetail);
         }
 
+        // Deduct stock for all new details at once
+        ingredientStockService.deductStockBatch(stockRequirements);
+
+        // Update item availability
+        updateItemsAvailability(orderedItems);
+
         // Update basic fields
         existingOrder.setOrderType(newOrderType);
         existingOrder.setCustomerName(updatedOrder.getCustomerName());
@@ -325,6 +346,10 @@ public class OrderServiceImpl implements OrderService {
         Order savedOrder = orderRepository.save(existingOrder);
         log.info("Order updated successfully: {}", savedOrder.getOrderNumber());
 
+        // Record the sold ingredients of the new details in the movement ledger
+        ingredientLedgerService.recordOrderMovements(IngredientMovementType.SALE, savedOrder,
+                savedOrder.getOrderDetails(), updatedOrder.getUpdatedBy());
+
         return savedOrder;
     }
 
@@ -432,10 +457,7 @@ public class OrderServiceImpl implements OrderService {
         
         // Return stock automatically for eligible items
         if (!itemsToReturnAutomatically.isEmpty()) {
-            for (OrderDetail detail : itemsToReturnAutomatically) {
-                ItemMenu item = detail.getItemMenu();
-                returnStockForItem(item, detail.getQuantity());
-            }
+            returnStockForDetails(order, itemsToReturnAutomatically, cancelledBy);
             log.info("Stock returned automatically for {} items in order: {}", 
                      itemsToReturnAutomatically.size(), order.getOrderNumber());
         }
@@ -478,6 +500,10 @@ public class OrderServiceImpl implements OrderService {
         Order cancelledOrder = orderRepository.save(order);
         log.info("Order cancelled successfully: {} (was in {} status)", 
                  cancelledOrder.getOrderNumber(), currentStatus.getDisplayName());
+
+        if (cancelledOrder.getOrderType() == OrderType.DELIVERY) {
+            deliveryDispatchService.ordersChanged();
+        }
         
         // Send WebSocket notification for order cancellation
         // Use notifyOrderCancelled to send ORDER_CANCELLED notification to all relevant roles
@@ -640,6 +666,17 @@ public class OrderServiceImpl implements OrderService {
         Order savedOrder = orderRepository.save(order);
         log.info("Order status changed: {} -> {}", oldStatus, newStatus);
 
+        if (newStatus == OrderStatus.PAID) {
+            cashierShiftService.recordPayment(savedOrder);
+        }
+
+        if (savedOrder.getOrderType() == OrderType.DELIVERY) {
+            deliveryDispatchService.ordersChanged();
+            if (newStatus == OrderStatus.PAID) {
+                deliveryEarningService.recordPaidDelivery(savedOrder);
+            }
+        }
+
         // Send WebSocket notification for status change
         try {
             String statusMessage = String.format("Estado cambiado: %s → %s", 
@@ -682,6 +719,7 @@ public class OrderServiceImpl implements OrderService {
         }
 
         // Process each new item
+        Map<Long, BigDecimal> stockRequirements = new HashMap<>();
         for (OrderDetail detail : newItems) {
             ItemMenu item = itemMenuRepository.findById(detail.getItemMenu().getIdItemMenu())
                 .orElseThrow(() -> new IllegalArgumentException(
@@ -718,14 +756,17 @@ public class OrderServiceImpl implements OrderService {
                     requiresBaristaPreparation ? "barista" : "chef");
             }
 
-            // Deduct stock from ingredients
-            deductStockForItem(item, detail.getQuantity());
+            // Accumulate ingredient requirements
+            addRecipeRequirements(stockRequirements, item, detail.getQuantity());
 
             // Add to order
             detail.setOrder(order);
             order.addOrderDetail(detail);
         }
 
+        // Deduct stock for all new items at once
+        ingredientStockService.deductStockBatch(stockRequirements);
+
         // Recalculate order totals
         order.recalculateAmounts();
 
@@ -742,12 +783,18 @@ public class OrderServiceImpl implements OrderService {
                  savedOrder.getOrderNumber(),
                  savedOrder.getFormattedTotal());
 
+        // The new items are the last ones added to the order
+        List<OrderDetail> newOrderDetails = savedOrder.getOrderDetails().stream()
+            .skip(savedOrder.getOrderDetails().size() - newItems.size())
+            .collect(Collectors.toList());
+
+        // Record the sold ingredients in the movement ledger
+        ingredientLedgerService.recordOrderMovements(IngredientMovementType.SALE, savedOrder,
+                newOrderDetails, username);
+
         // Send WebSocket notification for items added to existing order
         try {
             // Pass the actual new items list to detect what type of items were added
-            List<OrderDetail> newOrderDetails = savedOrder.getOrderDetails().stream()
-                .skip(savedOrder.getOrderDetails().size() - newItems.size())
-                .collect(Collectors.toList());
             wsNotificationService.notifyItemsAdded(savedOrder, newOrderDetails);
         } catch (Exception e) {
             log.error("Failed to send WebSocket notification for items added to order: {}", 
@@ -832,6 +879,10 @@ public class OrderServiceImpl implements OrderService {
                  oldOrderStatus,
                  newOrderStatus);
 
+        if (oldOrderStatus != newOrderStatus && savedOrder.getOrderType() == OrderType.DELIVERY) {
+            deliveryDispatchService.ordersChanged();
+        }
+
         // Send WebSocket notification if order status changed automatically
         if (oldOrderStatus != newOrderStatus) {
             try {
@@ -918,6 +969,12 @@ public class OrderServiceImpl implements OrderService {
         return orderRepository.findByStatus(status);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByStatusIncludingArchive(OrderStatus status) {
+        return orderHistoryReader.findByStatus(status);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Order> findByOrderType(OrderType orderType) {
@@ -964,6 +1021,7 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public Map<Long, String> validateStock(List<OrderDetail> orderDetails) {
         Map<Long, String> errors = new HashMap<>();
+        RecipeStockMatrix.StockView stock = recipeStockMatrixService.getStockView();
 
         for (OrderDetail detail : orderDetails) {
             ItemMenu item = itemMenuRepository.findById(detail.getItemMenu().getIdItemMenu())
@@ -971,7 +1029,7 @@ public class OrderServiceImpl implements OrderService {
                     "Item de menú no encontrado: " + detail.getItemMenu().getIdItemMenu()
                 ));
 
-            if (!item.hasEnoughStock(detail.getQuantity())) {
+            if (!stock.hasEnoughStock(item.getIdItemMenu(), detail.getQuantity())) {
                 errors.put(item.getIdItemMenu(), item.getName());
             }
         }
@@ -1041,43 +1099,56 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public long countTodaysOrdersByStatus(OrderStatus status) {
         // Count today's orders filtered by status
-        List<Order> todaysOrders = findTodaysOrders();
-        return todaysOrders.stream()
-            .filter(order -> order.getStatus() == status)
-            .count();
+        return orderRepository.countTodaysOrdersByStatus(status);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getTodaysRevenue() {
-        LocalDate today = LocalDate.now();
-        LocalDateTime startOfDay = today.atStartOfDay();
-        LocalDateTime endOfDay = today.atTime(23, 59, 59);
-
-        return orderRepository.findByDateRange(startOfDay, endOfDay).stream()
-                .filter(order -> order.getStatus() == OrderStatus.PAID)
-                .map(Order::getTotal)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return orderRepository.getTodaysRevenue();
     }
 
     // ========== PRIVATE HELPER METHODS ==========
 
     /**
-     * Deduct stock for a menu item
+     * Add the ingredients needed for {@code quantity} units of a menu item
+     * to the per-ingredient totals of an order
      */
-    private void deductStockForItem(ItemMenu item, Integer quantity) {
-        log.debug("Deducting stock for item: {} (quantity: {})", item.getName(), quantity);
+    private void addRecipeRequirements(Map<Long, BigDecimal> requirements, ItemMenu item, Integer quantity) {
+        for (RecipeGraph.Edge line : recipeStockMatrixService.getGraph().getRecipe(item.getIdItemMenu())) {
+            requirements.merge(line.ingredientId(),
+                               line.quantity().multiply(BigDecimal.valueOf(quantity)),
+                               BigDecimal::add);
+        }
+    }
 
-        for (ItemIngredient itemIngredient : item.getIngredients()) {
-            try {
-                itemIngredient.deductFromStock(quantity);
-                log.debug("Stock deducted for ingredient: {} ({})", 
-                         itemIngredient.getIngredientName(),
-                         itemIngredient.getFormattedQuantity());
-            } catch (IllegalStateException e) {
-                log.error("Error deducting stock: {}", e.getMessage());
-                throw e;
+    /**
+     * Update availability of the given menu items from current stock, and of every other
+     * item sharing an ingredient with them (their stock changed as well)
+     */
+    private void updateItemsAvailability(Collection<ItemMenu> items) {
+        RecipeGraph graph = recipeStockMatrixService.getGraph();
+        RecipeStockMatrix.StockView stock = recipeStockMatrixService.getStockView();
+
+        Set<Long> ingredientIds = new HashSet<>();
+        Set<Long> itemIds = new HashSet<>();
+        for (ItemMenu item : new LinkedHashSet<>(items)) {
+            item.setAvailable(stock.isAvailable(item.getIdItemMenu()));
+            itemMenuRepository.save(item);
+            itemIds.add(item.getIdItemMenu());
+            graph.getRecipe(item.getIdItemMenu()).forEach(line -> ingredientIds.add(line.ingredientId()));
+        }
+
+        Set<Long> sharingIds = graph.getItemIdsUsingAny(ingredientIds);
+        sharingIds.removeAll(itemIds);
+        if (sharingIds.isEmpty()) {
+            return;
+        }
+        for (ItemMenu item : itemMenuRepository.findAllById(sharingIds)) {
+            boolean available = stock.isAvailable(item.getIdItemMenu());
+            if (!Boolean.valueOf(available).equals(item.getAvailable())) {
+                item.setAvailable(available);
+                itemMenuRepository.save(item);
             }
         }
     }
@@ -1085,42 +1156,36 @@ public class OrderServiceImpl implements OrderService {
     /**
      * Return stock for an order (when cancelling or updating)
      */
-    private void returnStockForOrder(Order order) {
+    private void returnStockForOrder(Order order, String username) {
         log.info("Returning stock for order: {}", order.getOrderNumber());
 
-        for (OrderDetail detail : order.getOrderDetails()) {
-            ItemMenu item = itemMenuRepository.findById(detail.getItemMenu().getIdItemMenu())
-                .orElseThrow(() -> new IllegalArgumentException(
-                    "Item de menú no encontrado: " + detail.getItemMenu().getIdItemMenu()
-                ));
-
-            returnStockForItem(item, detail.getQuantity());
+        returnStockForDetails(order, order.getOrderDetails(), username);
 
-            // Update item availability
-            item.updateAvailability();
-            itemMenuRepository.save(item);
-        }
+        // Update item availability
+        updateItemsAvailability(order.getOrderDetails().stream()
+            .map(OrderDetail::getItemMenu)
+            .collect(Collectors.toList()));
     }
 
     /**
-     * Return stock for a menu item
+     * Return stock for order details
      * When returning stock from cancelled orders or deleted items:
      * - If the returned stock would exceed maxStock, update maxStock to match
      * - This ensures stock is never "lost" when orders are cancelled after manual restocking
-     * - Uses IngredientStockService with REQUIRES_NEW transactions for concurrent updates
+     * - All ingredients are returned in one batch inside the order's transaction,
+     *   so a failure later in the operation rolls the return back as well
+     * - The returned ingredients are recorded in the movement ledger
      */
-    private void returnStockForItem(ItemMenu item, Integer quantity) {
-        log.debug("Returning stock for item: {} (quantity: {})", item.getName(), quantity);
-
-        for (ItemIngredient itemIngredient : item.getIngredients()) {
-            BigDecimal quantityToReturn = itemIngredient.getQuantity()
-                .multiply(BigDecimal.valueOf(quantity));
-            
-            Long ingredientId = itemIngredient.getIngredient().getIdIngredient();
-            
-            // Use dedicated service with REQUIRES_NEW transaction for retry mechanism
-            ingredientStockService.returnStockWithRetry(ingredientId, quantityToReturn, itemIngredient.getUnit());
+    private void returnStockForDetails(Order order, Collection<OrderDetail> details, String username) {
+        Map<Long, BigDecimal> returns = new HashMap<>();
+        for (OrderDetail detail : details) {
+            log.debug("Returning stock for item: {} (quantity: {})", 
+                     detail.getItemMenu().getName(), detail.getQuantity());
+            addRecipeRequirements(returns, detail.getItemMenu(), detail.getQuantity());
         }
+
+        ingredientStockService.returnStockBatch(returns);
+        ingredientLedgerService.recordOrderMovements(IngredientMovementType.RETURN, order, details, username);
     }
 
     /**
@@ -1170,6 +1235,10 @@ public class OrderServiceImpl implements OrderService {
             
             // Save changes
             Order savedOrder = orderRepository.save(order);
+
+            if (savedOrder.getOrderType() == OrderType.DELIVERY) {
+                deliveryDispatchService.ordersChanged();
+            }
             
             log.info("Order {} auto-advanced to READY (items: {})", 
                      order.getOrderNumber(),
@@ -1341,6 +1410,12 @@ public class OrderServiceImpl implements OrderService {
             if (order.getDeliveryAddress() == null || order.getDeliveryAddress().trim().isEmpty()) {
                 throw new IllegalArgumentException("La dirección de entrega es requerida para pedidos a domicilio");
             }
+            // Locations picked on the map must be inside a delivery zone (typed addresses have no coordinates)
+            if (order.getDeliveryLatitude() != null && order.getDeliveryLongitude() != null) {
+                deliveryZoneService.validateDeliveryLocation(order.getDeliveryLatitude(), order.getDeliveryLongitude())
+                        .ifPresent(zone -> log.debug("Delivery location of order {} is in zone '{}'",
+                                order.getOrderNumber(), zone.name()));
+            }
         } else if (orderType == OrderType.TAKEOUT) {
             // TAKEOUT requires: name, phone (address optional)
             if (order.getCustomerName() == null || order.getCustomerName().trim().isEmpty()) {
@@ -1497,7 +1572,7 @@ public class OrderServiceImpl implements OrderService {
                     itemMenu.getName(), quantity);
             
             try {
-                returnStockForItem(itemMenu, quantity);
+                returnStockForDetails(order, List.of(itemToDelete), username);
                 log.info("Stock returned successfully for item '{}'", itemMenu.getName());
             } catch (Exception e) {
                 log.error("Error returning stock for item '{}': {}", itemMenu.getName(), e.getMessage());
@@ -1555,8 +1630,7 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public BigDecimal getTotalIncome() {
         log.info("Calculating total income from all PAID orders");
-        BigDecimal totalIncome = orderRepository.getTotalIncome();
-        return totalIncome != null ? totalIncome : BigDecimal.ZERO;
+        return orderHistoryReader.getTotalIncome();
     }
 
     @Override
@@ -1564,7 +1638,7 @@ public class OrderServiceImpl implements OrderService {
     public Map<String, BigDecimal> getIncomeByCategory() {
         log.info("Getting income grouped by menu category");
         
-        List<Object[]> results = orderDetailRepository.getIncomeByMenuCategory();
+        List<Object[]> results = orderHistoryReader.getIncomeByMenuCategory();
         Map<String, BigDecimal> incomeMap = new java.util.LinkedHashMap<>();
 
         for (Object[] row : results) {
@@ -1580,7 +1654,7 @@ public class OrderServiceImpl implements OrderService {
     @Transactional(readOnly = true)
     public List<Object[]> getItemSalesByCategory(Long categoryId) {
         log.info("Getting items sold for category ID: {}", categoryId);
-        return orderDetailRepository.getItemSalesByCategory(categoryId);
+        return orderHistoryReader.getItemSalesByCategory(categoryId);
     }
 }
 
@@ -0,0 +1,51 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Orders, sum of order totals and sum of tips in a period, as read from the payment rollups
+ * (cashier shift tally, delivery earnings) and the delivery person reports
+ */
+public record OrderTotals(long orders, BigDecimal ordersTotal, BigDecimal tips) {
+
+    public static final OrderTotals EMPTY = new OrderTotals(0, BigDecimal.ZERO, BigDecimal.ZERO);
+
+    /**
+     * Totals from the [orders, orders total, tips] columns of an aggregate row, starting at {@code offset}
+     */
+    static OrderTotals fromRow(Object[] row, int offset) {
+        return new OrderTotals(row[offset] != null ? ((Number) row[offset]).longValue() : 0,
+                toBigDecimal(row[offset + 1]), toBigDecimal(row[offset + 2]));
+    }
+
+    OrderTotals plus(OrderTotals other) {
+        return new OrderTotals(orders + other.orders, ordersTotal.add(other.ordersTotal), tips.add(other.tips));
+    }
+
+    /**
+     * Order totals plus tips (what should be in the drawer or terminal)
+     */
+    public BigDecimal getCollected() {
+        return ordersTotal.add(tips);
+    }
+
+    public BigDecimal getAverageTotal() {
+        return orders > 0
+                ? ordersTotal.divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getAverageTip() {
+        return orders > 0
+                ? tips.divide(BigDecimal.valueOf(orders), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return value != null ? new BigDecimal(value.toString()) : BigDecimal.ZERO;
+    }
+}
@@ -5,7 +5,7 @@ import java.util.Base64;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +24,8 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final CustomerRepository customerRepository;
     private final EmailService emailService;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final UserDetailsCache userDetailsCache;
     private final SecureRandom secureRandom = new SecureRandom();
 
     /**
@@ -94,6 +95,7 @@ public class PasswordResetService {
         var customer = token.getCustomer();
         customer.setPassword(passwordEncoder.encode(newPassword));
         customerRepository.save(customer);
+        userDetailsCache.evictCustomer(customer.getIdCustomer());
         log.info("Password reset successfully for customer: {}", customer.getEmail());
 
         // Marcar token como usado y eliminarlo
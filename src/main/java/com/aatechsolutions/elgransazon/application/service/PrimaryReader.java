@@ -0,0 +1,35 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs the queries that rebuild an in-memory cache on the primary database.
+ *
+ * With a read replica, read-only transactions may be served by a replica that has not applied
+ * the latest commits yet (see ReadWriteRoutingDataSource). A cache rebuilt there right after an
+ * invalidation would keep the data the invalidation was meant to discard until its next rebuild.
+ * The loader runs in a read-write transaction of its own, never in the caller's transaction,
+ * which may already hold a replica connection.
+ */
+@Component
+public class PrimaryReader {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryReader(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Run a cache loader on the primary and return what it built
+     */
+    public <T> T read(Supplier<T> loader) {
+        return transactionTemplate.execute(status -> loader.get());
+    }
+}
@@ -0,0 +1,114 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable bidirectional graph of the menu recipes: item → ingredients and
+ * ingredient → items, each edge carrying the quantity of the ingredient per item.
+ *
+ * Built from the same recipe lines as {@link RecipeStockMatrix}, so "which items use this
+ * ingredient" and "what does this item need" are map lookups proportional to the number of
+ * edges of the node, without loading ItemIngredient rows or lazy recipe collections.
+ */
+public final class RecipeGraph {
+
+    /**
+     * One recipe line: the item needs {@code quantity} of the ingredient per unit
+     */
+    public record Edge(Long itemMenuId, Long ingredientId, BigDecimal quantity) {
+    }
+
+    private final Map<Long, List<Edge>> byItem;
+    private final Map<Long, List<Edge>> byIngredient;
+
+    private RecipeGraph(Map<Long, List<Edge>> byItem, Map<Long, List<Edge>> byIngredient) {
+        this.byItem = byItem;
+        this.byIngredient = byIngredient;
+    }
+
+    /**
+     * Build the graph from recipe lines.
+     * @param recipeLines rows of [itemMenuId, ingredientId, quantity]
+     */
+    public static RecipeGraph compile(List<Object[]> recipeLines) {
+        Map<Long, List<Edge>> byItem = new HashMap<>();
+        Map<Long, List<Edge>> byIngredient = new HashMap<>();
+
+        for (Object[] line : recipeLines) {
+            Long itemMenuId = ((Number) line[0]).longValue();
+            Long ingredientId = ((Number) line[1]).longValue();
+            BigDecimal quantity = line[2] instanceof BigDecimal decimal
+                    ? decimal
+                    : (line[2] != null ? new BigDecimal(line[2].toString()) : BigDecimal.ZERO);
+
+            Edge edge = new Edge(itemMenuId, ingredientId, quantity);
+            byItem.computeIfAbsent(itemMenuId, id -> new ArrayList<>()).add(edge);
+            byIngredient.computeIfAbsent(ingredientId, id -> new ArrayList<>()).add(edge);
+        }
+
+        return new RecipeGraph(freeze(byItem), freeze(byIngredient));
+    }
+
+    private static Map<Long, List<Edge>> freeze(Map<Long, List<Edge>> adjacency) {
+        Map<Long, List<Edge>> frozen = new HashMap<>(adjacency.size() * 2);
+        adjacency.forEach((id, edges) -> frozen.put(id, List.copyOf(edges)));
+        return Collections.unmodifiableMap(frozen);
+    }
+
+    /**
+     * Recipe of an item (empty if the item has no recipe)
+     */
+    public List<Edge> getRecipe(Long itemMenuId) {
+        return byItem.getOrDefault(itemMenuId, List.of());
+    }
+
+    /**
+     * Recipe lines that use an ingredient, one per item (empty if no item uses it)
+     */
+    public List<Edge> getUsages(Long ingredientId) {
+        return byIngredient.getOrDefault(ingredientId, List.of());
+    }
+
+    /**
+     * IDs of the items whose recipe uses an ingredient
+     */
+    public Set<Long> getItemIdsUsing(Long ingredientId) {
+        return getItemIdsUsingAny(List.of(ingredientId));
+    }
+
+    /**
+     * IDs of the items whose recipe uses at least one of the ingredients
+     */
+    public Set<Long> getItemIdsUsingAny(Collection<Long> ingredientIds) {
+        Set<Long> itemIds = new LinkedHashSet<>();
+        for (Long ingredientId : ingredientIds) {
+            for (Edge edge : getUsages(ingredientId)) {
+                itemIds.add(edge.itemMenuId());
+            }
+        }
+        return itemIds;
+    }
+
+    /**
+     * Whether any recipe uses the ingredient
+     */
+    public boolean isUsed(Long ingredientId) {
+        return byIngredient.containsKey(ingredientId);
+    }
+
+    public int getItemCount() {
+        return byItem.size();
+    }
+
+    public int getIngredientCount() {
+        return byIngredient.size();
+    }
+}
@@ -0,0 +1,228 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable representation of every recipe in the menu.
+ *
+ * Ingredient and menu item IDs are mapped to dense indices and each recipe is stored
+ * as parallel arrays (CSR layout): {@code rowOffsets[i]..rowOffsets[i+1]} delimits the
+ * ingredient indices and the required quantities of item {@code i}.
+ * Quantities and stock are kept as fixed-point milli-units (the scale of the
+ * quantity/current_stock columns), so stock checks are plain long arithmetic
+ * instead of BigDecimal math over lazily loaded JPA collections.
+ *
+ * Semantics mirror {@code ItemMenu.hasEnoughStock()} and {@code ItemMenu.getMaxAvailableQuantity()}.
+ */
+public final class RecipeStockMatrix {
+
+    /**
+     * Maximum quantity reported for an item (same cap used by ItemMenu)
+     */
+    public static final int MAX_AVAILABLE_QUANTITY = 99;
+
+    /**
+     * Marker for an ingredient whose current stock is unknown (NULL)
+     */
+    static final long UNKNOWN_STOCK = Long.MIN_VALUE;
+
+    private static final int MILLI_SCALE = 3;
+
+    private final Map<Long, Integer> itemIndex;
+    private final Map<Long, Integer> ingredientIndex;
+    private final int[] rowOffsets;
+    private final int[] ingredientIdx;
+    private final long[] milliQuantities;
+
+    private RecipeStockMatrix(Map<Long, Integer> itemIndex, Map<Long, Integer> ingredientIndex,
+                              int[] rowOffsets, int[] ingredientIdx, long[] milliQuantities) {
+        this.itemIndex = itemIndex;
+        this.ingredientIndex = ingredientIndex;
+        this.rowOffsets = rowOffsets;
+        this.ingredientIdx = ingredientIdx;
+        this.milliQuantities = milliQuantities;
+    }
+
+    /**
+     * Compile the matrix from recipe lines.
+     * @param recipeLines rows of [itemMenuId, ingredientId, quantity] ordered by itemMenuId
+     */
+    public static RecipeStockMatrix compile(List<Object[]> recipeLines) {
+        Map<Long, Integer> itemIndex = new HashMap<>();
+        Map<Long, Integer> ingredientIndex = new HashMap<>();
+        int[] rowOffsets = new int[recipeLines.size() + 1];
+        int[] ingredientIdx = new int[recipeLines.size()];
+        long[] milliQuantities = new long[recipeLines.size()];
+
+        int rows = 0;
+        int line = 0;
+        Long currentItemId = null;
+        for (Object[] row : recipeLines) {
+            Long itemId = (Long) row[0];
+            Long ingredientId = (Long) row[1];
+            BigDecimal quantity = (BigDecimal) row[2];
+
+            if (!itemId.equals(currentItemId)) {
+                if (itemIndex.containsKey(itemId)) {
+                    throw new IllegalArgumentException("Las líneas de receta deben estar ordenadas por item");
+                }
+                itemIndex.put(itemId, rows);
+                rowOffsets[rows++] = line;
+                currentItemId = itemId;
+            }
+
+            ingredientIdx[line] = ingredientIndex.computeIfAbsent(ingredientId, id -> ingredientIndex.size());
+            // Round quantities up so the compiled check is never more permissive than the entity check
+            milliQuantities[line] = toMilli(quantity, RoundingMode.CEILING);
+            line++;
+        }
+        rowOffsets[rows] = line;
+
+        return new RecipeStockMatrix(itemIndex, ingredientIndex,
+                Arrays.copyOf(rowOffsets, rows + 1), ingredientIdx, milliQuantities);
+    }
+
+    /**
+     * Build the stock vector aligned with this matrix' ingredient indices.
+     * @param stockLevels rows of [ingredientId, currentStock]
+     */
+    public long[] toStockVector(List<Object[]> stockLevels) {
+        long[] stock = new long[ingredientIndex.size()];
+        Arrays.fill(stock, UNKNOWN_STOCK);
+        for (Object[] row : stockLevels) {
+            Integer idx = ingredientIndex.get((Long) row[0]);
+            if (idx != null && row[1] != null) {
+                stock[idx] = toMilli((BigDecimal) row[1], RoundingMode.FLOOR);
+            }
+        }
+        return stock;
+    }
+
+    /**
+     * Dense index of a menu item, or -1 if the item has no recipe
+     */
+    public int indexOfItem(Long itemMenuId) {
+        Integer idx = itemIndex.get(itemMenuId);
+        return idx != null ? idx : -1;
+    }
+
+    public int getItemCount() {
+        return rowOffsets.length - 1;
+    }
+
+    public int getIngredientCount() {
+        return ingredientIndex.size();
+    }
+
+    /**
+     * Check if there's enough stock to prepare {@code quantity} units of the item at {@code row}.
+     * Items without recipe (row -1) are always available.
+     */
+    public boolean hasEnoughStock(int row, long[] stock, int quantity) {
+        if (row < 0) {
+            return true;
+        }
+        for (int k = rowOffsets[row]; k < rowOffsets[row + 1]; k++) {
+            long available = stock[ingredientIdx[k]];
+            if (available == UNKNOWN_STOCK || !covers(available, milliQuantities[k], quantity)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maximum quantity of the item at {@code row} that can be prepared, capped at 99.
+     * Items without recipe (row -1) report 99.
+     */
+    public int getMaxAvailableQuantity(int row, long[] stock) {
+        if (row < 0) {
+            return MAX_AVAILABLE_QUANTITY;
+        }
+        long minAvailable = Long.MAX_VALUE;
+        for (int k = rowOffsets[row]; k < rowOffsets[row + 1]; k++) {
+            long available = stock[ingredientIdx[k]];
+            long perItem = milliQuantities[k];
+            if (available == UNKNOWN_STOCK || perItem <= 0) {
+                continue;
+            }
+            minAvailable = Math.min(minAvailable, Math.floorDiv(available, perItem));
+        }
+        if (minAvailable == Long.MAX_VALUE) {
+            return MAX_AVAILABLE_QUANTITY;
+        }
+        return (int) Math.min(MAX_AVAILABLE_QUANTITY, Math.max(0, minAvailable));
+    }
+
+    /**
+     * Menu-wide availability (quantity 1) in a single pass.
+     * @param out buffer of at least {@link #getItemCount()} entries, indexed by item row
+     */
+    public void computeAvailability(long[] stock, boolean[] out) {
+        for (int row = 0, rows = getItemCount(); row < rows; row++) {
+            out[row] = hasEnoughStock(row, stock, 1);
+        }
+    }
+
+    /**
+     * Menu-wide max-quantity in a single pass.
+     * @param out buffer of at least {@link #getItemCount()} entries, indexed by item row
+     */
+    public void computeMaxAvailableQuantities(long[] stock, int[] out) {
+        for (int row = 0, rows = getItemCount(); row < rows; row++) {
+            out[row] = getMaxAvailableQuantity(row, stock);
+        }
+    }
+
+    /**
+     * Bind a stock vector to this matrix for lookups by menu item ID
+     */
+    public StockView withStock(long[] stock) {
+        return new StockView(this, stock);
+    }
+
+    /**
+     * stock >= perItem * quantity, without overflowing on large quantities
+     */
+    private static boolean covers(long available, long perItem, int quantity) {
+        if (quantity <= 0 || perItem <= 0) {
+            return available >= 0;
+        }
+        return available >= 0 && perItem <= available / quantity;
+    }
+
+    private static long toMilli(BigDecimal value, RoundingMode roundingMode) {
+        return value.setScale(MILLI_SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Matrix + stock vector pair, answering stock questions by menu item ID
+     */
+    public static final class StockView {
+
+        private final RecipeStockMatrix matrix;
+        private final long[] stock;
+
+        private StockView(RecipeStockMatrix matrix, long[] stock) {
+            this.matrix = matrix;
+            this.stock = stock;
+        }
+
+        public boolean isAvailable(Long itemMenuId) {
+            return hasEnoughStock(itemMenuId, 1);
+        }
+
+        public boolean hasEnoughStock(Long itemMenuId, int quantity) {
+            return matrix.hasEnoughStock(matrix.indexOfItem(itemMenuId), stock, quantity);
+        }
+
+        public int getMaxAvailableQuantity(Long itemMenuId) {
+            return matrix.getMaxAvailableQuantity(matrix.indexOfItem(itemMenuId), stock);
+        }
+    }
+}
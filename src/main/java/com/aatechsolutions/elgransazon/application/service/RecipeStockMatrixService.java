@@ -0,0 +1,106 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.repository.IngredientRepository;
+import com.aatechsolutions.elgransazon.domain.repository.ItemIngredientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that keeps the compiled {@link RecipeStockMatrix} and {@link RecipeGraph} of the whole menu.
+ *
+ * Both are compiled lazily from a single projection query over item_ingredients
+ * and reused until a recipe changes. Stock is read with one projection query over
+ * ingredients, so menu-wide availability does not touch the lazy recipe collections.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class RecipeStockMatrixService {
+
+    private final ItemIngredientRepository itemIngredientRepository;
+    private final IngredientRepository ingredientRepository;
+    private final PrimaryReader primaryReader;
+
+    /**
+     * Matrix and graph compiled from the same recipe lines
+     */
+    private record Compiled(RecipeStockMatrix matrix, RecipeGraph graph) {
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Compiled compiled;
+
+    /**
+     * Get the compiled matrix, compiling it if recipes changed since the last build
+     */
+    public RecipeStockMatrix getMatrix() {
+        return getCompiled().matrix();
+    }
+
+    /**
+     * Get the recipe graph (ingredient ↔ items), compiling it if recipes changed since the last build
+     */
+    public RecipeGraph getGraph() {
+        return getCompiled().graph();
+    }
+
+    private Compiled getCompiled() {
+        Compiled current = compiled;
+        if (current != null) {
+            return current;
+        }
+
+        long expectedGeneration = generation.get();
+        // Compiled from the primary: a lagging replica could miss the change that invalidated it
+        List<Object[]> recipeLines = primaryReader.read(itemIngredientRepository::findAllRecipeLines);
+        Compiled fresh = new Compiled(RecipeStockMatrix.compile(recipeLines), RecipeGraph.compile(recipeLines));
+        log.debug("Recipe matrix compiled: {} items, {} ingredients",
+                 fresh.matrix().getItemCount(), fresh.matrix().getIngredientCount());
+
+        // Only publish if no recipe change happened while compiling
+        synchronized (this) {
+            if (generation.get() == expectedGeneration) {
+                compiled = fresh;
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Get the matrix bound to the current stock levels
+     */
+    public RecipeStockMatrix.StockView getStockView() {
+        RecipeStockMatrix current = getMatrix();
+        return current.withStock(current.toStockVector(ingredientRepository.findAllStockLevels()));
+    }
+
+    /**
+     * Discard the compiled matrix and graph after a recipe change.
+     * When called inside a transaction, they are discarded again once the transaction
+     * completes so no reader keeps a matrix compiled from uncommitted (or rolled back) data.
+     */
+    public void invalidate() {
+        discard();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    discard();
+                }
+            });
+        }
+    }
+
+    private synchronized void discard() {
+        generation.incrementAndGet();
+        compiled = null;
+    }
+}
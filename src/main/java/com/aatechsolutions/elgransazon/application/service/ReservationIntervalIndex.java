@@ -0,0 +1,253 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.Reservation;
+import com.aatechsolutions.elgransazon.domain.entity.ReservationStatus;
+import com.aatechsolutions.elgransazon.domain.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval index of active reservations (RESERVED, OCCUPIED), per day and per table.
+ *
+ * The index covers today and the next {@code reservations.index.horizon-days} days and is
+ * loaded with one projection query. Each table/day keeps its reservation start times sorted,
+ * so an overlap check is a binary search. A reservation occupies its table from its start
+ * time for the configured average consumption time, which is applied at query time
+ * (a configuration change needs no rebuild).
+ *
+ * Reservation writers call {@link #reservationChanged(Reservation)}; the index is updated after
+ * the transaction commits. Dates outside the window are answered from the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationIntervalIndex {
+
+    /**
+     * Start of an active reservation on a table
+     */
+    record Slot(Long reservationId, Long tableId, LocalDate date, int startSecond,
+                ReservationStatus status, int guests) {
+    }
+
+    /**
+     * Loaded window: date -> tableId -> slots sorted by start time (lists are immutable and replaced on write)
+     */
+    private record Window(LocalDate start, LocalDate end,
+                          Map<LocalDate, Map<Long, List<Slot>>> slotsByDate,
+                          Map<Long, Slot> slotsById) {
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(start) && !date.isAfter(end);
+        }
+    }
+
+    private static final Comparator<Slot> BY_START =
+            Comparator.comparingInt(Slot::startSecond).thenComparing(Slot::reservationId);
+
+    private final ReservationRepository reservationRepository;
+    private final PrimaryReader primaryReader;
+
+    @Value("${reservations.index.horizon-days:30}")
+    private int horizonDays;
+
+    private volatile Window window;
+
+    // ========== Queries ==========
+
+    /**
+     * Check if a reservation starting at {@code time} overlaps another active reservation
+     * of the table on that date (same rule as the former overlap query:
+     * other.start < end AND other.start + avg > start)
+     *
+     * @param excludeReservationId reservation being edited, or null
+     */
+    public boolean hasOverlap(Long tableId, LocalDate date, LocalTime time,
+                              int avgConsumptionMinutes, Long excludeReservationId) {
+        List<Slot> slots = getDaySlots(date).getOrDefault(tableId, List.of());
+        return overlaps(slots, time.toSecondOfDay(), avgConsumptionMinutes * 60, excludeReservationId);
+    }
+
+    /**
+     * Find today's first RESERVED (not yet seated) reservation of the table that starts after
+     * {@code now} and before {@code now + avg consumption time}, i.e. one a walk-in seated now
+     * would not leave in time for.
+     *
+     * @return the start time of that reservation, or empty if the table can be used now
+     */
+    public Optional<LocalTime> findUpcomingReservationWithin(Long tableId, LocalTime now, int avgConsumptionMinutes) {
+        int from = now.toSecondOfDay();
+        int until = from + avgConsumptionMinutes * 60;
+        for (Slot slot : getDaySlots(LocalDate.now()).getOrDefault(tableId, List.of())) {
+            if (slot.startSecond() >= until) {
+                break;
+            }
+            if (slot.startSecond() > from && slot.status() == ReservationStatus.RESERVED) {
+                return Optional.of(LocalTime.ofSecondOfDay(slot.startSecond()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * IDs of the tables that have an active reservation overlapping a stay starting at {@code time}
+     */
+    public Set<Long> findBusyTableIds(LocalDate date, LocalTime time, int avgConsumptionMinutes) {
+        Set<Long> busy = new HashSet<>();
+        int start = time.toSecondOfDay();
+        getDaySlots(date).forEach((tableId, slots) -> {
+            if (overlaps(slots, start, avgConsumptionMinutes * 60, null)) {
+                busy.add(tableId);
+            }
+        });
+        return busy;
+    }
+
+    private static boolean overlaps(List<Slot> slots, int start, int duration, Long excludeReservationId) {
+        int end = start + duration;
+        // First slot that could still be running at "start": slot.start > start - duration
+        int lo = 0;
+        int hi = slots.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (slots.get(mid).startSecond() > start - duration) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        for (int i = lo; i < slots.size() && slots.get(i).startSecond() < end; i++) {
+            if (!slots.get(i).reservationId().equals(excludeReservationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<Long, List<Slot>> getDaySlots(LocalDate date) {
+        Window current = currentWindow();
+        if (current.covers(date)) {
+            return current.slotsByDate().getOrDefault(date, Map.of());
+        }
+
+        // Outside the loaded window: build the day from the database
+        log.debug("Date {} outside reservation index window, loading from database", date);
+        Map<LocalDate, Map<Long, List<Slot>>> slotsByDate = new HashMap<>();
+        for (Object[] row : reservationRepository.findActiveSlotsBetween(date, date)) {
+            addSlot(slotsByDate, toSlot(row));
+        }
+        return slotsByDate.getOrDefault(date, Map.of());
+    }
+
+    // ========== Maintenance ==========
+
+    /**
+     * Reflect a created/updated/status-changed reservation in the index once its transaction commits
+     */
+    public void reservationChanged(Reservation reservation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(reservation);
+                }
+            });
+        } else {
+            apply(reservation);
+        }
+    }
+
+    private synchronized void apply(Reservation reservation) {
+        Window current = window;
+        if (current == null) {
+            // Not loaded yet; the first load will read the committed state
+            return;
+        }
+
+        Slot old = current.slotsById().remove(reservation.getId());
+        if (old != null) {
+            Map<Long, List<Slot>> tables = current.slotsByDate().get(old.date());
+            if (tables != null) {
+                List<Slot> remaining = new ArrayList<>(tables.getOrDefault(old.tableId(), List.of()));
+                remaining.removeIf(slot -> slot.reservationId().equals(old.reservationId()));
+                if (remaining.isEmpty()) {
+                    tables.remove(old.tableId());
+                } else {
+                    tables.put(old.tableId(), List.copyOf(remaining));
+                }
+            }
+        }
+
+        if (reservation.getStatus() != null && reservation.getStatus().isActive()
+                && current.covers(reservation.getReservationDate())) {
+            Slot slot = new Slot(reservation.getId(), reservation.getRestaurantTable().getId(),
+                    reservation.getReservationDate(), reservation.getReservationTime().toSecondOfDay(),
+                    reservation.getStatus(),
+                    reservation.getNumberOfGuests() != null ? reservation.getNumberOfGuests() : 0);
+            addSlot(current.slotsByDate(), slot);
+            current.slotsById().put(slot.reservationId(), slot);
+        }
+    }
+
+    /**
+     * Get the loaded window, (re)loading it on first use and when the day changes
+     */
+    private Window currentWindow() {
+        Window current = window;
+        LocalDate today = LocalDate.now();
+        if (current != null && current.start().equals(today)) {
+            return current;
+        }
+        synchronized (this) {
+            current = window;
+            if (current == null || !current.start().equals(today)) {
+                current = load(today, today.plusDays(horizonDays));
+                window = current;
+            }
+            return current;
+        }
+    }
+
+    private Window load(LocalDate start, LocalDate end) {
+        Map<LocalDate, Map<Long, List<Slot>>> slotsByDate = new ConcurrentHashMap<>();
+        Map<Long, Slot> slotsById = new ConcurrentHashMap<>();
+        // Loaded from the primary: changes applied after commit are skipped while the window is not loaded
+        for (Object[] row : primaryReader.read(() -> reservationRepository.findActiveSlotsBetween(start, end))) {
+            Slot slot = toSlot(row);
+            addSlot(slotsByDate, slot);
+            slotsById.put(slot.reservationId(), slot);
+        }
+        log.info("Reservation index loaded for {} to {}: {} active reservations", start, end, slotsById.size());
+        return new Window(start, end, slotsByDate, slotsById);
+    }
+
+    private static void addSlot(Map<LocalDate, Map<Long, List<Slot>>> slotsByDate, Slot slot) {
+        Map<Long, List<Slot>> tables = slotsByDate.computeIfAbsent(slot.date(), date -> new ConcurrentHashMap<>());
+        List<Slot> slots = new ArrayList<>(tables.getOrDefault(slot.tableId(), List.of()));
+        slots.add(slot);
+        slots.sort(BY_START);
+        tables.put(slot.tableId(), List.copyOf(slots));
+    }
+
+    private static Slot toSlot(Object[] row) {
+        return new Slot((Long) row[0], (Long) row[1], (LocalDate) row[2],
+                ((LocalTime) row[3]).toSecondOfDay(), (ReservationStatus) row[4],
+                row[5] != null ? (Integer) row[5] : 0);
+    }
+}
@@ -10,8 +10,10 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for managing restaurant reservations
@@ -25,6 +27,7 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final RestaurantTableService tableService;
     private final SystemConfigurationService systemConfigurationService;
+    private final ReservationIntervalIndex reservationIntervalIndex;
 
     /**
      * Find all reservations ordered by date and time (descending)
@@ -146,6 +149,26 @@ public class ReservationService {
         return reservationRepository.countTodayActiveReservations(LocalDate.now());
     }
 
+    /**
+     * Find tables free for a party at a given date and time, best fit first.
+     * A table is free when it's not out of service, seats the party and has no active
+     * reservation overlapping the average consumption time window.
+     * Ranked by wasted seats (capacity - guests), then table number.
+     */
+    public List<RestaurantTable> findAvailableTables(LocalDate date, LocalTime time, int numberOfGuests) {
+        log.debug("Finding free tables for {} guests on {} at {}", numberOfGuests, date, time);
+        Integer avgConsumption = systemConfigurationService.getConfiguration().getAverageConsumptionTimeMinutes();
+
+        Set<Long> busyTableIds = reservationIntervalIndex.findBusyTableIds(date, time, avgConsumption);
+
+        return tableService.findReservableTables().stream()
+                .filter(table -> table.getCapacity() != null && table.getCapacity() >= numberOfGuests)
+                .filter(table -> !busyTableIds.contains(table.getId()))
+                .sorted(Comparator.comparingInt((RestaurantTable table) -> table.getCapacity() - numberOfGuests)
+                        .thenComparing(RestaurantTable::getTableNumber))
+                .toList();
+    }
+
     /**
      * Create a new reservation with validations
      */
@@ -168,6 +191,7 @@ public class ReservationService {
 
         // Save reservation
         Reservation saved = reservationRepository.save(reservation);
+        reservationIntervalIndex.reservationChanged(saved);
 
         // Update table status to RESERVED
         updateTableStatus(saved.getRestaurantTable().getId());
@@ -214,6 +238,7 @@ public class ReservationService {
 
         // Save reservation
         Reservation saved = reservationRepository.save(existing);
+        reservationIntervalIndex.reservationChanged(saved);
 
         // Update table statuses if table changed
         if (!oldTableId.equals(newTableId)) {
@@ -261,6 +286,7 @@ public class ReservationService {
 
         // Save reservation
         Reservation saved = reservationRepository.save(reservation);
+        reservationIntervalIndex.reservationChanged(saved);
 
         // Update table status
         updateTableStatus(saved.getRestaurantTable().getId());
@@ -451,22 +477,12 @@ public class ReservationService {
         log.debug("Start time: {}", startTime);
         log.debug("Avg consumption: {} minutes", avgConsumption);
 
-        // Calculate end time
-        LocalTime endTime = startTime.plusMinutes(avgConsumption);
-        log.debug("Calculated end time: {}", endTime);
-
-        // Convert average consumption to seconds for the native query
-        Integer avgConsumptionSeconds = avgConsumption * 60;
-        log.debug("Avg consumption seconds: {}", avgConsumptionSeconds);
-
-        Long overlapCount = reservationRepository.countOverlappingReservations(
-                tableId, date, startTime, endTime, avgConsumptionSeconds, excludeId);
-
-        log.debug("Overlap count: {}", overlapCount);
+        boolean overlaps = reservationIntervalIndex.hasOverlap(
+                tableId, date, startTime, avgConsumption, excludeId);
 
-        if (overlapCount > 0) {
-            log.warn("Overlap detected! Count: {}, Config time: {} min ({})", 
-                overlapCount, avgConsumption, config.getAverageConsumptionTimeDisplay());
+        if (overlaps) {
+            log.warn("Overlap detected! Config time: {} min ({})", 
+                avgConsumption, config.getAverageConsumptionTimeDisplay());
             throw new IllegalArgumentException(
                     "Ya existe una reservación para esta mesa en el horario solicitado. " +
                     "Debe haber al menos " + config.getAverageConsumptionTimeDisplay() + 
@@ -1,17 +1,14 @@
 package com.aatechsolutions.elgransazon.application.service;
 
-import com.aatechsolutions.elgransazon.domain.entity.Reservation;
 import com.aatechsolutions.elgransazon.domain.entity.RestaurantTable;
 import com.aatechsolutions.elgransazon.domain.entity.SystemConfiguration;
 import com.aatechsolutions.elgransazon.domain.entity.TableStatus;
-import com.aatechsolutions.elgransazon.domain.repository.ReservationRepository;
 import com.aatechsolutions.elgransazon.domain.repository.RestaurantTableRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
@@ -28,7 +25,7 @@ import java.util.Optional;
 public class RestaurantTableServiceImpl implements RestaurantTableService {
 
     private final RestaurantTableRepository tableRepository;
-    private final ReservationRepository reservationRepository;
+    private final ReservationIntervalIndex reservationIntervalIndex;
     private final SystemConfigurationService systemConfigurationService;
 
     @Override
@@ -279,51 +276,36 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         SystemConfiguration config = systemConfigurationService.getConfiguration();
         Integer avgConsumptionMinutes = config.getAverageConsumptionTimeMinutes();
         
-        // Get current date and time
-        LocalDate today = LocalDate.now();
+        // Get current time
         LocalTime now = LocalTime.now();
         
-        // Find next reservation for this table (today or future)
-        Optional<Reservation> nextReservationOpt = reservationRepository.findNextReservationForTable(
-                table.getId(), 
-                today, 
-                now
+        // Only reservations TODAY can conflict: a reservation tomorrow or later never does
+        // Check the reservation index for one starting before the estimated end time
+        Optional<LocalTime> conflictingReservation = reservationIntervalIndex.findUpcomingReservationWithin(
+                table.getId(),
+                now,
+                avgConsumptionMinutes
         );
-        
-        // If there's a next reservation, validate there's enough time
-        if (nextReservationOpt.isPresent()) {
-            Reservation nextReservation = nextReservationOpt.get();
-            LocalDate nextReservationDate = nextReservation.getReservationDate();
-            LocalTime nextReservationTime = nextReservation.getReservationTime();
+
+        if (conflictingReservation.isPresent()) {
+            LocalTime nextReservationTime = conflictingReservation.get();
             LocalTime estimatedEndTime = now.plusMinutes(avgConsumptionMinutes);
-            
-            // Only validate time if reservation is TODAY
-            // If reservation is tomorrow or later, we can always occupy (no time conflict)
-            if (nextReservationDate.equals(today)) {
-                // Check if estimated end time is after next reservation time
-                if (estimatedEndTime.isAfter(nextReservationTime)) {
-                    DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
-                    String error = String.format(
-                        "No hay tiempo suficiente antes de la próxima reservación. " +
-                        "Próxima reservación: %s. Tiempo estimado de consumo: %d minutos. " +
-                        "Hora actual: %s. Hora estimada de finalización: %s.",
-                        nextReservationTime.format(timeFormatter),
-                        avgConsumptionMinutes,
-                        now.format(timeFormatter),
-                        estimatedEndTime.format(timeFormatter)
-                    );
-                    log.error(error);
-                    throw new IllegalStateException(error);
-                }
-                
-                log.info("Next reservation TODAY at {} - Estimated end time: {} - Validation passed", 
-                        nextReservationTime, estimatedEndTime);
-            } else {
-                log.info("Next reservation is on {} (not today) - Can occupy without time restriction", 
-                        nextReservationDate);
-            }
+            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+            String error = String.format(
+                "No hay tiempo suficiente antes de la próxima reservación. " +
+                "Próxima reservación: %s. Tiempo estimado de consumo: %d minutos. " +
+                "Hora actual: %s. Hora estimada de finalización: %s.",
+                nextReservationTime.format(timeFormatter),
+                avgConsumptionMinutes,
+                now.format(timeFormatter),
+                estimatedEndTime.format(timeFormatter)
+            );
+            log.error(error);
+            throw new IllegalStateException(error);
         }
 
+        log.info("No reservation today before the estimated end time - Validation passed");
+
         // Mark as occupied
         table.setIsOccupied(true);
         table.setUpdatedBy(username);
@@ -360,33 +342,20 @@ public class RestaurantTableServiceImpl implements RestaurantTableService {
         SystemConfiguration config = systemConfigurationService.getConfiguration();
         Integer avgConsumptionMinutes = config.getAverageConsumptionTimeMinutes();
 
-        LocalDate today = LocalDate.now();
         LocalTime now = LocalTime.now();
 
-        Optional<Reservation> nextReservationOpt = reservationRepository.findNextReservationForTable(
+        // If a reservation today starts before the estimated end time, there's not enough time
+        // (reservations tomorrow or later never conflict with today's use)
+        Optional<LocalTime> conflictingReservation = reservationIntervalIndex.findUpcomingReservationWithin(
                 table.getId(),
-                today,
-                now
+                now,
+                avgConsumptionMinutes
         );
 
-        if (nextReservationOpt.isPresent()) {
-            Reservation nextReservation = nextReservationOpt.get();
-            LocalDate nextReservationDate = nextReservation.getReservationDate();
-            LocalTime nextReservationTime = nextReservation.getReservationTime();
-            
-            // Calculate estimated end time for current occupation
-            LocalTime estimatedEndTime = now.plusMinutes(avgConsumptionMinutes);
-            
-            // If reservation is today, check if there's enough time
-            if (nextReservationDate.equals(today)) {
-                if (estimatedEndTime.isAfter(nextReservationTime)) {
-                    log.debug("Table {} cannot be occupied because estimated end time {} is after next reservation {} (same day)",
-                            id, estimatedEndTime, nextReservationTime);
-                    return false;
-                }
-            }
-            // If reservation is tomorrow or later, we can occupy (today's use won't conflict)
-            // No need to check - there's enough time
+        if (conflictingReservation.isPresent()) {
+            log.debug("Table {} cannot be occupied because estimated end time {} is after next reservation {} (same day)",
+                    id, now.plusMinutes(avgConsumptionMinutes), conflictingReservation.get());
+            return false;
         }
 
         log.debug("Table {} can be occupied now", id);
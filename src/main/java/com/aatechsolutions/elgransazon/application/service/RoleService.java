@@ -20,6 +20,7 @@ import java.util.Optional;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final UserDetailsCache userDetailsCache;
 
     /**
      * Find all roles
@@ -99,6 +100,7 @@ public class RoleService {
         role.setNombreRol(roleDetails.getNombreRol());
 
         Role updatedRole = roleRepository.save(role);
+        userDetailsCache.evictAll();
         log.info("Role updated successfully: {}", updatedRole.getIdRol());
         
         return updatedRole;
@@ -120,6 +122,7 @@ public class RoleService {
         }
 
         roleRepository.deleteById(id);
+        userDetailsCache.evictAll();
         log.info("Role deleted successfully: {}", id);
     }
 
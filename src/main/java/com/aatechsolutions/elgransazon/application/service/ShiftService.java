@@ -14,6 +14,17 @@ import java.util.Set;
  */
 public interface ShiftService {
 
+    /**
+     * Result of a bulk assignment or removal: employees changed, employees that already were
+     * (or were not) in the shift, and disabled employees skipped
+     */
+    record AssignmentSummary(int requested, List<Employee> changed, int unchanged, int skippedDisabled) {
+
+        public int getChangedCount() {
+            return changed.size();
+        }
+    }
+
     /**
      * Get all shifts ordered by name
      */
@@ -91,13 +102,15 @@ public interface ShiftService {
 
     /**
      * Assign multiple employees to a shift
+     * Employees already in the shift or disabled are skipped
      */
-    void assignEmployeesToShift(Long shiftId, List<Long> employeeIds, Long actionById);
+    AssignmentSummary assignEmployeesToShift(Long shiftId, List<Long> employeeIds, Long actionById);
 
     /**
      * Remove multiple employees from a shift
+     * Employees not in the shift are skipped
      */
-    void removeEmployeesFromShift(Long shiftId, List<Long> employeeIds, Long actionById, String reason);
+    AssignmentSummary removeEmployeesFromShift(Long shiftId, List<Long> employeeIds, Long actionById, String reason);
 
     /**
      * Assign a single employee to a shift
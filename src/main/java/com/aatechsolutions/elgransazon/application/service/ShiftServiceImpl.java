@@ -10,7 +10,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -190,7 +194,7 @@ public class ShiftServiceImpl implements ShiftService {
     }
 
     @Override
-    public void assignEmployeesToShift(Long shiftId, List<Long> employeeIds, Long actionById) {
+    public AssignmentSummary assignEmployeesToShift(Long shiftId, List<Long> employeeIds, Long actionById) {
         log.info("Assigning {} employees to shift ID: {}", employeeIds.size(), shiftId);
 
         Shift shift = shiftRepository.findById(shiftId)
@@ -200,32 +204,35 @@ public class ShiftServiceImpl implements ShiftService {
             throw new IllegalStateException("No se pueden asignar empleados a un turno inactivo");
         }
 
-        Employee actionBy = actionById != null ? 
-                employeeRepository.findById(actionById).orElse(null) : null;
+        Set<Long> requestedIds = new LinkedHashSet<>(employeeIds);
+        Map<Long, Employee> employees = loadEmployees(requestedIds, actionById);
+        Employee actionBy = actionById != null ? employees.get(actionById) : null;
+        Set<Long> assignedIds = new HashSet<>(shiftRepository.findAssignedEmployeeIds(shiftId, requestedIds));
 
         List<Employee> assignedEmployees = new ArrayList<>();
-
-        for (Long employeeId : employeeIds) {
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new IllegalArgumentException("Empleado no encontrado con ID: " + employeeId));
+        int skippedDisabled = 0;
+        for (Long employeeId : requestedIds) {
+            Employee employee = employees.get(employeeId);
 
             if (!employee.getEnabled()) {
                 log.warn("Skipping disabled employee: {}", employee.getFullName());
+                skippedDisabled++;
                 continue;
             }
 
             // Check if already assigned
-            if (shift.hasEmployee(employee)) {
+            if (assignedIds.contains(employeeId)) {
                 log.debug("Employee {} already assigned to shift", employee.getFullName());
                 continue;
             }
 
-            shift.addEmployee(employee);
             assignedEmployees.add(employee);
         }
 
         if (!assignedEmployees.isEmpty()) {
-            shiftRepository.save(shift);
+            shiftRepository.insertAssignments(shiftId, assignedEmployees.stream()
+                    .map(Employee::getIdEmpleado)
+                    .toList());
             
             // Create history records
             historyService.createHistoryRecords(
@@ -240,35 +247,39 @@ public class ShiftServiceImpl implements ShiftService {
         } else {
             log.info("No new employees were assigned");
         }
+
+        return new AssignmentSummary(requestedIds.size(), assignedEmployees,
+                requestedIds.size() - assignedEmployees.size() - skippedDisabled, skippedDisabled);
     }
 
     @Override
-    public void removeEmployeesFromShift(Long shiftId, List<Long> employeeIds, Long actionById, String reason) {
+    public AssignmentSummary removeEmployeesFromShift(Long shiftId, List<Long> employeeIds, Long actionById, String reason) {
         log.info("Removing {} employees from shift ID: {}", employeeIds.size(), shiftId);
 
         Shift shift = shiftRepository.findById(shiftId)
                 .orElseThrow(() -> new IllegalArgumentException("Turno no encontrado con ID: " + shiftId));
 
-        Employee actionBy = actionById != null ? 
-                employeeRepository.findById(actionById).orElse(null) : null;
+        Set<Long> requestedIds = new LinkedHashSet<>(employeeIds);
+        Map<Long, Employee> employees = loadEmployees(requestedIds, actionById);
+        Employee actionBy = actionById != null ? employees.get(actionById) : null;
+        Set<Long> assignedIds = new HashSet<>(shiftRepository.findAssignedEmployeeIds(shiftId, requestedIds));
 
         List<Employee> removedEmployees = new ArrayList<>();
+        for (Long employeeId : requestedIds) {
+            Employee employee = employees.get(employeeId);
 
-        for (Long employeeId : employeeIds) {
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new IllegalArgumentException("Empleado no encontrado con ID: " + employeeId));
-
-            if (!shift.hasEmployee(employee)) {
+            if (!assignedIds.contains(employeeId)) {
                 log.debug("Employee {} not assigned to shift", employee.getFullName());
                 continue;
             }
 
-            shift.removeEmployee(employee);
             removedEmployees.add(employee);
         }
 
         if (!removedEmployees.isEmpty()) {
-            shiftRepository.save(shift);
+            shiftRepository.deleteAssignments(shiftId, removedEmployees.stream()
+                    .map(Employee::getIdEmpleado)
+                    .toList());
             
             // Create history records
             historyService.createHistoryRecords(
@@ -283,6 +294,33 @@ public class ShiftServiceImpl implements ShiftService {
         } else {
             log.info("No employees were removed");
         }
+
+        return new AssignmentSummary(requestedIds.size(), removedEmployees,
+                requestedIds.size() - removedEmployees.size(), 0);
+    }
+
+    /**
+     * Load the requested employees and the one performing the action in a single query
+     *
+     * @throws IllegalArgumentException if a requested employee does not exist
+     */
+    private Map<Long, Employee> loadEmployees(Set<Long> employeeIds, Long actionById) {
+        Set<Long> ids = new HashSet<>(employeeIds);
+        if (actionById != null) {
+            ids.add(actionById);
+        }
+
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.findAllWithRolesByIdIn(ids)) {
+            employees.put(employee.getIdEmpleado(), employee);
+        }
+
+        for (Long employeeId : employeeIds) {
+            if (!employees.containsKey(employeeId)) {
+                throw new IllegalArgumentException("Empleado no encontrado con ID: " + employeeId);
+            }
+        }
+        return employees;
     }
 
     @Override
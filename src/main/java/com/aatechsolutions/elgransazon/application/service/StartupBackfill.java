@@ -0,0 +1,25 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+/**
+ * One-time rebuild of derived data (rollups, stored costs) from the rows it is derived from.
+ *
+ * Each backfill runs once per database, before the web server and the scheduled jobs start,
+ * and is recorded in backfill_markers in the same transaction (see StartupBackfillInitializer).
+ * Whether it runs never depends on the derived table being empty, and it never races live writes.
+ * A backfill must be a full, idempotent rebuild: if it fails nothing is recorded and the next
+ * start runs it again.
+ */
+public interface StartupBackfill {
+
+    /**
+     * Name recorded in backfill_markers (unique among backfills)
+     */
+    String getBackfillName();
+
+    /**
+     * Rebuild the derived data (runs inside the marker transaction)
+     *
+     * @return number of rows written
+     */
+    int backfill();
+}
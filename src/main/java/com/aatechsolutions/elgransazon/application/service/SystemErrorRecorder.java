@@ -0,0 +1,267 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.SystemError.Severity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records system errors without writing to the database on the request path.
+ *
+ * {@link #capture(Throwable)} fingerprints the error (root exception type plus its top stack
+ * frames) and folds it into a pending entry per fingerprint in a concurrent map, so a failure
+ * repeated hundreds of times a minute costs one map update each time. The stack trace is only
+ * rendered once per fingerprint, at flush time. A scheduled job calls {@link #flush()}, which adds
+ * each pending entry to the unresolved {@code system_errors} row with the same fingerprint
+ * (occurrence count, last seen) or inserts a new row.
+ *
+ * Metrics: {@code system_errors.captured} and {@code system_errors.dropped} (counters),
+ * {@code system_errors.pending} (gauge, fingerprints waiting to be written).
+ */
+@Service
+@Slf4j
+public class SystemErrorRecorder {
+
+    private static final String UPDATE_SQL =
+            "UPDATE system_errors SET occurrence_count = occurrence_count + ?, " +
+            "last_seen_at = GREATEST(COALESCE(last_seen_at, occurred_at), ?), error_message = ? " +
+            "WHERE fingerprint = ? AND resolved = FALSE";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO system_errors (fingerprint, error_type, error_message, stack_trace, severity, resolved, " +
+            "occurrence_count, occurred_at, last_seen_at) VALUES (?, ?, ?, ?, ?, FALSE, ?, ?, ?)";
+
+    private static final String BACKFILL_SQL =
+            "UPDATE system_errors SET last_seen_at = occurred_at, occurrence_count = COALESCE(occurrence_count, 1) " +
+            "WHERE last_seen_at IS NULL LIMIT ?";
+
+    private static final int BACKFILL_BATCH_SIZE = 5000;
+
+    private static final int FINGERPRINT_FRAMES = 5;
+    private static final int MAX_TYPE_LENGTH = 100;
+    private static final int MAX_TEXT_LENGTH = 60000;
+
+    /**
+     * Occurrences of one fingerprint since the last flush (only mutated inside map operations)
+     */
+    private static final class Pending {
+        private final String fingerprint;
+        private final String type;
+        private final Throwable first;
+        private final Severity severity;
+        private final LocalDateTime firstSeen;
+        private long count;
+        private LocalDateTime lastSeen;
+        private String lastMessage;
+
+        private Pending(String fingerprint, Throwable error, Throwable root, LocalDateTime now) {
+            this.fingerprint = fingerprint;
+            this.type = root.getClass().getName();
+            this.first = error;
+            this.severity = severityOf(root);
+            this.firstSeen = now;
+            this.lastSeen = now;
+            this.count = 1;
+            this.lastMessage = messageOf(root);
+        }
+
+        private Pending add(Pending other) {
+            count += other.count;
+            if (other.lastSeen.isAfter(lastSeen)) {
+                lastSeen = other.lastSeen;
+                lastMessage = other.lastMessage;
+            }
+            return this;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Counter capturedCounter;
+    private final Counter droppedCounter;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Upper bound of distinct fingerprints kept between flushes; new ones beyond it are dropped
+     */
+    @Value("${system-errors.max-pending-fingerprints:1000}")
+    private int maxPendingFingerprints;
+
+    public SystemErrorRecorder(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capturedCounter = Counter.builder("system_errors.captured")
+                .description("System errors captured")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("system_errors.dropped")
+                .description("System errors dropped because too many distinct errors were pending")
+                .register(meterRegistry);
+        Gauge.builder("system_errors.pending", pending, Map::size)
+                .description("Distinct errors waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Record an error (non-blocking, never throws)
+     */
+    public void capture(Throwable error) {
+        if (error == null) {
+            return;
+        }
+        try {
+            Throwable root = rootCause(error);
+            String fingerprint = fingerprint(root);
+            if (!pending.containsKey(fingerprint) && pending.size() >= maxPendingFingerprints) {
+                droppedCounter.increment();
+                return;
+            }
+            pending.merge(fingerprint, new Pending(fingerprint, error, root, LocalDateTime.now()), Pending::add);
+            capturedCounter.increment();
+        } catch (RuntimeException e) {
+            log.warn("Could not capture system error: {}", e.getMessage());
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all pending errors: one row per fingerprint, updated in place while unresolved
+     */
+    @Transactional
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Pending> batch = drain();
+        try {
+            for (Pending entry : batch) {
+                write(entry);
+            }
+        } catch (RuntimeException e) {
+            // The transaction rolls back: put the entries back so the next flush retries them
+            batch.forEach(entry -> pending.merge(entry.fingerprint, entry, Pending::add));
+            throw e;
+        }
+
+        log.debug("System errors flushed: {} fingerprints", batch.size());
+    }
+
+    private List<Pending> drain() {
+        List<Pending> batch = new ArrayList<>(pending.size());
+        for (String fingerprint : pending.keySet()) {
+            Pending entry = pending.remove(fingerprint);
+            if (entry != null) {
+                batch.add(entry);
+            }
+        }
+        return batch;
+    }
+
+    private void write(Pending entry) {
+        Timestamp lastSeen = Timestamp.valueOf(entry.lastSeen);
+        int updated = jdbcTemplate.update(UPDATE_SQL, entry.count, lastSeen, entry.lastMessage, entry.fingerprint);
+        if (updated == 0) {
+            // First occurrence, or the previous row was resolved and the error came back
+            jdbcTemplate.update(INSERT_SQL, entry.fingerprint,
+                    truncate(entry.type, MAX_TYPE_LENGTH), entry.lastMessage,
+                    truncate(stackTraceOf(entry.first), MAX_TEXT_LENGTH), entry.severity.name(),
+                    entry.count, Timestamp.valueOf(entry.firstSeen), lastSeen);
+            log.warn("New system error recorded: {} ({})", entry.type, entry.lastMessage);
+        }
+    }
+
+    /**
+     * Give rows recorded before fingerprinting existed (no last seen, no count) one occurrence
+     * last seen when it occurred, so queries on last_seen_at include them. Runs in short batches,
+     * each in its own statement.
+     *
+     * @return number of rows updated
+     */
+    public int backfillLegacyRows() {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(BACKFILL_SQL, BACKFILL_BATCH_SIZE);
+            total += updated;
+        } while (updated == BACKFILL_BATCH_SIZE);
+        return total;
+    }
+
+    // ========== Fingerprint ==========
+
+    /**
+     * SHA-256 of the exception type and its top frames (class and method only, so the same
+     * error keeps its fingerprint across builds)
+     */
+    private static String fingerprint(Throwable error) {
+        StringBuilder key = new StringBuilder(error.getClass().getName());
+        StackTraceElement[] frames = error.getStackTrace();
+        for (int i = 0; i < Math.min(FINGERPRINT_FRAMES, frames.length); i++) {
+            key.append('|').append(frames[i].getClassName()).append('.').append(frames[i].getMethodName());
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    private static Severity severityOf(Throwable error) {
+        if (error instanceof Error) {
+            return Severity.CRITICAL;
+        }
+        if (error instanceof DataAccessException || error instanceof SQLException) {
+            return Severity.HIGH;
+        }
+        if (error instanceof IllegalArgumentException || error instanceof IllegalStateException) {
+            return Severity.LOW;
+        }
+        return Severity.MEDIUM;
+    }
+
+    private static String messageOf(Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        return truncate(message, MAX_TEXT_LENGTH);
+    }
+
+    private static String stackTraceOf(Throwable error) {
+        StringWriter writer = new StringWriter();
+        error.printStackTrace(new PrintWriter(writer));
+        return writer.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+}
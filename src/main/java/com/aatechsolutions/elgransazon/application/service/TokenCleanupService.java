@@ -0,0 +1,79 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.repository.EmailVerificationTokenRepository;
+import com.aatechsolutions.elgransazon.domain.repository.PasswordResetTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes expired email verification tokens and expired or used password reset tokens.
+ *
+ * Each method deletes at most {@code limit} rows in its own transaction (DELETE ... LIMIT),
+ * so a large backlog is purged in short batches by the caller's loop instead of one long
+ * lock on the table.
+ *
+ * Metrics: {@code tokens.purged} (counter, tagged with {@code type}).
+ */
+@Service
+public class TokenCleanupService {
+
+    private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final Counter verificationPurged;
+    private final Counter passwordResetPurged;
+
+    public TokenCleanupService(EmailVerificationTokenRepository emailVerificationTokenRepository,
+                               PasswordResetTokenRepository passwordResetTokenRepository,
+                               MeterRegistry meterRegistry) {
+        this.emailVerificationTokenRepository = emailVerificationTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.verificationPurged = Counter.builder("tokens.purged")
+                .description("Expired or used tokens deleted by the cleanup job")
+                .tag("type", "email_verification")
+                .register(meterRegistry);
+        this.passwordResetPurged = Counter.builder("tokens.purged")
+                .description("Expired or used tokens deleted by the cleanup job")
+                .tag("type", "password_reset")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delete one batch of email verification tokens expired before {@code expiredBefore}
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public int purgeExpiredVerificationTokens(LocalDateTime expiredBefore, int limit) {
+        int deleted = emailVerificationTokenRepository.deleteExpiredBatch(expiredBefore, limit);
+        verificationPurged.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * Delete one batch of password reset tokens expired before {@code expiredBefore}
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public int purgeExpiredPasswordResetTokens(LocalDateTime expiredBefore, int limit) {
+        int deleted = passwordResetTokenRepository.deleteExpiredBatch(expiredBefore, limit);
+        passwordResetPurged.increment(deleted);
+        return deleted;
+    }
+
+    /**
+     * Delete one batch of password reset tokens already used
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public int purgeUsedPasswordResetTokens(int limit) {
+        int deleted = passwordResetTokenRepository.deleteUsedBatch(limit);
+        passwordResetPurged.increment(deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,155 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of the principals loaded at login, keyed by the name typed in the login form.
+ *
+ * Entries expire after {@code security.user-details.cache-ttl-seconds} and are evicted by the
+ * services that change a password, the roles or the enabled/active flag of an employee or customer
+ * (immediately and again after their transaction commits). Expired entries are also swept
+ * periodically, and at most {@code security.user-details.cache-max-entries} logins are kept, so
+ * logins that are never repeated (even with a wrong password) cannot grow the map without bound.
+ *
+ * A new {@link UserDetails} is built on every hit: Spring Security erases the password of the
+ * returned instance after authentication, so cached instances must never be handed out.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    public enum PrincipalType { EMPLOYEE, CUSTOMER }
+
+    private record Entry(PrincipalType type, Long id, String username, String password,
+                         boolean enabled, List<GrantedAuthority> authorities, long expiresAt) {
+    }
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(@Value("${security.user-details.cache-ttl-seconds:60}") long ttlSeconds,
+                            @Value("${security.user-details.cache-max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<UserDetails> get(String login) {
+        if (ttlMillis <= 0) {
+            return Optional.empty();
+        }
+        String key = key(login);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return Optional.empty();
+        }
+        return Optional.of(toUserDetails(entry));
+    }
+
+    /**
+     * Cache a loaded principal
+     *
+     * @return a UserDetails built from the cached values
+     */
+    public UserDetails put(String login, PrincipalType type, Long id, String username, String password,
+                           boolean enabled, List<GrantedAuthority> authorities) {
+        Entry entry = new Entry(type, id, username, password, enabled, List.copyOf(authorities),
+                System.currentTimeMillis() + ttlMillis);
+        if (ttlMillis > 0) {
+            String key = key(login);
+            if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+                sweepExpired();
+            }
+            // Still full: serve this login from the database instead of evicting live entries
+            if (entries.size() < maxEntries || entries.containsKey(key)) {
+                entries.put(key, entry);
+            }
+        }
+        return toUserDetails(entry);
+    }
+
+    /**
+     * Remove expired entries of logins that were not repeated
+     */
+    @Scheduled(fixedDelayString = "${security.user-details.cache-sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt() < now);
+    }
+
+    public void evictEmployee(Long idEmpleado) {
+        evict(PrincipalType.EMPLOYEE, idEmpleado);
+    }
+
+    public void evictCustomer(Long idCustomer) {
+        evict(PrincipalType.CUSTOMER, idCustomer);
+    }
+
+    /**
+     * Evict a principal by the username it was loaded with (employee username or customer email)
+     */
+    public void evictUsername(PrincipalType type, String username) {
+        Runnable eviction = () -> entries.values()
+                .removeIf(entry -> entry.type() == type && entry.username().equalsIgnoreCase(username));
+        eviction.run();
+        afterCommit(eviction);
+    }
+
+    /**
+     * Evict every principal (e.g. a role was renamed or deleted)
+     */
+    public void evictAll() {
+        entries.clear();
+        afterCommit(entries::clear);
+    }
+
+    private void evict(PrincipalType type, Long id) {
+        Runnable eviction = () -> entries.values().removeIf(entry -> entry.type() == type && entry.id().equals(id));
+        eviction.run();
+        // Again after commit, in case a login cached the old values while the change was in flight
+        afterCommit(eviction);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private static UserDetails toUserDetails(Entry entry) {
+        return User.builder()
+                .username(entry.username())
+                .password(entry.password())
+                .disabled(!entry.enabled())
+                .authorities(entry.authorities())
+                .build();
+    }
+
+    private static String key(String login) {
+        // Logins are matched case-insensitively by the database collation
+        return login.toLowerCase(Locale.ROOT);
+    }
+}
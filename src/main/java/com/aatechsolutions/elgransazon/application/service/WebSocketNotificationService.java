@@ -395,6 +395,25 @@ public class WebSocketNotificationService {
         log.info("WebSocket: Admin notification sent - {}", message);
     }
 
+    /**
+     * Sends a low-stock / out-of-stock alert to administrators
+     */
+    public void notifyStockAlert(InventoryAlertService.StockState state) {
+        StockAlertNotification notification = new StockAlertNotification(
+            state.getLevel() == InventoryAlertService.StockLevel.OUT_OF_STOCK
+                ? "Ingrediente agotado: " + state.getIngredientName()
+                : "Stock bajo: " + state.getIngredientName(),
+            state.getIngredientId(),
+            state.getIngredientName(),
+            state.getLevel().name(),
+            state.getCurrentStock(),
+            state.getMinStock(),
+            state.getUnitOfMeasure()
+        );
+        messagingTemplate.convertAndSend("/topic/admin/notifications", notification);
+        log.info("WebSocket: Stock alert sent - {} is {}", state.getIngredientName(), state.getLevel());
+    }
+
     /**
      * Notifies about order deletion
      */
@@ -566,6 +585,19 @@ public class WebSocketNotificationService {
         private Object data;
     }
 
+    @lombok.Data
+    @lombok.AllArgsConstructor
+    private static class StockAlertNotification {
+        private String message;
+        private Long ingredientId;
+        private String ingredientName;
+        private String level;
+        private java.math.BigDecimal currentStock;
+        private java.math.BigDecimal minStock;
+        private String unitOfMeasure;
+        private final String notificationType = "STOCK_ALERT";
+    }
+
     @lombok.Data
     private static class OrderDeletionNotification {
         private Long orderId;
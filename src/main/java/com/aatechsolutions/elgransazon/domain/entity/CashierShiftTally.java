@@ -0,0 +1,49 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * CashierShiftTally entity
+ * Running tally of the payments collected by an employee (cashier or waiter) per day and payment method
+ */
+@Entity
+@Table(name = "cashier_shift_tally", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cashier_shift_tally",
+                columnNames = {"id_employee", "tally_date", "payment_method"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class CashierShiftTally implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_employee", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "tally_date", nullable = false)
+    private LocalDate tallyDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 20)
+    private PaymentMethodType paymentMethod;
+
+    @Column(name = "orders", nullable = false)
+    private Integer orders;
+
+    @Column(name = "orders_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ordersTotal;
+
+    @Column(name = "tips", nullable = false, precision = 12, scale = 2)
+    private BigDecimal tips;
+}
@@ -102,11 +102,4 @@ public class Customer implements Serializable {
     public boolean isActive() {
         return Boolean.TRUE.equals(active);
     }
-
-    /**
-     * Update last access timestamp
-     */
-    public void updateLastAccess() {
-        this.lastAccess = LocalDateTime.now();
-    }
 }
@@ -0,0 +1,50 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DeliveryEarning entity
+ * Ledger of paid deliveries: one row per DELIVERY order, written when the order becomes PAID.
+ * Order and employee are stored as plain IDs so the row survives the order being archived.
+ */
+@Entity
+@Table(name = "delivery_earnings", indexes = {
+        @Index(name = "idx_delivery_earnings_employee_paid", columnList = "id_employee, paid_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_delivery_earnings_order", columnNames = "id_order")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DeliveryEarning implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_order", nullable = false)
+    private Long orderId;
+
+    /**
+     * Delivery person who delivered the order
+     */
+    @Column(name = "id_employee", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "order_total", nullable = false, precision = 10, scale = 2)
+    private BigDecimal orderTotal;
+
+    @Column(name = "tip", nullable = false, precision = 10, scale = 2)
+    private BigDecimal tip;
+
+    @Column(name = "paid_at", nullable = false)
+    private LocalDateTime paidAt;
+}
@@ -0,0 +1,44 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DeliveryEarningDaily entity
+ * Daily rollup of the delivery earnings ledger per delivery person (paid deliveries, totals and tips)
+ */
+@Entity
+@Table(name = "delivery_earnings_daily", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_delivery_earnings_daily", columnNames = {"id_employee", "earning_date"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class DeliveryEarningDaily implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_employee", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "earning_date", nullable = false)
+    private LocalDate earningDate;
+
+    @Column(name = "deliveries", nullable = false)
+    private Integer deliveries;
+
+    @Column(name = "orders_total", nullable = false, precision = 12, scale = 2)
+    private BigDecimal ordersTotal;
+
+    @Column(name = "tips", nullable = false, precision = 12, scale = 2)
+    private BigDecimal tips;
+}
@@ -0,0 +1,84 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DeliveryZone entity
+ * Area where delivery orders are accepted, with its delivery fee and estimated delivery time.
+ * Zones may overlap (e.g. an inner zone inside a wider one); the zone with the lowest priority wins.
+ */
+@Entity
+@Table(name = "delivery_zones")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = {"idZone"})
+public class DeliveryZone implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_zone")
+    private Long idZone;
+
+    @NotBlank(message = "El nombre de la zona es requerido")
+    @Size(max = 100, message = "El nombre no puede exceder 100 caracteres")
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    /**
+     * Polygon vertices as "lat,lon;lat,lon;..." (at least 3, not closed)
+     */
+    @NotBlank(message = "El polígono de la zona es requerido")
+    @Column(name = "polygon", nullable = false, columnDefinition = "TEXT")
+    private String polygon;
+
+    @NotNull(message = "El costo de envío es requerido")
+    @DecimalMin(value = "0.0", message = "El costo de envío no puede ser negativo")
+    @Column(name = "delivery_fee", nullable = false, precision = 10, scale = 2)
+    private BigDecimal deliveryFee;
+
+    @Min(value = 1, message = "El tiempo estimado debe ser mayor a 0")
+    @Column(name = "estimated_minutes")
+    private Integer estimatedMinutes;
+
+    @Column(name = "priority", nullable = false)
+    @Builder.Default
+    private Integer priority = 0;
+
+    @Column(name = "active", nullable = false)
+    @Builder.Default
+    private Boolean active = true;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+        if (this.priority == null) {
+            this.priority = 0;
+        }
+        if (this.active == null) {
+            this.active = true;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
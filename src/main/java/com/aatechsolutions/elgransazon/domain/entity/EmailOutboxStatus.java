@@ -0,0 +1,21 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+/**
+ * Enum representing the delivery status of an email in the outbox
+ */
+public enum EmailOutboxStatus {
+    PENDING("Pendiente"),
+    SENDING("Enviando"),
+    SENT("Enviado"),
+    FAILED("Fallido");
+
+    private final String displayName;
+
+    EmailOutboxStatus(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
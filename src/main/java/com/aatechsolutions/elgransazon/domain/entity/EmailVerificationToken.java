@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
  * Email verification token for customer registration
  */
 @Entity
-@Table(name = "email_verification_tokens")
+@Table(name = "email_verification_tokens", indexes = {
+        @Index(name = "idx_evt_expiration", columnList = "expiration")
+})
 @Getter
 @Setter
 @NoArgsConstructor
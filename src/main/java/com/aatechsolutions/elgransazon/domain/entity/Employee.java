@@ -3,6 +3,7 @@ package com.aatechsolutions.elgransazon.domain.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -84,7 +85,9 @@ public class Employee implements Serializable {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Roles of the employees loaded by one query are fetched together, not one select per employee
     @ManyToMany(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "employee_roles",
             joinColumns = @JoinColumn(name = "id_empleado"),
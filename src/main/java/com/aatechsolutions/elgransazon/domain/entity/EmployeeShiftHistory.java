@@ -15,7 +15,8 @@ import java.time.format.DateTimeFormatter;
 @Entity
 @Table(name = "employee_shift_history", indexes = {
         @Index(name = "idx_employee_action_date", columnList = "employee_id, action_date"),
-        @Index(name = "idx_shift_action_date", columnList = "shift_id, action_date")
+        @Index(name = "idx_shift_action_date", columnList = "shift_id, action_date"),
+        @Index(name = "idx_action_date", columnList = "action_date")
 })
 @Getter
 @Setter
@@ -27,7 +28,9 @@ import java.time.format.DateTimeFormatter;
 public class EmployeeShiftHistory implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "employee_shift_history_id")
+    @TableGenerator(name = "employee_shift_history_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "employee_shift_history", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
  * Manages inventory, stock levels, and supplier relationships through categories
  */
 @Entity
-@Table(name = "ingredients")
+@Table(name = "ingredients", indexes = {
+        @Index(name = "idx_ingredients_active_name", columnList = "active, name")
+})
 @Getter
 @Setter
 @NoArgsConstructor
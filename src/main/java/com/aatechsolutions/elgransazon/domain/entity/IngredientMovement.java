@@ -0,0 +1,80 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * IngredientMovement entity - append-only ledger of every ingredient stock change
+ * (sales, returns, restocks and manual adjustments).
+ *
+ * Rows are only ever inserted. The quantity is signed: negative for stock leaving
+ * the inventory (SALE), positive for stock coming in (RETURN, RESTOCK).
+ * Order and detail IDs are plain columns (no foreign keys) so the audit trail
+ * survives edits and deletions of the order.
+ */
+@Entity
+@Table(name = "ingredient_movements", indexes = {
+        @Index(name = "idx_movement_ingredient_id", columnList = "ingredient_id, id_movement"),
+        @Index(name = "idx_movement_type_created", columnList = "movement_type, created_at"),
+        @Index(name = "idx_movement_order", columnList = "order_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = {"idMovement"})
+@ToString
+public class IngredientMovement implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ingredient_movement_id")
+    @TableGenerator(name = "ingredient_movement_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "ingredient_movements", allocationSize = 50)
+    @Column(name = "id_movement")
+    private Long idMovement;
+
+    @NotNull
+    @Column(name = "ingredient_id", nullable = false, updatable = false)
+    private Long ingredientId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false, length = 20, updatable = false)
+    private IngredientMovementType movementType;
+
+    /**
+     * Signed quantity in the ingredient's unit of measure
+     */
+    @NotNull
+    @Column(name = "quantity", precision = 10, scale = 3, nullable = false, updatable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "order_id", updatable = false)
+    private Long orderId;
+
+    @Column(name = "order_detail_id", updatable = false)
+    private Long orderDetailId;
+
+    @Column(name = "created_by", length = 50, updatable = false)
+    private String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @Builder.Default
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    /**
+     * Lifecycle callback to set createdAt before persist operations
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
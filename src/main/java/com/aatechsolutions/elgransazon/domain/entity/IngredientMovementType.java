@@ -0,0 +1,21 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+/**
+ * Enum representing the kind of an ingredient stock movement in the ledger
+ */
+public enum IngredientMovementType {
+    SALE("Venta"),
+    RETURN("Devolución"),
+    RESTOCK("Reabastecimiento"),
+    ADJUSTMENT("Ajuste manual");
+
+    private final String displayName;
+
+    IngredientMovementType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -22,7 +22,9 @@ import java.time.LocalDateTime;
 public class IngredientStockHistory implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ingredient_stock_history_id")
+    @TableGenerator(name = "ingredient_stock_history_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "ingredient_stock_history", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
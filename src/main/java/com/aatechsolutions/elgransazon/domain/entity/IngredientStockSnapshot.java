@@ -0,0 +1,42 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * IngredientStockSnapshot entity - compacted balance of the ingredient movement ledger.
+ *
+ * Holds the stock of an ingredient after folding every movement up to
+ * {@code lastMovementId}. Ledger stock = snapshot stock + movements after that ID.
+ */
+@Entity
+@Table(name = "ingredient_stock_snapshots")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = {"ingredientId"})
+@ToString
+public class IngredientStockSnapshot implements Serializable {
+
+    @Id
+    @Column(name = "ingredient_id")
+    private Long ingredientId;
+
+    @Column(name = "stock", precision = 12, scale = 3, nullable = false)
+    private BigDecimal stock;
+
+    /**
+     * Last movement folded into this snapshot (0 = opening balance only)
+     */
+    @Column(name = "last_movement_id", nullable = false)
+    private Long lastMovementId;
+
+    @Column(name = "compacted_at", nullable = false)
+    private LocalDateTime compactedAt;
+}
@@ -21,7 +21,9 @@ import java.time.LocalDateTime;
 public class LicenseEvent implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "license_event_id")
+    @TableGenerator(name = "license_event_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "license_events", allocationSize = 50)
     private Long id;
 
     @Column(name = "license_id")
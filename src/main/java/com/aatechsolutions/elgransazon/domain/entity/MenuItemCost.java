@@ -0,0 +1,49 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * MenuItemCost entity
+ * Current recipe cost and profit margin of a menu item, kept up to date by the menu cost engine
+ */
+@Entity
+@Table(name = "item_menu_costs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class MenuItemCost implements Serializable {
+
+    @Id
+    @Column(name = "id_item_menu")
+    private Long itemMenuId;
+
+    @Column(name = "ingredients_cost", nullable = false, precision = 14, scale = 5)
+    private BigDecimal ingredientsCost;
+
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    /**
+     * ((price - cost) / price) * 100
+     */
+    @Column(name = "profit_margin", nullable = false, precision = 10, scale = 2)
+    private BigDecimal profitMargin;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Price minus ingredients cost
+     */
+    public BigDecimal getProfit() {
+        return price.subtract(ingredientsCost);
+    }
+}
@@ -0,0 +1,44 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * MenuItemCostHistory entity
+ * One row each time the recipe cost or the price of a menu item changes (cost trend charts)
+ */
+@Entity
+@Table(name = "item_menu_cost_history", indexes = {
+        @Index(name = "idx_item_menu_cost_history_item", columnList = "id_item_menu, recorded_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class MenuItemCostHistory implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_item_menu", nullable = false)
+    private Long itemMenuId;
+
+    @Column(name = "ingredients_cost", nullable = false, precision = 14, scale = 5)
+    private BigDecimal ingredientsCost;
+
+    @Column(name = "price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(name = "profit_margin", nullable = false, precision = 10, scale = 2)
+    private BigDecimal profitMargin;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
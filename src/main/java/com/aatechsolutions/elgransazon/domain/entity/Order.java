@@ -16,7 +16,14 @@ import java.util.List;
  * Order entity representing customer orders in the restaurant
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_created_at", columnList = "created_at"),
+        @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_orders_table_created", columnList = "id_table, created_at"),
+        @Index(name = "idx_orders_employee_created", columnList = "id_employee, created_at"),
+        @Index(name = "idx_orders_customer_created", columnList = "id_customer, created_at"),
+        @Index(name = "idx_orders_created_by_created", columnList = "created_by, created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
  * OrderDetail entity representing individual items in an order
  */
 @Entity
-@Table(name = "order_details")
+@Table(name = "order_details", indexes = {
+        @Index(name = "idx_order_details_order_status", columnList = "id_order, item_status"),
+        @Index(name = "idx_order_details_item", columnList = "id_item_menu")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,7 +26,9 @@ import java.time.LocalDateTime;
 public class OrderDetail implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_detail_id")
+    @TableGenerator(name = "order_detail_id", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "gen_value", pkColumnValue = "order_details", allocationSize = 50)
     @Column(name = "id_order_detail")
     private Long idOrderDetail;
 
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
  * Password reset token for customer password recovery
  */
 @Entity
-@Table(name = "password_reset_tokens")
+@Table(name = "password_reset_tokens", indexes = {
+        @Index(name = "idx_prt_expiration", columnList = "expiration"),
+        @Index(name = "idx_prt_used", columnList = "used")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -48,7 +49,9 @@ public class Shift implements Serializable {
     @Column(name = "end_time", nullable = false)
     private LocalTime endTime;
 
+    // Work days of the shifts loaded by one query are fetched together, not one select per shift
     @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     @CollectionTable(name = "shift_work_days", joinColumns = @JoinColumn(name = "shift_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "day_of_week", nullable = false)
@@ -8,10 +8,15 @@ import java.time.LocalDateTime;
 
 /**
  * System Error entity
- * Tracks system errors for monitoring and debugging
+ * Tracks system errors for monitoring and debugging.
+ * Repeated occurrences of the same error (same fingerprint) are folded into one unresolved row
+ * with an occurrence count and first/last seen timestamps.
  */
 @Entity
-@Table(name = "system_errors")
+@Table(name = "system_errors", indexes = {
+        @Index(name = "idx_system_errors_fingerprint", columnList = "fingerprint, resolved"),
+        @Index(name = "idx_system_errors_last_seen", columnList = "last_seen_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +29,12 @@ public class SystemError implements Serializable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /**
+     * Hash of the exception type and its top stack frames
+     */
+    @Column(name = "fingerprint", length = 64)
+    private String fingerprint;
+
     @Column(name = "error_type", length = 100)
     private String errorType;
 
@@ -52,11 +63,21 @@ public class SystemError implements Serializable {
     @Builder.Default
     private LocalDateTime occurredAt = LocalDateTime.now();
 
+    @Column(name = "occurrence_count")
+    @Builder.Default
+    private Long occurrenceCount = 1L;
+
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt;
+
     @PrePersist
     protected void onCreate() {
         if (occurredAt == null) {
             occurredAt = LocalDateTime.now();
         }
+        if (lastSeenAt == null) {
+            lastSeenAt = occurredAt;
+        }
     }
 
     /**
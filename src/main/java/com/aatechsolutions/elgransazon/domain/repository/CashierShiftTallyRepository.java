@@ -0,0 +1,58 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.CashierShiftTally;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CashierShiftTallyRepository extends JpaRepository<CashierShiftTally, Long> {
+
+    /**
+     * Add one collected payment to the employee's tally of the day and payment method
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cashier_shift_tally (id_employee, tally_date, payment_method, orders, orders_total, tips) " +
+                   "VALUES (:employeeId, :tallyDate, :paymentMethod, 1, :orderTotal, :tip) " +
+                   "ON DUPLICATE KEY UPDATE orders = orders + 1, " +
+                   "orders_total = orders_total + VALUES(orders_total), tips = tips + VALUES(tips)",
+           nativeQuery = true)
+    int addPayment(@Param("employeeId") Long employeeId, @Param("tallyDate") LocalDate tallyDate,
+                   @Param("paymentMethod") String paymentMethod,
+                   @Param("orderTotal") BigDecimal orderTotal, @Param("tip") BigDecimal tip);
+
+    /**
+     * Totals of an employee between two dates (inclusive) per payment method:
+     * payment method, orders, orders total, tips
+     */
+    @Query("SELECT t.paymentMethod, SUM(t.orders), SUM(t.ordersTotal), SUM(t.tips) " +
+           "FROM CashierShiftTally t WHERE t.employeeId = :employeeId " +
+           "AND t.tallyDate BETWEEN :startDate AND :endDate GROUP BY t.paymentMethod")
+    List<Object[]> sumByPaymentMethodBetween(@Param("employeeId") Long employeeId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    /**
+     * All-time totals of an employee per payment method: payment method, orders, orders total, tips
+     */
+    @Query("SELECT t.paymentMethod, SUM(t.orders), SUM(t.ordersTotal), SUM(t.tips) " +
+           "FROM CashierShiftTally t WHERE t.employeeId = :employeeId GROUP BY t.paymentMethod")
+    List<Object[]> sumByPaymentMethod(@Param("employeeId") Long employeeId);
+
+    /**
+     * Daily totals of an employee between two dates (inclusive), all payment methods together:
+     * date, orders, orders total, tips
+     */
+    @Query("SELECT t.tallyDate, SUM(t.orders), SUM(t.ordersTotal), SUM(t.tips) " +
+           "FROM CashierShiftTally t WHERE t.employeeId = :employeeId " +
+           "AND t.tallyDate BETWEEN :startDate AND :endDate GROUP BY t.tallyDate")
+    List<Object[]> sumByDayBetween(@Param("employeeId") Long employeeId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+}
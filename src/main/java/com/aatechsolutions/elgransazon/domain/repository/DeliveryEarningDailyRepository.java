@@ -0,0 +1,51 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryEarningDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DeliveryEarningDailyRepository extends JpaRepository<DeliveryEarningDaily, Long> {
+
+    /**
+     * Add one paid delivery to the employee's rollup of the day
+     */
+    @Modifying
+    @Query(value = "INSERT INTO delivery_earnings_daily (id_employee, earning_date, deliveries, orders_total, tips) " +
+                   "VALUES (:employeeId, :earningDate, 1, :orderTotal, :tip) " +
+                   "ON DUPLICATE KEY UPDATE deliveries = deliveries + 1, " +
+                   "orders_total = orders_total + VALUES(orders_total), tips = tips + VALUES(tips)",
+           nativeQuery = true)
+    int addDelivery(@Param("employeeId") Long employeeId, @Param("earningDate") LocalDate earningDate,
+                    @Param("orderTotal") BigDecimal orderTotal, @Param("tip") BigDecimal tip);
+
+    /**
+     * Totals of an employee between two dates (inclusive): deliveries, orders total, tips
+     */
+    @Query("SELECT COALESCE(SUM(d.deliveries), 0), COALESCE(SUM(d.ordersTotal), 0), COALESCE(SUM(d.tips), 0) " +
+           "FROM DeliveryEarningDaily d WHERE d.employeeId = :employeeId " +
+           "AND d.earningDate BETWEEN :startDate AND :endDate")
+    List<Object[]> sumBetween(@Param("employeeId") Long employeeId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+
+    /**
+     * All-time totals of an employee: deliveries, orders total, tips
+     */
+    @Query("SELECT COALESCE(SUM(d.deliveries), 0), COALESCE(SUM(d.ordersTotal), 0), COALESCE(SUM(d.tips), 0) " +
+           "FROM DeliveryEarningDaily d WHERE d.employeeId = :employeeId")
+    List<Object[]> sumAllTime(@Param("employeeId") Long employeeId);
+
+    /**
+     * Daily rows of an employee between two dates (inclusive), oldest first
+     */
+    List<DeliveryEarningDaily> findByEmployeeIdAndEarningDateBetweenOrderByEarningDateAsc(
+            Long employeeId, LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,27 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryEarning;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface DeliveryEarningRepository extends JpaRepository<DeliveryEarning, Long> {
+
+    /**
+     * Add a paid delivery to the ledger (ignored if the order is already in it)
+     *
+     * @return 1 if the row was added, 0 if the order was already recorded
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO delivery_earnings (id_order, id_employee, order_total, tip, paid_at) " +
+                   "VALUES (:orderId, :employeeId, :orderTotal, :tip, :paidAt)", nativeQuery = true)
+    int insertIgnore(@Param("orderId") Long orderId, @Param("employeeId") Long employeeId,
+                     @Param("orderTotal") BigDecimal orderTotal, @Param("tip") BigDecimal tip,
+                     @Param("paidAt") LocalDateTime paidAt);
+}
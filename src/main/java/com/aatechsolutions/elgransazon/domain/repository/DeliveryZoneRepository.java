@@ -0,0 +1,21 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryZone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DeliveryZoneRepository extends JpaRepository<DeliveryZone, Long> {
+
+    /**
+     * Find active zones (compiled into the delivery zone index)
+     */
+    List<DeliveryZone> findByActiveTrue();
+
+    /**
+     * Find all zones ordered by priority
+     */
+    List<DeliveryZone> findAllByOrderByPriorityAscNameAsc();
+}
@@ -0,0 +1,65 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.EmailOutbox;
+import com.aatechsolutions.elgransazon.domain.entity.EmailOutboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the EmailOutbox entity
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * IDs of pending emails whose next attempt is due, oldest first
+     */
+    @Query("SELECT e.idEmail FROM EmailOutbox e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.idEmail ASC")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claim a pending email for delivery. Returns 0 if another dispatcher claimed it first.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = 'SENDING', e.attempts = e.attempts + 1, e.claimedAt = :now " +
+           "WHERE e.idEmail = :id AND e.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Put back emails whose delivery attempt was interrupted (e.g. application restart)
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.nextAttemptAt = :now " +
+           "WHERE e.status = 'SENDING' AND e.claimedAt < :claimedBefore")
+    int releaseStale(@Param("claimedBefore") LocalDateTime claimedBefore, @Param("now") LocalDateTime now);
+
+    /**
+     * Put back a claimed email that was not attempted (circuit breaker open), undoing the
+     * attempt counted by {@link #claim}
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE EmailOutbox e SET e.status = 'PENDING', e.attempts = e.attempts - 1, e.claimedAt = NULL, " +
+           "e.nextAttemptAt = :now WHERE e.idEmail = :id AND e.status = 'SENDING'")
+    int releaseUnattempted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Delete one batch of sent or permanently failed emails created before {@code createdBefore}
+     */
+    @Modifying
+    @Query(value = "DELETE FROM email_outbox WHERE status IN ('SENT', 'FAILED') AND created_at < :createdBefore " +
+                   "LIMIT :limit", nativeQuery = true)
+    int deleteFinishedBatch(@Param("createdBefore") LocalDateTime createdBefore, @Param("limit") int limit);
+
+    /**
+     * Count emails by status
+     */
+    long countByStatus(EmailOutboxStatus status);
+}
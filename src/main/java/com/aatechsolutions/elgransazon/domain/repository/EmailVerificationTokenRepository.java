@@ -3,8 +3,12 @@ package com.aatechsolutions.elgransazon.domain.repository;
 import com.aatechsolutions.elgransazon.domain.entity.Customer;
 import com.aatechsolutions.elgransazon.domain.entity.EmailVerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +19,12 @@ public interface EmailVerificationTokenRepository extends JpaRepository<EmailVer
     Optional<EmailVerificationToken> findByCustomer(Customer customer);
     
     void deleteByCustomer(Customer customer);
+
+    /**
+     * Delete up to {@code limit} tokens that expired before {@code expiredBefore}
+     */
+    @Modifying
+    @Query(value = "DELETE FROM email_verification_tokens WHERE expiration < :expiredBefore LIMIT :limit",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("limit") int limit);
 }
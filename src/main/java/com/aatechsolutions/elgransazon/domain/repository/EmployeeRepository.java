@@ -2,8 +2,11 @@ package com.aatechsolutions.elgransazon.domain.repository;
 
 import com.aatechsolutions.elgransazon.domain.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -66,4 +69,14 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return List of employees supervised by this employee
      */
     List<Employee> findBySupervisorIdEmpleado(Long supervisorId);
+
+    /**
+     * Find employees by ID with their roles fetched in the same query.
+     * Roles are EAGER, so findAllById would issue one extra select per employee.
+     *
+     * @param ids Employee IDs
+     * @return List of employees with their roles initialized
+     */
+    @Query("SELECT DISTINCT e FROM Employee e LEFT JOIN FETCH e.roles WHERE e.idEmpleado IN :ids")
+    List<Employee> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
 }
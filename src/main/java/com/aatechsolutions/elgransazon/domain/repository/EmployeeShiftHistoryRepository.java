@@ -2,6 +2,8 @@ package com.aatechsolutions.elgransazon.domain.repository;
 
 import com.aatechsolutions.elgransazon.domain.entity.EmployeeShiftHistory;
 import com.aatechsolutions.elgransazon.domain.entity.ShiftAction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -81,4 +83,45 @@ public interface EmployeeShiftHistoryRepository extends JpaRepository<EmployeeSh
      */
     @Query("SELECT h FROM EmployeeShiftHistory h WHERE h.employee.idEmpleado = :employeeId AND h.shift.id = :shiftId ORDER BY h.actionDate DESC LIMIT 1")
     EmployeeShiftHistory findMostRecentActionForEmployeeAndShift(@Param("employeeId") Long employeeId, @Param("shiftId") Long shiftId);
+
+    /**
+     * Count history records of an employee per action: action, count (idx_employee_action_date)
+     */
+    @Query("SELECT h.action, COUNT(h) FROM EmployeeShiftHistory h WHERE h.employee.idEmpleado = :employeeId GROUP BY h.action")
+    List<Object[]> countByEmployeeIdGroupByAction(@Param("employeeId") Long employeeId);
+
+    /**
+     * Count the different shifts in the history of an employee
+     */
+    @Query("SELECT COUNT(DISTINCT h.shift.id) FROM EmployeeShiftHistory h WHERE h.employee.idEmpleado = :employeeId")
+    long countDistinctShiftsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * Count history records between two dates per action: action, count (idx_action_date)
+     */
+    @Query("SELECT h.action, COUNT(h) FROM EmployeeShiftHistory h WHERE h.actionDate BETWEEN :start AND :end GROUP BY h.action")
+    List<Object[]> countByActionDateBetweenGroupByAction(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Most recent history record of an employee, with its shift
+     */
+    @Query("SELECT h FROM EmployeeShiftHistory h JOIN FETCH h.shift WHERE h.employee.idEmpleado = :employeeId ORDER BY h.actionDate DESC LIMIT 1")
+    EmployeeShiftHistory findMostRecentByEmployeeId(@Param("employeeId") Long employeeId);
+
+    /**
+     * Page of the history of an employee, newest first, with shift and action author
+     */
+    @Query(value = "SELECT h FROM EmployeeShiftHistory h JOIN FETCH h.shift LEFT JOIN FETCH h.actionBy " +
+                   "WHERE h.employee.idEmpleado = :employeeId ORDER BY h.actionDate DESC",
+           countQuery = "SELECT COUNT(h) FROM EmployeeShiftHistory h WHERE h.employee.idEmpleado = :employeeId")
+    Page<EmployeeShiftHistory> findPageByEmployeeId(@Param("employeeId") Long employeeId, Pageable pageable);
+
+    /**
+     * Page of the history between two dates, newest first, with employee, shift and action author
+     */
+    @Query(value = "SELECT h FROM EmployeeShiftHistory h JOIN FETCH h.employee JOIN FETCH h.shift LEFT JOIN FETCH h.actionBy " +
+                   "WHERE h.actionDate BETWEEN :start AND :end ORDER BY h.actionDate DESC",
+           countQuery = "SELECT COUNT(h) FROM EmployeeShiftHistory h WHERE h.actionDate BETWEEN :start AND :end")
+    Page<EmployeeShiftHistory> findPageByActionDateBetween(@Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end, Pageable pageable);
 }
@@ -0,0 +1,91 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.IngredientMovement;
+import com.aatechsolutions.elgransazon.domain.entity.IngredientMovementType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the append-only IngredientMovement ledger
+ */
+@Repository
+public interface IngredientMovementRepository extends JpaRepository<IngredientMovement, Long> {
+
+    /**
+     * Sum of movements of an ingredient after a given movement ID (the ledger tail)
+     */
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM IngredientMovement m " +
+           "WHERE m.ingredientId = :ingredientId AND m.idMovement > :afterId")
+    BigDecimal sumQuantityAfter(@Param("ingredientId") Long ingredientId,
+                                @Param("afterId") Long afterId);
+
+    /**
+     * Sum of movements of an ingredient in the ID range (fromId, toId]
+     */
+    @Query("SELECT COALESCE(SUM(m.quantity), 0) FROM IngredientMovement m " +
+           "WHERE m.ingredientId = :ingredientId AND m.idMovement > :fromId AND m.idMovement <= :toId")
+    BigDecimal sumQuantityBetween(@Param("ingredientId") Long ingredientId,
+                                  @Param("fromId") Long fromId,
+                                  @Param("toId") Long toId);
+
+    /**
+     * Ingredients the compaction has work for: never compacted, or with movements in
+     * (snapshot watermark, toId]
+     */
+    @Query("SELECT i.idIngredient FROM Ingredient i " +
+           "WHERE NOT EXISTS (SELECT s FROM IngredientStockSnapshot s WHERE s.ingredientId = i.idIngredient) " +
+           "OR EXISTS (SELECT m FROM IngredientMovement m, IngredientStockSnapshot s " +
+           "WHERE s.ingredientId = i.idIngredient AND m.ingredientId = i.idIngredient " +
+           "AND m.idMovement > s.lastMovementId AND m.idMovement <= :toId)")
+    List<Long> findIngredientIdsToCompact(@Param("toId") Long toId);
+
+    /**
+     * Highest movement ID created before the given instant (compaction watermark)
+     */
+    @Query("SELECT MAX(m.idMovement) FROM IngredientMovement m WHERE m.createdAt < :before")
+    Long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * Find movements of an ingredient ordered by most recent first
+     */
+    List<IngredientMovement> findByIngredientIdOrderByIdMovementDesc(Long ingredientId);
+
+    /**
+     * Find movements of an order (sales and returns of every detail)
+     */
+    List<IngredientMovement> findByOrderIdOrderByIdMovementAsc(Long orderId);
+
+    /**
+     * Net consumption of an ingredient per day
+     * Returns: [date, consumedQuantity]
+     */
+    @Query("SELECT CAST(m.createdAt AS LocalDate), -SUM(m.quantity) FROM IngredientMovement m " +
+           "WHERE m.ingredientId = :ingredientId AND m.movementType IN :types " +
+           "AND m.createdAt >= :startDate AND m.createdAt < :endDate " +
+           "GROUP BY CAST(m.createdAt AS LocalDate) ORDER BY CAST(m.createdAt AS LocalDate) ASC")
+    List<Object[]> getDailyConsumption(@Param("ingredientId") Long ingredientId,
+                                       @Param("types") Collection<IngredientMovementType> types,
+                                       @Param("startDate") LocalDateTime startDate,
+                                       @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Net consumption per ingredient in a date range, most consumed first
+     * Returns: [ingredientId, ingredientName, unitOfMeasure, consumedQuantity]
+     */
+    @Query("SELECT m.ingredientId, i.name, i.unitOfMeasure, -SUM(m.quantity) " +
+           "FROM IngredientMovement m, Ingredient i " +
+           "WHERE i.idIngredient = m.ingredientId AND m.movementType IN :types " +
+           "AND m.createdAt >= :startDate AND m.createdAt < :endDate " +
+           "GROUP BY m.ingredientId, i.name, i.unitOfMeasure " +
+           "ORDER BY SUM(m.quantity) ASC")
+    List<Object[]> getConsumptionByIngredient(@Param("types") Collection<IngredientMovementType> types,
+                                              @Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+}
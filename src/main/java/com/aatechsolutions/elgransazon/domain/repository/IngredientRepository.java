@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +27,43 @@ public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
     @Query("SELECT i FROM Ingredient i WHERE i.idIngredient = :id")
     Optional<Ingredient> findByIdWithLock(@Param("id") Long id);
 
+    /**
+     * Find several ingredients with pessimistic write lock in a single statement.
+     * Rows are always locked in ascending ID order, so two transactions locking
+     * overlapping sets of ingredients cannot deadlock on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Ingredient i WHERE i.idIngredient IN :ids ORDER BY i.idIngredient ASC")
+    List<Ingredient> findAllByIdWithLock(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find the latest committed version of several ingredients as [id_ingredient, version].
+     * This is a locking read so it is not served from the transaction's snapshot;
+     * call it only for rows already locked by {@link #findAllByIdWithLock(Collection)}.
+     */
+    @Query(value = "SELECT id_ingredient, version FROM ingredients " +
+                   "WHERE id_ingredient IN (:ids) ORDER BY id_ingredient FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> findLockedVersionsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find current stock of every ingredient as [idIngredient, currentStock]
+     */
+    @Query("SELECT i.idIngredient, i.currentStock FROM Ingredient i")
+    List<Object[]> findAllStockLevels();
+
+    /**
+     * Find the IDs of all ingredients
+     */
+    @Query("SELECT i.idIngredient FROM Ingredient i ORDER BY i.idIngredient ASC")
+    List<Long> findAllIds();
+
+    /**
+     * Find several ingredients with their category (one query, for list pages)
+     */
+    @Query("SELECT i FROM Ingredient i LEFT JOIN FETCH i.category WHERE i.idIngredient IN :ids")
+    List<Ingredient> findAllWithCategoryByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Find ingredients by name containing (case insensitive)
      */
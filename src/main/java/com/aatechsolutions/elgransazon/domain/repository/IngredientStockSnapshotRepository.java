@@ -0,0 +1,12 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.IngredientStockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for IngredientStockSnapshot (compacted ledger balances)
+ */
+@Repository
+public interface IngredientStockSnapshotRepository extends JpaRepository<IngredientStockSnapshot, Long> {
+}
@@ -21,6 +21,14 @@ public interface ItemIngredientRepository extends JpaRepository<ItemIngredient,
     @Query("SELECT ii FROM ItemIngredient ii WHERE ii.itemMenu.idItemMenu = :itemMenuId ORDER BY ii.ingredient.name ASC")
     List<ItemIngredient> findByItemMenuId(@Param("itemMenuId") Long itemMenuId);
 
+    /**
+     * Find every recipe line as [itemMenuId, ingredientId, quantity], ordered by item
+     * Used to compile the menu-wide recipe matrix without loading entities
+     */
+    @Query("SELECT ii.itemMenu.idItemMenu, ii.ingredient.idIngredient, ii.quantity FROM ItemIngredient ii " +
+           "ORDER BY ii.itemMenu.idItemMenu ASC")
+    List<Object[]> findAllRecipeLines();
+
     /**
      * Find all menu items that use a specific ingredient
      */
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -115,4 +116,41 @@ public interface ItemMenuRepository extends JpaRepository<ItemMenu, Long> {
     @Query("SELECT i FROM ItemMenu i WHERE i.category.idCategory = :categoryId AND i.active = true AND i.available = :available ORDER BY i.name ASC")
     List<ItemMenu> findByCategoryIdAndAvailability(@Param("categoryId") Long categoryId, 
                                                      @Param("available") Boolean available);
+
+    /**
+     * Find items by IDs, ordered by name
+     */
+    @Query("SELECT i FROM ItemMenu i WHERE i.idItemMenu IN :ids ORDER BY i.name ASC")
+    List<ItemMenu> findByIdsOrderByName(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find active items by IDs, ordered by name
+     */
+    @Query("SELECT i FROM ItemMenu i WHERE i.idItemMenu IN :ids AND i.active = true ORDER BY i.name ASC")
+    List<ItemMenu> findActiveByIdsOrderByName(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recipe cost of items: item ID, price, sum of quantity * ingredient cost per unit
+     * (ingredients without cost count as zero, items without recipe cost zero)
+     */
+    @Query("SELECT i.idItemMenu, i.price, COALESCE(SUM(ii.quantity * ing.costPerUnit), 0) " +
+           "FROM ItemMenu i LEFT JOIN i.ingredients ii LEFT JOIN ii.ingredient ing " +
+           "WHERE i.idItemMenu IN :ids GROUP BY i.idItemMenu, i.price")
+    List<Object[]> findRecipeCostsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lock items (SELECT FOR UPDATE) in ascending ID order, so two transactions locking
+     * overlapping sets of items cannot deadlock on each other
+     *
+     * @return IDs of the items that exist
+     */
+    @Query(value = "SELECT id_item_menu FROM item_menu WHERE id_item_menu IN (:ids) " +
+                   "ORDER BY id_item_menu FOR UPDATE", nativeQuery = true)
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs of all items
+     */
+    @Query("SELECT i.idItemMenu FROM ItemMenu i")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,28 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.MenuItemCostHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MenuItemCostHistoryRepository extends JpaRepository<MenuItemCostHistory, Long> {
+
+    /**
+     * Cost history of a menu item since a date, oldest first
+     */
+    List<MenuItemCostHistory> findByItemMenuIdAndRecordedAtGreaterThanEqualOrderByRecordedAtAsc(
+            Long itemMenuId, LocalDateTime since);
+
+    /**
+     * Remove the history of a deleted menu item
+     */
+    @Modifying
+    @Query("DELETE FROM MenuItemCostHistory h WHERE h.itemMenuId = :itemMenuId")
+    int deleteByItemMenuId(@Param("itemMenuId") Long itemMenuId);
+}
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -75,11 +76,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     List<Order> findByOrderType(OrderType orderType);
 
+    /**
+     * Find orders created in [from, to)
+     * Half-open range on created_at so the index can be used (instead of DATE(created_at) = ...)
+     */
+    @Query("SELECT o FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to ORDER BY o.createdAt DESC")
+    List<Order> findCreatedInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     /**
      * Find today's orders
      */
-    @Query("SELECT o FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE ORDER BY o.createdAt DESC")
-    List<Order> findTodaysOrders();
+    default List<Order> findTodaysOrders() {
+        return findCreatedInRange(startOfToday(), startOfToday().plusDays(1));
+    }
 
     /**
      * Find active orders (not cancelled, not delivered, not paid)
@@ -101,37 +110,71 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     long countByStatus(OrderStatus status);
 
+    /**
+     * Count orders created in [from, to)
+     */
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to")
+    long countCreatedInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Count orders created in [from, to) with a status
+     */
+    @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status AND o.createdAt >= :from AND o.createdAt < :to")
+    long countCreatedInRangeByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                     @Param("status") OrderStatus status);
+
+    /**
+     * Sum of totals of PAID orders created in [from, to)
+     */
+    @Query("SELECT COALESCE(SUM(o.total), 0) FROM Order o " +
+           "WHERE o.status = 'PAID' AND o.createdAt >= :from AND o.createdAt < :to")
+    BigDecimal sumPaidTotalCreatedInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Last order number among the orders created in [from, to)
+     */
+    @Query("SELECT o.orderNumber FROM Order o WHERE o.createdAt >= :from AND o.createdAt < :to " +
+           "ORDER BY o.orderNumber DESC LIMIT 1")
+    Optional<String> findLastOrderNumberInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
     /**
      * Count today's orders
      */
-    @Query("SELECT COUNT(o) FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE")
-    long countTodaysOrders();
+    default long countTodaysOrders() {
+        return countCreatedInRange(startOfToday(), startOfToday().plusDays(1));
+    }
 
     /**
      * Count orders for today by status
      */
-    @Query("SELECT COUNT(o) FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE AND o.status = :status")
-    long countTodaysOrdersByStatus(@Param("status") OrderStatus status);
+    default long countTodaysOrdersByStatus(OrderStatus status) {
+        return countCreatedInRangeByStatus(startOfToday(), startOfToday().plusDays(1), status);
+    }
 
     /**
      * Get today's revenue (sum of totals from PAID orders created today)
      */
-    @Query("SELECT COALESCE(SUM(o.total), 0) FROM Order o " +
-           "WHERE DATE(o.createdAt) = CURRENT_DATE AND o.status = 'PAID'")
-    java.math.BigDecimal getTodaysRevenue();
+    default BigDecimal getTodaysRevenue() {
+        return sumPaidTotalCreatedInRange(startOfToday(), startOfToday().plusDays(1));
+    }
 
     /**
      * Get count of orders created today (for generating order number)
      */
-    @Query("SELECT COUNT(o) FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE")
-    long countOrdersCreatedToday();
+    default long countOrdersCreatedToday() {
+        return countTodaysOrders();
+    }
 
     /**
      * Find the last order number for today (for generating unique order numbers)
      */
-    @Query("SELECT o.orderNumber FROM Order o WHERE DATE(o.createdAt) = CURRENT_DATE " +
-           "ORDER BY o.orderNumber DESC LIMIT 1")
-    Optional<String> findLastOrderNumberToday();
+    default Optional<String> findLastOrderNumberToday() {
+        return findLastOrderNumberInRange(startOfToday(), startOfToday().plusDays(1));
+    }
+
+    private static LocalDateTime startOfToday() {
+        return LocalDate.now().atStartOfDay();
+    }
 
     /**
      * Check if order number exists
@@ -190,4 +233,20 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT o FROM Order o WHERE o.idOrder = :id")
     Optional<Order> findByIdWithLock(@Param("id") Long id);
+
+    /**
+     * Drop points of READY delivery orders, oldest first: id, latitude, longitude, createdAt
+     * Used by the delivery dispatch index
+     */
+    @Query("SELECT o.idOrder, o.deliveryLatitude, o.deliveryLongitude, o.createdAt FROM Order o " +
+           "WHERE o.status = 'READY' AND o.orderType = 'DELIVERY' ORDER BY o.createdAt ASC")
+    List<Object[]> findReadyDeliveryDropPoints();
+
+    /**
+     * IDs of the delivery persons with an order ON_THE_WAY (a run in progress)
+     * Used by the delivery dispatch index
+     */
+    @Query("SELECT DISTINCT o.deliveredBy.idEmpleado FROM Order o " +
+           "WHERE o.status = 'ON_THE_WAY' AND o.deliveredBy IS NOT NULL")
+    List<Long> findDeliveryPersonIdsOnTheWay();
 }
@@ -3,8 +3,12 @@ package com.aatechsolutions.elgransazon.domain.repository;
 import com.aatechsolutions.elgransazon.domain.entity.Customer;
 import com.aatechsolutions.elgransazon.domain.entity.PasswordResetToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -13,4 +17,19 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     Optional<PasswordResetToken> findByToken(String token);
     
     void deleteByCustomer(Customer customer);
+
+    /**
+     * Delete up to {@code limit} tokens that expired before {@code expiredBefore}
+     */
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE expiration < :expiredBefore LIMIT :limit",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("limit") int limit);
+
+    /**
+     * Delete up to {@code limit} tokens already used
+     */
+    @Modifying
+    @Query(value = "DELETE FROM password_reset_tokens WHERE used = TRUE LIMIT :limit", nativeQuery = true)
+    int deleteUsedBatch(@Param("limit") int limit);
 }
@@ -112,6 +112,16 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
             @Param("avgConsumptionSeconds") Integer avgConsumptionSeconds,
             @Param("reservationId") Long reservationId);
 
+    /**
+     * Active reservation slots (RESERVED, OCCUPIED) in a date range, for the in-memory interval index
+     * Returns: [reservationId, tableId, reservationDate, reservationTime, status, numberOfGuests]
+     */
+    @Query("SELECT r.id, r.restaurantTable.id, r.reservationDate, r.reservationTime, r.status, r.numberOfGuests " +
+           "FROM Reservation r WHERE r.reservationDate BETWEEN :startDate AND :endDate " +
+           "AND r.status IN ('RESERVED', 'OCCUPIED')")
+    List<Object[]> findActiveSlotsBetween(@Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
     /**
      * Count reservations by status
      */
@@ -2,10 +2,12 @@ package com.aatechsolutions.elgransazon.domain.repository;
 
 import com.aatechsolutions.elgransazon.domain.entity.Shift;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -80,4 +82,28 @@ public interface ShiftRepository extends JpaRepository<Shift, Long> {
      */
     @Query("SELECT COUNT(e) FROM Shift s JOIN s.employees e WHERE s.id = :shiftId")
     long countEmployeesByShiftId(@Param("shiftId") Long shiftId);
+
+    /**
+     * IDs of the given employees that are assigned to a shift
+     */
+    @Query("SELECT e.idEmpleado FROM Shift s JOIN s.employees e WHERE s.id = :shiftId AND e.idEmpleado IN :employeeIds")
+    List<Long> findAssignedEmployeeIds(@Param("shiftId") Long shiftId,
+                                       @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Assign employees to a shift in one statement
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO employee_shifts (shift_id, employee_id) " +
+                   "SELECT :shiftId, e.id_empleado FROM employee e WHERE e.id_empleado IN (:employeeIds)",
+           nativeQuery = true)
+    int insertAssignments(@Param("shiftId") Long shiftId, @Param("employeeIds") Collection<Long> employeeIds);
+
+    /**
+     * Remove employees from a shift in one statement
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM employee_shifts WHERE shift_id = :shiftId AND employee_id IN (:employeeIds)",
+           nativeQuery = true)
+    int deleteAssignments(@Param("shiftId") Long shiftId, @Param("employeeIds") Collection<Long> employeeIds);
 }
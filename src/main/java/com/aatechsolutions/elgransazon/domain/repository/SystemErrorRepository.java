@@ -36,6 +36,11 @@ public interface SystemErrorRepository extends JpaRepository<SystemError, Long>
      */
     List<SystemError> findByOccurredAtBetweenOrderByOccurredAtDesc(LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Find errors seen (first or repeated occurrence) between dates, most recent first
+     */
+    List<SystemError> findByLastSeenAtBetweenOrderByLastSeenAtDesc(LocalDateTime startDate, LocalDateTime endDate);
+
     /**
      * Count unresolved errors by severity
      */
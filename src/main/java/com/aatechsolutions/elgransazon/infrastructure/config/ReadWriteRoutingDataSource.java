@@ -0,0 +1,132 @@
+package com.aatechsolutions.elgransazon.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DataSource that sends read-only transactions to the read replica and everything else to the primary.
+ *
+ * A read-only transaction still goes to the primary when:
+ * - the replica is lagging or down (see {@link ReplicaLagMonitor})
+ * - the current user committed a write less than {@code stickyMillis} ago (read-your-writes,
+ *   counted from the commit)
+ * - the replica refuses a connection (the primary is used for that transaction)
+ *
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the target is chosen at the first
+ * statement, when the transaction's read-only flag is already known.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final long stickyMillis;
+
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, long stickyMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.stickyMillis = stickyMillis;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+
+        String username = currentUsername();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null) {
+                recordWriteOnCommit(username);
+            }
+            return Route.PRIMARY;
+        }
+
+        if (!lagMonitor.isUsable()) {
+            return Route.PRIMARY;
+        }
+
+        if (username != null) {
+            Long lastWrite = lastWriteByUser.get(username);
+            if (lastWrite != null) {
+                if (System.currentTimeMillis() - lastWrite < stickyMillis) {
+                    return Route.PRIMARY;
+                }
+                lastWriteByUser.remove(username, lastWrite);
+            }
+        }
+
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            if (target != replica) {
+                throw e;
+            }
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            if (target != replica) {
+                throw e;
+            }
+            lagMonitor.markUnavailable(e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Start the user's read-your-writes window when the transaction commits: the replica can only
+     * receive the write after that, so a window started at connection acquisition would end too
+     * early for a long transaction (and a rolled back one needs no window at all)
+     */
+    private void recordWriteOnCommit(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWriteByUser.put(username, System.currentTimeMillis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(username, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,100 @@
+package com.aatechsolutions.elgransazon.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Periodically measures the replication lag of the read replica.
+ *
+ * The replica is usable while it answers and its lag (Seconds_Behind_Source) is at most
+ * {@code maxLagSeconds}. Stopped replication (lag NULL), a connection error or a larger lag
+ * send read-only transactions back to the primary until a later check succeeds.
+ * A replica that reports no replication status (e.g. a standalone test instance) counts as lag 0.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replicaDataSource;
+    private final long maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagSeconds) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Last measured lag in seconds, or -1 if unknown
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Take the replica out of rotation after a failed connection (until the next successful check)
+     */
+    public void markUnavailable(Exception cause) {
+        if (usable) {
+            log.warn("Read replica unavailable, routing reads to primary: {}", cause.getMessage());
+        }
+        usable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            Long lag = readLag(statement);
+            lagSeconds = lag != null ? lag : -1;
+            usable = lag != null && lag <= maxLagSeconds;
+
+            if (!usable && wasUsable) {
+                log.warn("Read replica lag {} exceeds {} s, routing reads to primary",
+                        lag != null ? lag + " s" : "unknown (replication stopped)", maxLagSeconds);
+            } else if (usable && !wasUsable) {
+                log.info("Read replica usable again (lag {} s)", lag);
+            }
+        } catch (SQLException e) {
+            lagSeconds = -1;
+            markUnavailable(e);
+        }
+    }
+
+    /**
+     * @return lag in seconds, 0 if the server is not a replica, null if replication is stopped
+     */
+    private static Long readLag(Statement statement) throws SQLException {
+        ResultSet status;
+        String column;
+        try {
+            status = statement.executeQuery("SHOW REPLICA STATUS");
+            column = "Seconds_Behind_Source";
+        } catch (SQLException e) {
+            // MySQL before 8.0.22
+            status = statement.executeQuery("SHOW SLAVE STATUS");
+            column = "Seconds_Behind_Master";
+        }
+
+        try (ResultSet rs = status) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+}
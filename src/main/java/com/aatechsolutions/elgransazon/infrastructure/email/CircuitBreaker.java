@@ -0,0 +1,72 @@
+package com.aatechsolutions.elgransazon.infrastructure.email;
+
+/**
+ * Minimal circuit breaker for the email transport.
+ *
+ * CLOSED: requests go through; after {@code failureThreshold} consecutive failures it opens.
+ * OPEN: requests are refused until {@code openMillis} have passed.
+ * HALF_OPEN: a single trial request is let through; success closes the circuit, failure opens it again.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Check if a request may be sent now (reserves the trial request when half-open)
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * @return true if this failure opened the circuit
+     */
+    synchronized boolean recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            boolean opened = state != State.OPEN;
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialInFlight = false;
+            return opened;
+        }
+        return false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,209 @@
+package com.aatechsolutions.elgransazon.infrastructure.email;
+
+import com.aatechsolutions.elgransazon.application.service.EmailOutboxService;
+import com.aatechsolutions.elgransazon.application.service.EmailTransport;
+import com.aatechsolutions.elgransazon.application.service.EmailTransportException;
+import com.aatechsolutions.elgransazon.domain.entity.EmailOutbox;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background dispatcher of the email outbox.
+ *
+ * Due emails are claimed in small batches and delivered by a bounded worker pool
+ * (mail.outbox.workers), never by request threads. Polling runs every
+ * mail.outbox.poll-interval-ms and right after a transaction that enqueued an email commits.
+ * Consecutive transport failures open a circuit breaker: while open, nothing is claimed,
+ * so pending emails wait instead of burning their retry attempts.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    /**
+     * Emails left in SENDING longer than this are considered interrupted and retried
+     */
+    private static final long STALE_CLAIM_MINUTES = 10;
+
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTransport transport;
+    private final CircuitBreaker circuitBreaker;
+    private final int batchSize;
+
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService poller;
+    private final Semaphore inFlight;
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 EmailTransport transport,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${mail.outbox.workers:4}") int workerCount,
+                                 @Value("${mail.outbox.batch-size:20}") int batchSize,
+                                 @Value("${mail.outbox.breaker.failure-threshold:5}") int failureThreshold,
+                                 @Value("${mail.outbox.breaker.open-seconds:60}") long openSeconds) {
+        this.emailOutboxService = emailOutboxService;
+        this.transport = transport;
+        this.batchSize = batchSize;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+        this.poller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // At most one claimed email per worker plus one batch waiting
+        this.inFlight = new Semaphore(workerCount + batchSize);
+
+        this.sentCounter = Counter.builder("mail.outbox.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.outbox.failed.attempts").register(meterRegistry);
+        Gauge.builder("mail.outbox.in_flight", inFlight, permits -> workerCount + batchSize - permits.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.circuit.open", circuitBreaker,
+                        breaker -> breaker.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .register(meterRegistry);
+
+        log.info("Email outbox dispatcher started with transport {} ({} workers)", transport.getName(), workerCount);
+    }
+
+    /**
+     * Deliver a newly enqueued email as soon as its transaction commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEmailEnqueued(EmailOutboxService.EmailEnqueuedEvent event) {
+        requestPoll();
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        requestPoll();
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.stale-check-interval-ms:300000}")
+    public void releaseStaleClaims() {
+        try {
+            emailOutboxService.releaseStale(LocalDateTime.now().minusMinutes(STALE_CLAIM_MINUTES));
+        } catch (Exception e) {
+            log.error("Error releasing stale email claims: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Run a poll on the poller thread; requests made while one is pending are coalesced
+     */
+    private void requestPoll() {
+        if (pollRequested.compareAndSet(false, true)) {
+            poller.execute(() -> {
+                pollRequested.set(false);
+                dispatchDue();
+            });
+        }
+    }
+
+    private void dispatchDue() {
+        try {
+            while (circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+                // While half-open only the trial email is claimed
+                int capacity = circuitBreaker.getState() == CircuitBreaker.State.CLOSED
+                        ? Math.min(batchSize, inFlight.availablePermits())
+                        : Math.min(1, inFlight.availablePermits());
+                if (capacity == 0) {
+                    return;
+                }
+
+                List<EmailOutbox> claimed = emailOutboxService.claimDue(capacity);
+                for (EmailOutbox email : claimed) {
+                    inFlight.acquireUninterruptibly();
+                    workers.execute(() -> {
+                        try {
+                            deliver(email);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+
+                if (claimed.size() < capacity || circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error dispatching email outbox: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(EmailOutbox email) {
+        if (!circuitBreaker.tryAcquire()) {
+            // Not attempted: release the claim without spending one of its retries
+            emailOutboxService.releaseUnattempted(email.getIdEmail());
+            return;
+        }
+
+        try {
+            transport.send(email.getToEmail(), email.getSubject(), email.getHtmlBody());
+            circuitBreaker.recordSuccess();
+            sentCounter.increment();
+            emailOutboxService.markSent(email.getIdEmail());
+
+        } catch (EmailTransportException e) {
+            failedCounter.increment();
+            // Only transient failures say something about the transport's health
+            if (e.isRetryable() && circuitBreaker.recordFailure()) {
+                log.error("Email transport {} failing repeatedly, pausing deliveries", transport.getName());
+            } else if (!e.isRetryable()) {
+                circuitBreaker.recordSuccess();
+            }
+            emailOutboxService.markFailed(email.getIdEmail(), e.getMessage(), e.isRetryable());
+
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("Unexpected error delivering email {}", email.getIdEmail(), e);
+            emailOutboxService.markFailed(email.getIdEmail(), e.getMessage(), true);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                // Claimed emails not finished are released by the stale-claim check on next start
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.aatechsolutions.elgransazon.infrastructure.email;
+
+import com.aatechsolutions.elgransazon.application.service.EmailTransport;
+import com.aatechsolutions.elgransazon.application.service.EmailTransportException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline email transport (mail.transport=log): logs every email and, if
+ * mail.transport.log.directory is set, writes its HTML to a file there.
+ * Useful for development and tests without SendGrid credentials.
+ */
+@Component
+@ConditionalOnProperty(name = "mail.transport", havingValue = "log")
+@Slf4j
+public class LogEmailTransport implements EmailTransport {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final String directory;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LogEmailTransport(@Value("${mail.transport.log.directory:}") String directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void send(String toEmail, String subject, String htmlBody) throws EmailTransportException {
+        log.info("[{}] Email to: {} - Subject: {}", getName(), toEmail, subject);
+
+        if (directory == null || directory.isBlank()) {
+            log.debug("[{}] Body:\n{}", getName(), htmlBody);
+            return;
+        }
+
+        try {
+            Path dir = Files.createDirectories(Path.of(directory));
+            Path file = dir.resolve(String.format("%s-%04d-%s.html",
+                    LocalDateTime.now().format(FILE_TIMESTAMP),
+                    sequence.incrementAndGet(),
+                    toEmail.replaceAll("[^A-Za-z0-9@._-]", "_")));
+            Files.writeString(file, htmlBody, StandardCharsets.UTF_8);
+            log.info("[{}] Email written to {}", getName(), file.toAbsolutePath());
+        } catch (IOException e) {
+            throw new EmailTransportException("No se pudo escribir el email en " + directory, e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "LogTransport";
+    }
+}
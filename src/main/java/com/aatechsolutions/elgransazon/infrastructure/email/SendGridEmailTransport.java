@@ -0,0 +1,68 @@
+package com.aatechsolutions.elgransazon.infrastructure.email;
+
+import com.aatechsolutions.elgransazon.application.service.EmailTransport;
+import com.aatechsolutions.elgransazon.application.service.EmailTransportException;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Email transport using SendGrid.
+ * A single SendGrid client (and its pooled HTTP client) is reused for every email.
+ */
+@Component
+@ConditionalOnProperty(name = "mail.transport", havingValue = "sendgrid", matchIfMissing = true)
+@Slf4j
+public class SendGridEmailTransport implements EmailTransport {
+
+    private final SendGrid sendGrid;
+    private final Email from;
+
+    public SendGridEmailTransport(@Value("${spring.email.password}") String sendGridApiKey,
+                                  @Value("${mail.from.email}") String fromEmail,
+                                  @Value("${mail.from.name}") String fromName) {
+        this.sendGrid = new SendGrid(sendGridApiKey);
+        this.from = new Email(fromEmail, fromName);
+    }
+
+    @Override
+    public void send(String toEmail, String subject, String htmlBody) throws EmailTransportException {
+        Mail mail = new Mail(from, subject, new Email(toEmail), new Content("text/html", htmlBody));
+        Request request = new Request();
+
+        try {
+            request.setMethod(Method.POST);
+            request.setEndpoint("mail/send");
+            request.setBody(mail.build());
+            Response response = sendGrid.api(request);
+
+            log.debug("SendGrid Response Status: {}", response.getStatusCode());
+
+            int status = response.getStatusCode();
+            if (status >= 400) {
+                log.error("Error sending email. Status: {}, Body: {}", status, response.getBody());
+                // Rate limiting and server errors are transient, other client errors are not
+                boolean retryable = status == 429 || status >= 500;
+                throw new EmailTransportException("SendGrid respondió con status " + status, retryable);
+            }
+
+        } catch (IOException e) {
+            throw new EmailTransportException("Error al enviar email a través de SendGrid", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "SendGrid";
+    }
+}
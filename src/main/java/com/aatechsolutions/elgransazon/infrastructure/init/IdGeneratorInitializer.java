@@ -0,0 +1,58 @@
+package com.aatechsolutions.elgransazon.infrastructure.init;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ID Generator Initializer
+ * Moves the table-based ID generators (id_generators) past the IDs already stored,
+ * so entities that used AUTO_INCREMENT before keep getting unique IDs
+ * Runs once all singletons (including the EntityManagerFactory and its schema update) are created,
+ * before the web server and the scheduled jobs start, so no insert can take an ID from an unseeded generator
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer implements SmartInitializingSingleton {
+
+    /**
+     * Must match the allocationSize of the @TableGenerator mappings
+     */
+    private static final int ALLOCATION_SIZE = 50;
+
+    private record Generator(String name, String table, String idColumn) {
+    }
+
+    // Generator name (pkColumnValue) -> table and ID column it generates for
+    private static final List<Generator> GENERATORS = List.of(
+            new Generator("order_details", "order_details", "id_order_detail"),
+            new Generator("ingredient_stock_history", "ingredient_stock_history", "id"),
+            new Generator("employee_shift_history", "employee_shift_history", "id"),
+            new Generator("license_events", "license_events", "id"),
+            new Generator("ingredient_movements", "ingredient_movements", "id_movement")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (Generator generator : GENERATORS) {
+            try {
+                // The pooled optimizer hands out (value - allocationSize, value]; keep that range above MAX(id).
+                // GREATEST never moves a generator backwards.
+                jdbcTemplate.update("INSERT INTO id_generators (gen_name, gen_value) "
+                        + "SELECT ?, COALESCE(MAX(" + generator.idColumn() + "), 0) + ? FROM " + generator.table()
+                        + " ON DUPLICATE KEY UPDATE gen_value = GREATEST(gen_value, VALUES(gen_value))",
+                        generator.name(), ALLOCATION_SIZE + 1);
+            } catch (Exception e) {
+                log.error("Could not initialize ID generator {}: {}", generator.name(), e.getMessage());
+            }
+        }
+        log.debug("ID generators initialized: {}", GENERATORS.size());
+    }
+}
@@ -0,0 +1,59 @@
+package com.aatechsolutions.elgransazon.infrastructure.init;
+
+import com.aatechsolutions.elgransazon.application.service.StartupBackfill;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Startup Backfill Initializer
+ * Runs every {@link StartupBackfill} that is not recorded in backfill_markers yet
+ * Runs once all singletons (including the EntityManagerFactory and its schema update) are created,
+ * before the web server and the scheduled jobs start, so a rebuild never races live writes
+ * The marker is inserted in the transaction of the rebuild: another instance starting at the same
+ * time waits on it and skips the backfill, and a failed rebuild leaves no marker and is retried
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StartupBackfillInitializer implements SmartInitializingSingleton {
+
+    private final List<StartupBackfill> backfills;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS backfill_markers ("
+                    + "name VARCHAR(100) NOT NULL PRIMARY KEY, completed_at DATETIME NOT NULL"
+                    + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+        } catch (Exception e) {
+            log.error("Could not create the backfill markers table: {}", e.getMessage());
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (StartupBackfill backfill : backfills) {
+            String name = backfill.getBackfillName();
+            try {
+                Integer rows = transactionTemplate.execute(status -> {
+                    int claimed = jdbcTemplate.update(
+                            "INSERT IGNORE INTO backfill_markers (name, completed_at) VALUES (?, NOW())", name);
+                    return claimed > 0 ? backfill.backfill() : null;
+                });
+                if (rows != null) {
+                    log.info("Backfill {} completed: {} rows written", name, rows);
+                }
+            } catch (Exception e) {
+                log.error("Could not run backfill {}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
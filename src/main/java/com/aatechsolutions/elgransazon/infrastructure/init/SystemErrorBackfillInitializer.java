@@ -0,0 +1,34 @@
+package com.aatechsolutions.elgransazon.infrastructure.init;
+
+import com.aatechsolutions.elgransazon.application.service.SystemErrorRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * System Error Backfill Initializer
+ * Fills last_seen_at and occurrence_count of the system errors recorded before
+ * errors were grouped by fingerprint (the columns are added empty by ddl-auto)
+ */
+@Component
+@Order(6)
+@RequiredArgsConstructor
+@Slf4j
+public class SystemErrorBackfillInitializer implements CommandLineRunner {
+
+    private final SystemErrorRecorder systemErrorRecorder;
+
+    @Override
+    public void run(String... args) {
+        try {
+            int rows = systemErrorRecorder.backfillLegacyRows();
+            if (rows > 0) {
+                log.info("System errors backfilled: {} rows given last seen and occurrence count", rows);
+            }
+        } catch (Exception e) {
+            log.error("Could not backfill system errors: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.aatechsolutions.elgransazon.infrastructure.scheduler;
+
+import com.aatechsolutions.elgransazon.application.service.EmailOutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled job to delete sent and permanently failed emails from the outbox
+ * Runs every hour by default (mail.outbox.cleanup-interval-ms)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxCleanupJob {
+
+    private final EmailOutboxService emailOutboxService;
+
+    @Value("${mail.outbox.cleanup-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Upper bound of batches per run, the rest is picked up by the next run
+     */
+    @Value("${mail.outbox.cleanup-max-batches:100}")
+    private int maxBatches;
+
+    /**
+     * Finished emails are kept this long for troubleshooting deliveries
+     */
+    @Value("${mail.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${mail.outbox.cleanup-interval-ms:3600000}",
+               initialDelayString = "${mail.outbox.cleanup-initial-delay-ms:120000}")
+    public void purgeFinishedEmails() {
+        LocalDateTime createdBefore = LocalDateTime.now().minusDays(retentionDays);
+
+        int total = 0;
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                int deleted = emailOutboxService.purgeFinished(createdBefore, batchSize);
+                total += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error deleting finished outbox emails (deleted {} before the error): {}", total, e.getMessage());
+        }
+
+        if (total > 0) {
+            log.info("Email outbox cleanup: {} sent or failed emails deleted", total);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.aatechsolutions.elgransazon.infrastructure.scheduler;
+
+import com.aatechsolutions.elgransazon.application.service.TokenCleanupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+/**
+ * Scheduled job to delete expired email verification tokens and expired or used password reset tokens
+ * Runs every hour by default (security.tokens.cleanup-interval-ms)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExpiredTokenCleanupJob {
+
+    private final TokenCleanupService tokenCleanupService;
+
+    @Value("${security.tokens.cleanup-batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Upper bound of batches per token type and run, the rest is picked up by the next run
+     */
+    @Value("${security.tokens.cleanup-max-batches:100}")
+    private int maxBatches;
+
+    /**
+     * Expired tokens are kept this long so a late click still gets the "expired" message
+     */
+    @Value("${security.tokens.cleanup-grace-hours:24}")
+    private int graceHours;
+
+    @Scheduled(fixedDelayString = "${security.tokens.cleanup-interval-ms:3600000}",
+               initialDelayString = "${security.tokens.cleanup-initial-delay-ms:60000}")
+    public void purgeTokens() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minusHours(graceHours);
+
+        int verification = purge("email verification (expired)",
+                () -> tokenCleanupService.purgeExpiredVerificationTokens(expiredBefore, batchSize));
+        int resetExpired = purge("password reset (expired)",
+                () -> tokenCleanupService.purgeExpiredPasswordResetTokens(expiredBefore, batchSize));
+        int resetUsed = purge("password reset (used)",
+                () -> tokenCleanupService.purgeUsedPasswordResetTokens(batchSize));
+
+        if (verification + resetExpired + resetUsed > 0) {
+            log.info("Token cleanup: {} email verification, {} expired and {} used password reset tokens deleted",
+                    verification, resetExpired, resetUsed);
+        }
+    }
+
+    /**
+     * Run batches until one deletes less than a full batch, or the batch limit is reached
+     */
+    private int purge(String description, IntSupplier batch) {
+        int total = 0;
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                int deleted = batch.getAsInt();
+                total += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error deleting {} tokens (deleted {} before the error): {}", description, total, e.getMessage());
+        }
+        return total;
+    }
+}
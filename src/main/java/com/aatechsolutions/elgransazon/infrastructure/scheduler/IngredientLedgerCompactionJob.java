@@ -0,0 +1,54 @@
+package com.aatechsolutions.elgransazon.infrastructure.scheduler;
+
+import com.aatechsolutions.elgransazon.application.service.IngredientLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Scheduled job to fold the ingredient movement ledger into per-ingredient snapshots
+ * Runs every 5 minutes by default (inventory.ledger.compaction-interval-ms)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IngredientLedgerCompactionJob {
+
+    private final IngredientLedgerService ingredientLedgerService;
+
+    /**
+     * Movements younger than this are left in the tail (their transactions may still be open)
+     */
+    @Value("${inventory.ledger.safety-window-seconds:60}")
+    private long safetyWindowSeconds;
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.compaction-interval-ms:300000}",
+               initialDelayString = "${inventory.ledger.compaction-initial-delay-ms:60000}")
+    public void compactLedger() {
+        Long watermark = ingredientLedgerService
+                .findCompactionWatermark(LocalDateTime.now().minusSeconds(safetyWindowSeconds))
+                .orElse(0L);
+
+        // Only ingredients never compacted or with movements after their snapshot
+        List<Long> ingredientIds = ingredientLedgerService.findIngredientsToCompact(watermark);
+        int failed = 0;
+
+        // One transaction per ingredient so a failure does not roll back the others
+        for (Long ingredientId : ingredientIds) {
+            try {
+                ingredientLedgerService.compactIngredient(ingredientId, watermark);
+            } catch (Exception e) {
+                failed++;
+                log.error("Error compacting ledger of ingredient {}: {}", ingredientId, e.getMessage());
+            }
+        }
+
+        log.debug("Ingredient ledger compacted up to movement {} ({} ingredients, {} failed)",
+                watermark, ingredientIds.size(), failed);
+    }
+}
@@ -0,0 +1,38 @@
+package com.aatechsolutions.elgransazon.infrastructure.scheduler;
+
+import com.aatechsolutions.elgransazon.application.service.LastAccessRecorder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job to write the last access timestamps recorded at login
+ * Runs every 5 seconds by default (security.last-access.flush-interval-ms)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastAccessFlushJob {
+
+    private final LastAccessRecorder lastAccessRecorder;
+
+    @Scheduled(fixedDelayString = "${security.last-access.flush-interval-ms:5000}")
+    public void flushLastAccess() {
+        try {
+            lastAccessRecorder.flush();
+        } catch (Exception e) {
+            // Pending timestamps are kept and retried on the next run
+            log.error("Error flushing last access timestamps: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write what's pending before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushLastAccess();
+    }
+}
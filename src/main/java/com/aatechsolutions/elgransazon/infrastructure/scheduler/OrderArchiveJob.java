@@ -0,0 +1,66 @@
+package com.aatechsolutions.elgransazon.infrastructure.scheduler;
+
+import com.aatechsolutions.elgransazon.application.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Scheduled job to move finished orders older than the retention period to the archive tables
+ * Runs every day at 3:30 AM by default (orders.archive.cron)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiveJob {
+
+    private final OrderArchiveService orderArchiveService;
+
+    @Value("${orders.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${orders.archive.retention-days:180}")
+    private int retentionDays;
+
+    @Value("${orders.archive.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Upper bound of batches per run, so a first run on a large table is spread over several nights
+     */
+    @Value("${orders.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${orders.archive.cron:0 30 3 * * *}")
+    public void archiveOldOrders() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        int archived = 0;
+
+        try {
+            orderArchiveService.prepareArchiveTables();
+
+            // One transaction per batch keeps locks short
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int moved = orderArchiveService.archiveBatch(cutoff, batchSize);
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error archiving orders (archived {} before the error): {}", archived, e.getMessage());
+            return;
+        }
+
+        log.info("Order archive: {} orders created before {} moved to the archive", archived, cutoff.toLocalDate());
+    }
+}
@@ -0,0 +1,38 @@
+package com.aatechsolutions.elgransazon.infrastructure.scheduler;
+
+import com.aatechsolutions.elgransazon.application.service.SystemErrorRecorder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job to write the system errors captured since the last run
+ * Runs every 10 seconds by default (system-errors.flush-interval-ms)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SystemErrorFlushJob {
+
+    private final SystemErrorRecorder systemErrorRecorder;
+
+    @Scheduled(fixedDelayString = "${system-errors.flush-interval-ms:10000}")
+    public void flushErrors() {
+        try {
+            systemErrorRecorder.flush();
+        } catch (Exception e) {
+            // Pending errors are kept and retried on the next run
+            log.error("Error flushing system errors: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write what's pending before the application stops
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushErrors();
+    }
+}
@@ -0,0 +1,71 @@
+package com.aatechsolutions.elgransazon.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordEncoder decorator that caps how many hashes are computed at the same time.
+ *
+ * BCrypt is CPU-bound by design; during a login burst (e.g. shift start) unbounded checks
+ * would take every core and slow down order taking. Callers beyond the limit wait up to
+ * {@code maxWaitMillis} for a slot and then fail the login as a service error.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+    private final long maxWaitMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrentHashes, long maxWaitMillis) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(Math.max(1, maxConcurrentHashes), true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        acquire();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        acquire();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only parses the hash prefix, no hashing involved
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Password hashing saturated, rejecting request after waiting {} ms", maxWaitMillis);
+                throw new AuthenticationServiceException("Servidor ocupado, intenta de nuevo en unos segundos");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Verificación de contraseña interrumpida", e);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.aatechsolutions.elgransazon.infrastructure.security;
 
 import com.aatechsolutions.elgransazon.application.service.CustomerService;
-import com.aatechsolutions.elgransazon.application.service.EmployeeService;
 import com.aatechsolutions.elgransazon.application.service.EmailVerificationService;
+import com.aatechsolutions.elgransazon.application.service.LastAccessRecorder;
 import com.aatechsolutions.elgransazon.domain.entity.Customer;
 import com.aatechsolutions.elgransazon.domain.entity.Role;
 import jakarta.servlet.ServletException;
@@ -27,16 +27,16 @@ import java.util.Collection;
 @Slf4j
 public class CustomAuthenticationSuccessHandler implements AuthenticationSuccessHandler {
 
-    private final EmployeeService employeeService;
     private final CustomerService customerService;
     private final EmailVerificationService emailVerificationService;
+    private final LastAccessRecorder lastAccessRecorder;
     
-    public CustomAuthenticationSuccessHandler(@Lazy EmployeeService employeeService,
-                                             @Lazy CustomerService customerService,
-                                             @Lazy EmailVerificationService emailVerificationService) {
-        this.employeeService = employeeService;
+    public CustomAuthenticationSuccessHandler(@Lazy CustomerService customerService,
+                                             @Lazy EmailVerificationService emailVerificationService,
+                                             @Lazy LastAccessRecorder lastAccessRecorder) {
         this.customerService = customerService;
         this.emailVerificationService = emailVerificationService;
+        this.lastAccessRecorder = lastAccessRecorder;
     }
 
     @Override
@@ -101,16 +101,16 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
                     return;
                 }
                 
-                // Update last access asynchronously (don't wait for it)
-                updateLastAccessAsync(username, true);
+                // Record last access (written in batch by LastAccessFlushJob)
+                lastAccessRecorder.recordCustomerAccess(username);
                 
             } catch (Exception e) {
                 log.error("Error checking email verification for customer {}", username, e);
                 // Continue with normal flow if check fails
             }
         } else {
-            // Update last access asynchronously for employees
-            updateLastAccessAsync(username, false);
+            // Record last access for employees (written in batch by LastAccessFlushJob)
+            lastAccessRecorder.recordEmployeeAccess(username);
         }
         
         String targetUrl = determineTargetUrl(authentication);
@@ -119,26 +119,6 @@ public class CustomAuthenticationSuccessHandler implements AuthenticationSuccess
         response.sendRedirect(targetUrl);
     }
     
-    /**
-     * Update last access timestamp asynchronously to avoid blocking login
-     */
-    private void updateLastAccessAsync(String username, boolean isCustomer) {
-        // Run in a separate thread to not block the response
-        new Thread(() -> {
-            try {
-                if (isCustomer) {
-                    customerService.updateLastAccess(username);
-                    log.debug("Updated last access for customer {}", username);
-                } else {
-                    employeeService.updateLastAccess(username);
-                    log.debug("Updated last access for employee {}", username);
-                }
-            } catch (Exception e) {
-                log.error("Error updating last access for user {}", username, e);
-            }
-        }).start();
-    }
-
     /**
      * Determine the target URL based on user's roles
      * Priority: CLIENT > ADMIN > MANAGER > CHEF > BARISTA > WAITER > CASHIER > DELIVERY > default
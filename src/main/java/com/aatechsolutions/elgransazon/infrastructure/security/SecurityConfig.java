@@ -1,6 +1,7 @@
 package com.aatechsolutions.elgransazon.infrastructure.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,10 +13,13 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 /**
  * Spring Security configuration for stateful session management
  * Configures authentication, authorization, and session handling
@@ -35,10 +39,25 @@ public class SecurityConfig {
 
     /**
      * Password encoder bean using BCrypt
+     * New hashes are written as {bcrypt} with the configured cost; stored hashes without
+     * prefix (SQL scripts, older rows) are still verified as BCrypt and rehashed at the next
+     * successful login (see CustomUserDetailsService.updatePassword).
+     * Concurrent hash computations are capped so login bursts can't starve other requests.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:10}") int bcryptStrength,
+            @Value("${security.password.max-concurrent-hashes:0}") int maxConcurrentHashes,
+            @Value("${security.password.max-wait-ms:5000}") long maxWaitMillis) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        // 0 = half of the available cores
+        int limit = maxConcurrentHashes > 0
+                ? maxConcurrentHashes
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(delegating, limit, maxWaitMillis);
     }
 
     /**
@@ -71,6 +90,7 @@ public class SecurityConfig {
                                 "/supportClient", "/error", "/errores/**", "/css/**", "/js/**", 
                                 "/images/**", "/promotions/**", "/license-expired").permitAll()
                         .requestMatchers("/programmer/**").hasRole("PROGRAMMER")
+                        .requestMatchers("/actuator/**").hasRole("PROGRAMMER")
                         .requestMatchers("/admin/**").hasAnyRole("ADMIN", "MANAGER")
                         .requestMatchers("/waiter/**").hasRole("WAITER")
                         .requestMatchers("/chef/**").hasAnyRole("CHEF", "BARISTA")
@@ -41,6 +41,7 @@ public class CashierController {
     private final PromotionService promotionService;
     private final BusinessHoursService businessHoursService;
     private final WebSocketNotificationService wsNotificationService;
+    private final CashierShiftService cashierShiftService;
 
     public CashierController(
             @Qualifier("cashierOrderService") CashierOrderServiceImpl cashierOrderService,
@@ -53,7 +54,8 @@ public class CashierController {
             com.aatechsolutions.elgransazon.domain.repository.OrderRepository orderRepository,
             PromotionService promotionService,
             BusinessHoursService businessHoursService,
-            WebSocketNotificationService wsNotificationService) {
+            WebSocketNotificationService wsNotificationService,
+            CashierShiftService cashierShiftService) {
         this.cashierOrderService = cashierOrderService;
         this.adminOrderService = adminOrderService;
         this.restaurantTableService = restaurantTableService;
@@ -65,6 +67,7 @@ public class CashierController {
         this.promotionService = promotionService;
         this.businessHoursService = businessHoursService;
         this.wsNotificationService = wsNotificationService;
+        this.cashierShiftService = cashierShiftService;
     }
 
     /**
@@ -211,13 +214,10 @@ public class CashierController {
             .count();
         
         // Revenue: All orders PAID today where paidBy = current cashier (regardless of who created them)
-        // Only counts order total, NOT including tips
-        BigDecimal myTodayRevenue = adminOrderService.findAll().stream()
-            .filter(o -> o.getStatus() == OrderStatus.PAID)
-            .filter(o -> o.getPaidBy() != null && o.getPaidBy().getUsername().equals(username))
-            .filter(o -> o.getCreatedAt().toLocalDate().equals(java.time.LocalDate.now()))
-            .map(Order::getTotal) // Only order total, NO tip
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Only counts order total, NOT including tips - read from the shift tally
+        BigDecimal myTodayRevenue = employeeService.findByUsername(username)
+            .map(employee -> cashierShiftService.getToday(employee.getIdEmpleado()).totals().ordersTotal())
+            .orElse(BigDecimal.ZERO);
         
         long myPendingCount = myOrders.stream()
             .filter(o -> o.getStatus() == OrderStatus.PENDING)
@@ -1117,66 +1117,28 @@ public class CashierController {
             Employee employee = employeeService.findByUsername(username)
                     .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
             
-            // Get all orders collected by this cashier (PAID orders where paidBy = current cashier)
-            List<Order> collectedOrders = orderRepository.findAll().stream()
-                    .filter(order -> order.getStatus() == OrderStatus.PAID)
-                    .filter(order -> order.getPaidBy() != null && order.getPaidBy().getIdEmpleado().equals(employee.getIdEmpleado()))
-                    .toList();
-            
-            // Get today's date
+            // Totals of the orders collected by this cashier (paidBy = current cashier), from the shift tally
+            Long employeeId = employee.getIdEmpleado();
             java.time.LocalDate today = java.time.LocalDate.now();
-            java.time.LocalDateTime startOfDay = today.atStartOfDay();
-            java.time.LocalDateTime endOfDay = today.atTime(java.time.LocalTime.MAX);
-            
-            // Today's collected orders
-            List<Order> todaysCollectedOrders = collectedOrders.stream()
-                    .filter(order -> {
-                        java.time.LocalDateTime paidAt = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
-                        return paidAt.isAfter(startOfDay) && paidAt.isBefore(endOfDay);
-                    })
-                    .toList();
+            CashierShiftService.ShiftSummary todayShift = cashierShiftService.getToday(employeeId);
+            OrderTotals todayTotals = todayShift.totals();
+            OrderTotals allTimeTotals = cashierShiftService.getAllTime(employeeId).totals();
             
-            // Calculate statistics
-            // Total collected revenue (only order total, not tips)
-            BigDecimal totalRevenue = collectedOrders.stream()
-                    .map(Order::getTotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Today's collected revenue
-            BigDecimal todayRevenue = todaysCollectedOrders.stream()
-                    .map(Order::getTotal)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Total tips collected
-            BigDecimal totalTips = collectedOrders.stream()
-                    .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Today's tips
-            BigDecimal todayTips = todaysCollectedOrders.stream()
-                    .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Calculate statistics (revenue is only order total, not tips)
+            BigDecimal totalRevenue = allTimeTotals.ordersTotal();
+            BigDecimal todayRevenue = todayTotals.ordersTotal();
+            BigDecimal totalTips = allTimeTotals.tips();
+            BigDecimal todayTips = todayTotals.tips();
             
             // Average values
-            BigDecimal averageOrderValue = collectedOrders.size() > 0
-                    ? totalRevenue.divide(BigDecimal.valueOf(collectedOrders.size()), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            
-            BigDecimal todayAverageOrderValue = todaysCollectedOrders.size() > 0
-                    ? todayRevenue.divide(BigDecimal.valueOf(todaysCollectedOrders.size()), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            
-            BigDecimal averageTip = collectedOrders.size() > 0
-                    ? totalTips.divide(BigDecimal.valueOf(collectedOrders.size()), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            
-            BigDecimal todayAverageTip = todaysCollectedOrders.size() > 0
-                    ? todayTips.divide(BigDecimal.valueOf(todaysCollectedOrders.size()), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
+            BigDecimal averageOrderValue = allTimeTotals.getAverageTotal();
+            BigDecimal todayAverageOrderValue = todayTotals.getAverageTotal();
+            BigDecimal averageTip = allTimeTotals.getAverageTip();
+            BigDecimal todayAverageTip = todayTotals.getAverageTip();
             
             // Order counts
-            int totalOrders = collectedOrders.size();
-            int todayOrders = todaysCollectedOrders.size();
+            int totalOrders = (int) allTimeTotals.orders();
+            int todayOrders = (int) todayTotals.orders();
             
             // Last 7 days data
             List<String> last7DaysLabels = new ArrayList<>();
@@ -1186,31 +1148,12 @@ public class CashierController {
             
             java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM");
             
-            for (int i = 6; i >= 0; i--) {
-                java.time.LocalDate date = today.minusDays(i);
-                java.time.LocalDateTime dayStart = date.atStartOfDay();
-                java.time.LocalDateTime dayEnd = date.atTime(java.time.LocalTime.MAX);
-                
-                List<Order> dayOrders = collectedOrders.stream()
-                        .filter(order -> {
-                            java.time.LocalDateTime paidAt = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
-                            return paidAt.isAfter(dayStart) && paidAt.isBefore(dayEnd);
-                        })
-                        .toList();
-                
+            cashierShiftService.getDaily(employeeId, today.minusDays(6), today).forEach((date, day) -> {
                 last7DaysLabels.add(date.format(formatter));
-                last7DaysOrdersData.add((long) dayOrders.size());
-                
-                BigDecimal dayRevenue = dayOrders.stream()
-                        .map(Order::getTotal)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                last7DaysRevenueData.add(dayRevenue);
-                
-                BigDecimal dayTips = dayOrders.stream()
-                        .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                last7DaysTipsData.add(dayTips);
-            }
+                last7DaysOrdersData.add(day.orders());
+                last7DaysRevenueData.add(day.ordersTotal());
+                last7DaysTipsData.add(day.tips());
+            });
             
             // Add all attributes to model
             model.addAttribute("employee", employee);
@@ -1225,6 +1168,9 @@ public class CashierController {
             model.addAttribute("averageTip", averageTip);
             model.addAttribute("todayAverageTip", todayAverageTip);
             
+            // End-of-shift close-out: today's collections per payment method
+            model.addAttribute("todayShift", todayShift);
+            
             // Chart data
             model.addAttribute("last7DaysLabels", last7DaysLabels);
             model.addAttribute("last7DaysOrdersData", last7DaysOrdersData);
@@ -43,6 +43,7 @@ public class ClientController {
     private final TicketPdfService ticketPdfService;
     private final BusinessHoursService businessHoursService;
     private final CustomerAddressService customerAddressService;
+    private final DeliveryZoneService deliveryZoneService;
 
     public ClientController(
             @Qualifier("customerOrderService") OrderService orderService,
@@ -55,7 +56,8 @@ public class ClientController {
             PasswordEncoder passwordEncoder,
             TicketPdfService ticketPdfService,
             BusinessHoursService businessHoursService,
-            CustomerAddressService customerAddressService) {
+            CustomerAddressService customerAddressService,
+            DeliveryZoneService deliveryZoneService) {
         this.orderService = orderService;
         this.itemMenuService = itemMenuService;
         this.categoryService = categoryService;
@@ -67,6 +69,7 @@ public class ClientController {
         this.ticketPdfService = ticketPdfService;
         this.businessHoursService = businessHoursService;
         this.customerAddressService = customerAddressService;
+        this.deliveryZoneService = deliveryZoneService;
     }
 
     /**
@@ -1392,6 +1395,31 @@ public class ClientController {
         }
     }
 
+    /**
+     * Check a map location against the delivery zones (AJAX)
+     * Returns the zone's delivery fee and estimated time so the map can show them before saving
+     */
+    @GetMapping("/delivery-zone")
+    @ResponseBody
+    public ResponseEntity<Map<String, Object>> checkDeliveryZone(@RequestParam Double latitude,
+                                                                 @RequestParam Double longitude) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            deliveryZoneService.validateDeliveryLocation(latitude, longitude).ifPresent(zone -> {
+                response.put("zone", zone.name());
+                response.put("deliveryFee", zone.deliveryFee());
+                response.put("estimatedMinutes", zone.estimatedMinutes());
+            });
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(Map.of(
+                    "success", false,
+                    "message", e.getMessage()
+            ));
+        }
+    }
+
     /**
      * Set an address as default (AJAX)
      */
@@ -1,7 +1,9 @@
 package com.aatechsolutions.elgransazon.presentation.controller;
 
+import com.aatechsolutions.elgransazon.application.service.SystemErrorRecorder;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.servlet.error.ErrorController;
 import org.springframework.http.HttpStatus;
@@ -14,9 +16,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
  * Replaces default Spring Boot error pages
  */
 @Controller
+@RequiredArgsConstructor
 @Slf4j
 public class CustomErrorController implements ErrorController {
 
+    private final SystemErrorRecorder systemErrorRecorder;
+
     /**
      * Main error handling method
      * Routes to specific error pages based on HTTP status code
@@ -51,7 +56,10 @@ public class CustomErrorController implements ErrorController {
                 // 408 - Request Timeout
                 return "errores/408";
             } else if (statusCode == HttpStatus.INTERNAL_SERVER_ERROR.value()) {
-                // 500 - Internal Server Error
+                // 500 - Internal Server Error (recorded for the programmer dashboard)
+                if (request.getAttribute(RequestDispatcher.ERROR_EXCEPTION) instanceof Throwable error) {
+                    systemErrorRecorder.capture(error);
+                }
                 return "errores/500";
             } else if (statusCode == HttpStatus.SERVICE_UNAVAILABLE.value()) {
                 // 503 - Service Unavailable
@@ -1,7 +1,11 @@
 package com.aatechsolutions.elgransazon.presentation.controller;
 
+import com.aatechsolutions.elgransazon.application.service.DeliveryDispatchService;
+import com.aatechsolutions.elgransazon.application.service.DeliveryEarningService;
 import com.aatechsolutions.elgransazon.application.service.EmployeeService;
+import com.aatechsolutions.elgransazon.application.service.OrderHistoryReader;
 import com.aatechsolutions.elgransazon.application.service.OrderService;
+import com.aatechsolutions.elgransazon.application.service.OrderTotals;
 import com.aatechsolutions.elgransazon.application.service.SystemConfigurationService;
 import com.aatechsolutions.elgransazon.domain.entity.Employee;
 import com.aatechsolutions.elgransazon.domain.entity.Order;
@@ -22,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,6 +44,9 @@ public class DeliveryController {
     private final OrderService deliveryOrderService;
     private final EmployeeService employeeService;
     private final SystemConfigurationService configurationService;
+    private final DeliveryDispatchService deliveryDispatchService;
+    private final DeliveryEarningService deliveryEarningService;
+    private final OrderHistoryReader orderHistoryReader;
 
     /**
      * Display delivery dashboard
@@ -64,7 +72,8 @@ public class DeliveryController {
 
     /**
      * Display pending deliveries (READY orders available to accept)
-     * Shows all READY DELIVERY orders that are available for any delivery person to accept
+     * Shows the run of READY DELIVERY orders offered to the current delivery person
+     * (all READY orders when dispatch is disabled)
      * 
      * Also shows ON_THE_WAY and DELIVERED orders that the current delivery person has accepted
      * 
@@ -80,8 +89,15 @@ public class DeliveryController {
         Employee currentEmployee = employeeService.findByUsername(username)
                 .orElseThrow(() -> new IllegalStateException("Empleado no encontrado"));
         
-        // Get READY orders (available to all delivery persons)
+        // Get READY orders (the run offered to this delivery person, or all of them)
         List<Order> readyOrders = deliveryOrderService.findByStatus(OrderStatus.READY);
+        if (deliveryDispatchService.isEnabled()) {
+            List<Long> offeredRun = deliveryDispatchService.getOfferedRun(currentEmployee.getIdEmpleado());
+            readyOrders = readyOrders.stream()
+                    .filter(order -> offeredRun.contains(order.getIdOrder()))
+                    .sorted(Comparator.comparingInt(order -> offeredRun.indexOf(order.getIdOrder())))
+                    .collect(Collectors.toList());
+        }
         
         // Get ON_THE_WAY orders accepted by current delivery person
         List<Order> onTheWayOrders = deliveryOrderService.findByStatus(OrderStatus.ON_THE_WAY).stream()
@@ -326,56 +342,20 @@ public class DeliveryController {
             Employee employee = employeeService.findByUsername(username)
                     .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
             
-            // Get all DELIVERY orders delivered by this employee with PAID status
-            List<Order> allPaidOrders = deliveryOrderService.findAll().stream()
-                    .filter(order -> order.getDeliveredBy() != null && 
-                                    order.getDeliveredBy().getIdEmpleado().equals(employee.getIdEmpleado()) &&
-                                    order.getStatus() == OrderStatus.PAID)
-                    .collect(Collectors.toList());
-            
-            // Calculate total tips (all time)
-            BigDecimal totalTips = allPaidOrders.stream()
-                    .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Get today's paid orders
-            java.time.LocalDateTime startOfDay = java.time.LocalDate.now().atStartOfDay();
-            java.time.LocalDateTime endOfDay = java.time.LocalDate.now().atTime(java.time.LocalTime.MAX);
-            
-            List<Order> todaysPaidOrders = allPaidOrders.stream()
-                    .filter(order -> {
-                        java.time.LocalDateTime createdAt = order.getCreatedAt();
-                        return createdAt != null && 
-                               !createdAt.isBefore(startOfDay) && 
-                               !createdAt.isAfter(endOfDay);
-                    })
-                    .collect(Collectors.toList());
-            
-            // Calculate today's tips
-            BigDecimal todayTips = todaysPaidOrders.stream()
-                    .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Additional statistics
-            int totalOrders = allPaidOrders.size();
-            int todayOrders = todaysPaidOrders.size();
-            
-            // Average tip per order
-            BigDecimal averageTip = totalOrders > 0 
-                    ? totalTips.divide(BigDecimal.valueOf(totalOrders), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            
-            BigDecimal todayAverageTip = todayOrders > 0
-                    ? todayTips.divide(BigDecimal.valueOf(todayOrders), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
+            // Paid deliveries from the earnings ledger rollups
+            OrderTotals today = deliveryEarningService.getToday(employee.getIdEmpleado());
+            OrderTotals week = deliveryEarningService.getThisWeek(employee.getIdEmpleado());
+            OrderTotals allTime = deliveryEarningService.getAllTime(employee.getIdEmpleado());
             
             model.addAttribute("employee", employee);
-            model.addAttribute("totalTips", totalTips);
-            model.addAttribute("todayTips", todayTips);
-            model.addAttribute("totalOrders", totalOrders);
-            model.addAttribute("todayOrders", todayOrders);
-            model.addAttribute("averageTip", averageTip);
-            model.addAttribute("todayAverageTip", todayAverageTip);
+            model.addAttribute("totalTips", allTime.tips());
+            model.addAttribute("todayTips", today.tips());
+            model.addAttribute("weekTips", week.tips());
+            model.addAttribute("totalOrders", allTime.orders());
+            model.addAttribute("todayOrders", today.orders());
+            model.addAttribute("weekOrders", week.orders());
+            model.addAttribute("averageTip", allTime.getAverageTip());
+            model.addAttribute("todayAverageTip", today.getAverageTip());
             
             return "delivery/tip/view";
             
@@ -430,151 +410,67 @@ public class DeliveryController {
             Employee employee = employeeService.findByUsername(username)
                     .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
             
-            // Get all DELIVERY orders delivered by this employee
-            List<Order> allOrders = deliveryOrderService.findAll().stream()
-                    .filter(order -> order.getDeliveredBy() != null && 
-                                    order.getDeliveredBy().getIdEmpleado().equals(employee.getIdEmpleado()))
-                    .collect(Collectors.toList());
-            
-            // Filter paid orders
-            List<Order> paidOrders = allOrders.stream()
-                    .filter(order -> order.getStatus() == OrderStatus.PAID)
-                    .collect(Collectors.toList());
-            
-            // Get today's date
+            Long employeeId = employee.getIdEmpleado();
             java.time.LocalDate today = java.time.LocalDate.now();
-            java.time.LocalDateTime startOfDay = today.atStartOfDay();
-            java.time.LocalDateTime endOfDay = today.atTime(java.time.LocalTime.MAX);
-            
-            // Today's orders
-            List<Order> todaysOrders = allOrders.stream()
-                    .filter(order -> {
-                        java.time.LocalDateTime createdAt = order.getCreatedAt();
-                        return createdAt != null && 
-                               !createdAt.isBefore(startOfDay) && 
-                               !createdAt.isAfter(endOfDay);
-                    })
-                    .collect(Collectors.toList());
-            
-            // Calculate statistics
-            // Total orders by status
-            long totalPending = allOrders.stream().filter(o -> o.getStatus() == OrderStatus.PENDING).count();
-            long totalInPreparation = allOrders.stream().filter(o -> o.getStatus() == OrderStatus.IN_PREPARATION).count();
-            long totalReady = allOrders.stream().filter(o -> o.getStatus() == OrderStatus.READY).count();
-            long totalDelivered = allOrders.stream().filter(o -> o.getStatus() == OrderStatus.DELIVERED).count();
-            long totalPaid = paidOrders.size();
-            long totalCancelled = allOrders.stream().filter(o -> o.getStatus() == OrderStatus.CANCELLED).count();
-            
-            // Today's orders by status
-            long todayPending = todaysOrders.stream().filter(o -> o.getStatus() == OrderStatus.PENDING).count();
-            long todayInPreparation = todaysOrders.stream().filter(o -> o.getStatus() == OrderStatus.IN_PREPARATION).count();
-            long todayReady = todaysOrders.stream().filter(o -> o.getStatus() == OrderStatus.READY).count();
-            long todayDelivered = todaysOrders.stream().filter(o -> o.getStatus() == OrderStatus.DELIVERED).count();
-            long todayPaid = todaysOrders.stream().filter(o -> o.getStatus() == OrderStatus.PAID).count();
-            long todayCancelled = todaysOrders.stream().filter(o -> o.getStatus() == OrderStatus.CANCELLED).count();
             
-            // Calculate revenue and tips
-            BigDecimal totalRevenue = paidOrders.stream()
-                    .map(order -> order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            BigDecimal totalTips = paidOrders.stream()
-                    .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            BigDecimal todayRevenue = todaysOrders.stream()
-                    .filter(o -> o.getStatus() == OrderStatus.PAID)
-                    .map(order -> order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            BigDecimal todayTips = todaysOrders.stream()
-                    .filter(o -> o.getStatus() == OrderStatus.PAID)
-                    .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
-            
-            // Last 7 days statistics
-            java.util.Map<String, Long> last7DaysOrders = new java.util.HashMap<>();
-            java.util.Map<String, BigDecimal> last7DaysRevenue = new java.util.HashMap<>();
-            java.util.Map<String, BigDecimal> last7DaysTips = new java.util.HashMap<>();
+            // Orders by status (all time and created today) and per creation day, hot and archived,
+            // aggregated in the database; revenue and tips are those of the PAID ones
+            java.util.Map<OrderStatus, OrderTotals> totalByStatus =
+                    orderHistoryReader.sumDeliveredByStatus(employeeId, null, null);
+            java.util.Map<OrderStatus, OrderTotals> todayByStatus = orderHistoryReader.sumDeliveredByStatus(
+                    employeeId, today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+            OrderTotals totalPaid = totalByStatus.getOrDefault(OrderStatus.PAID, OrderTotals.EMPTY);
+            OrderTotals todayPaid = todayByStatus.getOrDefault(OrderStatus.PAID, OrderTotals.EMPTY);
+            
+            // Last 7 days statistics (orders created per day)
+            List<String> last7DaysLabels = new java.util.ArrayList<>();
+            List<Long> last7DaysOrdersData = new java.util.ArrayList<>();
+            List<BigDecimal> last7DaysRevenueData = new java.util.ArrayList<>();
+            List<BigDecimal> last7DaysTipsData = new java.util.ArrayList<>();
             
             java.time.format.DateTimeFormatter formatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM");
             
-            for (int i = 6; i >= 0; i--) {
-                java.time.LocalDate date = today.minusDays(i);
-                java.time.LocalDateTime dayStart = date.atStartOfDay();
-                java.time.LocalDateTime dayEnd = date.atTime(java.time.LocalTime.MAX);
-                
-                String dateKey = date.format(formatter);
-                
-                List<Order> dayOrders = allOrders.stream()
-                        .filter(order -> {
-                            java.time.LocalDateTime createdAt = order.getCreatedAt();
-                            return createdAt != null && 
-                                   !createdAt.isBefore(dayStart) && 
-                                   !createdAt.isAfter(dayEnd);
-                        })
-                        .collect(Collectors.toList());
-                
-                long dayOrderCount = dayOrders.size();
-                
-                BigDecimal dayRevenue = dayOrders.stream()
-                        .filter(o -> o.getStatus() == OrderStatus.PAID)
-                        .map(order -> order.getTotal() != null ? order.getTotal() : BigDecimal.ZERO)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                BigDecimal dayTips = dayOrders.stream()
-                        .filter(o -> o.getStatus() == OrderStatus.PAID)
-                        .map(order -> order.getTip() != null ? order.getTip() : BigDecimal.ZERO)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                last7DaysOrders.put(dateKey, dayOrderCount);
-                last7DaysRevenue.put(dateKey, dayRevenue);
-                last7DaysTips.put(dateKey, dayTips);
-            }
-            
-            // Average per order
-            BigDecimal averageRevenue = paidOrders.size() > 0 
-                    ? totalRevenue.divide(BigDecimal.valueOf(paidOrders.size()), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
-            
-            BigDecimal averageTip = paidOrders.size() > 0
-                    ? totalTips.divide(BigDecimal.valueOf(paidOrders.size()), 2, java.math.RoundingMode.HALF_UP)
-                    : BigDecimal.ZERO;
+            orderHistoryReader.sumDeliveredByDay(employeeId, today.minusDays(6), today).forEach((date, day) -> {
+                last7DaysLabels.add(date.format(formatter));
+                last7DaysOrdersData.add(day.orders());
+                last7DaysRevenueData.add(day.ordersTotal());
+                last7DaysTipsData.add(day.tips());
+            });
             
             // Add to model
             model.addAttribute("employee", employee);
             
             // Totals
-            model.addAttribute("totalOrders", allOrders.size());
-            model.addAttribute("totalPending", totalPending);
-            model.addAttribute("totalInPreparation", totalInPreparation);
-            model.addAttribute("totalReady", totalReady);
-            model.addAttribute("totalDelivered", totalDelivered);
-            model.addAttribute("totalPaid", totalPaid);
-            model.addAttribute("totalCancelled", totalCancelled);
-            model.addAttribute("totalRevenue", totalRevenue);
-            model.addAttribute("totalTips", totalTips);
+            model.addAttribute("totalOrders", countOrders(totalByStatus));
+            model.addAttribute("totalPending", countOrders(totalByStatus, OrderStatus.PENDING));
+            model.addAttribute("totalInPreparation", countOrders(totalByStatus, OrderStatus.IN_PREPARATION));
+            model.addAttribute("totalReady", countOrders(totalByStatus, OrderStatus.READY));
+            model.addAttribute("totalDelivered", countOrders(totalByStatus, OrderStatus.DELIVERED));
+            model.addAttribute("totalPaid", totalPaid.orders());
+            model.addAttribute("totalCancelled", countOrders(totalByStatus, OrderStatus.CANCELLED));
+            model.addAttribute("totalRevenue", totalPaid.ordersTotal());
+            model.addAttribute("totalTips", totalPaid.tips());
             
             // Today
-            model.addAttribute("todayOrders", todaysOrders.size());
-            model.addAttribute("todayPending", todayPending);
-            model.addAttribute("todayInPreparation", todayInPreparation);
-            model.addAttribute("todayReady", todayReady);
-            model.addAttribute("todayDelivered", todayDelivered);
-            model.addAttribute("todayPaid", todayPaid);
-            model.addAttribute("todayCancelled", todayCancelled);
-            model.addAttribute("todayRevenue", todayRevenue);
-            model.addAttribute("todayTips", todayTips);
+            model.addAttribute("todayOrders", countOrders(todayByStatus));
+            model.addAttribute("todayPending", countOrders(todayByStatus, OrderStatus.PENDING));
+            model.addAttribute("todayInPreparation", countOrders(todayByStatus, OrderStatus.IN_PREPARATION));
+            model.addAttribute("todayReady", countOrders(todayByStatus, OrderStatus.READY));
+            model.addAttribute("todayDelivered", countOrders(todayByStatus, OrderStatus.DELIVERED));
+            model.addAttribute("todayPaid", todayPaid.orders());
+            model.addAttribute("todayCancelled", countOrders(todayByStatus, OrderStatus.CANCELLED));
+            model.addAttribute("todayRevenue", todayPaid.ordersTotal());
+            model.addAttribute("todayTips", todayPaid.tips());
             
             // Averages
-            model.addAttribute("averageRevenue", averageRevenue);
-            model.addAttribute("averageTip", averageTip);
+            model.addAttribute("averageRevenue", totalPaid.getAverageTotal());
+            model.addAttribute("averageTip", totalPaid.getAverageTip());
             
             // Last 7 days (as lists for JavaScript)
-            model.addAttribute("last7DaysLabels", new java.util.ArrayList<>(last7DaysOrders.keySet()));
-            model.addAttribute("last7DaysOrdersData", new java.util.ArrayList<>(last7DaysOrders.values()));
-            model.addAttribute("last7DaysRevenueData", new java.util.ArrayList<>(last7DaysRevenue.values()));
-            model.addAttribute("last7DaysTipsData", new java.util.ArrayList<>(last7DaysTips.values()));
+            model.addAttribute("last7DaysLabels", last7DaysLabels);
+            model.addAttribute("last7DaysOrdersData", last7DaysOrdersData);
+            model.addAttribute("last7DaysRevenueData", last7DaysRevenueData);
+            model.addAttribute("last7DaysTipsData", last7DaysTipsData);
             
             return "delivery/reports/view";
             
@@ -584,4 +480,12 @@ public class DeliveryController {
             return "redirect:/delivery/dashboard";
         }
     }
+
+    private static long countOrders(java.util.Map<OrderStatus, OrderTotals> byStatus) {
+        return byStatus.values().stream().mapToLong(OrderTotals::orders).sum();
+    }
+
+    private static long countOrders(java.util.Map<OrderStatus, OrderTotals> byStatus, OrderStatus status) {
+        return byStatus.getOrDefault(status, OrderTotals.EMPTY).orders();
+    }
 }
@@ -2,7 +2,11 @@ package com.aatechsolutions.elgransazon.presentation.controller;
 
 import com.aatechsolutions.elgransazon.application.service.EmployeeService;
 import com.aatechsolutions.elgransazon.application.service.IngredientCategoryService;
+import com.aatechsolutions.elgransazon.application.service.IngredientLedgerService;
+import com.aatechsolutions.elgransazon.application.service.IngredientSearchService;
 import com.aatechsolutions.elgransazon.application.service.IngredientService;
+import com.aatechsolutions.elgransazon.application.service.InventoryAlertService;
+import com.aatechsolutions.elgransazon.application.service.InventoryExportService;
 import com.aatechsolutions.elgransazon.application.service.ItemMenuService;
 import com.aatechsolutions.elgransazon.application.service.SupplierService;
 import com.aatechsolutions.elgransazon.domain.entity.Employee;
@@ -12,10 +16,13 @@ import com.aatechsolutions.elgransazon.domain.entity.IngredientStockHistory;
 import com.aatechsolutions.elgransazon.domain.entity.ItemMenu;
 import com.aatechsolutions.elgransazon.domain.entity.Supplier;
 import com.aatechsolutions.elgransazon.domain.repository.IngredientStockHistoryRepository;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -27,31 +34,12 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.ArrayList;
-import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.Div;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
-import com.itextpdf.layout.properties.VerticalAlignment;
-import com.itextpdf.layout.borders.Border;
-import com.itextpdf.layout.borders.SolidBorder;
-import com.itextpdf.kernel.colors.ColorConstants;
-import com.itextpdf.kernel.colors.DeviceRgb;
-import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
-import com.itextpdf.kernel.geom.PageSize;
-import com.itextpdf.io.font.constants.StandardFonts;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -72,6 +60,12 @@ public class IngredientController {
     private final EmployeeService employeeService;
     private final ItemMenuService itemMenuService;
     private final IngredientStockHistoryRepository stockHistoryRepository;
+    private final IngredientLedgerService ingredientLedgerService;
+    private final InventoryAlertService inventoryAlertService;
+    private final InventoryExportService inventoryExportService;
+
+    @Value("${ingredients.list.page-size:25}")
+    private int pageSize;
 
     /**
      * List all ingredients with optional filters
@@ -83,26 +77,28 @@ public class IngredientController {
             @RequestParam(required = false) Long supplierId,
             @RequestParam(required = false) String sortBy,
             @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "0") int page,
             Model model) {
 
-        log.info("Listing ingredients with filters - search: {}, categoryId: {}, supplierId: {}, sortBy: {}, active: {}",
-                search, categoryId, supplierId, sortBy, active);
+        log.info("Listing ingredients with filters - search: {}, categoryId: {}, supplierId: {}, sortBy: {}, active: {}, page: {}",
+                search, categoryId, supplierId, sortBy, active, page);
 
         // Show all ingredients (active and inactive) if no filter is specified
         Boolean activeFilter = active;
 
-        // Get filtered ingredients
-        List<Ingredient> ingredients = ingredientService.searchWithAllFilters(
-                search, categoryId, supplierId, sortBy, activeFilter);
+        // Get one page of filtered ingredients plus the active/inactive totals (single query)
+        IngredientSearchService.SearchResult result = ingredientService.searchPage(
+                search, categoryId, supplierId, sortBy, activeFilter, page, pageSize);
 
-        // Get statistics for alerts
+        // Get statistics and alerts (kept in memory by the inventory alert service)
         long lowStockCount = ingredientService.countLowStock();
         long outOfStockCount = ingredientService.countOutOfStock();
+        List<InventoryAlertService.StockState> stockAlerts = inventoryAlertService.getActiveAlerts();
         
         // Get general statistics
-        long activeCount = ingredientService.getActiveCount();
-        long inactiveCount = ingredientService.getInactiveCount();
-        long totalCount = activeCount + inactiveCount; // Total de ingredientes (activos + inactivos)
+        long activeCount = result.activeCount();
+        long inactiveCount = result.inactiveCount();
+        long totalCount = result.getTotalCount(); // Total de ingredientes (activos + inactivos)
 
         // Get all categories for filter dropdown
         List<IngredientCategory> allCategories = categoryService.findAllActive();
@@ -110,7 +106,9 @@ public class IngredientController {
         // Get all suppliers for filter dropdown
         List<Supplier> allSuppliers = supplierService.findAllActive();
 
-        model.addAttribute("ingredients", ingredients);
+        model.addAttribute("ingredients", result.page().getContent());
+        model.addAttribute("ingredientPage", result.page());
+        model.addAttribute("stockAlerts", stockAlerts);
         model.addAttribute("search", search);
         model.addAttribute("categoryId", categoryId);
         model.addAttribute("supplierId", supplierId);
@@ -370,13 +368,8 @@ public class IngredientController {
             Ingredient ingredient = ingredientService.findById(id)
                     .orElseThrow(() -> new IllegalArgumentException("Ingrediente no encontrado"));
             
-            // Get menu items that use this ingredient
-            List<ItemMenu> affectedItems = itemMenuService.findByIngredientId(id);
-            
-            // Filter only active items
-            List<ItemMenu> activeAffectedItems = affectedItems.stream()
-                    .filter(ItemMenu::getActive)
-                    .collect(java.util.stream.Collectors.toList());
+            // Get active menu items that use this ingredient
+            List<ItemMenu> activeAffectedItems = itemMenuService.findActiveByIngredientId(id);
             
             response.put("success", true);
             response.put("ingredientName", ingredient.getName());
@@ -396,6 +389,82 @@ public class IngredientController {
         return response;
     }
 
+    /**
+     * Get daily consumption of an ingredient from the movement ledger (AJAX endpoint)
+     * Defaults to the last 30 days
+     */
+    @GetMapping("/{id}/consumption")
+    @ResponseBody
+    public Map<String, Object> getIngredientConsumption(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        log.info("Getting consumption for ingredient ID: {}", id);
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            LocalDate to = endDate != null ? endDate : LocalDate.now();
+            LocalDate from = startDate != null ? startDate : to.minusDays(29);
+
+            Ingredient ingredient = ingredientService.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Ingrediente no encontrado"));
+
+            response.put("success", true);
+            response.put("ingredientName", ingredient.getName());
+            response.put("unitOfMeasure", ingredient.getUnitOfMeasure());
+            response.put("currentStock", ingredient.getCurrentStock());
+            response.put("ledgerStock", ingredientLedgerService.getLedgerStock(id).orElse(null));
+            response.put("consumption", ingredientLedgerService.getDailyConsumption(id, from, to));
+
+        } catch (Exception e) {
+            log.error("Error getting ingredient consumption: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        }
+
+        return response;
+    }
+
+    /**
+     * Get consumption per ingredient from the movement ledger (AJAX endpoint)
+     * Defaults to the last 30 days
+     */
+    @GetMapping("/consumption")
+    @ResponseBody
+    public Map<String, Object> getConsumptionByIngredient(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            LocalDate to = endDate != null ? endDate : LocalDate.now();
+            LocalDate from = startDate != null ? startDate : to.minusDays(29);
+
+            List<Map<String, Object>> ingredients = new ArrayList<>();
+            for (Object[] row : ingredientLedgerService.getConsumptionByIngredient(from, to)) {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("ingredientId", row[0]);
+                entry.put("name", row[1]);
+                entry.put("unitOfMeasure", row[2]);
+                entry.put("consumed", row[3]);
+                ingredients.add(entry);
+            }
+
+            response.put("success", true);
+            response.put("startDate", from);
+            response.put("endDate", to);
+            response.put("ingredients", ingredients);
+
+        } catch (Exception e) {
+            log.error("Error getting consumption by ingredient: {}", e.getMessage());
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        }
+
+        return response;
+    }
+
     /**
      * Deactivate an ingredient (soft delete)
      * Also deactivates all menu items that use this ingredient
@@ -406,10 +475,7 @@ public class IngredientController {
 
         try {
             // Get affected menu items before deactivating
-            List<ItemMenu> affectedItems = itemMenuService.findByIngredientId(id);
-            List<ItemMenu> activeAffectedItems = affectedItems.stream()
-                    .filter(ItemMenu::getActive)
-                    .collect(java.util.stream.Collectors.toList());
+            List<ItemMenu> activeAffectedItems = itemMenuService.findActiveByIngredientId(id);
             
             // Deactivate the ingredient
             ingredientService.delete(id);
@@ -545,407 +611,68 @@ public class IngredientController {
     }
 
     /**
-     * Download PDF report of ingredients based on stock status
+     * Download PDF report of ingredients based on stock status (streamed to the response)
      */
     @GetMapping("/download-stock-pdf")
-    public ResponseEntity<byte[]> downloadStockPDF(
+    public void downloadStockPDF(
             @RequestParam(required = false) Boolean includeAll,
             @RequestParam(required = false) Boolean includeHealthy,
             @RequestParam(required = false) Boolean includeLow,
-            @RequestParam(required = false) Boolean includeOut) {
+            @RequestParam(required = false) Boolean includeOut,
+            HttpServletResponse response) {
 
         log.info("Generating stock PDF - includeAll: {}, includeHealthy: {}, includeLow: {}, includeOut: {}", 
                 includeAll, includeHealthy, includeLow, includeOut);
 
-        try {
-            // Obtener todos los ingredientes activos
-            List<Ingredient> allIngredients = ingredientService.searchWithAllFilters(null, null, null, null, true);
-            List<Ingredient> filteredIngredients;
-
-            // Si se solicita el inventario completo, incluir todos los ingredientes
-            if (Boolean.TRUE.equals(includeAll)) {
-                filteredIngredients = new ArrayList<>(allIngredients);
-            } else {
-                // Filtrar según los parámetros específicos
-                filteredIngredients = new ArrayList<>();
-                for (Ingredient ingredient : allIngredients) {
-                    boolean shouldInclude = false;
-
-                    if (Boolean.TRUE.equals(includeHealthy) && ingredient.isHealthyStock()) {
-                        shouldInclude = true;
-                    }
-                    if (Boolean.TRUE.equals(includeLow) && ingredient.isLowStock()) {
-                        shouldInclude = true;
-                    }
-                    if (Boolean.TRUE.equals(includeOut) && ingredient.isOutOfStock()) {
-                        shouldInclude = true;
-                    }
-
-                    if (shouldInclude) {
-                        filteredIngredients.add(ingredient);
-                    }
-                }
-            }
-
-            // Generar el PDF con diseño profesional
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc, PageSize.LETTER);
-            document.setMargins(40, 40, 40, 40);
-
-            // Colores del tema
-            DeviceRgb primaryColor = new DeviceRgb(56, 224, 123); // #38e07b
-            DeviceRgb primaryDark = new DeviceRgb(43, 200, 102); // #2bc866
-            DeviceRgb darkColor = new DeviceRgb(45, 45, 45);
-            DeviceRgb grayColor = new DeviceRgb(107, 114, 128);
-            DeviceRgb lightGray = new DeviceRgb(249, 250, 251);
-
-            // Fuentes
-            PdfFont boldFont = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
-            PdfFont regularFont = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-
-            // ========== HEADER ==========
-            Table headerTable = new Table(UnitValue.createPercentArray(new float[]{1, 3}));
-            headerTable.setWidth(UnitValue.createPercentValue(100));
-            headerTable.setBorder(Border.NO_BORDER);
-
-            // Generar iniciales dinámicas según el tipo de descarga
-            StringBuilder logoInitials = new StringBuilder("S"); // "S" de Stock
-            if (Boolean.TRUE.equals(includeAll)) {
-                // Solo "S" para inventario completo
-            } else {
-                // Agregar iniciales según los filtros
-                if (Boolean.TRUE.equals(includeHealthy)) {
-                    logoInitials.append("O"); // "O" de OK
-                }
-                if (Boolean.TRUE.equals(includeLow)) {
-                    logoInitials.append("B"); // "B" de Bajo
-                }
-                if (Boolean.TRUE.equals(includeOut)) {
-                    logoInitials.append("A"); // "A" de Agotado
-                }
-            }
-
-            // Ajustar tamaño de fuente según la cantidad de letras
-            int fontSize = logoInitials.length() <= 2 ? 36 : (logoInitials.length() == 3 ? 28 : 24);
-
-            // Logo/Icon placeholder (left column)
-            Cell logoCell = new Cell()
-                    .add(new Paragraph(logoInitials.toString())
-                            .setFont(boldFont)
-                            .setFontSize(fontSize)
-                            .setFontColor(ColorConstants.WHITE)
-                            .setTextAlignment(TextAlignment.CENTER))
-                    .setBackgroundColor(primaryColor)
-                    .setWidth(60)
-                    .setHeight(60)
-                    .setVerticalAlignment(VerticalAlignment.MIDDLE)
-                    .setBorder(Border.NO_BORDER);
-            headerTable.addCell(logoCell);
-
-            // Title and subtitle (right column)
-            Div titleDiv = new Div();
-            titleDiv.add(new Paragraph("REPORTE DE INVENTARIO")
-                    .setFont(boldFont)
-                    .setFontSize(20)
-                    .setFontColor(darkColor)
-                    .setMarginBottom(2));
-            titleDiv.add(new Paragraph("Control de Stock de Ingredientes")
-                    .setFont(regularFont)
-                    .setFontSize(11)
-                    .setFontColor(grayColor));
-
-            Cell titleCell = new Cell()
-                    .add(titleDiv)
-                    .setVerticalAlignment(VerticalAlignment.MIDDLE)
-                    .setBorder(Border.NO_BORDER)
-                    .setPaddingLeft(15);
-            headerTable.addCell(titleCell);
-
-            document.add(headerTable);
-
-            // Divider line
-            document.add(new Paragraph()
-                    .setBorderTop(new SolidBorder(primaryColor, 2))
-                    .setMarginTop(10)
-                    .setMarginBottom(20));
-
-            // ========== FECHA Y FILTROS ==========
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-            
-            // Fecha de generación
-            Paragraph dateTime = new Paragraph()
-                    .add(new Paragraph("Fecha de generación: ")
-                            .setFont(boldFont)
-                            .setFontSize(10)
-                            .setFontColor(darkColor))
-                    .add(new Paragraph(LocalDateTime.now().format(formatter))
-                            .setFont(regularFont)
-                            .setFontSize(10)
-                            .setFontColor(grayColor))
-                    .setMarginBottom(8);
-            document.add(dateTime);
-
-            // Filtros aplicados
-            StringBuilder filtersApplied = new StringBuilder();
-            List<String> filterNames = new ArrayList<>();
-            if (Boolean.TRUE.equals(includeAll)) {
-                filterNames.add("Inventario Completo");
-            } else {
-                if (Boolean.TRUE.equals(includeHealthy)) filterNames.add("Stock OK");
-                if (Boolean.TRUE.equals(includeLow)) filterNames.add("Stock Bajo");
-                if (Boolean.TRUE.equals(includeOut)) filterNames.add("Stock Agotado");
-            }
-            filtersApplied.append(String.join(", ", filterNames));
-
-            Paragraph filters = new Paragraph()
-                    .add(new Paragraph("Filtros aplicados: ")
-                            .setFont(boldFont)
-                            .setFontSize(10)
-                            .setFontColor(darkColor))
-                    .add(new Paragraph(filtersApplied.toString())
-                            .setFont(regularFont)
-                            .setFontSize(10)
-                            .setFontColor(primaryDark))
-                    .setMarginBottom(20);
-            document.add(filters);
-
-            // ========== RESUMEN ESTADÍSTICO ==========
-            // Calcular estadísticas
-            int totalIngredients = filteredIngredients.size();
-            long healthyCount = filteredIngredients.stream().filter(Ingredient::isHealthyStock).count();
-            long lowCount = filteredIngredients.stream().filter(Ingredient::isLowStock).count();
-            long outCount = filteredIngredients.stream().filter(Ingredient::isOutOfStock).count();
-
-            // Tabla de resumen
-            Table summaryTable = new Table(new float[]{1, 1, 1, 1});
-            summaryTable.setWidth(UnitValue.createPercentValue(100));
-            summaryTable.setMarginBottom(20);
-
-            addSummaryCard(summaryTable, boldFont, regularFont, "Total Ingredientes", 
-                    String.valueOf(totalIngredients), primaryColor);
-            addSummaryCard(summaryTable, boldFont, regularFont, "Stock OK", 
-                    String.valueOf(healthyCount), new DeviceRgb(34, 197, 94)); // green-500
-            addSummaryCard(summaryTable, boldFont, regularFont, "Stock Bajo", 
-                    String.valueOf(lowCount), new DeviceRgb(251, 191, 36)); // yellow-400
-            addSummaryCard(summaryTable, boldFont, regularFont, "Agotados", 
-                    String.valueOf(outCount), new DeviceRgb(239, 68, 68)); // red-500
-
-            document.add(summaryTable);
-
-            // ========== SECCIÓN: DETALLE DE INGREDIENTES ==========
-            addSectionTitle(document, boldFont, darkColor, primaryColor, "Detalle de Ingredientes");
-
-            // ========== TABLA DE INGREDIENTES ==========
-            float[] columnWidths = {3.5f, 2f, 1.5f, 1.5f, 1.5f, 2f};
-            Table table = new Table(UnitValue.createPercentArray(columnWidths));
-            table.setWidth(UnitValue.createPercentValue(100));
-
-            // Encabezados con diseño moderno
-            String[] headers = {"Ingrediente", "Categoría", "Stock Actual", "Stock Mín.", "Unidad", "Estado"};
-            for (String header : headers) {
-                Cell headerCell = new Cell()
-                        .add(new Paragraph(header)
-                                .setFont(boldFont)
-                                .setFontSize(9)
-                                .setFontColor(ColorConstants.WHITE))
-                        .setBackgroundColor(primaryDark)
-                        .setTextAlignment(TextAlignment.CENTER)
-                        .setPadding(8)
-                        .setBorder(Border.NO_BORDER);
-                table.addHeaderCell(headerCell);
-            }
-
-            // Filas de datos con alternancia de colores
-            boolean alternate = false;
-            for (Ingredient ingredient : filteredIngredients) {
-                DeviceRgb rowColor = alternate ? lightGray : new DeviceRgb(255, 255, 255);
-                
-                // Nombre
-                table.addCell(createStyledCell(ingredient.getName(), regularFont, 
-                        TextAlignment.LEFT, rowColor, darkColor));
-                
-                // Categoría
-                String categoryName = ingredient.getCategory() != null ? 
-                        ingredient.getCategory().getName() : "Sin categoría";
-                table.addCell(createStyledCell(categoryName, regularFont, 
-                        TextAlignment.LEFT, rowColor, grayColor));
-                
-                // Stock Actual
-                table.addCell(createStyledCell(ingredient.getCurrentStock().toString(), 
-                        regularFont, TextAlignment.CENTER, rowColor, darkColor));
-                
-                // Stock Mínimo
-                table.addCell(createStyledCell(ingredient.getMinStock().toString(), 
-                        regularFont, TextAlignment.CENTER, rowColor, grayColor));
-                
-                // Unidad
-                table.addCell(createStyledCell(ingredient.getUnitOfMeasure(), 
-                        regularFont, TextAlignment.CENTER, rowColor, grayColor));
-                
-                // Estado con badge colorido
-                table.addCell(createStatusBadge(ingredient, boldFont, rowColor));
-                
-                alternate = !alternate;
-            }
-
-            document.add(table);
-
-            // ========== RESUMEN FINAL ==========
-            document.add(new Paragraph("\n"));
-            Table footerSummary = new Table(1);
-            footerSummary.setWidth(UnitValue.createPercentValue(100));
-            footerSummary.setBorder(Border.NO_BORDER);
-            
-            Cell summaryCell = new Cell()
-                    .add(new Paragraph("RESUMEN: ")
-                            .setFont(boldFont)
-                            .setFontSize(10)
-                            .setFontColor(darkColor)
-                            .add(new Paragraph("Total de " + filteredIngredients.size() + 
-                                    " ingrediente(s) en este reporte")
-                                    .setFont(regularFont)
-                                    .setFontColor(grayColor)))
-                    .setBackgroundColor(lightGray)
-                    .setPadding(10)
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setBorder(Border.NO_BORDER);
-            footerSummary.addCell(summaryCell);
-            document.add(footerSummary);
-
-            // ========== FOOTER ==========
-            document.add(new Paragraph()
-                    .setBorderTop(new SolidBorder(lightGray, 1))
-                    .setMarginTop(20)
-                    .setMarginBottom(10));
-
-            Paragraph footer = new Paragraph()
-                    .add(new Paragraph("El Gran Sazón - Sistema de Gestión de Inventario\n")
-                            .setFont(boldFont)
-                            .setFontSize(8)
-                            .setFontColor(darkColor))
-                    .add(new Paragraph("Generado automáticamente el " + 
-                            LocalDateTime.now().format(formatter))
-                            .setFont(regularFont)
-                            .setFontSize(7)
-                            .setFontColor(grayColor))
-                    .setTextAlignment(TextAlignment.CENTER);
-            document.add(footer);
-
-            // Cerrar el documento
-            document.close();
-
-            // Configurar la respuesta HTTP
-            HttpHeaders responseHeaders = new HttpHeaders();
-            responseHeaders.setContentType(MediaType.APPLICATION_PDF);
-            String filename = "Reporte_Inventario_" + 
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".pdf";
-            responseHeaders.setContentDispositionFormData("attachment", filename);
-
-            return ResponseEntity.ok()
-                    .headers(responseHeaders)
-                    .body(baos.toByteArray());
-
-        } catch (Exception e) {
-            log.error("Error generating PDF: {}", e.getMessage(), e);
-            return ResponseEntity.internalServerError().build();
-        }
+        writeStockReport(toStockFilter(includeAll, includeHealthy, includeLow, includeOut), false, response);
     }
 
     /**
-     * Helper method to add summary cards
+     * Download CSV report of ingredients based on stock status (same data as the PDF, streamed)
      */
-    private void addSummaryCard(Table table, PdfFont boldFont, PdfFont regularFont, 
-                                String label, String value, DeviceRgb color) {
-        Cell cell = new Cell()
-                .add(new Paragraph(value)
-                        .setFont(boldFont)
-                        .setFontSize(20)
-                        .setFontColor(color)
-                        .setTextAlignment(TextAlignment.CENTER)
-                        .setMarginBottom(5))
-                .add(new Paragraph(label)
-                        .setFont(regularFont)
-                        .setFontSize(9)
-                        .setFontColor(new DeviceRgb(107, 114, 128))
-                        .setTextAlignment(TextAlignment.CENTER))
-                .setBackgroundColor(new DeviceRgb(249, 250, 251))
-                .setPadding(15)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setBorder(Border.NO_BORDER);
-        table.addCell(cell);
-    }
+    @GetMapping("/download-stock-csv")
+    public void downloadStockCSV(
+            @RequestParam(required = false) Boolean includeAll,
+            @RequestParam(required = false) Boolean includeHealthy,
+            @RequestParam(required = false) Boolean includeLow,
+            @RequestParam(required = false) Boolean includeOut,
+            HttpServletResponse response) {
 
-    /**
-     * Helper method to add section titles
-     */
-    private void addSectionTitle(Document document, PdfFont boldFont, 
-                                 DeviceRgb darkColor, DeviceRgb primaryColor, String title) {
-        Div titleDiv = new Div();
-        titleDiv.add(new Paragraph(title)
-                .setFont(boldFont)
-                .setFontSize(14)
-                .setFontColor(darkColor)
-                .setMarginBottom(5));
-        titleDiv.add(new Paragraph()
-                .setBorderBottom(new SolidBorder(primaryColor, 2))
-                .setWidth(UnitValue.createPercentValue(100))
-                .setMarginBottom(15));
-        document.add(titleDiv);
+        log.info("Generating stock CSV - includeAll: {}, includeHealthy: {}, includeLow: {}, includeOut: {}", 
+                includeAll, includeHealthy, includeLow, includeOut);
+
+        writeStockReport(toStockFilter(includeAll, includeHealthy, includeLow, includeOut), true, response);
     }
 
-    /**
-     * Helper method to create styled cells for the table
-     */
-    private Cell createStyledCell(String content, PdfFont font, TextAlignment alignment, 
-                                  DeviceRgb bgColor, DeviceRgb textColor) {
-        return new Cell()
-                .add(new Paragraph(content)
-                        .setFont(font)
-                        .setFontSize(9)
-                        .setFontColor(textColor))
-                .setBackgroundColor(bgColor)
-                .setTextAlignment(alignment)
-                .setPadding(8)
-                .setBorder(Border.NO_BORDER);
+    private InventoryExportService.StockFilter toStockFilter(Boolean includeAll, Boolean includeHealthy,
+                                                             Boolean includeLow, Boolean includeOut) {
+        return new InventoryExportService.StockFilter(Boolean.TRUE.equals(includeAll),
+                Boolean.TRUE.equals(includeHealthy), Boolean.TRUE.equals(includeLow), Boolean.TRUE.equals(includeOut));
     }
 
     /**
-     * Helper method to create status badge with colors
+     * Write the stock report to the response as it is generated
      */
-    private Cell createStatusBadge(Ingredient ingredient, PdfFont boldFont, DeviceRgb bgColor) {
-        String status = ingredient.getStockStatus();
-        DeviceRgb badgeColor;
-        DeviceRgb textColor;
-
-        if (ingredient.isOutOfStock()) {
-            badgeColor = new DeviceRgb(254, 226, 226); // red-100
-            textColor = new DeviceRgb(220, 38, 38); // red-600
-        } else if (ingredient.isLowStock()) {
-            badgeColor = new DeviceRgb(254, 249, 195); // yellow-100
-            textColor = new DeviceRgb(202, 138, 4); // yellow-600
-        } else {
-            badgeColor = new DeviceRgb(220, 252, 231); // green-100
-            textColor = new DeviceRgb(22, 163, 74); // green-600
-        }
+    private void writeStockReport(InventoryExportService.StockFilter filter, boolean csv, HttpServletResponse response) {
+        String filename = "Reporte_Inventario_" + 
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + (csv ? ".csv" : ".pdf");
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
 
-        Paragraph badge = new Paragraph(status)
-                .setFont(boldFont)
-                .setFontSize(8)
-                .setFontColor(textColor)
-                .setBackgroundColor(badgeColor)
-                .setPadding(4)
-                .setPaddingLeft(8)
-                .setPaddingRight(8)
-                .setTextAlignment(TextAlignment.CENTER);
-
-        return new Cell()
-                .add(badge)
-                .setBackgroundColor(bgColor)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setVerticalAlignment(VerticalAlignment.MIDDLE)
-                .setPadding(8)
-                .setBorder(Border.NO_BORDER);
+        try {
+            if (csv) {
+                inventoryExportService.writeCsv(filter, response.getOutputStream());
+            } else {
+                inventoryExportService.writePdf(filter, response.getOutputStream());
+            }
+            response.flushBuffer();
+        } catch (Exception e) {
+            log.error("Error generating stock report: {}", e.getMessage(), e);
+            // Once the first bytes are sent the status can no longer change
+            if (!response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            }
+        }
     }
 }
@@ -4,6 +4,8 @@ import com.aatechsolutions.elgransazon.application.service.CategoryService;
 import com.aatechsolutions.elgransazon.application.service.ImageStorageService;
 import com.aatechsolutions.elgransazon.application.service.IngredientService;
 import com.aatechsolutions.elgransazon.application.service.ItemMenuService;
+import com.aatechsolutions.elgransazon.application.service.MenuCostService;
+import com.aatechsolutions.elgransazon.application.service.RecipeStockMatrixService;
 import com.aatechsolutions.elgransazon.domain.entity.*;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -37,6 +40,8 @@ public class ItemMenuController {
     private final CategoryService categoryService;
     private final IngredientService ingredientService;
     private final ImageStorageService imageStorageService;
+    private final MenuCostService menuCostService;
+    private final RecipeStockMatrixService recipeStockMatrixService;
 
     /**
      * Show list of all menu items
@@ -59,6 +64,8 @@ public class ItemMenuController {
         model.addAttribute("activeCount", activeCount);
         model.addAttribute("availableCount", availableCount);
         model.addAttribute("unavailableCount", unavailableCount);
+        model.addAttribute("itemCosts", menuCostService.getCurrentCosts());
+        model.addAttribute("recipeGraph", recipeStockMatrixService.getGraph());
 
         return "admin/menu-items/list";
     }
@@ -511,13 +518,13 @@ public class ItemMenuController {
         
         Map<String, Object> response = new HashMap<>();
         try {
-            ItemMenu item = itemMenuService.findByIdOrThrow(id);
-            BigDecimal cost = itemMenuService.calculateIngredientsCost(id);
-            BigDecimal profitMargin = item.calculateProfitMarginPercentage();
+            itemMenuService.findByIdOrThrow(id);
+            MenuItemCost itemCost = menuCostService.getCost(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Item del menú no encontrado"));
             
-            response.put("cost", cost);
-            response.put("price", item.getPrice());
-            response.put("profitMargin", profitMargin);
+            response.put("cost", itemCost.getIngredientsCost());
+            response.put("price", itemCost.getPrice());
+            response.put("profitMargin", itemCost.getProfitMargin());
             response.put("success", true);
         } catch (Exception e) {
             response.put("success", false);
@@ -527,6 +534,39 @@ public class ItemMenuController {
         return response;
     }
 
+    /**
+     * Get item cost history for trend charts (AJAX)
+     */
+    @GetMapping("/{id}/cost-history")
+    @ResponseBody
+    public Map<String, Object> getItemCostHistory(@PathVariable Long id,
+                                                  @RequestParam(defaultValue = "90") int days) {
+        log.debug("Getting cost history for menu item ID: {} (last {} days)", id, days);
+
+        Map<String, Object> response = new HashMap<>();
+        try {
+            itemMenuService.findByIdOrThrow(id);
+            List<Map<String, Object>> points = new ArrayList<>();
+            for (MenuItemCostHistory entry : menuCostService.getHistory(id,
+                    LocalDate.now().minusDays(Math.max(days, 1)).atStartOfDay())) {
+                Map<String, Object> point = new HashMap<>();
+                point.put("recordedAt", entry.getRecordedAt().toString());
+                point.put("cost", entry.getIngredientsCost());
+                point.put("price", entry.getPrice());
+                point.put("profitMargin", entry.getProfitMargin());
+                points.add(point);
+            }
+
+            response.put("history", points);
+            response.put("success", true);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("error", e.getMessage());
+        }
+
+        return response;
+    }
+
     // ========== Helper Methods ==========
 
     /**
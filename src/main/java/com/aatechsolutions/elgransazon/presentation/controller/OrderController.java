@@ -574,65 +574,12 @@ public class OrderController {
             log.info("Order before adding items - Details count: {}, Subtotal: {}, Total: {}", 
                 order.getOrderDetails().size(), order.getSubtotal(), order.getTotal());
 
-            // Add new items to order
-            LocalDateTime now = LocalDateTime.now();
-            for (OrderDetail detail : newOrderDetails) {
-                detail.setOrder(order);
-                // Mark as new item for chef visibility
-                detail.setIsNewItem(true);
-                detail.setAddedAt(now);
-                log.info("Marking item {} as NEW (isNewItem=true, addedAt={})", 
-                    detail.getItemMenu().getName(), now);
-                order.getOrderDetails().add(detail);
-            }
-
-            log.info("Order after adding items - Details count: {}", order.getOrderDetails().size());
-
-            // Recalculate all amounts (subtotal, tax, total) with new items
-            order.recalculateAmounts();
-
-            log.info("Order after recalculation - Subtotal: {}, Tax: {}, Total: {}", 
-                order.getSubtotal(), order.getTaxAmount(), order.getTotal());
-
-            // Update order status based on item statuses
-            // This will keep the order in the correct state based on whether items require preparation
-            order.updateStatusFromItems();
-
-            log.info("Order status after adding items: {}", order.getStatus());
-
-            // Update audit fields
-            order.setUpdatedBy(username);
-            order.setUpdatedAt(LocalDateTime.now());
-
-            // Deduct stock for new items
-            for (OrderDetail detail : newOrderDetails) {
-                ItemMenu item = detail.getItemMenu();
-                // Deduct stock from ingredients
-                for (ItemIngredient itemIngredient : item.getIngredients()) {
-                    Ingredient ingredient = itemIngredient.getIngredient();
-                    BigDecimal quantityNeeded = itemIngredient.getQuantity()
-                        .multiply(BigDecimal.valueOf(detail.getQuantity()));
-                    
-                    BigDecimal newStock = ingredient.getCurrentStock().subtract(quantityNeeded);
-                    ingredient.setCurrentStock(newStock);
-                    ingredient.setUpdatedAt(LocalDateTime.now());
-                }
-            }
-
-            // Save order directly (bypass update method to avoid stock return logic)
-            Order updated = orderRepository.save(order);
+            // Add the items through the order service: stock is deducted with the ingredient locks,
+            // recorded in the movement ledger and reported to the inventory alerts
+            Order updated = orderService.addItemsToExistingOrder(orderId, newOrderDetails, username);
 
             log.info("Items added successfully to order: {}", updated.getOrderNumber());
             
-            // Send WebSocket notification for items added to existing order
-            try {
-                // Pass the actual new items list to detect what type of items were added
-                wsNotificationService.notifyItemsAdded(updated, newOrderDetails);
-            } catch (Exception e) {
-                log.error("Failed to send WebSocket notification for items added to order: {}", 
-                    updated.getOrderNumber(), e);
-            }
-            
             redirectAttributes.addFlashAttribute("successMessage",
                     "Se agregaron " + newOrderDetails.size() + " items al pedido " + updated.getOrderNumber());
             
@@ -690,48 +637,8 @@ public class OrderController {
                 throw new IllegalArgumentException("Debe agregar al menos un item al pedido");
             }
 
-            // Add new items to order
-            LocalDateTime now = LocalDateTime.now();
-            for (OrderDetail detail : newOrderDetails) {
-                detail.setOrder(order);
-                detail.setIsNewItem(true);
-                detail.setAddedAt(now);
-                order.getOrderDetails().add(detail);
-            }
-
-            // Recalculate all amounts
-            order.recalculateAmounts();
-            
-            // Update status
-            order.updateStatusFromItems();
-            
-            // Update audit fields
-            order.setUpdatedBy(username);
-            order.setUpdatedAt(LocalDateTime.now());
-            
-            // Deduct stock for new items
-            for (OrderDetail detail : newOrderDetails) {
-                ItemMenu item = detail.getItemMenu();
-                for (ItemIngredient itemIngredient : item.getIngredients()) {
-                    Ingredient ingredient = itemIngredient.getIngredient();
-                    BigDecimal quantityNeeded = itemIngredient.getQuantity()
-                        .multiply(BigDecimal.valueOf(detail.getQuantity()));
-                    
-                    BigDecimal newStock = ingredient.getCurrentStock().subtract(quantityNeeded);
-                    ingredient.setCurrentStock(newStock);
-                    ingredient.setUpdatedAt(LocalDateTime.now());
-                }
-            }
-            
-            // Save logic
-            Order updated = orderRepository.save(order);
-            
-            // Send WebSocket notification
-            try {
-                wsNotificationService.notifyItemsAdded(updated, newOrderDetails);
-            } catch (Exception e) {
-                 log.error("Failed to send WebSocket notification for items added to order: {}", updated.getOrderNumber(), e);
-            }
+            // Add the items through the order service (locked stock deduction, ledger and alerts)
+            Order updated = orderService.addItemsToExistingOrder(orderId, newOrderDetails, username);
 
             response.put("success", true);
             response.put("message", "Se agregaron " + newOrderDetails.size() + " items al pedido " + updated.getOrderNumber());
@@ -1,13 +1,13 @@
 package com.aatechsolutions.elgransazon.presentation.controller;
 
 import com.aatechsolutions.elgransazon.application.service.LicenseService;
+import com.aatechsolutions.elgransazon.application.service.OrderHistoryReader;
 import com.aatechsolutions.elgransazon.domain.entity.LicenseEvent;
 import com.aatechsolutions.elgransazon.domain.entity.SystemError;
 import com.aatechsolutions.elgransazon.domain.entity.SystemLicense;
 import com.aatechsolutions.elgransazon.domain.repository.CustomerRepository;
 import com.aatechsolutions.elgransazon.domain.repository.EmployeeRepository;
 import com.aatechsolutions.elgransazon.domain.repository.ItemMenuRepository;
-import com.aatechsolutions.elgransazon.domain.repository.OrderRepository;
 import com.aatechsolutions.elgransazon.domain.repository.SystemErrorRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,7 +36,7 @@ public class ProgrammerController {
     private final SystemErrorRepository errorRepository;
     private final EmployeeRepository employeeRepository;
     private final ItemMenuRepository itemMenuRepository;
-    private final OrderRepository orderRepository;
+    private final OrderHistoryReader orderHistoryReader;
     private final CustomerRepository customerRepository;
 
     /**
@@ -63,7 +63,7 @@ public class ProgrammerController {
         // System statistics
         long totalEmployees = employeeRepository.count();
         long totalMenuItems = itemMenuRepository.count();
-        long totalOrders = orderRepository.count();
+        long totalOrders = orderHistoryReader.countAll();
         long totalCustomers = customerRepository.count();
 
         model.addAttribute("totalEmployees", totalEmployees);
@@ -71,9 +71,9 @@ public class ProgrammerController {
         model.addAttribute("totalOrders", totalOrders);
         model.addAttribute("totalCustomers", totalCustomers);
 
-        // Recent errors (last 7 days)
+        // Recent errors (seen in the last 7 days, one row per distinct error)
         LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
-        List<SystemError> recentErrors = errorRepository.findByOccurredAtBetweenOrderByOccurredAtDesc(
+        List<SystemError> recentErrors = errorRepository.findByLastSeenAtBetweenOrderByLastSeenAtDesc(
             sevenDaysAgo, LocalDateTime.now()
         );
         
@@ -66,7 +66,7 @@ public class ReportsController {
         log.debug("Displaying reports - startDate: {}, endDate: {}", startDate, endDate);
 
         // Get all PAID orders
-        List<Order> paidOrders = orderService.findByStatus(OrderStatus.PAID);
+        List<Order> paidOrders = orderService.findByStatusIncludingArchive(OrderStatus.PAID);
 
         // Apply date filter
         if (startDate != null && !startDate.isEmpty()) {
@@ -289,7 +289,7 @@ public class ReportsController {
 
         try {
             // Get all PAID orders
-            List<Order> paidOrders = orderService.findByStatus(OrderStatus.PAID);
+            List<Order> paidOrders = orderService.findByStatusIncludingArchive(OrderStatus.PAID);
             
             // Apply date filter
             if (startDate != null && !startDate.isEmpty()) {
@@ -339,7 +339,7 @@ public class ReportsController {
 
         try {
             // Get all PAID orders
-            List<Order> paidOrders = orderService.findByStatus(OrderStatus.PAID);
+            List<Order> paidOrders = orderService.findByStatusIncludingArchive(OrderStatus.PAID);
             
             // Apply date filter
             if (startDate != null && !startDate.isEmpty()) {
@@ -384,7 +384,7 @@ public class ReportsController {
 
         try {
             // Get all PAID orders
-            List<Order> paidOrders = orderService.findByStatus(OrderStatus.PAID);
+            List<Order> paidOrders = orderService.findByStatusIncludingArchive(OrderStatus.PAID);
             
             // Apply date filter
             if (startDate != null && !startDate.isEmpty()) {
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
 
 /**
@@ -478,6 +479,45 @@ public class ReservationController {
         return response;
     }
 
+    /**
+     * Get tables free for a party at a date and time, best capacity fit first (AJAX for reservation form)
+     */
+    @GetMapping("/api/available-tables")
+    @ResponseBody
+    public Map<String, Object> getAvailableTables(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.TIME) LocalTime time,
+            @RequestParam int guests) {
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            List<RestaurantTable> tables = reservationService.findAvailableTables(date, time, guests);
+
+            List<Map<String, Object>> tableList = new ArrayList<>();
+            for (RestaurantTable table : tables) {
+                Map<String, Object> tableData = new HashMap<>();
+                tableData.put("id", table.getId());
+                tableData.put("tableNumber", table.getTableNumber());
+                tableData.put("displayName", table.getDisplayName());
+                tableData.put("capacity", table.getCapacity());
+                tableData.put("location", table.getLocation());
+                tableList.add(tableData);
+            }
+
+            response.put("success", true);
+            response.put("tables", tableList);
+            response.put("count", tableList.size());
+
+            log.debug("Found {} free tables for {} guests on {} at {}", tableList.size(), guests, date, time);
+        } catch (Exception e) {
+            log.error("Error finding available tables for {} at {}", date, time, e);
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        }
+
+        return response;
+    }
+
     /**
      * Get reservation counts by date range (AJAX for calendar)
      */
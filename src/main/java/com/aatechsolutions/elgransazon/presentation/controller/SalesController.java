@@ -54,7 +54,7 @@ public class SalesController {
                   startDate, endDate, employeeId, paymentMethod);
 
         // Get all PAID orders
-        List<Order> paidOrders = orderService.findByStatus(OrderStatus.PAID);
+        List<Order> paidOrders = orderService.findByStatusIncludingArchive(OrderStatus.PAID);
 
         // Apply date filter
         if (startDate != null && !startDate.isEmpty()) {
@@ -345,10 +345,16 @@ public class ShiftController {
                     .map(Employee::getIdEmpleado)
                     .orElse(null);
             
-            shiftService.assignEmployeesToShift(id, employeeIds, actionById);
+            ShiftService.AssignmentSummary summary = shiftService.assignEmployeesToShift(id, employeeIds, actionById);
             
-            redirectAttributes.addFlashAttribute("successMessage", 
-                    employeeIds.size() + " empleado(s) asignado(s) al turno exitosamente");
+            String message = summary.getChangedCount() + " empleado(s) asignado(s) al turno exitosamente";
+            if (summary.unchanged() > 0) {
+                message += " (" + summary.unchanged() + " ya estaba(n) en el turno)";
+            }
+            if (summary.skippedDisabled() > 0) {
+                message += " (" + summary.skippedDisabled() + " deshabilitado(s) omitido(s))";
+            }
+            redirectAttributes.addFlashAttribute("successMessage", message);
             return "redirect:/admin/shifts/" + id;
             
         } catch (Exception e) {
@@ -384,10 +390,13 @@ public class ShiftController {
                     .map(Employee::getIdEmpleado)
                     .orElse(null);
             
-            shiftService.removeEmployeesFromShift(id, employeeIds, actionById, reason);
+            ShiftService.AssignmentSummary summary = shiftService.removeEmployeesFromShift(id, employeeIds, actionById, reason);
             
-            redirectAttributes.addFlashAttribute("successMessage", 
-                    employeeIds.size() + " empleado(s) removido(s) del turno exitosamente");
+            String message = summary.getChangedCount() + " empleado(s) removido(s) del turno exitosamente";
+            if (summary.unchanged() > 0) {
+                message += " (" + summary.unchanged() + " no estaba(n) en el turno)";
+            }
+            redirectAttributes.addFlashAttribute("successMessage", message);
             return "redirect:/admin/shifts/" + id;
             
         } catch (Exception e) {
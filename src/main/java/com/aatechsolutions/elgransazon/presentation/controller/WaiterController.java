@@ -4,6 +4,7 @@ import com.aatechsolutions.elgransazon.application.service.BusinessHoursService;
 import com.aatechsolutions.elgransazon.application.service.CategoryService;
 import com.aatechsolutions.elgransazon.application.service.EmployeeService;
 import com.aatechsolutions.elgransazon.application.service.ItemMenuService;
+import com.aatechsolutions.elgransazon.application.service.OrderHistoryReader;
 import com.aatechsolutions.elgransazon.application.service.SystemConfigurationService;
 import com.aatechsolutions.elgransazon.domain.entity.Category;
 import com.aatechsolutions.elgransazon.domain.entity.Employee;
@@ -43,6 +44,7 @@ public class WaiterController {
 
     private final EmployeeService employeeService;
     private final OrderRepository orderRepository;
+    private final OrderHistoryReader orderHistoryReader;
     private final ItemMenuService itemMenuService;
     private final CategoryService categoryService;
     private final SystemConfigurationService configurationService;
@@ -120,7 +122,7 @@ public class WaiterController {
                     .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
             
             // Get all PAID orders for this employee
-            List<Order> allPaidOrders = orderRepository.findByEmployeeId(employee.getIdEmpleado())
+            List<Order> allPaidOrders = orderHistoryReader.findByEmployeeId(employee.getIdEmpleado())
                     .stream()
                     .filter(order -> order.getStatus() == OrderStatus.PAID)
                     .toList();
@@ -196,7 +198,7 @@ public class WaiterController {
                     .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
             
             // Get all orders for this employee
-            List<Order> allOrders = orderRepository.findByEmployeeId(employee.getIdEmpleado());
+            List<Order> allOrders = orderHistoryReader.findByEmployeeId(employee.getIdEmpleado());
             
             // Filter paid orders
             List<Order> paidOrders = allOrders.stream()
@@ -0,0 +1,43 @@
+package com.aatechsolutions.elgransazon.util;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Utility class to measure BCrypt throughput on the current machine
+ * Useful for choosing security.password.bcrypt-strength and security.password.max-concurrent-hashes
+ *
+ * Usage: BCryptBenchmark [minCost] [maxCost] [seconds per cost]
+ */
+public class BCryptBenchmark {
+
+    public static void main(String[] args) {
+        int minCost = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int maxCost = args.length > 1 ? Integer.parseInt(args[1]) : 13;
+        long millisPerCost = (args.length > 2 ? Long.parseLong(args[2]) : 3) * 1000;
+        String password = "benchmark-password";
+
+        System.out.println("BCrypt Benchmark (" + Runtime.getRuntime().availableProcessors() + " cores, single thread):");
+        System.out.println("========================");
+
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+            String hash = encoder.encode(password);
+
+            // Warm-up
+            encoder.matches(password, hash);
+
+            int checks = 0;
+            long start = System.nanoTime();
+            long elapsedMillis;
+            do {
+                encoder.matches(password, hash);
+                checks++;
+                elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            } while (elapsedMillis < millisPerCost);
+
+            double perSecond = checks * 1000.0 / elapsedMillis;
+            System.out.printf("Cost %2d: %8.2f hashes/sec (%7.1f ms per login)%n",
+                    cost, perSecond, 1000.0 / perSecond);
+        }
+    }
+}
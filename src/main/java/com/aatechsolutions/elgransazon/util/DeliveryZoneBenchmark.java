@@ -0,0 +1,81 @@
+package com.aatechsolutions.elgransazon.util;
+
+import com.aatechsolutions.elgransazon.application.service.DeliveryZoneIndex;
+import com.aatechsolutions.elgransazon.domain.entity.DeliveryZone;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Utility class to measure delivery zone lookups on the current machine
+ * Builds rings of zones (polygons of the given number of vertices) around a center and
+ * looks up random points in and around them
+ *
+ * Usage: DeliveryZoneBenchmark [zones] [vertices per zone] [seconds]
+ */
+public class DeliveryZoneBenchmark {
+
+    private static final double CENTER_LAT = 19.4326;
+    private static final double CENTER_LON = -99.1332;
+
+    public static void main(String[] args) {
+        int zoneCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int vertices = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        long millis = (args.length > 2 ? Long.parseLong(args[2]) : 5) * 1000;
+
+        List<DeliveryZone> zones = new ArrayList<>();
+        for (int z = 0; z < zoneCount; z++) {
+            // Zone z: a circle of radius (z + 1) km, each wider zone with a higher fee
+            double radiusDegrees = (z + 1) / 111.32;
+            StringBuilder polygon = new StringBuilder();
+            for (int v = 0; v < vertices; v++) {
+                double angle = 2 * Math.PI * v / vertices;
+                if (v > 0) {
+                    polygon.append(';');
+                }
+                polygon.append(CENTER_LAT + radiusDegrees * Math.sin(angle)).append(',')
+                        .append(CENTER_LON + radiusDegrees * Math.cos(angle));
+            }
+            zones.add(DeliveryZone.builder().idZone((long) z).name("Zona " + (z + 1))
+                    .polygon(polygon.toString()).deliveryFee(BigDecimal.valueOf(20 + 5L * z))
+                    .estimatedMinutes(20 + 5 * z).priority(z).build());
+        }
+        DeliveryZoneIndex index = DeliveryZoneIndex.compile(zones);
+
+        // Points up to 20% beyond the widest zone, so some lookups miss every zone
+        Random random = new Random(42);
+        int pointCount = 1 << 16;
+        double[] lats = new double[pointCount];
+        double[] lons = new double[pointCount];
+        double spread = zoneCount * 1.2 / 111.32;
+        for (int i = 0; i < pointCount; i++) {
+            lats[i] = CENTER_LAT + (random.nextDouble() * 2 - 1) * spread;
+            lons[i] = CENTER_LON + (random.nextDouble() * 2 - 1) * spread;
+        }
+
+        // Warm-up
+        int found = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            found += index.find(lats[i & (pointCount - 1)], lons[i & (pointCount - 1)]).isPresent() ? 1 : 0;
+        }
+
+        long lookups = 0;
+        found = 0;
+        long start = System.nanoTime();
+        long elapsedNanos;
+        do {
+            for (int i = 0; i < 10_000; i++, lookups++) {
+                int p = (int) (lookups & (pointCount - 1));
+                found += index.find(lats[p], lons[p]).isPresent() ? 1 : 0;
+            }
+            elapsedNanos = System.nanoTime() - start;
+        } while (elapsedNanos < millis * 1_000_000);
+
+        System.out.println("Delivery Zone Benchmark (" + zoneCount + " zones, " + vertices + " vertices each):");
+        System.out.println("========================");
+        System.out.printf("Lookups: %,d (%.1f%% inside a zone)%n", lookups, found * 100.0 / lookups);
+        System.out.printf("Average: %.3f microseconds per lookup%n", elapsedNanos / 1000.0 / lookups);
+    }
+}
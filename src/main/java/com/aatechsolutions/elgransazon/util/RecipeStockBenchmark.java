@@ -0,0 +1,121 @@
+package com.aatechsolutions.elgransazon.util;
+
+import com.aatechsolutions.elgransazon.application.service.RecipeStockMatrix;
+import com.aatechsolutions.elgransazon.domain.entity.Ingredient;
+import com.aatechsolutions.elgransazon.domain.entity.ItemIngredient;
+import com.aatechsolutions.elgransazon.domain.entity.ItemMenu;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+
+/**
+ * Utility class to measure menu-wide stock checks on the current machine
+ * Builds a random menu and compares the compiled {@link RecipeStockMatrix} pass with the
+ * ItemMenu entity methods over fully loaded entities (the entity path pays no lazy loading here,
+ * so its real cost is higher)
+ *
+ * Usage: RecipeStockBenchmark [items] [ingredients per recipe] [seconds]
+ */
+public class RecipeStockBenchmark {
+
+    private static final int INGREDIENT_COUNT = 300;
+
+    public static void main(String[] args) {
+        int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int recipeSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        long millis = (args.length > 2 ? Long.parseLong(args[2]) : 5) * 1000;
+
+        Random random = new Random(42);
+        List<Ingredient> ingredients = new ArrayList<>();
+        List<Object[]> stockLevels = new ArrayList<>();
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            // One ingredient in ten has no stock recorded
+            BigDecimal stock = random.nextInt(10) == 0 ? null
+                    : BigDecimal.valueOf(random.nextInt(50_000), 3);
+            ingredients.add(Ingredient.builder().idIngredient((long) i).name("Ingrediente " + i)
+                    .currentStock(stock).build());
+            stockLevels.add(new Object[]{(long) i, stock});
+        }
+
+        List<ItemMenu> items = new ArrayList<>();
+        List<Object[]> recipeLines = new ArrayList<>();
+        for (int item = 0; item < itemCount; item++) {
+            ItemMenu menuItem = ItemMenu.builder().idItemMenu((long) item).name("Platillo " + item).build();
+            for (int line = 0; line < recipeSize; line++) {
+                Ingredient ingredient = ingredients.get(random.nextInt(INGREDIENT_COUNT));
+                BigDecimal quantity = BigDecimal.valueOf(1 + random.nextInt(2_000), 3);
+                menuItem.getIngredients().add(ItemIngredient.builder().itemMenu(menuItem)
+                        .ingredient(ingredient).quantity(quantity).build());
+                recipeLines.add(new Object[]{(long) item, ingredient.getIdIngredient(), quantity});
+            }
+            items.add(menuItem);
+        }
+
+        long compileStart = System.nanoTime();
+        RecipeStockMatrix matrix = RecipeStockMatrix.compile(recipeLines);
+        long[] stock = matrix.toStockVector(stockLevels);
+        long compileNanos = System.nanoTime() - compileStart;
+
+        boolean[] available = new boolean[matrix.getItemCount()];
+        int[] maxQuantities = new int[matrix.getItemCount()];
+
+        // Both paths must agree before they are timed
+        matrix.computeAvailability(stock, available);
+        matrix.computeMaxAvailableQuantities(stock, maxQuantities);
+        for (ItemMenu item : items) {
+            int row = matrix.indexOfItem(item.getIdItemMenu());
+            if (available[row] != item.hasEnoughStock(1) || maxQuantities[row] != item.getMaxAvailableQuantity()) {
+                throw new IllegalStateException("Results differ for item " + item.getIdItemMenu());
+            }
+        }
+
+        double entityMicros = measure(millis, () -> {
+            int count = 0;
+            for (ItemMenu item : items) {
+                count += item.hasEnoughStock(1) ? 1 : 0;
+                count += item.getMaxAvailableQuantity();
+            }
+            return count;
+        });
+        double matrixMicros = measure(millis, () -> {
+            matrix.computeAvailability(stock, available);
+            matrix.computeMaxAvailableQuantities(stock, maxQuantities);
+            return available.length + maxQuantities[0];
+        });
+
+        System.out.println("Recipe Stock Benchmark (" + itemCount + " items, " + recipeSize
+                + " ingredients per recipe, " + INGREDIENT_COUNT + " ingredients):");
+        System.out.println("========================");
+        System.out.printf("Matrix compile + stock vector: %.3f ms%n", compileNanos / 1_000_000.0);
+        System.out.printf("Entity methods: %.3f microseconds per menu pass%n", entityMicros);
+        System.out.printf("Compiled matrix: %.3f microseconds per menu pass%n", matrixMicros);
+    }
+
+    /**
+     * Average microseconds per call of {@code pass}, after a warm-up of the same length
+     */
+    private static double measure(long millis, IntSupplier pass) {
+        run(millis, pass);
+        return run(millis, pass);
+    }
+
+    private static double run(long millis, IntSupplier pass) {
+        long passes = 0;
+        long sink = 0;
+        long start = System.nanoTime();
+        long elapsedNanos;
+        do {
+            for (int i = 0; i < 100; i++, passes++) {
+                sink += pass.getAsInt();
+            }
+            elapsedNanos = System.nanoTime() - start;
+        } while (elapsedNanos < millis * 1_000_000);
+        if (sink == Long.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return elapsedNanos / 1000.0 / passes;
+    }
+}
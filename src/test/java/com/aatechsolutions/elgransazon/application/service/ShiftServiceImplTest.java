@@ -0,0 +1,148 @@
+package com.aatechsolutions.elgransazon.application.service;
+
+import com.aatechsolutions.elgransazon.domain.entity.DayOfWeek;
+import com.aatechsolutions.elgransazon.domain.entity.Employee;
+import com.aatechsolutions.elgransazon.domain.entity.Role;
+import com.aatechsolutions.elgransazon.domain.entity.Shift;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assigning or removing a group of employees takes a fixed number of statements, whatever the
+ * size of the group: shift, employees with their roles, current membership, one join-table write
+ * and one batched history insert (one prepared statement for all rows).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.aatechsolutions.elgransazon.application.service.ShiftServiceImplTest$StatementRecorder"
+})
+@Import({ShiftServiceImpl.class, EmployeeShiftHistoryServiceImpl.class})
+class ShiftServiceImplTest {
+
+    private static final int EMPLOYEE_COUNT = 30;
+
+    /**
+     * Records the statements prepared, except those of the ID generator table
+     */
+    public static class StatementRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            if (!normalized.contains("id_generators")) {
+                STATEMENTS.add(normalized);
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private SystemConfigurationService configurationService;
+
+    @MockitoBean
+    private BusinessHoursService businessHoursService;
+
+    private Long shiftId;
+    private Long managerId;
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    void setUp() {
+        Role waiter = entityManager.persist(new Role(Role.WAITER));
+        Role admin = entityManager.persist(new Role(Role.ADMIN));
+        managerId = entityManager.persist(employee("manager", admin)).getIdEmpleado();
+
+        employeeIds = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employeeIds.add(entityManager.persist(employee("employee" + i, waiter)).getIdEmpleado());
+        }
+
+        shiftId = entityManager.persist(Shift.builder()
+                .name("Matutino")
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(16, 0))
+                .workDays(Set.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY))
+                .build()).getId();
+        entityManager.flush();
+        entityManager.clear();
+        StatementRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void assigningThirtyEmployeesTakesAFixedNumberOfStatements() {
+        ShiftService.AssignmentSummary summary = shiftService.assignEmployeesToShift(shiftId, employeeIds, managerId);
+        entityManager.flush();
+
+        assertThat(summary.getChangedCount()).isEqualTo(EMPLOYEE_COUNT);
+        assertThat(StatementRecorder.STATEMENTS).satisfiesExactly(
+                shift -> assertThat(shift).startsWith("select").contains(" from shifts "),
+                employees -> assertThat(employees).startsWith("select").contains(" from employee "),
+                membership -> assertThat(membership).startsWith("select").contains(" join employee_shifts "),
+                write -> assertThat(write).startsWith("insert into employee_shifts "),
+                history -> assertThat(history).startsWith("insert into employee_shift_history "));
+        assertThat(countRows("employee_shifts")).isEqualTo(EMPLOYEE_COUNT);
+        assertThat(countRows("employee_shift_history")).isEqualTo(EMPLOYEE_COUNT);
+    }
+
+    @Test
+    void removingThirtyEmployeesTakesAFixedNumberOfStatements() {
+        shiftService.assignEmployeesToShift(shiftId, employeeIds, managerId);
+        entityManager.flush();
+        entityManager.clear();
+        StatementRecorder.STATEMENTS.clear();
+
+        ShiftService.AssignmentSummary summary = shiftService.removeEmployeesFromShift(
+                shiftId, employeeIds, managerId, "Cambio de horario");
+        entityManager.flush();
+
+        assertThat(summary.getChangedCount()).isEqualTo(EMPLOYEE_COUNT);
+        assertThat(StatementRecorder.STATEMENTS).satisfiesExactly(
+                shift -> assertThat(shift).startsWith("select").contains(" from shifts "),
+                employees -> assertThat(employees).startsWith("select").contains(" from employee "),
+                membership -> assertThat(membership).startsWith("select").contains(" join employee_shifts "),
+                write -> assertThat(write).startsWith("delete from employee_shifts "),
+                history -> assertThat(history).startsWith("insert into employee_shift_history "));
+        assertThat(countRows("employee_shifts")).isZero();
+        assertThat(countRows("employee_shift_history")).isEqualTo(2 * EMPLOYEE_COUNT);
+    }
+
+    private long countRows(String table) {
+        return ((Number) entityManager.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM " + table)
+                .getSingleResult()).longValue();
+    }
+
+    private static Employee employee(String username, Role role) {
+        return Employee.builder()
+                .username(username)
+                .nombre("Nombre " + username)
+                .apellido("Apellido")
+                .contrasenia("secret123")
+                .roles(Set.of(role))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.aatechsolutions.elgransazon.domain.entity;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Entities with table-generated IDs must be inserted in JDBC batches: one prepared
+ * insert per entity type per flush, even when the inserts are interleaved.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.aatechsolutions.elgransazon.domain.entity.TableGeneratedIdBatchingTest$InsertCounter"
+})
+class TableGeneratedIdBatchingTest {
+
+    private static final int ROWS = 20;
+
+    /**
+     * Counts the insert statements prepared per table
+     */
+    public static class InsertCounter implements StatementInspector {
+
+        static final Map<String, Integer> INSERTS = new ConcurrentHashMap<>();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.trim().toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("insert into ")) {
+                String table = normalized.substring("insert into ".length()).split("[\\s(]", 2)[0];
+                INSERTS.merge(table, 1, Integer::sum);
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        InsertCounter.INSERTS.clear();
+    }
+
+    @Test
+    void insertsOfEachEntityTypeAreBatchedIntoOneStatementPerFlush() {
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(IngredientMovement.builder()
+                    .ingredientId(1L)
+                    .movementType(IngredientMovementType.SALE)
+                    .quantity(BigDecimal.ONE.negate())
+                    .orderId((long) i)
+                    .build());
+            entityManager.persist(LicenseEvent.builder()
+                    .licenseId(1L)
+                    .eventType(LicenseEvent.EventType.CHECKED)
+                    .build());
+        }
+        entityManager.flush();
+
+        assertThat(InsertCounter.INSERTS.get("ingredient_movements")).isEqualTo(1);
+        assertThat(InsertCounter.INSERTS.get("license_events")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.Employee;
+import com.aatechsolutions.elgransazon.domain.entity.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EmployeeRepositoryTest {
+
+    private static final int EMPLOYEE_COUNT = 10;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> employeeIds;
+
+    @BeforeEach
+    void setUp() {
+        Role waiter = entityManager.persist(new Role(Role.WAITER));
+        Role cashier = entityManager.persist(new Role(Role.CASHIER));
+
+        employeeIds = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            Employee employee = Employee.builder()
+                    .username("employee" + i)
+                    .nombre("Nombre" + i)
+                    .apellido("Apellido" + i)
+                    .contrasenia("secret123")
+                    .roles(i % 2 == 0 ? Set.of(waiter) : Set.of(waiter, cashier))
+                    .build();
+            employeeIds.add(entityManager.persist(employee).getIdEmpleado());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllWithRolesByIdInLoadsEmployeesAndRolesInOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Employee> employees = employeeRepository.findAllWithRolesByIdIn(employeeIds);
+
+        assertThat(employees).hasSize(EMPLOYEE_COUNT);
+        assertThat(employees).allSatisfy(employee -> {
+            assertThat(Hibernate.isInitialized(employee.getRoles())).isTrue();
+            assertThat(employee.getRoles()).isNotEmpty();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
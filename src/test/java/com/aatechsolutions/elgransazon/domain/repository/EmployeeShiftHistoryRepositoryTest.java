@@ -0,0 +1,131 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.DayOfWeek;
+import com.aatechsolutions.elgransazon.domain.entity.Employee;
+import com.aatechsolutions.elgransazon.domain.entity.EmployeeShiftHistory;
+import com.aatechsolutions.elgransazon.domain.entity.Role;
+import com.aatechsolutions.elgransazon.domain.entity.Shift;
+import com.aatechsolutions.elgransazon.domain.entity.ShiftAction;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EmployeeShiftHistoryRepositoryTest {
+
+    private static final int EMPLOYEE_COUNT = 10;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private EmployeeShiftHistoryRepository historyRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        Role waiter = entityManager.persist(new Role(Role.WAITER));
+        Role admin = entityManager.persist(new Role(Role.ADMIN));
+        Employee manager = entityManager.persist(employee("manager", Set.of(admin)));
+
+        List<Shift> shifts = new ArrayList<>();
+        for (String name : List.of("Matutino", "Vespertino")) {
+            shifts.add(entityManager.persist(Shift.builder()
+                    .name(name)
+                    .startTime(LocalTime.of(8, 0))
+                    .endTime(LocalTime.of(16, 0))
+                    .workDays(Set.of(DayOfWeek.MONDAY, DayOfWeek.TUESDAY))
+                    .build()));
+        }
+
+        LocalDateTime actionDate = LocalDateTime.now().minusHours(1);
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            Employee employee = entityManager.persist(employee("employee" + i, Set.of(waiter)));
+            employeeId = employee.getIdEmpleado();
+            for (Shift shift : shifts) {
+                entityManager.persist(EmployeeShiftHistory.builder()
+                        .employee(employee)
+                        .shift(shift)
+                        .action(ShiftAction.ASSIGNED)
+                        .actionBy(manager)
+                        .actionDate(actionDate.plusMinutes(i))
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pageBetweenDatesLoadsRolesAndWorkDaysInOneStatementEach() {
+        Statistics statistics = startCounting();
+
+        Page<EmployeeShiftHistory> page = historyRepository.findPageByActionDateBetween(
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1), PageRequest.of(0, PAGE_SIZE - 1));
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE - 1);
+        assertThat(page.getContent()).allSatisfy(entry -> {
+            assertThat(Hibernate.isInitialized(entry.getEmployee().getRoles())).isTrue();
+            assertThat(entry.getEmployee().getRoles()).isNotEmpty();
+            assertThat(entry.getActionBy().getRoles()).isNotEmpty();
+            assertThat(entry.getShift().getWorkDays()).hasSize(2);
+        });
+        // Page, count, roles of every employee on the page, work days of every shift on the page
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    @Test
+    void pageOfAnEmployeeLoadsRolesAndWorkDaysInOneStatementEach() {
+        Statistics statistics = startCounting();
+
+        Page<EmployeeShiftHistory> page = historyRepository.findPageByEmployeeId(employeeId, PageRequest.of(0, PAGE_SIZE));
+
+        assertThat(page.getContent()).hasSize(2);
+        assertThat(page.getContent()).allSatisfy(entry -> {
+            assertThat(entry.getActionBy().getRoles()).isNotEmpty();
+            assertThat(entry.getShift().getWorkDays()).hasSize(2);
+        });
+        // Page (no count: it fits in the first page), roles of the action author, work days of the shifts
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private Statistics startCounting() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static Employee employee(String username, Set<Role> roles) {
+        return Employee.builder()
+                .username(username)
+                .nombre("Nombre " + username)
+                .apellido("Apellido")
+                .contrasenia("secret123")
+                .roles(roles)
+                .build();
+    }
+}
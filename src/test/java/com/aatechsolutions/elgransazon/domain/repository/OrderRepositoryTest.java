@@ -0,0 +1,135 @@
+package com.aatechsolutions.elgransazon.domain.repository;
+
+import com.aatechsolutions.elgransazon.domain.entity.Order;
+import com.aatechsolutions.elgransazon.domain.entity.OrderStatus;
+import com.aatechsolutions.elgransazon.domain.entity.OrderType;
+import com.aatechsolutions.elgransazon.domain.entity.PaymentMethodType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The *InRange queries must return the same rows as the DATE(created_at) predicates they replaced
+ * (H2 in MySQL mode, which has MySQL's DATE() function)
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.datasource.url=jdbc:h2:mem:orders;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private LocalDate today;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+
+        // Both edges of yesterday, today and tomorrow, with paid and unpaid orders on each
+        for (LocalDate date : List.of(yesterday, today, today.plusDays(1))) {
+            persist(date.atStartOfDay(), OrderStatus.PAID, "10.00");
+            persist(date.atStartOfDay(), OrderStatus.PENDING, "11.00");
+            persist(date.atTime(12, 30), OrderStatus.PAID, "12.50");
+            persist(date.atTime(LocalTime.of(23, 59, 59)), OrderStatus.PAID, "13.00");
+            persist(date.atTime(LocalTime.MAX), OrderStatus.CANCELLED, "14.00");
+            persist(date.atTime(LocalTime.MAX), OrderStatus.PAID, "15.25");
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void todaysQueriesMatchTheDatePredicates() {
+        List<Long> expectedIds = entityManager.getEntityManager()
+                .createQuery("SELECT o.idOrder FROM Order o WHERE DATE(o.createdAt) = :today", Long.class)
+                .setParameter("today", today)
+                .getResultList();
+        assertThat(expectedIds).hasSize(6);
+        assertThat(orderRepository.findTodaysOrders()).extracting(Order::getIdOrder)
+                .containsExactlyInAnyOrderElementsOf(expectedIds);
+
+        assertThat(orderRepository.countTodaysOrders()).isEqualTo(single(
+                "SELECT COUNT(o) FROM Order o WHERE DATE(o.createdAt) = :today", Long.class));
+
+        for (OrderStatus status : List.of(OrderStatus.PAID, OrderStatus.PENDING, OrderStatus.CANCELLED)) {
+            Long expected = entityManager.getEntityManager()
+                    .createQuery("SELECT COUNT(o) FROM Order o " +
+                            "WHERE DATE(o.createdAt) = :today AND o.status = :status", Long.class)
+                    .setParameter("today", today)
+                    .setParameter("status", status)
+                    .getSingleResult();
+            assertThat(orderRepository.countTodaysOrdersByStatus(status)).as(status.name()).isEqualTo(expected);
+        }
+
+        BigDecimal expectedRevenue = single("SELECT COALESCE(SUM(o.total), 0) FROM Order o " +
+                "WHERE DATE(o.createdAt) = :today AND o.status = 'PAID'", BigDecimal.class);
+        assertThat(orderRepository.getTodaysRevenue()).isEqualByComparingTo(expectedRevenue);
+        assertThat(expectedRevenue).isEqualByComparingTo("50.75");
+
+        String expectedLast = single("SELECT o.orderNumber FROM Order o WHERE DATE(o.createdAt) = :today " +
+                "ORDER BY o.orderNumber DESC LIMIT 1", String.class);
+        assertThat(orderRepository.findLastOrderNumberToday()).contains(expectedLast);
+    }
+
+    @Test
+    void rangeOfAnyDayMatchesTheDatePredicate() {
+        for (LocalDate date : List.of(today.minusDays(1), today, today.plusDays(1), today.plusDays(2))) {
+            List<Long> expectedIds = entityManager.getEntityManager()
+                    .createQuery("SELECT o.idOrder FROM Order o WHERE DATE(o.createdAt) = :date", Long.class)
+                    .setParameter("date", date)
+                    .getResultList();
+
+            List<Order> orders = orderRepository.findCreatedInRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+
+            assertThat(orders).as(date.toString()).extracting(Order::getIdOrder)
+                    .containsExactlyInAnyOrderElementsOf(expectedIds);
+            assertThat(orderRepository.countCreatedInRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                    .as(date.toString()).isEqualTo(expectedIds.size());
+        }
+    }
+
+    /**
+     * Run a query of today's orders (the old queries compared with CURRENT_DATE, fixed here to the test's day)
+     */
+    private <T> T single(String jpql, Class<T> type) {
+        return entityManager.getEntityManager().createQuery(jpql, type)
+                .setParameter("today", today)
+                .getSingleResult();
+    }
+
+    private void persist(LocalDateTime createdAt, OrderStatus status, String total) {
+        sequence++;
+        entityManager.persist(Order.builder()
+                .orderNumber("ORD-" + String.format("%04d", sequence))
+                .orderType(OrderType.TAKEOUT)
+                .status(status)
+                .paymentMethod(PaymentMethodType.CASH)
+                .taxRate(BigDecimal.ZERO)
+                .total(new BigDecimal(total))
+                .createdAt(createdAt)
+                .createdBy("cashier")
+                .build());
+    }
+}
@@ -0,0 +1,153 @@
+package com.aatechsolutions.elgransazon.infrastructure.config;
+
+import com.aatechsolutions.elgransazon.application.service.PrimaryReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read/write routing over two H2 databases standing in for the primary and the replica.
+ * Each database answers "SELECT name FROM server" with its own name.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private static final long STICKY_MILLIS = 500;
+
+    private final AtomicBoolean replicaUsable = new AtomicBoolean(true);
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = server("primary");
+        DataSource replica = server("replica");
+        ReplicaLagMonitor lagMonitor = new ReplicaLagMonitor(replica, 5) {
+            @Override
+            public boolean isUsable() {
+                return replicaUsable.get();
+            }
+        };
+
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replica, lagMonitor, STICKY_MILLIS);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndTheOthersThePrimary() {
+        assertThat(serverIn(readOnly())).isEqualTo("replica");
+        assertThat(serverIn(readWrite())).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM server", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactionsUseThePrimaryWhileTheReplicaIsNotUsable() {
+        replicaUsable.set(false);
+
+        assertThat(serverIn(readOnly())).isEqualTo("primary");
+    }
+
+    @Test
+    void aCommittedWriteSendsTheUsersReadsToThePrimaryForTheStickyWindow() throws InterruptedException {
+        authenticate("maria");
+        readWrite().executeWithoutResult(status -> jdbcTemplate.update("UPDATE server SET name = name"));
+
+        assertThat(serverIn(readOnly())).isEqualTo("primary");
+
+        authenticate("jose");
+        assertThat(serverIn(readOnly())).isEqualTo("replica");
+
+        authenticate("maria");
+        Thread.sleep(STICKY_MILLIS + 100);
+        assertThat(serverIn(readOnly())).isEqualTo("replica");
+    }
+
+    @Test
+    void theStickyWindowStartsWhenTheWriteCommits() {
+        authenticate("maria");
+        readWrite().executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE server SET name = name");
+            try {
+                // Longer than the sticky window: a window started at connection time would be over
+                Thread.sleep(STICKY_MILLIS + 100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(serverIn(readOnly())).isEqualTo("primary");
+    }
+
+    @Test
+    void aRolledBackWriteDoesNotSendTheUsersReadsToThePrimary() {
+        authenticate("maria");
+        readWrite().executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE server SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertThat(serverIn(readOnly())).isEqualTo("replica");
+    }
+
+    @Test
+    void primaryReaderReadsFromThePrimaryInsideAReadOnlyTransaction() {
+        PrimaryReader primaryReader = new PrimaryReader(transactionManager);
+
+        List<String> servers = readOnly().execute(status -> List.of(
+                jdbcTemplate.queryForObject("SELECT name FROM server", String.class),
+                primaryReader.read(() -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class))));
+
+        assertThat(servers).containsExactly("replica", "primary");
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private TransactionTemplate readWrite() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private String serverIn(TransactionTemplate template) {
+        return template.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM server", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private static DataSource server(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS server (name VARCHAR(20))");
+        jdbc.update("DELETE FROM server");
+        jdbc.update("INSERT INTO server (name) VALUES (?)", name);
+        return dataSource;
+    }
+}